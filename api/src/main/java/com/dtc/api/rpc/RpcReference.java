@@ -36,5 +36,10 @@ public @interface RpcReference {
      * 超时时间 (ms)
      */
     long timeout() default 3000;
+
+    /**
+     * 参数和结果使用的序列化器名称（binary、json、protobuf 或扩展实现），为空时使用系统属性 serialization.rpc 的配置
+     */
+    String serializer() default "";
 }
 
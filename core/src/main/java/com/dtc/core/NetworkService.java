@@ -10,6 +10,8 @@ import com.dtc.core.extensions.ExtensionBootstrap;
 import com.dtc.core.extensions.ExtensionManager;
 import com.dtc.core.messaging.NetworkMessageHandler;
 import com.dtc.core.messaging.NetworkMessageQueue;
+import com.dtc.core.metrics.MetricsCollector;
+import com.dtc.core.metrics.MetricsRegistry;
 import com.google.inject.Injector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +37,7 @@ public class NetworkService {
     private final @NotNull ServerStatusDisplay statusDisplay;
     private final @NotNull NetworkMessageQueue messageQueue;
     private final @NotNull NetworkMessageHandler messageHandler;
+    private final @NotNull MetricsCollector metricsCollector;
 
     private volatile boolean started = false;
     private volatile boolean stopped = false;
@@ -54,6 +57,8 @@ public class NetworkService {
         this.extensionManager = injector.getInstance(ExtensionManager.class);
         this.messageQueue = injector.getInstance(NetworkMessageQueue.class);
         this.messageHandler = injector.getInstance(NetworkMessageHandler.class);
+        this.metricsCollector = injector.getInstance(MetricsCollector.class);
+        messageQueue.registerMetrics(injector.getInstance(MetricsRegistry.class), "network");
         this.statusDisplay = new ServerStatusDisplay(configuration);
     }
 
@@ -76,6 +81,9 @@ public class NetworkService {
             // 启动消息队列
             messageQueue.start();
 
+            // 启动指标收集器，按周期结束计时器区间
+            metricsCollector.start();
+
             // 启动状态显示器
             statusDisplay.startStatusDisplay();
 
@@ -103,6 +111,9 @@ public class NetworkService {
             // 停止消息队列
             messageQueue.stop();
 
+            // 停止指标收集器
+            metricsCollector.stop();
+
             // 停止状态显示器
             statusDisplay.stopStatusDisplay();
             statusDisplay.displayShutdownInfo();
@@ -5,11 +5,15 @@ import com.dtc.core.messaging.handler.MessageHandlerInitializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dtc.core.network.grpc.GrpcServer;
+import com.dtc.core.network.grpc.GrpcServiceInitializer;
+import com.dtc.core.network.custom.BinaryCustomCodec;
 import com.dtc.core.network.custom.CustomCodecFactory;
 import com.dtc.core.network.custom.CustomConnectionManager;
 import com.dtc.core.network.custom.CustomMessageHelper;
 import com.dtc.core.network.custom.CustomServer;
 import com.dtc.core.network.custom.DefaultCustomCodec;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistry;
 import com.dtc.core.messaging.NetworkMessageQueue;
 import com.dtc.core.network.mqtt.MqttConnectionManager;
 import com.dtc.core.network.mqtt.MqttMessageHelper;
@@ -23,6 +27,7 @@ import com.dtc.core.network.tcp.TcpServer;
 import com.dtc.core.network.udp.UdpMessageHelper;
 import com.dtc.core.network.udp.UdpProtocolHandler;
 import com.dtc.core.network.udp.UdpServer;
+import com.dtc.core.network.udp.UdpSessionManager;
 import com.dtc.core.web.argument.HandlerMethodArgumentResolverComposite;
 import com.dtc.core.web.argument.PathVariableMethodArgumentResolver;
 import com.dtc.core.web.argument.RequestBodyMethodArgumentResolver;
@@ -72,12 +77,19 @@ public class ExtensionDependencyModule extends AbstractModule {
         bind(CustomServer.class).asEagerSingleton();
         bind(CustomMessageHelper.class).asEagerSingleton();
         bind(CustomConnectionManager.class).asEagerSingleton();
-        bind(CustomCodecFactory.class).to(DefaultCustomCodec.class).asEagerSingleton();
+        bind(BinaryCodecRegistry.class).asEagerSingleton();
+        // -Dcustom.codec=binary 启用类型字节帧的二进制编解码器
+        if ("binary".equalsIgnoreCase(System.getProperty("custom.codec"))) {
+            bind(CustomCodecFactory.class).to(BinaryCustomCodec.class).asEagerSingleton();
+        } else {
+            bind(CustomCodecFactory.class).to(DefaultCustomCodec.class).asEagerSingleton();
+        }
 
         // 注册 UDP 扩展依赖
         bind(UdpServer.class).asEagerSingleton();
         bind(UdpMessageHelper.class).asEagerSingleton();
         bind(UdpProtocolHandler.class).asEagerSingleton();
+        bind(UdpSessionManager.class).asEagerSingleton();
 
         // 注册 Web 框架依赖
         bind(HandlerMethodArgumentResolverComposite.class).asEagerSingleton();
@@ -89,6 +101,10 @@ public class ExtensionDependencyModule extends AbstractModule {
         bind(MessageHandlerRegistry.class).asEagerSingleton();
         bind(MessageHandlerInitializer.class).asEagerSingleton();
 
+        // 注册 gRPC 服务器，服务随 NettyServer 在共享事件循环上启动
+        bind(GrpcServer.class).asEagerSingleton();
+        bind(GrpcServiceInitializer.class).asEagerSingleton();
+
         log.info("Extension dependencies configured successfully");
     }
 }
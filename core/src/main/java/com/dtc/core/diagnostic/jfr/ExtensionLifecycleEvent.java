@@ -0,0 +1,31 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 扩展生命周期事件
+ * 扩展的启动和停止，phase 为 start 或 stop。数量很少，默认全部记录。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.ExtensionLifecycle")
+@Label("Extension Lifecycle")
+@Category({"DTC", "Extensions"})
+@Description("Start or stop of a network extension")
+@StackTrace(false)
+public class ExtensionLifecycleEvent extends Event {
+
+    @Label("Extension Id")
+    public String extensionId;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,33 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 处理器调用事件
+ * 只覆盖协议处理器本身的执行，与 {@link MessageConsumeEvent} 对比可以区分处理器耗时和框架开销。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.HandlerInvoke")
+@Label("Handler Invoke")
+@Category({"DTC", "Messaging"})
+@Description("Invocation of a protocol message handler")
+@Threshold("1 ms")
+@StackTrace(false)
+public class HandlerInvokeEvent extends Event {
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Protocol")
+    public String protocol;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,37 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * HTTP 请求事件
+ * 从 HttpRequestHandler 开始处理到响应完成；异步处理器的请求在完成它的线程上提交，事件线程可能不是 I/O 线程。
+ * route 为匹配的路径模式，未匹配时为空。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.HttpRequest")
+@Label("HTTP Request")
+@Category({"DTC", "HTTP"})
+@Description("Handling of an HTTP request, including filters, middleware and the route handler")
+@Threshold("10 ms")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,46 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * 消息消费事件
+ * 覆盖消费者处理一条消息的全过程，包括查找协议处理器和更新统计；queueTime 为消息创建到开始消费的时间。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.MessageConsume")
+@Label("Message Consume")
+@Category({"DTC", "Messaging"})
+@Description("Consuming a network message from the message queue")
+@Threshold("1 ms")
+@StackTrace(false)
+public class MessageConsumeEvent extends Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Protocol")
+    public String protocol;
+
+    @Label("Client Id")
+    public String clientId;
+
+    @Label("Sequence")
+    public long sequence;
+
+    @Label("Message Size")
+    @DataAmount
+    public long messageSize;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long queueTime;
+}
@@ -0,0 +1,38 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 消息发布事件
+ * 记录网络消息进入消息队列的耗时。正常情况下发布只需要几微秒，默认阈值 1 ms 只留下在环形缓冲区已满时阻塞的发布。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.MessagePublish")
+@Label("Message Publish")
+@Category({"DTC", "Messaging"})
+@Description("Publishing a network message to the message queue")
+@Threshold("1 ms")
+@StackTrace(false)
+public class MessagePublishEvent extends Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Protocol")
+    public String protocol;
+
+    @Label("Message Size")
+    @DataAmount
+    public long messageSize;
+
+    @Label("Success")
+    public boolean success;
+}
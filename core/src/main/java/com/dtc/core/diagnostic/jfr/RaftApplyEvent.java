@@ -0,0 +1,36 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Raft 日志应用事件
+ * 状态机应用一条已提交日志的耗时，应用线程是串行的，这里的慢事件会直接拖慢整个复制组。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.RaftApply")
+@Label("Raft Apply")
+@Category({"DTC", "Cluster"})
+@Description("Applying a committed Raft log entry to the state machine")
+@Threshold("1 ms")
+@StackTrace(false)
+public class RaftApplyEvent extends Event {
+
+    @Label("Index")
+    public long index;
+
+    @Label("Term")
+    public long term;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,39 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * RPC 调用事件
+ * 从客户端发出请求到收到响应、失败或超时；status 为响应状态，未收到响应时为 -1。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.RpcCall")
+@Label("RPC Call")
+@Category({"DTC", "RPC"})
+@Description("Remote procedure call issued by the RPC client")
+@Threshold("10 ms")
+@StackTrace(false)
+public class RpcCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Address")
+    public String address;
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,34 @@
+package com.dtc.core.diagnostic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * SQL 语句事件
+ * 包括获取连接、执行语句和读取结果；rows 为返回或影响的行数，失败时为 -1。
+ * 需要定位调用方时在录制配置中打开 com.dtc.SqlStatement 的 stackTrace。
+ *
+ * @author Network Service Template
+ */
+@Name("com.dtc.SqlStatement")
+@Label("SQL Statement")
+@Category({"DTC", "Persistence"})
+@Description("Execution of a JDBC statement by a repository")
+@Threshold("10 ms")
+@StackTrace(false)
+public class SqlStatementEvent extends Event {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Rows")
+    public long rows;
+}
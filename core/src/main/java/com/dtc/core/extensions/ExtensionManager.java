@@ -2,6 +2,7 @@ package com.dtc.core.extensions;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.diagnostic.jfr.ExtensionLifecycleEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -113,6 +114,9 @@ public class ExtensionManager {
         }
 
         return CompletableFuture.runAsync(() -> {
+            ExtensionLifecycleEvent event = new ExtensionLifecycleEvent();
+            event.begin();
+            boolean success = false;
             try {
                 // 记录启动信息
                 log.info("🔍 About to start extension: {} of type: {}",
@@ -122,10 +126,13 @@ public class ExtensionManager {
                         extension.getClass().getMethod("start") != null);
 
                 extension.start();
+                success = true;
                 log.info("Started extension: {}", extensionId);
             } catch (Exception e) {
                 log.error("Failed to start extension: {}", extensionId, e);
                 throw new RuntimeException("Failed to start extension: " + extensionId, e);
+            } finally {
+                commitLifecycleEvent(event, extensionId, "start", success);
             }
         });
     }
@@ -144,16 +151,33 @@ public class ExtensionManager {
         }
 
         return CompletableFuture.runAsync(() -> {
+            ExtensionLifecycleEvent event = new ExtensionLifecycleEvent();
+            event.begin();
+            boolean success = false;
             try {
                 extension.stop();
+                success = true;
                 log.info("Stopped extension: {}", extensionId);
             } catch (Exception e) {
                 log.error("Failed to stop extension: {}", extensionId, e);
                 throw new RuntimeException("Failed to stop extension: " + extensionId, e);
+            } finally {
+                commitLifecycleEvent(event, extensionId, "stop", success);
             }
         });
     }
 
+    private static void commitLifecycleEvent(@NotNull ExtensionLifecycleEvent event, @NotNull String extensionId,
+            @NotNull String phase, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.extensionId = extensionId;
+            event.phase = phase;
+            event.success = success;
+            event.commit();
+        }
+    }
+
     /**
      * 停止所有扩展
      * 
@@ -1,6 +1,7 @@
 package com.dtc.core.messaging;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -11,6 +12,8 @@ import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dtc.annotations.codec.BinaryMessage;
+import com.dtc.annotations.web.CustomHandler;
 import com.dtc.annotations.web.MessageHandler;
 import com.dtc.annotations.web.MqttHandler;
 import com.dtc.annotations.web.TcpHandler;
@@ -20,6 +23,8 @@ import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
 import com.google.inject.Injector;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * 消息处理器注册表
  * 扫描并注册消息处理器，支持基于注解的消息路由
@@ -32,6 +37,15 @@ public class MessageHandlerRegistry {
     
     // 协议类型 -> 路由模式 -> 处理器方法列表（按优先级排序）
     private final Map<String, Map<String, List<HandlerMethod>>> handlers = new ConcurrentHashMap<>();
+
+    // 正则路由 -> 预编译的Pattern，避免每条消息重复编译
+    private final Map<String, Pattern> routePatterns = new ConcurrentHashMap<>();
+
+    // 协议类型 -> 按字节匹配的路由表，注册处理器时失效，下次查找时重建
+    private final Map<String, ByteRoutes> byteRoutes = new ConcurrentHashMap<>();
+
+    // 二进制消息类型字节 -> 处理器方法（跳转表）
+    private final HandlerMethod[] binaryHandlers = new HandlerMethod[256];
     
     /**
      * 扫描并注册消息处理器
@@ -68,6 +82,19 @@ public class MessageHandlerRegistry {
                 return;
             }
             
+            registerHandlerInstance(handlerInstance);
+        } catch (Exception e) {
+            log.error("Failed to register handler class: {}", handlerClass.getName(), e);
+        }
+    }
+    
+    /**
+     * 注册处理器实例
+     * 扫描实例上的协议处理注解，适用于不经过IoC容器创建的处理器
+     */
+    public void registerHandlerInstance(@NotNull Object handlerInstance) {
+        Class<?> handlerClass = handlerInstance.getClass();
+        try {
             Method[] methods = handlerClass.getDeclaredMethods();
             for (Method method : methods) {
                 // 注册UDP处理器
@@ -89,6 +116,11 @@ public class MessageHandlerRegistry {
                 if (method.isAnnotationPresent(MqttHandler.class)) {
                     registerMqttHandler(handlerInstance, method);
                 }
+                
+                // 注册自定义协议处理器
+                if (method.isAnnotationPresent(CustomHandler.class)) {
+                    registerCustomHandler(handlerInstance, method);
+                }
             }
             
             log.debug("Registered handler class: {}", handlerClass.getSimpleName());
@@ -105,7 +137,7 @@ public class MessageHandlerRegistry {
         String route = annotation.value();
         int priority = annotation.priority();
         
-        registerHandler("UDP", route, handlerInstance, method, priority);
+        registerHandler("UDP", route, new HandlerMethod(handlerInstance, method, priority, annotation.reliable()));
     }
     
     /**
@@ -144,12 +176,56 @@ public class MessageHandlerRegistry {
         registerHandler("MQTT", route, handlerInstance, method, priority);
     }
     
+    /**
+     * 注册自定义协议处理器
+     * 参数中有 @BinaryMessage 类型时登记到类型字节跳转表，否则按字符串路由登记
+     */
+    private void registerCustomHandler(@NotNull Object handlerInstance, @NotNull Method method) {
+        CustomHandler annotation = method.getAnnotation(CustomHandler.class);
+        int priority = annotation.priority();
+        
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            BinaryMessage binaryMessage = parameterType.getAnnotation(BinaryMessage.class);
+            if (binaryMessage != null) {
+                registerBinaryHandler(binaryMessage.type(), new HandlerMethod(handlerInstance, method, priority));
+                return;
+            }
+        }
+        
+        registerHandler("Custom", annotation.value(), handlerInstance, method, priority);
+    }
+    
+    /**
+     * 注册二进制消息处理器，同一类型字节保留优先级最高的处理器
+     */
+    private synchronized void registerBinaryHandler(int type, @NotNull HandlerMethod handlerMethod) {
+        if (type < 0 || type > 255) {
+            log.warn("Binary message type out of range: {}", type);
+            return;
+        }
+        HandlerMethod existing = binaryHandlers[type];
+        if (existing == null || handlerMethod.getPriority() < existing.getPriority()) {
+            binaryHandlers[type] = handlerMethod;
+        }
+        
+        log.debug("Registered Custom binary handler: type {} -> {}.{}", type,
+            handlerMethod.getHandlerInstance().getClass().getSimpleName(), handlerMethod.getMethod().getName());
+    }
+    
     /**
      * 注册处理器
      */
     private void registerHandler(@NotNull String protocol, @NotNull String route,
                                  @NotNull Object handlerInstance, @NotNull Method method,
                                  int priority) {
+        registerHandler(protocol, route, new HandlerMethod(handlerInstance, method, priority));
+    }
+    
+    /**
+     * 注册处理器
+     */
+    private void registerHandler(@NotNull String protocol, @NotNull String route,
+                                 @NotNull HandlerMethod handlerMethod) {
         Map<String, List<HandlerMethod>> protocolHandlers = 
             handlers.computeIfAbsent(protocol, k -> new ConcurrentHashMap<>());
         
@@ -157,14 +233,22 @@ public class MessageHandlerRegistry {
         List<HandlerMethod> handlerList = 
             protocolHandlers.computeIfAbsent(routeKey, k -> new ArrayList<>());
         
-        HandlerMethod handlerMethod = new HandlerMethod(handlerInstance, method, priority);
         handlerList.add(handlerMethod);
+
+        if (routeKey.startsWith("^") || routeKey.contains(".*")) {
+            try {
+                routePatterns.put(routeKey, Pattern.compile(routeKey));
+            } catch (Exception e) {
+                log.warn("Invalid regex pattern: {}", routeKey);
+            }
+        }
         
         // 按优先级排序
         handlerList.sort(Comparator.comparingInt(HandlerMethod::getPriority));
+        byteRoutes.remove(protocol);
         
         log.debug("Registered {} handler: {} -> {}.{}", protocol, routeKey, 
-            handlerInstance.getClass().getSimpleName(), method.getName());
+            handlerMethod.getHandlerInstance().getClass().getSimpleName(), handlerMethod.getMethod().getName());
     }
     
     /**
@@ -201,15 +285,9 @@ public class MessageHandlerRegistry {
         // 3. 正则表达式匹配
         for (Map.Entry<String, List<HandlerMethod>> entry : protocolHandlers.entrySet()) {
             String route = entry.getKey();
-            if (route.startsWith("^") || route.contains(".*")) {
-                try {
-                    Pattern pattern = Pattern.compile(route);
-                    if (pattern.matcher(message).matches()) {
-                        return entry.getValue().get(0);
-                    }
-                } catch (Exception e) {
-                    log.warn("Invalid regex pattern: {}", route);
-                }
+            Pattern pattern = routePatterns.get(route);
+            if (pattern != null && pattern.matcher(message).matches()) {
+                return entry.getValue().get(0);
             }
         }
         
@@ -222,6 +300,81 @@ public class MessageHandlerRegistry {
         return null;
     }
     
+    /**
+     * 按原始字节查找处理器，用于数据报等未解码的消息
+     * 匹配顺序与 {@link #findHandler(String, String)} 相同，消息先去掉首尾空白；精确路由和前缀路由直接比较字节，
+     * 不解码为字符串，只有注册了正则路由且前两者都不匹配时才解码
+     *
+     * @param protocol 协议类型
+     * @param content 消息内容，读索引不变
+     * @return 处理器方法，如果未找到则返回null
+     */
+    @Nullable
+    public HandlerMethod findHandler(@NotNull String protocol, @NotNull ByteBuf content) {
+        Map<String, List<HandlerMethod>> protocolHandlers = handlers.get(protocol);
+        if (protocolHandlers == null || protocolHandlers.isEmpty()) {
+            return null;
+        }
+        ByteRoutes routes = byteRoutes.computeIfAbsent(protocol, k -> new ByteRoutes(protocolHandlers, routePatterns));
+
+        int start = content.readerIndex();
+        int end = content.writerIndex();
+        while (start < end && (content.getByte(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (content.getByte(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+
+        // 1. 精确匹配路由
+        for (int i = 0; i < routes.exact.length; i++) {
+            if (routes.exact[i].length == length && regionMatches(content, start, routes.exact[i])) {
+                return routes.exactHandlers[i];
+            }
+        }
+
+        // 2. 前缀匹配路由
+        for (int i = 0; i < routes.prefixes.length; i++) {
+            if (routes.prefixes[i].length <= length && regionMatches(content, start, routes.prefixes[i])) {
+                return routes.prefixHandlers[i];
+            }
+        }
+
+        // 3. 正则表达式匹配
+        if (routes.patterns.length > 0) {
+            String message = content.toString(start, length, StandardCharsets.UTF_8);
+            for (int i = 0; i < routes.patterns.length; i++) {
+                if (routes.patterns[i].matcher(message).matches()) {
+                    return routes.patternHandlers[i];
+                }
+            }
+        }
+
+        // 4. 使用默认通配符处理器
+        return routes.defaultHandler;
+    }
+
+    private static boolean regionMatches(@NotNull ByteBuf content, int start, @NotNull byte[] route) {
+        for (int i = 0; i < route.length; i++) {
+            if (content.getByte(start + i) != route[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按类型字节查找二进制消息处理器
+     * 
+     * @param type 消息类型字节
+     * @return 处理器方法，如果未找到则返回null
+     */
+    @Nullable
+    public HandlerMethod findBinaryHandler(int type) {
+        return binaryHandlers[type & 0xFF];
+    }
+    
     /**
      * 查找MQTT处理器
      */
@@ -265,6 +418,58 @@ public class MessageHandlerRegistry {
         return com.dtc.core.web.ComponentScanner.scanClasses(basePackage);
     }
     
+    /**
+     * 一个协议的路由按匹配方式拆开，路由预先编码为 UTF-8 字节
+     */
+    private static final class ByteRoutes {
+        private final byte[][] exact;
+        private final HandlerMethod[] exactHandlers;
+        private final byte[][] prefixes;
+        private final HandlerMethod[] prefixHandlers;
+        private final Pattern[] patterns;
+        private final HandlerMethod[] patternHandlers;
+        private final HandlerMethod defaultHandler;
+
+        ByteRoutes(@NotNull Map<String, List<HandlerMethod>> protocolHandlers,
+                @NotNull Map<String, Pattern> routePatterns) {
+            List<byte[]> exactList = new ArrayList<>();
+            List<HandlerMethod> exactHandlerList = new ArrayList<>();
+            List<byte[]> prefixList = new ArrayList<>();
+            List<HandlerMethod> prefixHandlerList = new ArrayList<>();
+            List<Pattern> patternList = new ArrayList<>();
+            List<HandlerMethod> patternHandlerList = new ArrayList<>();
+            HandlerMethod fallback = null;
+            for (Map.Entry<String, List<HandlerMethod>> entry : protocolHandlers.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    continue;
+                }
+                String route = entry.getKey();
+                HandlerMethod handler = entry.getValue().get(0);
+                exactList.add(route.getBytes(StandardCharsets.UTF_8));
+                exactHandlerList.add(handler);
+                if (route.endsWith(":*")) {
+                    prefixList.add(route.substring(0, route.length() - 2).getBytes(StandardCharsets.UTF_8));
+                    prefixHandlerList.add(handler);
+                }
+                Pattern pattern = routePatterns.get(route);
+                if (pattern != null) {
+                    patternList.add(pattern);
+                    patternHandlerList.add(handler);
+                }
+                if (route.equals("*")) {
+                    fallback = handler;
+                }
+            }
+            this.exact = exactList.toArray(new byte[0][]);
+            this.exactHandlers = exactHandlerList.toArray(new HandlerMethod[0]);
+            this.prefixes = prefixList.toArray(new byte[0][]);
+            this.prefixHandlers = prefixHandlerList.toArray(new HandlerMethod[0]);
+            this.patterns = patternList.toArray(new Pattern[0]);
+            this.patternHandlers = patternHandlerList.toArray(new HandlerMethod[0]);
+            this.defaultHandler = fallback;
+        }
+    }
+
     /**
      * 处理器方法
      */
@@ -272,11 +477,20 @@ public class MessageHandlerRegistry {
         private final Object handlerInstance;
         private final Method method;
         private final int priority;
+        private final Class<?>[] parameterTypes;
+        private final boolean reliable;
         
         public HandlerMethod(@NotNull Object handlerInstance, @NotNull Method method, int priority) {
+            this(handlerInstance, method, priority, false);
+        }
+        
+        public HandlerMethod(@NotNull Object handlerInstance, @NotNull Method method, int priority,
+                             boolean reliable) {
             this.handlerInstance = handlerInstance;
             this.method = method;
             this.priority = priority;
+            this.reliable = reliable;
+            this.parameterTypes = method.getParameterTypes();
             this.method.setAccessible(true);
         }
         
@@ -294,6 +508,21 @@ public class MessageHandlerRegistry {
             return priority;
         }
         
+        /**
+         * 获取参数类型（注册时缓存，调用方不得修改）
+         */
+        @NotNull
+        public Class<?>[] getParameterTypes() {
+            return parameterTypes;
+        }
+        
+        /**
+         * 是否只处理可靠送达的消息
+         */
+        public boolean isReliable() {
+            return reliable;
+        }
+        
         /**
          * 调用处理器方法
          */
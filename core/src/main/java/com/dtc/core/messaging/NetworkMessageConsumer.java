@@ -2,6 +2,7 @@ package com.dtc.core.messaging;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import jakarta.inject.Inject;
@@ -11,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.core.diagnostic.jfr.HandlerInvokeEvent;
+import com.dtc.core.diagnostic.jfr.MessageConsumeEvent;
 import com.dtc.core.messaging.handler.CustomMessageHandler;
 import com.dtc.core.messaging.handler.HttpMessageHandler;
 import com.dtc.core.messaging.handler.MqttMessageHandler;
@@ -33,6 +36,8 @@ public class NetworkMessageConsumer implements QueueConsumer<NetworkMessageEvent
 
     private final StatisticsCollector statisticsCollector;
     private final Map<String, Consumer<NetworkMessageEvent>> protocolHandlers = new ConcurrentHashMap<>();
+    // 协议处理器的类名，用于 JFR 事件
+    private final Map<String, String> handlerNames = new ConcurrentHashMap<>();
 
     // 注入的协议处理器
     private final HttpMessageHandler httpMessageHandler;
@@ -66,15 +71,21 @@ public class NetworkMessageConsumer implements QueueConsumer<NetworkMessageEvent
      * 注册协议处理器
      */
     private void registerProtocolHandlers() {
-        protocolHandlers.put("HTTP", httpMessageHandler::handleMessage);
-        protocolHandlers.put("HTTPS", httpMessageHandler::handleMessage);
-        protocolHandlers.put("WebSocket", webSocketMessageHandler::handleMessage);
-        protocolHandlers.put("WS", webSocketMessageHandler::handleMessage);
-        protocolHandlers.put("WSS", webSocketMessageHandler::handleMessage);
-        protocolHandlers.put("MQTT", mqttMessageHandler::handleMessage);
-        protocolHandlers.put("TCP", tcpMessageHandler::handleMessage);
-        protocolHandlers.put("UDP", udpMessageHandler::handleMessage);
-        protocolHandlers.put("Custom", customMessageHandler::handleMessage);
+        registerProtocolHandler("HTTP", httpMessageHandler, httpMessageHandler::handleMessage);
+        registerProtocolHandler("HTTPS", httpMessageHandler, httpMessageHandler::handleMessage);
+        registerProtocolHandler("WebSocket", webSocketMessageHandler, webSocketMessageHandler::handleMessage);
+        registerProtocolHandler("WS", webSocketMessageHandler, webSocketMessageHandler::handleMessage);
+        registerProtocolHandler("WSS", webSocketMessageHandler, webSocketMessageHandler::handleMessage);
+        registerProtocolHandler("MQTT", mqttMessageHandler, mqttMessageHandler::handleMessage);
+        registerProtocolHandler("TCP", tcpMessageHandler, tcpMessageHandler::handleMessage);
+        registerProtocolHandler("UDP", udpMessageHandler, udpMessageHandler::handleMessage);
+        registerProtocolHandler("Custom", customMessageHandler, customMessageHandler::handleMessage);
+    }
+
+    private void registerProtocolHandler(@NotNull String protocolType, @NotNull Object handler,
+            @NotNull Consumer<NetworkMessageEvent> consumer) {
+        protocolHandlers.put(protocolType, consumer);
+        handlerNames.put(protocolType, handler.getClass().getSimpleName());
     }
 
     @Override
@@ -84,6 +95,8 @@ public class NetworkMessageConsumer implements QueueConsumer<NetworkMessageEvent
             return;
         }
 
+        MessageConsumeEvent consumeEvent = new MessageConsumeEvent();
+        consumeEvent.begin();
         try {
             String protocolType = event.getProtocolType();
             if (protocolType == null || protocolType.isEmpty()) {
@@ -101,14 +114,40 @@ public class NetworkMessageConsumer implements QueueConsumer<NetworkMessageEvent
             statisticsCollector.onRequestStart();
 
             // 处理消息
-            long startTime = System.currentTimeMillis();
-            handler.accept(event);
-            long processingTime = System.currentTimeMillis() - startTime;
-            statisticsCollector.onRequestComplete(processingTime);
+            HandlerInvokeEvent invokeEvent = new HandlerInvokeEvent();
+            invokeEvent.begin();
+            long startTime = System.nanoTime();
+            boolean handled = false;
+            try {
+                handler.accept(event);
+                handled = true;
+            } finally {
+                invokeEvent.end();
+                if (invokeEvent.shouldCommit()) {
+                    invokeEvent.handler = handlerNames.get(protocolType);
+                    invokeEvent.protocol = protocolType;
+                    invokeEvent.success = handled;
+                    invokeEvent.commit();
+                }
+            }
+            long processingNanos = System.nanoTime() - startTime;
+            statisticsCollector.recordHandlerLatency(protocolType, processingNanos);
+            statisticsCollector.onRequestComplete(TimeUnit.NANOSECONDS.toMillis(processingNanos));
 
         } catch (Exception e) {
             log.error("Error processing message event: {}", event.getEventId(), e);
             statisticsCollector.onRequestError();
+        } finally {
+            consumeEvent.end();
+            if (consumeEvent.shouldCommit()) {
+                consumeEvent.eventId = event.getEventId();
+                consumeEvent.protocol = event.getProtocolType();
+                consumeEvent.clientId = event.getClientId();
+                consumeEvent.sequence = sequence;
+                consumeEvent.messageSize = event.getMessageSize();
+                consumeEvent.queueTime = Math.max(0, System.currentTimeMillis() - event.getTimestamp());
+                consumeEvent.commit();
+            }
         }
     }
 
@@ -1,6 +1,6 @@
 package com.dtc.core.messaging;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -25,8 +25,8 @@ public class NetworkMessageHandler {
 
     private final @NotNull ProtobufSerializer serializer;
     private final @NotNull NetworkMessageQueue messageQueue;
-    private final @NotNull AtomicLong receivedCount = new AtomicLong(0);
-    private final @NotNull AtomicLong forwardedCount = new AtomicLong(0);
+    private final @NotNull LongAdder receivedCount = new LongAdder();
+    private final @NotNull LongAdder forwardedCount = new LongAdder();
 
     @Inject
     public NetworkMessageHandler(@NotNull ProtobufSerializer serializer, @NotNull NetworkMessageQueue messageQueue) {
@@ -42,7 +42,7 @@ public class NetworkMessageHandler {
      */
     public boolean handleMessage(@NotNull Message message) {
         try {
-            receivedCount.incrementAndGet();
+            receivedCount.increment();
 
             log.debug("Handling message: {} (size: {} bytes)", message.getClass().getSimpleName(),
                     message.getSerializedSize());
@@ -58,7 +58,7 @@ public class NetworkMessageHandler {
             boolean success = messageQueue.publish(event);
 
             if (success) {
-                forwardedCount.incrementAndGet();
+                forwardedCount.increment();
                 log.debug("Message forwarded to queue: {}", message.getClass().getSimpleName());
             } else {
                 log.warn("Failed to forward message to queue: {}", message.getClass().getSimpleName());
@@ -79,7 +79,7 @@ public class NetworkMessageHandler {
      */
     public boolean handleRawData(@NotNull byte[] data) {
         try {
-            receivedCount.incrementAndGet();
+            receivedCount.increment();
 
             log.debug("Handling raw data: {} bytes", data.length);
 
@@ -94,7 +94,7 @@ public class NetworkMessageHandler {
             boolean success = messageQueue.publish(event);
 
             if (success) {
-                forwardedCount.incrementAndGet();
+                forwardedCount.increment();
                 log.debug("Raw data forwarded to queue: {} bytes", data.length);
             } else {
                 log.warn("Failed to forward raw data to queue: {} bytes", data.length);
@@ -112,7 +112,7 @@ public class NetworkMessageHandler {
      */
     @NotNull
     public HandlerStats getStats() {
-        return new HandlerStats(receivedCount.get(), forwardedCount.get());
+        return new HandlerStats(receivedCount.sum(), forwardedCount.sum());
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.dtc.core.messaging;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.core.diagnostic.jfr.MessagePublishEvent;
 import com.dtc.core.queue.DisruptorQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,8 +72,18 @@ public class NetworkMessageQueue extends DisruptorQueue<NetworkMessageEvent> {
      * 发布网络消息事件
      */
     public boolean publish(@NotNull NetworkMessageEvent event) {
+        MessagePublishEvent publishEvent = new MessagePublishEvent();
+        publishEvent.begin();
         try {
             boolean success = super.publish(event);
+            publishEvent.end();
+            if (publishEvent.shouldCommit()) {
+                publishEvent.eventId = event.getEventId();
+                publishEvent.protocol = event.getProtocolType();
+                publishEvent.messageSize = event.getMessageSize();
+                publishEvent.success = success;
+                publishEvent.commit();
+            }
             if (success) {
                 log.debug("🔄 Published network message: {}", event.getEventId());
             } else {
@@ -12,6 +12,8 @@ import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
 import com.dtc.core.messaging.MessageHandlerRegistry;
 import com.dtc.core.messaging.NetworkMessageEvent;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistry;
+import com.dtc.core.network.custom.binary.BinaryMessageCodec;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
@@ -19,6 +21,7 @@ import io.netty.channel.ChannelHandlerContext;
 /**
  * 自定义协议消息处理器
  * 专门处理自定义协议的消息
+ * 类型字节注册了生成编解码器的帧直接解码为消息对象，并通过类型字节跳转表分发给 @CustomHandler 方法
  * 
  * @author Network Service Template
  */
@@ -28,10 +31,17 @@ public class CustomMessageHandler {
     private static final Logger log = LoggerFactory.getLogger(CustomMessageHandler.class);
 
     private final MessageHandlerRegistry messageHandlerRegistry;
+    private final BinaryCodecRegistry binaryCodecRegistry;
 
-    @Inject
     public CustomMessageHandler(@Nullable MessageHandlerRegistry messageHandlerRegistry) {
+        this(messageHandlerRegistry, new BinaryCodecRegistry());
+    }
+
+    @Inject
+    public CustomMessageHandler(@Nullable MessageHandlerRegistry messageHandlerRegistry,
+            @NotNull BinaryCodecRegistry binaryCodecRegistry) {
         this.messageHandlerRegistry = messageHandlerRegistry;
+        this.binaryCodecRegistry = binaryCodecRegistry;
     }
 
     /**
@@ -47,7 +57,9 @@ public class CustomMessageHandler {
             log.debug("Processing Custom message: {}", message != null ? message.getClass().getSimpleName() : "null");
 
             // 处理不同类型的自定义消息
-            if (message instanceof ByteBuf) {
+            if (message != null && binaryCodecRegistry.supports(message.getClass())) {
+                handleBinaryMessage(ctx, message);
+            } else if (message instanceof ByteBuf) {
                 handleByteBufMessage(ctx, (ByteBuf) message);
             } else if (message instanceof byte[]) {
                 handleByteArrayMessage(ctx, (byte[]) message);
@@ -72,6 +84,12 @@ public class CustomMessageHandler {
             int messageLength = message.readableBytes();
             log.debug("Processing Custom ByteBuf message: {} bytes", messageLength);
 
+            // 已注册类型字节的帧直接解码，不转换为字符串
+            if (binaryCodecRegistry.supportsFrame(message)) {
+                handleBinaryMessage(ctx, binaryCodecRegistry.decodeFrame(message));
+                return;
+            }
+
             // 解析自定义协议消息
             CustomProtocolMessage protocolMessage = parseCustomProtocolMessage(message);
             
@@ -102,6 +120,69 @@ public class CustomMessageHandler {
         }
     }
 
+    /**
+     * 处理二进制消息对象
+     * 按类型字节从跳转表取处理器；处理器返回的消息如果有编解码器则编码后写回
+     */
+    private void handleBinaryMessage(@NotNull ChannelHandlerContext ctx, @NotNull Object message) {
+        BinaryMessageCodec<?> codec = binaryCodecRegistry.getCodec(message.getClass());
+        MessageHandlerRegistry.HandlerMethod handler = messageHandlerRegistry != null && codec != null
+                ? messageHandlerRegistry.findBinaryHandler(codec.getType())
+                : null;
+        if (handler == null) {
+            log.debug("No binary handler found for Custom message: {}", message.getClass().getSimpleName());
+            sendErrorResponse(ctx, "Unhandled message type: " + message.getClass().getSimpleName());
+            return;
+        }
+
+        try {
+            Object result = handler.invoke(resolveBinaryArguments(handler, ctx, message));
+            if (result != null) {
+                sendBinaryResponse(ctx, result);
+            }
+        } catch (Exception e) {
+            log.error("Failed to invoke Custom binary handler {}", handler.getMethod().getName(), e);
+            sendErrorResponse(ctx, "Error processing custom message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 按参数类型组装二进制处理器参数，支持 ChannelHandlerContext 和消息类型本身
+     */
+    @NotNull
+    private Object[] resolveBinaryArguments(@NotNull MessageHandlerRegistry.HandlerMethod handler,
+            @NotNull ChannelHandlerContext ctx, @NotNull Object message) {
+        Class<?>[] parameterTypes = handler.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            if (type == ChannelHandlerContext.class) {
+                args[i] = ctx;
+            } else if (type.isInstance(message)) {
+                args[i] = message;
+            }
+        }
+        return args;
+    }
+
+    /**
+     * 发送二进制响应，没有编解码器的返回值按字符串DATA消息发送
+     */
+    private void sendBinaryResponse(@NotNull ChannelHandlerContext ctx, @NotNull Object response) {
+        if (!binaryCodecRegistry.supports(response.getClass())) {
+            sendCustomResponse(ctx, "DATA", response.toString());
+            return;
+        }
+        ByteBuf buffer = ctx.alloc().buffer();
+        try {
+            binaryCodecRegistry.encodeFrame(response, buffer);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+        ctx.writeAndFlush(buffer);
+    }
+
     /**
      * 处理字节数组消息
      */
@@ -1,18 +1,24 @@
 package com.dtc.core.messaging.handler;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
 import com.dtc.core.network.http.HttpRequestEx;
 import com.dtc.core.network.http.HttpRequestHandler;
 import com.dtc.core.network.http.HttpResponseEx;
 import com.dtc.core.messaging.NetworkMessageEvent;
+import com.dtc.core.network.http.connection.HttpKeepAliveHandler;
+import com.dtc.core.network.http.stream.StreamingBodyWriter;
+import com.dtc.core.network.http.stream.StreamingHttpRequest;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.IOException;
 
 /**
  * HTTP 消息处理器
@@ -47,23 +53,31 @@ public class HttpMessageHandler {
                 log.debug("🔄 Converting FullHttpRequest to HttpRequestEx");
 
                 // 转换 Netty FullHttpRequest 为 HttpRequestEx
-                HttpRequestEx httpRequest = convertToHttpRequestEx(nettyRequest);
+                HttpRequestEx httpRequest = convertToHttpRequestEx(nettyRequest, ctx);
                 log.debug("✅ Successfully converted to HttpRequestEx: {} {}",
                         httpRequest.getMethod(), httpRequest.getPath());
 
                 // 使用HttpRequestHandler处理请求，通过路由管理器进行路由分发
-                log.debug("🔄 Calling requestHandler.handleRequest");
-                HttpResponseEx httpResponse = requestHandler.handleRequest(httpRequest);
-                log.debug("✅ Request handler returned response");
-
-                // 发送响应 - 将HttpResponseEx转换回Netty的FullHttpResponse
-                log.debug("🔄 Sending response via ctx.writeAndFlush");
-                FullHttpResponse nettyResponse = convertToNettyResponse(httpResponse);
-                ctx.writeAndFlush(nettyResponse);
-                log.debug("✅ Response sent successfully");
-
-                log.debug("✅ HTTP request processed successfully: {} {}",
-                        httpRequest.getMethod(), httpRequest.getPath());
+                // 异步处理方法完成后才写出响应，分发线程不等待处理结果；事件对象会被队列复用，回调中不再访问
+                // 同一连接上的流水线请求可能乱序完成，响应交给持久连接处理器按请求顺序写出
+                String eventId = event.getEventId();
+                log.debug("🔄 Calling requestHandler.handleRequestAsync");
+                requestHandler.handleRequestAsync(httpRequest).whenComplete((httpResponse, error) ->
+                        HttpKeepAliveHandler.writeResponse(ctx, nettyRequest, () -> {
+                            if (error != null) {
+                                handleError(eventId, ctx, error);
+                                return;
+                            }
+                            try {
+                                writeResponse(ctx, httpResponse);
+                                log.debug("✅ HTTP request processed successfully: {} {}",
+                                        httpRequest.getMethod(), httpRequest.getPath());
+                            } catch (Exception e) {
+                                // 响应可能已经写出了一部分，只能关闭连接
+                                log.error("❌ Failed to write HTTP response: {}", eventId, e);
+                                ctx.close();
+                            }
+                        }));
 
             } else {
                 log.warn("⚠️  Unexpected message type in HTTP handler: {}",
@@ -72,15 +86,41 @@ public class HttpMessageHandler {
 
         } catch (Exception e) {
             log.error("❌ Error processing HTTP message: {}", event.getEventId(), e);
-            handleError(event, e);
+            ChannelHandlerContext ctx = event.getChannelContext();
+            if (ctx != null && event.getMessage() instanceof FullHttpRequest nettyRequest) {
+                String eventId = event.getEventId();
+                HttpKeepAliveHandler.writeResponse(ctx, nettyRequest, () -> handleError(eventId, ctx, e));
+            } else {
+                handleError(event.getEventId(), ctx, e);
+            }
         }
     }
 
+    /**
+     * 发送响应 - 流式响应体先写响应头再分块写出，其余转换为Netty的FullHttpResponse
+     */
+    private void writeResponse(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponseEx httpResponse)
+            throws IOException {
+        log.debug("🔄 Sending response via ctx.writeAndFlush");
+        if (httpResponse.hasStreamingBody()) {
+            HttpResponse head = new io.netty.handler.codec.http.DefaultHttpResponse(
+                    io.netty.handler.codec.http.HttpVersion.HTTP_1_1,
+                    io.netty.handler.codec.http.HttpResponseStatus.valueOf(httpResponse.getStatusCode()));
+            applyHeaders(head, httpResponse);
+            StreamingBodyWriter.write(ctx, head, httpResponse.getStreamingBody());
+        } else {
+            FullHttpResponse nettyResponse = convertToNettyResponse(ctx, httpResponse);
+            ctx.writeAndFlush(nettyResponse);
+        }
+        log.debug("✅ Response sent successfully");
+    }
+
     /**
      * 转换 Netty FullHttpRequest 为 HttpRequestEx
      */
     @NotNull
-    private HttpRequestEx convertToHttpRequestEx(@NotNull FullHttpRequest nettyRequest) {
+    private HttpRequestEx convertToHttpRequestEx(@NotNull FullHttpRequest nettyRequest,
+            @Nullable ChannelHandlerContext ctx) {
         try {
             // 读取HTTP方法
             String method = nettyRequest.method().name();
@@ -96,16 +136,13 @@ public class HttpMessageHandler {
             // 读取查询参数
             java.util.Map<String, String> queryParams = extractQueryParameters(uri);
 
-            // 读取请求体
-            String body = null;
+            // 读取请求体，保留原始字节，需要字符串时再解码
+            byte[] bodyBytes = null;
             if (nettyRequest.content() != null && nettyRequest.content().readableBytes() > 0) {
                 try {
-                    byte[] bodyBytes = new byte[nettyRequest.content().readableBytes()];
-                    nettyRequest.content().getBytes(0, bodyBytes);
-                    body = new String(bodyBytes, java.nio.charset.StandardCharsets.UTF_8);
+                    bodyBytes = io.netty.buffer.ByteBufUtil.getBytes(nettyRequest.content());
                 } catch (Exception e) {
                     log.warn("Failed to read request body: {}", e.getMessage());
-                    body = null;
                 }
             }
 
@@ -122,9 +159,13 @@ public class HttpMessageHandler {
                     .version(nettyRequest.protocolVersion())
                     .headers(headers)
                     .queryParameters(queryParams)
-                    .body(body)
+                    .bodyBytes(bodyBytes)
+                    .bodyStream(nettyRequest instanceof StreamingHttpRequest streaming
+                            ? streaming.getBodyStream()
+                            : null)
                     .contentType(contentType)
                     .clientId(clientId)
+                    .remoteAddress(ctx != null ? ctx.channel().remoteAddress() : null)
                     .timestamp(System.currentTimeMillis())
                     .build();
         } catch (Exception e) {
@@ -166,39 +207,26 @@ public class HttpMessageHandler {
      * 将HttpResponseEx转换回Netty的FullHttpResponse
      */
     @NotNull
-    private FullHttpResponse convertToNettyResponse(@NotNull HttpResponseEx response) {
+    private FullHttpResponse convertToNettyResponse(@NotNull ChannelHandlerContext ctx,
+            @NotNull HttpResponseEx response) {
         try {
             io.netty.handler.codec.http.HttpResponseStatus status =
                 io.netty.handler.codec.http.HttpResponseStatus.valueOf(response.getStatusCode());
 
+            // 设置响应体，JSON 对象直接序列化到池化缓冲区
             FullHttpResponse nettyResponse =
                 new io.netty.handler.codec.http.DefaultFullHttpResponse(
                     io.netty.handler.codec.http.HttpVersion.HTTP_1_1,
-                    status
+                    status,
+                    response.encodeBody(ctx.alloc())
                 );
 
-            // 设置响应头部
-            if (response.getContentType() != null) {
-                nettyResponse.headers().set(io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE, response.getContentType());
-            }
-
-            // 设置响应体
-            String body = response.getBody();
-            if (body != null && !body.isEmpty()) {
-                byte[] bodyBytes = body.getBytes(java.nio.charset.StandardCharsets.UTF_8);
-                nettyResponse.content().writeBytes(bodyBytes);
-            }
-
             // 设置内容长度头部
             nettyResponse.headers().set(io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH,
                 nettyResponse.content().readableBytes());
 
-            // 设置其他响应头部
-            if (response.getHeaders() != null) {
-                for (java.util.Map.Entry<String, String> entry : response.getHeaders().entrySet()) {
-                    nettyResponse.headers().set(entry.getKey(), entry.getValue());
-                }
-            }
+            // 设置响应头部
+            applyHeaders(nettyResponse, response);
 
             return nettyResponse;
 
@@ -217,17 +245,37 @@ public class HttpMessageHandler {
         }
     }
 
+    /**
+     * 设置内容类型和其他响应头部
+     */
+    private void applyHeaders(@NotNull HttpResponse nettyResponse, @NotNull HttpResponseEx response) {
+        if (response.getContentType() != null) {
+            nettyResponse.headers().set(io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE, response.getContentType());
+        }
+        if (response.getHeaders() != null) {
+            for (java.util.Map.Entry<String, String> entry : response.getHeaders().entrySet()) {
+                nettyResponse.headers().set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     /**
      * 处理错误
      */
-    private void handleError(@NotNull NetworkMessageEvent event, @NotNull Exception error) {
-        log.error("🔴 Error handling HTTP message: {}", event.getEventId(), error);
+    private void handleError(@Nullable String eventId, @Nullable ChannelHandlerContext ctx, @NotNull Throwable error) {
+        log.error("🔴 Error handling HTTP message: {}", eventId, error);
 
         try {
-            ChannelHandlerContext ctx = event.getChannelContext();
             if (ctx != null && ctx.channel().isActive()) {
-                // 发送HTTP错误响应
-                // 可以通过HttpResponseHandler发送错误响应
+                // 发送HTTP错误响应，持久连接上后续请求的响应排在它之后
+                FullHttpResponse errorResponse = new io.netty.handler.codec.http.DefaultFullHttpResponse(
+                    io.netty.handler.codec.http.HttpVersion.HTTP_1_1,
+                    io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR,
+                    io.netty.buffer.Unpooled.copiedBuffer("Internal Server Error",
+                        java.nio.charset.StandardCharsets.UTF_8));
+                errorResponse.headers().set(io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH,
+                    errorResponse.content().readableBytes());
+                ctx.writeAndFlush(errorResponse);
                 log.error("HTTP error response sent to client: {}", ctx.channel().remoteAddress());
             }
         } catch (Exception e) {
@@ -0,0 +1,84 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 计数器
+ * 基于 {@link LongAdder}：没有竞争时只更新一个基础值，发生竞争后各线程按探针散列到不同的计数单元，
+ * 计数单元以 @Contended 填充到独立的缓存行，读取时求和。适合频繁写、偶尔读的统计计数，
+ * 读取的值在并发更新时不是原子快照。也可以在读取时从单调递增的数据源（如消费者序号）采样，
+ * 采样的计数器只读，更新时抛出 IllegalStateException。
+ *
+ * @author Network Service Template
+ */
+public class Counter {
+
+    private final LongAdder adder = new LongAdder();
+    private final LongSupplier source;
+
+    public Counter() {
+        this.source = null;
+    }
+
+    /**
+     * 创建读取时采样的计数器
+     *
+     * @param source 单调递增的数据源，每次读取时调用，必须是线程安全且廉价的
+     */
+    public Counter(@NotNull LongSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * 加一
+     */
+    public void increment() {
+        checkWritable();
+        adder.increment();
+    }
+
+    /**
+     * 减一
+     */
+    public void decrement() {
+        checkWritable();
+        adder.decrement();
+    }
+
+    /**
+     * 增加指定值，可以为负数
+     */
+    public void add(long delta) {
+        checkWritable();
+        adder.add(delta);
+    }
+
+    /**
+     * 当前值
+     */
+    public long get() {
+        return source != null ? source.getAsLong() : adder.sum();
+    }
+
+    /**
+     * 清零，与并发的更新同时发生时可能保留部分更新
+     */
+    public void reset() {
+        checkWritable();
+        adder.reset();
+    }
+
+    private void checkWritable() {
+        if (source != null) {
+            throw new IllegalStateException("Sampled counter cannot be updated");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,65 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 仪表
+ * 记录可增可减的当前值，如队列长度、连接数；也可以在读取时从数据源采样，此时不能设置
+ *
+ * @author Network Service Template
+ */
+public class Gauge {
+
+    private final AtomicLong value = new AtomicLong();
+    private final LongSupplier source;
+
+    public Gauge() {
+        this.source = null;
+    }
+
+    /**
+     * 创建读取时采样的仪表
+     *
+     * @param source 数据源，每次读取时调用，必须是线程安全且廉价的
+     */
+    public Gauge(@NotNull LongSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * 设置当前值
+     */
+    public void set(long newValue) {
+        checkWritable();
+        value.set(newValue);
+    }
+
+    /**
+     * 增加指定值，可以为负数
+     */
+    public void add(long delta) {
+        checkWritable();
+        value.addAndGet(delta);
+    }
+
+    /**
+     * 当前值
+     */
+    public long get() {
+        return source != null ? source.getAsLong() : value.get();
+    }
+
+    private void checkWritable() {
+        if (source != null) {
+            throw new IllegalStateException("Sampled gauge cannot be set");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
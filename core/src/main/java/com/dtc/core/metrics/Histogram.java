@@ -0,0 +1,119 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁直方图
+ * 与 HdrHistogram 相同的对数-线性分桶：小于 128 的值精确记录，更大的值按二进制数量级分组，每组 64 个等宽子桶，
+ * 相对误差不超过 1/64。记录只对桶计数做一次原子自增，不加锁；超过可追踪上限的值按上限记录。
+ *
+ * @author Network Service Template
+ */
+public class Histogram {
+
+    static final int SUB_BUCKET_COUNT = 128;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_HALF_BITS = 6;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong(0);
+
+    /**
+     * @param highestTrackableValue 可追踪的最大值，例如以纳秒记录时 1 小时为 3_600_000_000_000
+     */
+    public Histogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException("highestTrackableValue must be at least " + SUB_BUCKET_COUNT);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    /**
+     * 记录一个值，负数按 0 记录
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, highestTrackableValue));
+        counts.incrementAndGet(indexOf(clamped));
+        totalCount.increment();
+        totalSum.add(clamped);
+        if (clamped < minValue.get()) {
+            minValue.accumulateAndGet(clamped, Math::min);
+        }
+        if (clamped > maxValue.get()) {
+            maxValue.accumulateAndGet(clamped, Math::max);
+        }
+    }
+
+    /**
+     * 获取当前的快照，记录与快照并发时快照可能包含部分新记录
+     */
+    @NotNull
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long min = minValue.get();
+        return new HistogramSnapshot(copy, count, totalSum.sum(), count > 0 ? min : 0, maxValue.get());
+    }
+
+    /**
+     * 清零所有记录
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalSum.reset();
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    /**
+     * 记录的总数
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * 值所在的桶
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_HALF_BITS;
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * 桶内可能的最大值
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dtc.core.metrics;
+
+/**
+ * 直方图快照
+ * 分位数返回所在桶内可能的最大值，并且不超过记录到的最大值
+ *
+ * @author Network Service Template
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * 分位数
+     *
+     * @param percentile 百分位，范围 0 ~ 100，例如 99.9
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0, Math.min(percentile, 100));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(Histogram.highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    public long getP90() {
+        return getValueAtPercentile(90);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HistogramSnapshot{count=%d, min=%d, mean=%.2f, p50=%d, p90=%d, p99=%d, p99.9=%d, max=%d}",
+                count, min, getMean(), getP50(), getP90(), getP99(), getP999(), max);
+    }
+}
@@ -0,0 +1,230 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 维度指标族
+ * 同名、同标签名的一组时间序列，每组标签值对应一个序列（{@link Counter}、{@link Gauge} 或 {@link Timer}）。
+ * 序列的标签在创建时渲染成文本格式并缓存，导出时不再拼接字符串。
+ * <p>
+ * 序列数超过上限（默认 -Dmetrics.max.series 即 10000）后，新的标签组合全部计入一个标签值为 overflow 的序列，
+ * 防止请求路径、客户端 ID 之类的高基数标签耗尽内存。热点路径应缓存 {@link #labels(String...)} 返回的序列。
+ *
+ * @param <M> 序列类型
+ * @author Network Service Template
+ */
+public final class MetricFamily<M> {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricFamily.class);
+
+    static final int DEFAULT_MAX_SERIES = Integer.getInteger("metrics.max.series", 10_000);
+    static final String OVERFLOW_LABEL_VALUE = "overflow";
+
+    private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+    private final String name;
+    private final String help;
+    private final MetricType type;
+    private final String[] labelNames;
+    private final int maxSeries;
+    private final Supplier<M> factory;
+    private final List<String> overflowKey;
+    private final Map<List<String>, Series<M>> series = new ConcurrentHashMap<>();
+    private final LongAdder overflowCount = new LongAdder();
+    private volatile boolean overflowLogged;
+    // 导出器渲染的 HELP/TYPE 头，首次导出时生成
+    volatile byte[][] exposition;
+
+    MetricFamily(@NotNull String name, @NotNull String help, @NotNull MetricType type, @NotNull String[] labelNames,
+            int maxSeries, @NotNull Supplier<M> factory) {
+        if (!METRIC_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        for (String labelName : labelNames) {
+            if (!LABEL_NAME.matcher(labelName).matches() || labelName.startsWith("__")
+                    || (type == MetricType.SUMMARY && labelName.equals("quantile"))) {
+                throw new IllegalArgumentException("Invalid label name for " + name + ": " + labelName);
+            }
+        }
+        if (maxSeries < 1) {
+            throw new IllegalArgumentException("maxSeries must be positive: " + maxSeries);
+        }
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.maxSeries = maxSeries;
+        this.factory = factory;
+        String[] overflowValues = new String[labelNames.length];
+        Arrays.fill(overflowValues, OVERFLOW_LABEL_VALUE);
+        this.overflowKey = List.of(overflowValues);
+    }
+
+    /**
+     * 获取标签值对应的序列，不存在时创建
+     *
+     * @param labelValues 标签值，顺序与标签名一致
+     */
+    @NotNull
+    public M labels(@NotNull String... labelValues) {
+        List<String> key = key(labelValues);
+        Series<M> existing = series.get(key);
+        if (existing != null) {
+            return existing.metric;
+        }
+        if (series.size() >= maxSeries) {
+            overflowCount.increment();
+            if (!overflowLogged) {
+                overflowLogged = true;
+                log.warn("Metric {} exceeded {} series, new label sets are recorded as '{}'", name, maxSeries,
+                        OVERFLOW_LABEL_VALUE);
+            }
+            key = overflowKey;
+        }
+        return series.computeIfAbsent(key, k -> new Series<>(k, renderLabels(k), factory.get())).metric;
+    }
+
+    /**
+     * 以指定标签值注册组件自己持有的序列，替换已有的序列，不受序列数上限限制
+     */
+    public void register(@NotNull M metric, @NotNull String... labelValues) {
+        List<String> key = key(labelValues);
+        series.put(key, new Series<>(key, renderLabels(key), metric));
+    }
+
+    /**
+     * 移除标签值对应的序列
+     *
+     * @return 是否存在
+     */
+    public boolean remove(@NotNull String... labelValues) {
+        return series.remove(key(labelValues)) != null;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public String getHelp() {
+        return help;
+    }
+
+    @NotNull
+    public MetricType getType() {
+        return type;
+    }
+
+    @NotNull
+    public List<String> getLabelNames() {
+        return List.of(labelNames);
+    }
+
+    /**
+     * 当前的序列
+     */
+    @NotNull
+    public Collection<Series<M>> getSeries() {
+        return Collections.unmodifiableCollection(series.values());
+    }
+
+    /**
+     * 当前的序列数
+     */
+    public int size() {
+        return series.size();
+    }
+
+    /**
+     * 因超过序列数上限而计入 overflow 序列的查找次数
+     */
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
+    @NotNull
+    private List<String> key(@NotNull String[] labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " expects labels " + Arrays.toString(labelNames)
+                    + " but got " + labelValues.length + " values");
+        }
+        return List.of(labelValues);
+    }
+
+    /**
+     * 渲染标签对，如 method="GET",route="/users"，不含花括号
+     */
+    @NotNull
+    private String renderLabels(@NotNull List<String> labelValues) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labelNames.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labelNames[i]).append("=\"");
+            String value = labelValues.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                switch (c) {
+                    case '\\' -> builder.append("\\\\");
+                    case '"' -> builder.append("\\\"");
+                    case '\n' -> builder.append("\\n");
+                    default -> builder.append(c);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 时间序列：标签值、渲染好的标签和指标值
+     *
+     * @param <M> 序列类型
+     */
+    public static final class Series<M> {
+        private final List<String> labelValues;
+        private final String renderedLabels;
+        private final M metric;
+        // 导出器按格式渲染的行前缀，首次导出时生成
+        volatile byte[][] exposition;
+
+        Series(@NotNull List<String> labelValues, @NotNull String renderedLabels, @NotNull M metric) {
+            this.labelValues = labelValues;
+            this.renderedLabels = renderedLabels;
+            this.metric = metric;
+        }
+
+        @NotNull
+        public List<String> getLabelValues() {
+            return labelValues;
+        }
+
+        /**
+         * 渲染好的标签对，没有标签时为空串
+         */
+        @NotNull
+        public String getRenderedLabels() {
+            return renderedLabels;
+        }
+
+        @NotNull
+        public M getMetric() {
+            return metric;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+/**
+ * 指标类型，对应 Prometheus 文本格式中的 TYPE
+ *
+ * @author Network Service Template
+ */
+public enum MetricType {
+
+    COUNTER("counter"),
+    GAUGE("gauge"),
+    SUMMARY("summary");
+
+    private final String exposition;
+
+    MetricType(@NotNull String exposition) {
+        this.exposition = exposition;
+    }
+
+    /**
+     * 文本格式中的类型名称
+     */
+    @NotNull
+    public String getExposition() {
+        return exposition;
+    }
+}
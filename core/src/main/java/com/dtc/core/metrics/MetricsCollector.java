@@ -22,13 +22,28 @@ public class MetricsCollector {
 
     private static final Logger log = LoggerFactory.getLogger(MetricsCollector.class);
 
+    private static final long DEFAULT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(
+            Long.getLong("metrics.collect.interval.seconds", 30L));
+
     private final @NotNull MetricsRegistry metricsRegistry;
+    private final long intervalMillis;
     private final @NotNull ScheduledExecutorService scheduler;
     private volatile boolean started = false;
 
     @Inject
     public MetricsCollector(@NotNull MetricsRegistry metricsRegistry) {
+        this(metricsRegistry, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param intervalMillis 收集周期（毫秒），也是计时器区间的长度
+     */
+    public MetricsCollector(@NotNull MetricsRegistry metricsRegistry, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be positive: " + intervalMillis);
+        }
         this.metricsRegistry = metricsRegistry;
+        this.intervalMillis = intervalMillis;
         this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread thread = new Thread(r, "metrics-collector");
             thread.setDaemon(true);
@@ -46,8 +61,8 @@ public class MetricsCollector {
 
         log.info("Starting metrics collection...");
 
-        // 每30秒收集一次指标数据
-        scheduler.scheduleAtFixedRate(this::collectMetrics, 30, 30, TimeUnit.SECONDS);
+        // 默认每30秒收集一次指标数据，可通过 -Dmetrics.collect.interval.seconds 调整
+        scheduler.scheduleAtFixedRate(this::collectMetrics, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
 
         started = true;
         log.info("Metrics collection started");
@@ -94,11 +109,32 @@ public class MetricsCollector {
                 log.debug("Collected {} gauge metrics", gauges.size());
             }
 
+            // 结束计时器的当前区间，输出区间内的延迟分布
+            metricsRegistry.getAllTimers().forEach(this::collectTimer);
+            for (MetricFamily<?> family : metricsRegistry.getFamilies()) {
+                if (family.getType() == MetricType.SUMMARY) {
+                    for (MetricFamily.Series<?> series : family.getSeries()) {
+                        String labels = series.getRenderedLabels();
+                        collectTimer(labels.isEmpty() ? family.getName() : family.getName() + "{" + labels + "}",
+                                (Timer) series.getMetric());
+                    }
+                }
+            }
+
         } catch (Exception e) {
             log.error("Failed to collect metrics", e);
         }
     }
 
+    private void collectTimer(@NotNull String name, @NotNull Timer timer) {
+        HistogramSnapshot snapshot = timer.intervalSnapshot();
+        if (snapshot.getCount() > 0) {
+            log.info("Timer {}: count={}, p50={}us, p90={}us, p99={}us, p99.9={}us, max={}us", name,
+                    snapshot.getCount(), snapshot.getP50() / 1000, snapshot.getP90() / 1000,
+                    snapshot.getP99() / 1000, snapshot.getP999() / 1000, snapshot.getMax() / 1000);
+        }
+    }
+
     /**
      * 检查是否已启动
      * 
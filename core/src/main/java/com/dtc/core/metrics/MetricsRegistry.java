@@ -5,9 +5,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * 指标注册表
@@ -20,18 +23,21 @@ public class MetricsRegistry {
 
     private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
 
-    private final @NotNull Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Counter> counters = new ConcurrentHashMap<>();
     private final @NotNull Map<String, Long> gauges = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
 
     /**
      * 获取计数器指标
      * 
      * @param name 指标名称
-     * @return 计数器指标值
+     * @return 计数器
      */
     @NotNull
-    public AtomicLong getCounter(@NotNull String name) {
-        return counters.computeIfAbsent(name, k -> new AtomicLong(0));
+    public Counter getCounter(@NotNull String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, k -> new Counter());
     }
 
     /**
@@ -41,7 +47,7 @@ public class MetricsRegistry {
      * @param delta 增加值
      */
     public void incrementCounter(@NotNull String name, long delta) {
-        getCounter(name).addAndGet(delta);
+        getCounter(name).add(delta);
     }
 
     /**
@@ -64,6 +70,113 @@ public class MetricsRegistry {
         return gauges.getOrDefault(name, 0L);
     }
 
+    /**
+     * 获取计时器，不存在时创建
+     * 
+     * @param name 计时器名称
+     * @return 计时器
+     */
+    @NotNull
+    public Timer timer(@NotNull String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, k -> new Timer());
+    }
+
+    /**
+     * 注册组件自己持有的计时器，同名的计时器会被替换
+     * 
+     * @param name  计时器名称
+     * @param timer 计时器
+     */
+    public void registerTimer(@NotNull String name, @NotNull Timer timer) {
+        timers.put(name, timer);
+    }
+
+    /**
+     * 获取所有计时器
+     * 
+     * @return 计时器映射
+     */
+    @NotNull
+    public Map<String, Timer> getAllTimers() {
+        return Map.copyOf(timers);
+    }
+
+    /**
+     * 获取带标签的计数器族，不存在时创建
+     * 
+     * @param name       指标名称，如 http_requests_total
+     * @param help       说明
+     * @param labelNames 标签名
+     * @return 计数器族
+     */
+    @NotNull
+    public MetricFamily<Counter> counterFamily(@NotNull String name, @NotNull String help,
+            @NotNull String... labelNames) {
+        return family(name, help, MetricType.COUNTER, labelNames, Counter::new);
+    }
+
+    /**
+     * 获取带标签的仪表族，不存在时创建
+     * 
+     * @param name       指标名称
+     * @param help       说明
+     * @param labelNames 标签名
+     * @return 仪表族
+     */
+    @NotNull
+    public MetricFamily<Gauge> gaugeFamily(@NotNull String name, @NotNull String help,
+            @NotNull String... labelNames) {
+        return family(name, help, MetricType.GAUGE, labelNames, Gauge::new);
+    }
+
+    /**
+     * 获取带标签的计时器族，不存在时创建，按秒导出为 summary
+     * 
+     * @param name       指标名称，如 request_latency_seconds
+     * @param help       说明
+     * @param labelNames 标签名
+     * @return 计时器族
+     */
+    @NotNull
+    public MetricFamily<Timer> timerFamily(@NotNull String name, @NotNull String help,
+            @NotNull String... labelNames) {
+        return family(name, help, MetricType.SUMMARY, labelNames, Timer::new);
+    }
+
+    /**
+     * 获取所有指标族
+     * 
+     * @return 指标族
+     */
+    @NotNull
+    public Collection<MetricFamily<?>> getFamilies() {
+        return Collections.unmodifiableCollection(families.values());
+    }
+
+    /**
+     * 是否存在指定名称的指标族
+     * 
+     * @param name 指标名称
+     * @return 是否存在
+     */
+    public boolean hasFamily(@NotNull String name) {
+        return families.containsKey(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private <M> MetricFamily<M> family(@NotNull String name, @NotNull String help, @NotNull MetricType type,
+            @NotNull String[] labelNames, @NotNull Supplier<M> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+                k -> new MetricFamily<>(name, help, type, labelNames, MetricFamily.DEFAULT_MAX_SERIES, factory));
+        if (family.getType() != type || !family.getLabelNames().equals(List.of(labelNames))) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.getType()
+                    + " with labels " + family.getLabelNames());
+        }
+        return (MetricFamily<M>) family;
+    }
+
     /**
      * 获取所有计数器指标
      * 
@@ -76,6 +189,16 @@ public class MetricsRegistry {
         return result;
     }
 
+    /**
+     * 获取所有计数器的只读视图，不复制也不装箱，供导出器逐个读取
+     *
+     * @return 计数器名称到计数器的映射
+     */
+    @NotNull
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
     /**
      * 获取所有仪表
      * 
@@ -92,6 +215,8 @@ public class MetricsRegistry {
     public void reset() {
         counters.clear();
         gauges.clear();
+        timers.clear();
+        families.clear();
         log.info("Metrics registry reset");
     }
 }
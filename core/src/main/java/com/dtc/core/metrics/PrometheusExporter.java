@@ -0,0 +1,277 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.route.HttpRouteHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prometheus 指标导出器
+ * 把 {@link MetricsRegistry} 中的指标族和不带标签的指标输出为 Prometheus 文本格式 0.0.4，可直接注册为 HTTP 路由。
+ * 指标名、标签和 HELP/TYPE 头只在首次导出时渲染为字节并缓存，之后每次抓取只写入数值，
+ * 数值按 ASCII 直接写入缓冲区，不创建字符串；缓冲区按上次抓取的大小预分配。
+ * <p>
+ * 计时器导出为以秒为单位的 summary：分位数来自最近一个已结束的统计区间，_sum 和 _count 为累计值，
+ * 区间最大值另外导出为 &lt;name&gt;_max 仪表。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class PrometheusExporter implements HttpRouteHandler {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+    private static final int SUM = QUANTILES.length;
+    private static final int COUNT = SUM + 1;
+    private static final int MAX = COUNT + 1;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final @NotNull MetricsRegistry metricsRegistry;
+    // 不带标签的指标按原名称缓存渲染结果：[0] 为 HELP/TYPE 头，之后为行前缀
+    private final @NotNull Map<String, byte[][]> counterLines = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, byte[][]> gaugeLines = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, byte[][]> timerLines = new ConcurrentHashMap<>();
+    private volatile int lastScrapeSize = 4096;
+
+    @Inject
+    public PrometheusExporter(@NotNull MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    @NotNull
+    public HttpResponseEx handle(@NotNull HttpRequestEx request) {
+        return new HttpResponseEx.Builder()
+                .ok()
+                .contentType(CONTENT_TYPE)
+                .bodyBuffer(scrape())
+                .build();
+    }
+
+    /**
+     * 导出当前所有指标
+     *
+     * @return 堆内缓冲区，不需要释放
+     */
+    @NotNull
+    public ByteBuf scrape() {
+        int expected = lastScrapeSize;
+        ByteBuf out = Unpooled.buffer(expected + (expected >> 3));
+        writeTo(out);
+        lastScrapeSize = out.readableBytes();
+        return out;
+    }
+
+    /**
+     * 把当前所有指标写入缓冲区
+     */
+    public void writeTo(@NotNull ByteBuf out) {
+        for (MetricFamily<?> family : metricsRegistry.getFamilies()) {
+            writeFamily(out, family);
+        }
+        metricsRegistry.getCounters().forEach((name, counter) -> {
+            byte[][] lines = flatLines(counterLines, name, MetricType.COUNTER);
+            if (lines != null) {
+                out.writeBytes(lines[0]).writeBytes(lines[1]);
+                writeLong(out, counter.get());
+                out.writeByte('\n');
+            }
+        });
+        metricsRegistry.getAllGauges().forEach((name, value) -> {
+            byte[][] lines = flatLines(gaugeLines, name, MetricType.GAUGE);
+            if (lines != null) {
+                out.writeBytes(lines[0]).writeBytes(lines[1]);
+                writeLong(out, value);
+                out.writeByte('\n');
+            }
+        });
+        metricsRegistry.getAllTimers().forEach((name, timer) -> {
+            byte[][] lines = flatLines(timerLines, name, MetricType.SUMMARY);
+            if (lines != null) {
+                out.writeBytes(lines[0]);
+                writeTimer(out, lines, 1, timer);
+                out.writeBytes(lines[1 + MAX + 1]);
+                writeMax(out, lines, 1, timer);
+            }
+        });
+    }
+
+    private void writeFamily(@NotNull ByteBuf out, @NotNull MetricFamily<?> family) {
+        if (family.size() == 0) {
+            return;
+        }
+        byte[][] headers = family.exposition;
+        if (headers == null) {
+            headers = renderHeaders(family.getName(), family.getHelp(), family.getType());
+            family.exposition = headers;
+        }
+        out.writeBytes(headers[0]);
+        for (MetricFamily.Series<?> series : family.getSeries()) {
+            byte[][] lines = seriesLines(family, series);
+            Object metric = series.getMetric();
+            switch (family.getType()) {
+                case COUNTER -> writeValue(out, lines[0], ((Counter) metric).get());
+                case GAUGE -> writeValue(out, lines[0], ((Gauge) metric).get());
+                case SUMMARY -> writeTimer(out, lines, 0, (Timer) metric);
+            }
+        }
+        if (family.getType() == MetricType.SUMMARY) {
+            out.writeBytes(headers[1]);
+            for (MetricFamily.Series<?> series : family.getSeries()) {
+                writeMax(out, seriesLines(family, series), 0, (Timer) series.getMetric());
+            }
+        }
+    }
+
+    private static void writeTimer(@NotNull ByteBuf out, @NotNull byte[][] lines, int offset, @NotNull Timer timer) {
+        HistogramSnapshot snapshot = timer.getLastSnapshot();
+        writeSeconds(out, lines[offset], snapshot.getP50());
+        writeSeconds(out, lines[offset + 1], snapshot.getP90());
+        writeSeconds(out, lines[offset + 2], snapshot.getP99());
+        writeSeconds(out, lines[offset + 3], snapshot.getP999());
+        writeSeconds(out, lines[offset + SUM], timer.getTotalNanos());
+        writeValue(out, lines[offset + COUNT], timer.getCount());
+    }
+
+    private static void writeMax(@NotNull ByteBuf out, @NotNull byte[][] lines, int offset, @NotNull Timer timer) {
+        writeSeconds(out, lines[offset + MAX], timer.getLastSnapshot().getMax());
+    }
+
+    private static void writeValue(@NotNull ByteBuf out, @NotNull byte[] prefix, long value) {
+        out.writeBytes(prefix);
+        writeLong(out, value);
+        out.writeByte('\n');
+    }
+
+    private static void writeSeconds(@NotNull ByteBuf out, @NotNull byte[] prefix, long nanos) {
+        out.writeBytes(prefix);
+        if (nanos < 0) {
+            out.writeByte('-');
+            nanos = -nanos;
+        }
+        writeLong(out, nanos / NANOS_PER_SECOND);
+        out.writeByte('.');
+        long fraction = nanos % NANOS_PER_SECOND;
+        for (long divisor = NANOS_PER_SECOND / 10; divisor > 0; divisor /= 10) {
+            out.writeByte('0' + (int) (fraction / divisor % 10));
+        }
+        out.writeByte('\n');
+    }
+
+    /**
+     * 以十进制 ASCII 写入整数
+     */
+    static void writeLong(@NotNull ByteBuf out, long value) {
+        if (value == Long.MIN_VALUE) {
+            out.writeCharSequence(Long.toString(value), StandardCharsets.US_ASCII);
+            return;
+        }
+        if (value < 0) {
+            out.writeByte('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.writeByte('0' + (int) (value / divisor % 10));
+        }
+    }
+
+    @NotNull
+    private static byte[][] seriesLines(@NotNull MetricFamily<?> family, @NotNull MetricFamily.Series<?> series) {
+        byte[][] lines = series.exposition;
+        if (lines == null) {
+            lines = renderLines(family.getName(), series.getRenderedLabels(), family.getType());
+            series.exposition = lines;
+        }
+        return lines;
+    }
+
+    /**
+     * 渲染不带标签的指标，名称与指标族冲突时跳过
+     */
+    private byte[][] flatLines(@NotNull Map<String, byte[][]> cache, @NotNull String name, @NotNull MetricType type) {
+        byte[][] lines = cache.get(name);
+        if (lines == null) {
+            String metricName = sanitize(name);
+            if (metricsRegistry.hasFamily(metricName)) {
+                return null;
+            }
+            byte[][] headers = renderHeaders(metricName, name, type);
+            byte[][] prefixes = renderLines(metricName, "", type);
+            lines = new byte[1 + prefixes.length + (headers.length - 1)][];
+            lines[0] = headers[0];
+            System.arraycopy(prefixes, 0, lines, 1, prefixes.length);
+            System.arraycopy(headers, 1, lines, 1 + prefixes.length, headers.length - 1);
+            cache.put(name, lines);
+        }
+        return lines;
+    }
+
+    /**
+     * 渲染 HELP/TYPE 头，summary 另外渲染 _max 仪表的头
+     */
+    @NotNull
+    private static byte[][] renderHeaders(@NotNull String name, @NotNull String help, @NotNull MetricType type) {
+        String escapedHelp = help.replace("\\", "\\\\").replace("\n", "\\n");
+        byte[] header = ("# HELP " + name + " " + escapedHelp + "\n# TYPE " + name + " " + type.getExposition()
+                + "\n").getBytes(StandardCharsets.UTF_8);
+        if (type != MetricType.SUMMARY) {
+            return new byte[][] {header};
+        }
+        byte[] maxHeader = ("# HELP " + name + "_max " + escapedHelp + " (interval max)\n# TYPE " + name
+                + "_max gauge\n").getBytes(StandardCharsets.UTF_8);
+        return new byte[][] {header, maxHeader};
+    }
+
+    /**
+     * 渲染行前缀（名称和标签，以空格结尾）；summary 依次为各分位数、_sum、_count 和 _max
+     */
+    @NotNull
+    private static byte[][] renderLines(@NotNull String name, @NotNull String labels, @NotNull MetricType type) {
+        String braced = labels.isEmpty() ? " " : "{" + labels + "} ";
+        if (type != MetricType.SUMMARY) {
+            return new byte[][] {(name + braced).getBytes(StandardCharsets.UTF_8)};
+        }
+        byte[][] lines = new byte[MAX + 1][];
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        for (int i = 0; i < QUANTILES.length; i++) {
+            lines[i] = (name + "{" + separator + "quantile=\"" + QUANTILES[i] + "\"} ")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        lines[SUM] = (name + "_sum" + braced).getBytes(StandardCharsets.UTF_8);
+        lines[COUNT] = (name + "_count" + braced).getBytes(StandardCharsets.UTF_8);
+        lines[MAX] = (name + "_max" + braced).getBytes(StandardCharsets.UTF_8);
+        return lines;
+    }
+
+    /**
+     * 把任意名称转换为合法的指标名，如 queue.network.size 转换为 queue_network_size
+     */
+    @NotNull
+    static String sanitize(@NotNull String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 1);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (c >= '0' && c <= '9' && i > 0);
+            if (c >= '0' && c <= '9' && i == 0) {
+                builder.append('_').append(c);
+            } else {
+                builder.append(valid ? c : '_');
+            }
+        }
+        return builder.length() == 0 ? "_" : builder.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 区间直方图记录器
+ * 与 HdrHistogram 的 Recorder 相同：记录写入当前活动的直方图，读取区间快照时与备用直方图交换，
+ * 再通过写-读相位切换等待交换前进入的记录完成，之后读取被换下的直方图。记录路径只有几次原子自增，不加锁也不等待。
+ *
+ * @author Network Service Template
+ */
+public class Recorder {
+
+    // 写-读相位：记录开始时递增 startEpoch，结束时按相位递增对应的 endEpoch；符号位表示当前相位
+    private final AtomicLong startEpoch = new AtomicLong(0);
+    private final AtomicLong evenEndEpoch = new AtomicLong(0);
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+    private volatile Histogram active;
+    private Histogram inactive;
+
+    /**
+     * @param highestTrackableValue 可追踪的最大值
+     */
+    public Recorder(long highestTrackableValue) {
+        this.active = new Histogram(highestTrackableValue);
+        this.inactive = new Histogram(highestTrackableValue);
+    }
+
+    /**
+     * 记录一个值
+     */
+    public void record(long value) {
+        long epoch = startEpoch.getAndIncrement();
+        try {
+            active.record(value);
+        } finally {
+            if (epoch < 0) {
+                oddEndEpoch.getAndIncrement();
+            } else {
+                evenEndEpoch.getAndIncrement();
+            }
+        }
+    }
+
+    /**
+     * 获取上次调用以来的区间快照，并开始新的区间
+     */
+    @NotNull
+    public synchronized HistogramSnapshot intervalSnapshot() {
+        Histogram next = inactive;
+        next.reset();
+        inactive = active;
+        active = next;
+        flipPhase();
+        return inactive.snapshot();
+    }
+
+    /**
+     * 切换相位并等待旧相位中进入的记录全部完成
+     */
+    private void flipPhase() {
+        boolean nextPhaseIsEven = startEpoch.get() < 0;
+        long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        (nextPhaseIsEven ? evenEndEpoch : oddEndEpoch).set(initialStartValue);
+        long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+        AtomicLong previousEndEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (previousEndEpoch.get() != startValueAtFlip) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dtc.core.metrics;
+
+import com.dtc.api.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 计时器
+ * 以纳秒记录耗时，基于 {@link Recorder} 按区间统计 p50/p90/p99/p99.9/max。
+ * {@link #intervalSnapshot()} 由指标收集器按周期调用，结果同时保存为 {@link #getLastSnapshot()} 供其他组件读取。
+ * 可追踪的最大耗时通过 -Dmetrics.timer.max.seconds 调整（默认 600 秒），超过的按上限记录。
+ *
+ * @author Network Service Template
+ */
+public class Timer {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(
+            Long.getLong("metrics.timer.max.seconds", 600L));
+
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile HistogramSnapshot lastSnapshot = new Histogram(MAX_TRACKABLE_NANOS).snapshot();
+
+    /**
+     * 记录耗时（纳秒）
+     */
+    public void record(long nanos) {
+        recorder.record(nanos);
+        count.increment();
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * 记录耗时
+     */
+    public void record(long duration, @NotNull TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * 记录从 startNanos（{@link System#nanoTime()}）到现在的耗时
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 累计记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 累计记录的总耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 获取上次调用以来的区间快照（纳秒），并开始新的区间
+     */
+    @NotNull
+    public HistogramSnapshot intervalSnapshot() {
+        HistogramSnapshot snapshot = recorder.intervalSnapshot();
+        lastSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * 最近一个已结束区间的快照（纳秒）
+     */
+    @NotNull
+    public HistogramSnapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+}
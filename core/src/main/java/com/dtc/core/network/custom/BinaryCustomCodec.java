@@ -0,0 +1,111 @@
+package com.dtc.core.network.custom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistry;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * 二进制自定义协议编解码器
+ * 帧格式：[4字节长度][1字节类型][数据]。类型字节已注册生成编解码器的帧直接解码为消息对象，
+ * 其他帧以完整帧的 ByteBuf 交给 CustomMessageHandler 按原有方式处理。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class BinaryCustomCodec extends CustomCodecFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryCustomCodec.class);
+
+    /**
+     * 单帧最大长度，防止异常长度字段导致无限缓冲
+     */
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private final BinaryCodecRegistry codecRegistry;
+
+    public BinaryCustomCodec() {
+        this(new BinaryCodecRegistry());
+    }
+
+    @Inject
+    public BinaryCustomCodec(@NotNull BinaryCodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
+
+    @Override
+    public void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out)
+            throws Exception {
+        while (in.readableBytes() >= BinaryCodecRegistry.FRAME_HEADER_LENGTH) {
+            int start = in.readerIndex();
+            int length = in.getInt(start);
+            if (length < 1 || length > MAX_FRAME_LENGTH) {
+                throw new IllegalArgumentException("Invalid custom frame length: " + length);
+            }
+            if (in.readableBytes() < 4 + length) {
+                return; // 数据不完整，等待更多数据
+            }
+
+            Object message = codecRegistry.decodeFrame(in);
+            if (message == null) {
+                // 未注册的类型，保留完整帧交给默认处理
+                out.add(in.readRetainedSlice(4 + length));
+            } else {
+                out.add(message);
+            }
+        }
+    }
+
+    @Override
+    public void encode(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ByteBuf out) throws Exception {
+        if (codecRegistry.encodeFrame(msg, out)) {
+            return;
+        }
+        if (msg instanceof ByteBuf buf) {
+            out.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+            return;
+        }
+
+        log.debug("No binary codec for {}, encoding as string frame", msg.getClass().getSimpleName());
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        out.writeByte(0);
+        out.writeCharSequence(msg.toString(), StandardCharsets.UTF_8);
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - 4);
+    }
+
+    @Override
+    @NotNull
+    public String getCodecName() {
+        return "BinaryCustomCodec";
+    }
+
+    @Override
+    @NotNull
+    public String getCodecVersion() {
+        return "1.0.0";
+    }
+
+    @Override
+    public boolean supports(@NotNull Class<?> messageType) {
+        return codecRegistry.supports(messageType) || ByteBuf.class.isAssignableFrom(messageType);
+    }
+
+    /**
+     * 获取编解码器注册表
+     */
+    @NotNull
+    public BinaryCodecRegistry getCodecRegistry() {
+        return codecRegistry;
+    }
+}
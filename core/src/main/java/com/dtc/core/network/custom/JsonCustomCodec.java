@@ -1,18 +1,20 @@
 package com.dtc.core.network.custom;
 
 import com.dtc.api.annotations.NotNull;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dtc.core.serialization.JsonCodec;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 
 /**
  * JSON 自定义协议编解码器实现
  * 基于Jackson的JSON自定义协议编解码器
+ * 帧格式：[4字节长度][JSON]，直接从 ByteBuf 解析为目标类型，直接序列化写入输出缓冲区
  * 
  * @author Network Service Template
  */
@@ -20,10 +22,20 @@ import java.nio.charset.StandardCharsets;
 public class JsonCustomCodec extends CustomCodecFactory {
 
     private static final Logger log = LoggerFactory.getLogger(JsonCustomCodec.class);
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
+    private final Type messageType;
 
     public JsonCustomCodec() {
-        this.objectMapper = new ObjectMapper();
+        this(JsonCodec.getDefault(), Object.class);
+    }
+
+    /**
+     * @param jsonCodec   JSON 编解码器
+     * @param messageType 解码的目标类型，Object.class 时解码为 Map/List
+     */
+    public JsonCustomCodec(@NotNull JsonCodec jsonCodec, @NotNull Type messageType) {
+        this.jsonCodec = jsonCodec;
+        this.messageType = messageType;
         log.info("Creating JSON Custom Codec instance");
     }
 
@@ -34,24 +46,21 @@ public class JsonCustomCodec extends CustomCodecFactory {
             return; // 数据不完整，等待更多数据
         }
 
-        // 读取消息长度（前4字节）
-        int messageLength = in.readInt();
-        if (in.readableBytes() < messageLength) {
-            in.resetReaderIndex(); // 重置读取位置
+        // 读取消息长度（前4字节），数据不完整时不移动读指针
+        int messageLength = in.getInt(in.readerIndex());
+        if (in.readableBytes() < 4 + messageLength) {
             return; // 数据不完整，等待更多数据
         }
+        in.skipBytes(4);
 
-        // 读取消息数据
-        byte[] messageBytes = new byte[messageLength];
-        in.readBytes(messageBytes);
-        String jsonMessage = new String(messageBytes, StandardCharsets.UTF_8);
-
+        // 直接在帧切片上解析，不复制字节、不生成中间字符串
+        ByteBuf frame = in.readSlice(messageLength);
         try {
-            // 尝试解析 JSON 消息
-            Object parsedMessage = objectMapper.readValue(jsonMessage, Object.class);
-            log.debug("Decoded JSON message: {}", jsonMessage);
+            Object parsedMessage = jsonCodec.read(frame.duplicate(), messageType);
+            log.debug("Decoded JSON message: {} bytes", messageLength);
             out.add(parsedMessage);
         } catch (Exception e) {
+            String jsonMessage = frame.toString(StandardCharsets.UTF_8);
             log.warn("Failed to parse JSON message: {}", jsonMessage, e);
             // 如果解析失败，则返回原始字符串
             out.add(jsonMessage);
@@ -64,25 +73,21 @@ public class JsonCustomCodec extends CustomCodecFactory {
             return;
         }
 
-        String jsonMessage;
+        // 预留长度字段，序列化直接写入输出缓冲区后回填
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
         try {
-            // 尝试将对象序列化为JSON
-            jsonMessage = objectMapper.writeValueAsString(msg);
+            jsonCodec.write(msg, out);
         } catch (Exception e) {
             log.warn("Failed to serialize object to JSON: {}", msg, e);
             // 如果序列化失败，则转换为字符串
-            jsonMessage = msg.toString();
+            out.writerIndex(lengthIndex + 4);
+            out.writeCharSequence(msg.toString(), StandardCharsets.UTF_8);
         }
+        int messageLength = out.writerIndex() - lengthIndex - 4;
+        out.setInt(lengthIndex, messageLength);
 
-        byte[] messageBytes = jsonMessage.getBytes(StandardCharsets.UTF_8);
-        int messageLength = messageBytes.length;
-
-        // 写入消息长度（4字节）
-        out.writeInt(messageLength);
-        // 写入消息数据
-        out.writeBytes(messageBytes);
-
-        log.debug("Encoded JSON message: {}", jsonMessage);
+        log.debug("Encoded JSON message: {} bytes", messageLength);
     }
 
     @Override
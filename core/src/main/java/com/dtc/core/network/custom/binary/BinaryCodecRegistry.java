@@ -0,0 +1,207 @@
+package com.dtc.core.network.custom.binary;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.annotations.codec.BinaryMessage;
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 二进制消息编解码器注册表
+ * 按类型字节维护 256 项的跳转表，解码时直接索引，不做字符串或哈希查找。
+ * 启动时通过 ServiceLoader 加载注解处理器生成并登记在 META-INF/services 中的编解码器。
+ *
+ * 帧格式：[4字节长度][1字节类型][消息字段]，长度包含类型字节
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class BinaryCodecRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryCodecRegistry.class);
+
+    /**
+     * 帧头长度：4字节长度 + 1字节类型
+     */
+    public static final int FRAME_HEADER_LENGTH = 5;
+
+    /**
+     * 生成的编解码器类名后缀
+     */
+    public static final String CODEC_SUFFIX = "BinaryCodec";
+
+    private final BinaryMessageCodec<?>[] codecsByType = new BinaryMessageCodec<?>[256];
+    private final Map<Class<?>, BinaryMessageCodec<?>> codecsByClass = new ConcurrentHashMap<>();
+
+    public BinaryCodecRegistry() {
+        loadInstalledCodecs();
+    }
+
+    /**
+     * 加载 classpath 上所有生成的编解码器
+     */
+    @SuppressWarnings("rawtypes")
+    public void loadInstalledCodecs() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = BinaryCodecRegistry.class.getClassLoader();
+        }
+        try {
+            for (BinaryMessageCodec codec : ServiceLoader.load(BinaryMessageCodec.class, classLoader)) {
+                register(codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            log.error("Failed to load generated binary codecs", e);
+        }
+        log.debug("Loaded {} binary message codecs", codecsByClass.size());
+    }
+
+    /**
+     * 注册编解码器，同一类型字节只能对应一个消息类
+     */
+    public synchronized void register(@NotNull BinaryMessageCodec<?> codec) {
+        int type = codec.getType();
+        if (type < 0 || type > 255) {
+            throw new IllegalArgumentException("Binary message type out of range: " + type);
+        }
+        BinaryMessageCodec<?> existing = codecsByType[type];
+        if (existing != null) {
+            if (existing.getMessageClass() == codec.getMessageClass()) {
+                return;
+            }
+            throw new IllegalStateException("Binary message type " + type + " already registered for "
+                    + existing.getMessageClass().getName() + ", cannot register "
+                    + codec.getMessageClass().getName());
+        }
+        codecsByType[type] = codec;
+        codecsByClass.put(codec.getMessageClass(), codec);
+        log.debug("Registered binary codec: type={} -> {}", type, codec.getMessageClass().getSimpleName());
+    }
+
+    /**
+     * 按命名约定加载并注册消息类对应的生成编解码器
+     */
+    @NotNull
+    public BinaryMessageCodec<?> register(@NotNull Class<?> messageClass) {
+        BinaryMessageCodec<?> codec = codecsByClass.get(messageClass);
+        if (codec != null) {
+            return codec;
+        }
+        if (!messageClass.isAnnotationPresent(BinaryMessage.class)) {
+            throw new IllegalArgumentException(messageClass.getName() + " is not annotated with @BinaryMessage");
+        }
+        try {
+            Class<?> codecClass = Class.forName(codecClassName(messageClass), true, messageClass.getClassLoader());
+            codec = (BinaryMessageCodec<?>) codecClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Generated codec not found for " + messageClass.getName()
+                    + ", is the annotation processor enabled?", e);
+        }
+        register(codec);
+        return codec;
+    }
+
+    /**
+     * 获取生成编解码器的类名：同包下，嵌套类的 '$' 替换为 '_'，加 BinaryCodec 后缀
+     */
+    @NotNull
+    public static String codecClassName(@NotNull Class<?> messageClass) {
+        String packageName = messageClass.getPackageName();
+        String binaryName = messageClass.getName();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String codecName = simpleName.replace('$', '_') + CODEC_SUFFIX;
+        return packageName.isEmpty() ? codecName : packageName + "." + codecName;
+    }
+
+    /**
+     * 按类型字节获取编解码器
+     */
+    @Nullable
+    public BinaryMessageCodec<?> getCodec(int type) {
+        return codecsByType[type & 0xFF];
+    }
+
+    /**
+     * 按消息类获取编解码器
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> BinaryMessageCodec<T> getCodec(@NotNull Class<T> messageClass) {
+        return (BinaryMessageCodec<T>) codecsByClass.get(messageClass);
+    }
+
+    /**
+     * 检查消息类是否有编解码器
+     */
+    public boolean supports(@NotNull Class<?> messageClass) {
+        return codecsByClass.containsKey(messageClass);
+    }
+
+    /**
+     * 检查帧的类型字节是否已注册
+     * 调用方需保证 in 至少包含帧头
+     */
+    public boolean supportsFrame(@NotNull ByteBuf in) {
+        return in.readableBytes() >= FRAME_HEADER_LENGTH
+                && codecsByType[in.getUnsignedByte(in.readerIndex() + 4)] != null;
+    }
+
+    /**
+     * 解码一个完整帧，in 的读指针移动到帧尾
+     *
+     * @return 消息对象，类型未注册时返回 null 且不移动读指针
+     */
+    @Nullable
+    public Object decodeFrame(@NotNull ByteBuf in) {
+        int start = in.readerIndex();
+        int length = in.getInt(start);
+        if (length < 1 || length > in.readableBytes() - 4) {
+            throw new IllegalArgumentException("Invalid binary frame length: " + length);
+        }
+        BinaryMessageCodec<?> codec = codecsByType[in.getUnsignedByte(start + 4)];
+        if (codec == null) {
+            return null;
+        }
+        int end = start + 4 + length;
+        ByteBuf body = in.slice(start + FRAME_HEADER_LENGTH, length - 1);
+        Object message = codec.decode(body);
+        in.readerIndex(end);
+        return message;
+    }
+
+    /**
+     * 将消息编码为完整帧写入 out
+     *
+     * @return 消息类没有编解码器时返回 false
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public boolean encodeFrame(@NotNull Object message, @NotNull ByteBuf out) {
+        BinaryMessageCodec codec = codecsByClass.get(message.getClass());
+        if (codec == null) {
+            return false;
+        }
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        out.writeByte(codec.getType());
+        codec.encode(message, out);
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - 4);
+        return true;
+    }
+
+    /**
+     * 获取已注册的编解码器数量
+     */
+    public int getCodecCount() {
+        return codecsByClass.size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.dtc.core.network.custom.binary;
+
+import java.nio.charset.StandardCharsets;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * 生成的编解码器使用的变长字段读写方法
+ *
+ * @author Network Service Template
+ */
+public final class BinaryCodecSupport {
+
+    /**
+     * null 字符串的长度标记
+     */
+    public static final int NULL_STRING = 0xFFFF;
+
+    /**
+     * 字符串最大 UTF-8 字节数
+     */
+    public static final int MAX_STRING_LENGTH = 0xFFFE;
+
+    private BinaryCodecSupport() {
+    }
+
+    /**
+     * 写入字符串：2字节长度 + UTF-8，直接编码进缓冲区
+     */
+    public static void writeString(@NotNull ByteBuf out, @Nullable String value) {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        int length = ByteBufUtil.utf8Bytes(value);
+        if (length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String field too long: " + length + " bytes");
+        }
+        out.writeShort(length);
+        out.writeCharSequence(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取字符串
+     */
+    @Nullable
+    public static String readString(@NotNull ByteBuf in) {
+        int length = in.readUnsignedShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = in.toString(in.readerIndex(), length, StandardCharsets.UTF_8);
+        in.skipBytes(length);
+        return value;
+    }
+
+    /**
+     * 写入字节数组：4字节长度 + 数据
+     */
+    public static void writeBytes(@NotNull ByteBuf out, @Nullable byte[] value) {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.writeBytes(value);
+    }
+
+    /**
+     * 读取字节数组
+     */
+    @Nullable
+    public static byte[] readBytes(@NotNull ByteBuf in) {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.readableBytes()) {
+            throw new IndexOutOfBoundsException("byte[] field length " + length + " exceeds frame");
+        }
+        byte[] value = new byte[length];
+        in.readBytes(value);
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dtc.core.network.custom.binary;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 二进制消息编解码器
+ * 由注解处理器为每个 {@link com.dtc.annotations.codec.BinaryMessage} 类生成实现，
+ * 直接在 ByteBuf 上按字段顺序读写，不经过中间字符串或树模型
+ *
+ * @param <T> 消息类型
+ * @author Network Service Template
+ */
+public interface BinaryMessageCodec<T> {
+
+    /**
+     * 获取消息类型字节（0-255）
+     */
+    int getType();
+
+    /**
+     * 获取消息类
+     */
+    @NotNull
+    Class<T> getMessageClass();
+
+    /**
+     * 将消息字段写入缓冲区（不含长度和类型头）
+     */
+    void encode(@NotNull T message, @NotNull ByteBuf out);
+
+    /**
+     * 从缓冲区读取消息字段（不含长度和类型头）
+     */
+    @NotNull
+    T decode(@NotNull ByteBuf in);
+}
@@ -0,0 +1,170 @@
+package com.dtc.core.network.grpc;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.annotations.web.GrpcService;
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.google.inject.Injector;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * gRPC服务器
+ * 使用 grpc-netty 的 NettyServerBuilder，直接复用框架 NettyServer 的 boss / worker 事件循环组，
+ * 服务回调默认在 worker 事件循环上执行，不再创建独立的服务器线程池。
+ * 服务实现通过 {@link GrpcService} 注解扫描注册。
+ *
+ * 服务方法在 I/O 线程上执行，不能阻塞；需要阻塞的服务应自行切换到业务线程池。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class GrpcServer {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final List<BindableService> services = new CopyOnWriteArrayList<>();
+    private int port = Integer.getInteger("grpc.port", 50051);
+    private Server server;
+
+    /**
+     * 扫描并注册 @GrpcService 服务
+     *
+     * @param injector    IoC注入器
+     * @param basePackage 扫描的基础包路径
+     */
+    public void scanAndRegister(@NotNull Injector injector, @NotNull String basePackage) {
+        log.info("Scanning gRPC services in package: {}", basePackage);
+        for (Class<?> clazz : com.dtc.core.web.ComponentScanner.scanClasses(basePackage)) {
+            if (!clazz.isAnnotationPresent(GrpcService.class)) {
+                continue;
+            }
+            if (!BindableService.class.isAssignableFrom(clazz)) {
+                log.warn("@GrpcService class {} does not implement BindableService, skipped", clazz.getName());
+                continue;
+            }
+            try {
+                registerService((BindableService) injector.getInstance(clazz));
+            } catch (Exception e) {
+                log.error("Failed to register gRPC service: {}", clazz.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 注册服务，需在 {@link #start} 之前调用
+     */
+    public void registerService(@NotNull BindableService service) {
+        if (server != null) {
+            throw new IllegalStateException("gRPC server already started, cannot register " + service);
+        }
+        for (BindableService existing : services) {
+            if (existing.getClass() == service.getClass()) {
+                return;
+            }
+        }
+        services.add(service);
+        ServerServiceDefinition definition = service.bindService();
+        log.info("Registered gRPC service: {}", definition.getServiceDescriptor().getName());
+    }
+
+    /**
+     * 在共享事件循环组上启动
+     * 没有注册服务时不绑定端口
+     *
+     * @param bossGroup   框架的 boss 事件循环组
+     * @param workerGroup 框架的 worker 事件循环组，同时作为服务回调执行器
+     * @throws IOException 绑定端口失败
+     */
+    public synchronized void start(@NotNull EventLoopGroup bossGroup, @NotNull EventLoopGroup workerGroup)
+            throws IOException {
+        if (server != null) {
+            return;
+        }
+        if (services.isEmpty()) {
+            log.debug("No gRPC services registered, gRPC listener not started");
+            return;
+        }
+
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port)
+                .bossEventLoopGroup(bossGroup)
+                .workerEventLoopGroup(workerGroup)
+                .channelType(serverChannelType(workerGroup))
+                .executor(workerGroup);
+        for (BindableService service : services) {
+            builder.addService(service);
+        }
+        server = builder.build().start();
+        log.info("✅ gRPC server started on port {} with {} services (shared event loops)", server.getPort(),
+                services.size());
+    }
+
+    /**
+     * 停止服务器，事件循环组由框架负责关闭
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        log.info("Stopping gRPC server...");
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @NotNull
+    private static Class<? extends ServerChannel> serverChannelType(@NotNull EventLoopGroup workerGroup) {
+        return workerGroup instanceof EpollEventLoopGroup ? EpollServerSocketChannel.class
+                : NioServerSocketChannel.class;
+    }
+
+    public boolean isStarted() {
+        return server != null && !server.isShutdown();
+    }
+
+    /**
+     * 获取实际监听端口，未启动时返回配置端口
+     */
+    public int getPort() {
+        Server current = server;
+        return current != null ? current.getPort() : port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    @NotNull
+    public List<BindableService> getServices() {
+        return List.copyOf(services);
+    }
+
+    @Nullable
+    public Server getServer() {
+        return server;
+    }
+}
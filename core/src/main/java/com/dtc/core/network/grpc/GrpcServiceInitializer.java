@@ -0,0 +1,47 @@
+package com.dtc.core.network.grpc;
+
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+
+/**
+ * gRPC服务初始化器
+ * 在应用启动时扫描并注册所有 @GrpcService 服务，服务器随 NettyServer 启动
+ * 
+ * @author Network Service Template
+ */
+@Singleton
+public class GrpcServiceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServiceInitializer.class);
+
+    private final GrpcServer grpcServer;
+    private final Injector injector;
+
+    @Inject
+    public GrpcServiceInitializer(@NotNull GrpcServer grpcServer, @NotNull Injector injector) {
+        this.grpcServer = grpcServer;
+        this.injector = injector;
+        initialize();
+    }
+
+    /**
+     * 初始化gRPC服务
+     */
+    private void initialize() {
+        try {
+            // 与消息处理器使用相同的扫描包路径
+            String basePackage = System.getProperty("message.handler.scan.package", "com");
+            grpcServer.scanAndRegister(injector, basePackage);
+            log.info("✅ gRPC service initialization completed, {} services", grpcServer.getServices().size());
+        } catch (Exception e) {
+            log.warn("⚠️  Failed to initialize gRPC services: {}", e.getMessage());
+            log.debug("gRPC service initialization error details", e);
+        }
+    }
+}
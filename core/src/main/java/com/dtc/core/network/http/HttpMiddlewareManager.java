@@ -10,6 +10,7 @@ import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * HTTP 中间件管理器
@@ -23,6 +24,8 @@ public class HttpMiddlewareManager {
     private static final Logger log = LoggerFactory.getLogger(HttpMiddlewareManager.class);
 
     private final List<HttpMiddleware> middlewares = new CopyOnWriteArrayList<>();
+    // 每次变更加一，路由上缓存的处理链据此失效
+    private final AtomicLong version = new AtomicLong();
 
     @Inject
     public HttpMiddlewareManager() {
@@ -36,6 +39,7 @@ public class HttpMiddlewareManager {
      */
     public void addMiddleware(@NotNull HttpMiddleware middleware) {
         middlewares.add(middleware);
+        version.incrementAndGet();
         log.debug("Added middleware: {}", middleware.getClass().getSimpleName());
     }
 
@@ -46,6 +50,7 @@ public class HttpMiddlewareManager {
      */
     public boolean removeMiddleware(@NotNull HttpMiddleware middleware) {
         boolean removed = middlewares.remove(middleware);
+        version.incrementAndGet();
         if (removed) {
             log.debug("Removed middleware: {}", middleware.getClass().getSimpleName());
         }
@@ -65,9 +70,17 @@ public class HttpMiddlewareManager {
      */
     public void clearMiddlewares() {
         middlewares.clear();
+        version.incrementAndGet();
         log.info("All middlewares cleared");
     }
 
+    /**
+     * 获取变更版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * 获取中间件数量
      */
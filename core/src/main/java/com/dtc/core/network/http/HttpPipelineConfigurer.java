@@ -0,0 +1,337 @@
+package com.dtc.core.network.http;
+
+import com.dtc.api.ProtocolExtension;
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.compression.HttpCompressionConfig;
+import com.dtc.core.network.http.compression.HttpCompressionHandler;
+import com.dtc.core.network.http.connection.HttpConnectionConfig;
+import com.dtc.core.network.http.connection.HttpKeepAliveHandler;
+import com.dtc.core.network.http.stream.HttpStreamingRequestHandler;
+import com.dtc.core.network.http2.Http2Config;
+import com.dtc.core.network.http2.Http2ConnectionFrameHandler;
+import com.dtc.core.network.http2.Http2StreamHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import io.netty.util.AsciiString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP Pipeline 配置器
+ * 根据连接协商结果安装 HTTP/1.1 或 HTTP/2 处理器：
+ * <ul>
+ * <li>TLS：通过 ALPN 协商 h2 / http/1.1</li>
+ * <li>明文：h2c 直连（prior knowledge）和 HTTP/1.1 Upgrade 升级，未启用 h2c 时只支持 HTTP/1.1</li>
+ * </ul>
+ * HTTP/2 的每个流是 Http2MultiplexHandler 的一个子 channel，子 channel 上把帧转换回 HTTP 对象，
+ * 复用 HTTP/1.1 的压缩、流式请求体和聚合处理器，再交给 HTTP 协议扩展，因此两种协议共用同一条 过滤器 / 中间件 / 路由 处理链。
+ * <p>
+ * HTTP/1.1 连接另外安装持久连接处理器，负责 Connection 语义、响应顺序、流水线上限和连接数上限；
+ * 读超时和空闲超时由连接上的 IdleStateHandler 触发。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class HttpPipelineConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpPipelineConfigurer.class);
+    private static final int WRITE_TIMEOUT_SECONDS = 300;
+    // 聚合路由的最大请求体长度，流式路由不受限制
+    private static final int MAX_HTTP_CONTENT_LENGTH = Integer.getInteger("http.max.content.length", 65536);
+
+    private final HttpRouteManager routeManager;
+    private final Http2Config config;
+    private final HttpCompressionConfig compressionConfig;
+    private final HttpConnectionConfig connectionConfig;
+    private final @Nullable SslContext sslContext;
+    // 所有连接共享的 HTTP/1.1 连接计数
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    @Inject
+    public HttpPipelineConfigurer(@NotNull HttpRouteManager routeManager) {
+        this(routeManager, Http2Config.fromSystemProperties());
+    }
+
+    public HttpPipelineConfigurer(@NotNull HttpRouteManager routeManager, @NotNull Http2Config config) {
+        this(routeManager, config, HttpCompressionConfig.fromSystemProperties());
+    }
+
+    public HttpPipelineConfigurer(@NotNull HttpRouteManager routeManager, @NotNull Http2Config config,
+            @NotNull HttpCompressionConfig compressionConfig) {
+        this(routeManager, config, compressionConfig, HttpConnectionConfig.fromSystemProperties());
+    }
+
+    public HttpPipelineConfigurer(@NotNull HttpRouteManager routeManager, @NotNull Http2Config config,
+            @NotNull HttpCompressionConfig compressionConfig, @NotNull HttpConnectionConfig connectionConfig) {
+        this.routeManager = routeManager;
+        this.config = config;
+        this.compressionConfig = compressionConfig;
+        this.connectionConfig = connectionConfig;
+        this.sslContext = config.isSslEnabled() ? createSslContext(config) : null;
+    }
+
+    /**
+     * 配置 HTTP Pipeline
+     */
+    public void configure(@NotNull ChannelPipeline pipeline, @Nullable ProtocolExtension extension) {
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(connectionConfig.getReadTimeoutSeconds(), 0,
+                connectionConfig.getIdleTimeoutSeconds(), TimeUnit.SECONDS));
+        if (sslContext != null) {
+            pipeline.addLast("ssl", sslContext.newHandler(pipeline.channel().alloc()));
+            pipeline.addLast("alpnHandler", new AlpnHandler(extension));
+        } else if (config.isH2cEnabled()) {
+            HttpServerCodec httpServerCodec = new HttpServerCodec();
+            HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(httpServerCodec,
+                    protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+                            ? new H2cUpgradeCodec(newFrameCodec(), newMultiplexHandler(extension),
+                                    new Http2ConnectionFrameHandler(config))
+                            : null,
+                    MAX_HTTP_CONTENT_LENGTH);
+            pipeline.addLast("h2cUpgradeHandler", new CleartextHttp2ServerUpgradeHandler(httpServerCodec,
+                    upgradeHandler, new PriorKnowledgeInstaller(extension)));
+            addHttp1Handlers(pipeline);
+            addKeepAliveHandler(pipeline);
+        } else {
+            pipeline.addLast("httpServerCodec", new HttpServerCodec());
+            addHttp1Handlers(pipeline);
+            addKeepAliveHandler(pipeline);
+        }
+        pipeline.addLast(new WriteTimeoutHandler(WRITE_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * 是否启用了 TLS
+     */
+    public boolean isSslEnabled() {
+        return sslContext != null;
+    }
+
+    @NotNull
+    public Http2Config getConfig() {
+        return config;
+    }
+
+    @NotNull
+    public HttpConnectionConfig getConnectionConfig() {
+        return connectionConfig;
+    }
+
+    /**
+     * 当前的 HTTP/1.1 连接数
+     */
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    /**
+     * HTTP 编解码之后的处理器，HTTP/1.1 连接和 HTTP/2 流子 channel 共用
+     */
+    private void addHttp1Handlers(@NotNull ChannelPipeline pipeline) {
+        if (compressionConfig.isEnabled()) {
+            pipeline.addLast("httpCompressor", new HttpCompressionHandler(compressionConfig));
+        }
+        pipeline.addLast("httpStreamingRequestHandler", new HttpStreamingRequestHandler(routeManager));
+        pipeline.addLast("httpObjectAggregator", new HttpObjectAggregator(MAX_HTTP_CONTENT_LENGTH));
+        pipeline.addLast("chunkedWriteHandler", new ChunkedWriteHandler());
+    }
+
+    /**
+     * 在请求聚合和分块写出之间安装持久连接处理器，只用于 HTTP/1.1 连接，HTTP/2 流不安装
+     */
+    private void addKeepAliveHandler(@NotNull ChannelPipeline pipeline) {
+        pipeline.addBefore("chunkedWriteHandler", "httpKeepAliveHandler",
+                new HttpKeepAliveHandler(connectionConfig, activeConnections));
+    }
+
+    /**
+     * 升级到 HTTP/2 后移除连接上的 HTTP/1.1 处理器，请求改由各个流的子 channel 处理
+     */
+    private static void removeHttp1Handlers(@NotNull ChannelPipeline pipeline) {
+        for (String name : new String[] { "httpCompressor", "httpStreamingRequestHandler", "httpObjectAggregator",
+                "httpKeepAliveHandler", "chunkedWriteHandler" }) {
+            if (pipeline.get(name) != null) {
+                pipeline.remove(name);
+            }
+        }
+    }
+
+    /**
+     * 在 after 之后安装 HTTP/2 连接处理器
+     */
+    private void addHttp2Handlers(@NotNull ChannelPipeline pipeline, @NotNull String after,
+            @Nullable ProtocolExtension extension) {
+        pipeline.addAfter(after, "http2FrameCodec", newFrameCodec());
+        pipeline.addAfter("http2FrameCodec", "http2MultiplexHandler", newMultiplexHandler(extension));
+        pipeline.addAfter("http2MultiplexHandler", "http2ConnectionFrameHandler", new Http2ConnectionFrameHandler(config));
+    }
+
+    @NotNull
+    private Http2FrameCodec newFrameCodec() {
+        Http2Settings settings = Http2Settings.defaultSettings()
+                .initialWindowSize(config.getInitialWindowSize())
+                .maxConcurrentStreams(config.getMaxConcurrentStreams())
+                .maxFrameSize(config.getMaxFrameSize());
+        return Http2FrameCodecBuilder.forServer().initialSettings(settings).build();
+    }
+
+    @NotNull
+    private Http2MultiplexHandler newMultiplexHandler(@Nullable ProtocolExtension extension) {
+        return new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(@NotNull Http2StreamChannel channel) {
+                ChannelPipeline pipeline = channel.pipeline();
+                pipeline.addLast("http2StreamCodec", new Http2StreamFrameToHttpObjectCodec(true));
+                addHttp1Handlers(pipeline);
+                pipeline.addLast("http2StreamHandler", new Http2StreamHandler(extension));
+            }
+        });
+    }
+
+    /**
+     * 创建支持 ALPN 的服务端 SslContext
+     * 开启了 TLS 却无法创建时抛出异常让启动失败，不会在为 TLS 配置的端口上退回明文；
+     * 只有显式开启开发用的自签名证书时才在未配置证书的情况下生成证书
+     *
+     * @throws IllegalStateException 未配置证书或证书无法加载
+     */
+    @NotNull
+    private static SslContext createSslContext(@NotNull Http2Config config) {
+        boolean certificateConfigured = config.getCertificatePath() != null && config.getPrivateKeyPath() != null;
+        if (!certificateConfigured && !config.isSelfSignedCertificate()) {
+            throw new IllegalStateException("TLS is enabled but no certificate is configured: set http.ssl.cert "
+                    + "and http.ssl.key, or http.ssl.self.signed=true for development");
+        }
+        try {
+            SslContextBuilder builder;
+            if (certificateConfigured) {
+                builder = SslContextBuilder.forServer(new File(config.getCertificatePath()),
+                        new File(config.getPrivateKeyPath()));
+            } else {
+                // JDK 17 起生成自签名证书需要 BouncyCastle，见 core 模块的 dev-tls profile
+                log.warn("No TLS certificate configured (http.ssl.cert / http.ssl.key), using a self-signed "
+                        + "certificate for development");
+                SelfSignedCertificate certificate = new SelfSignedCertificate();
+                builder = SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey());
+            }
+            SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL
+                    : SslProvider.JDK;
+            return builder.sslProvider(provider)
+                    .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                    .applicationProtocolConfig(new ApplicationProtocolConfig(
+                            ApplicationProtocolConfig.Protocol.ALPN,
+                            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                            ApplicationProtocolNames.HTTP_2,
+                            ApplicationProtocolNames.HTTP_1_1))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create TLS context, refusing to serve cleartext HTTP on a "
+                    + "TLS port", e);
+        }
+    }
+
+    /**
+     * TLS 握手完成后根据 ALPN 结果安装 HTTP/2 或 HTTP/1.1 处理器
+     */
+    private class AlpnHandler extends ApplicationProtocolNegotiationHandler {
+
+        private final @Nullable ProtocolExtension extension;
+
+        AlpnHandler(@Nullable ProtocolExtension extension) {
+            super(ApplicationProtocolNames.HTTP_1_1);
+            this.extension = extension;
+        }
+
+        @Override
+        protected void configurePipeline(@NotNull ChannelHandlerContext ctx, @NotNull String protocol) {
+            ChannelPipeline pipeline = ctx.pipeline();
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                addHttp2Handlers(pipeline, ctx.name(), extension);
+            } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                pipeline.addAfter(ctx.name(), "chunkedWriteHandler", new ChunkedWriteHandler());
+                pipeline.addAfter(ctx.name(), "httpKeepAliveHandler",
+                        new HttpKeepAliveHandler(connectionConfig, activeConnections));
+                pipeline.addAfter(ctx.name(), "httpObjectAggregator", new HttpObjectAggregator(MAX_HTTP_CONTENT_LENGTH));
+                pipeline.addAfter(ctx.name(), "httpStreamingRequestHandler",
+                        new HttpStreamingRequestHandler(routeManager));
+                if (compressionConfig.isEnabled()) {
+                    pipeline.addAfter(ctx.name(), "httpCompressor", new HttpCompressionHandler(compressionConfig));
+                }
+                pipeline.addAfter(ctx.name(), "httpServerCodec", new HttpServerCodec());
+            } else {
+                throw new IllegalStateException("Unsupported application protocol: " + protocol);
+            }
+        }
+    }
+
+    /**
+     * h2c 直连时由 CleartextHttp2ServerUpgradeHandler 安装，换成 HTTP/2 连接处理器后移除自身
+     */
+    private class PriorKnowledgeInstaller extends ChannelHandlerAdapter {
+
+        private final @Nullable ProtocolExtension extension;
+
+        PriorKnowledgeInstaller(@Nullable ProtocolExtension extension) {
+            this.extension = extension;
+        }
+
+        @Override
+        public void handlerAdded(@NotNull ChannelHandlerContext ctx) {
+            ChannelPipeline pipeline = ctx.pipeline();
+            removeHttp1Handlers(pipeline);
+            addHttp2Handlers(pipeline, ctx.name(), extension);
+            pipeline.remove(this);
+        }
+    }
+
+    /**
+     * HTTP/1.1 Upgrade 到 h2c，升级请求作为流 1 交给子 channel 处理
+     */
+    private static final class H2cUpgradeCodec extends Http2ServerUpgradeCodec {
+
+        H2cUpgradeCodec(@NotNull Http2FrameCodec frameCodec, @NotNull ChannelHandler... handlers) {
+            super(frameCodec, handlers);
+        }
+
+        @Override
+        public void upgradeTo(@NotNull ChannelHandlerContext ctx, @NotNull FullHttpRequest upgradeRequest) {
+            super.upgradeTo(ctx, upgradeRequest);
+            removeHttp1Handlers(ctx.pipeline());
+        }
+    }
+}
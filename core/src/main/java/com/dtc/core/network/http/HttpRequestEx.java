@@ -2,8 +2,12 @@ package com.dtc.core.network.http;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.stream.HttpBodyStream;
 import io.netty.handler.codec.http.HttpVersion;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,9 +25,12 @@ public class HttpRequestEx {
     private final Map<String, String> headers;
     private final Map<String, String> queryParameters;
     private final Map<String, String> pathParameters;
-    private final String body;
+    private String body;
+    private final byte[] bodyBytes;
+    private final HttpBodyStream bodyStream;
     private final String contentType;
     private final String clientId;
+    private final String remoteAddress;
     private final long timestamp;
 
     public HttpRequestEx(Builder builder) {
@@ -35,8 +42,11 @@ public class HttpRequestEx {
         this.queryParameters = new ConcurrentHashMap<>(builder.queryParameters);
         this.pathParameters = new ConcurrentHashMap<>(builder.pathParameters);
         this.body = builder.body;
+        this.bodyBytes = builder.bodyBytes;
+        this.bodyStream = builder.bodyStream;
         this.contentType = builder.contentType;
         this.clientId = builder.clientId;
+        this.remoteAddress = builder.remoteAddress;
         this.timestamp = builder.timestamp;
     }
 
@@ -76,11 +86,50 @@ public class HttpRequestEx {
         return pathParameters;
     }
 
+    /**
+     * 获取请求体字符串，原始字节在首次调用时才解码为 UTF-8 字符串
+     */
     @Nullable
     public String getBody() {
+        if (body == null && bodyBytes != null) {
+            body = new String(bodyBytes, StandardCharsets.UTF_8);
+        }
         return body;
     }
 
+    /**
+     * 获取请求体原始字节，JSON 等解析器应优先使用，避免中间字符串
+     */
+    @Nullable
+    public byte[] getBodyBytes() {
+        if (bodyBytes == null && body != null) {
+            return body.getBytes(StandardCharsets.UTF_8);
+        }
+        return bodyBytes;
+    }
+
+    /**
+     * 是否有非空请求体
+     */
+    public boolean hasBody() {
+        return bodyBytes != null ? bodyBytes.length > 0 : body != null && !body.isEmpty();
+    }
+
+    /**
+     * 获取流式请求体，只有声明为流式接收的路由才有，聚合请求返回 null
+     */
+    @Nullable
+    public HttpBodyStream getBodyStream() {
+        return bodyStream;
+    }
+
+    /**
+     * 请求体是否以流的方式接收
+     */
+    public boolean isStreaming() {
+        return bodyStream != null;
+    }
+
     @Nullable
     public String getContentType() {
         return contentType;
@@ -91,6 +140,14 @@ public class HttpRequestEx {
         return clientId;
     }
 
+    /**
+     * 获取客户端 IP 地址，不含端口
+     */
+    @Nullable
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -182,8 +239,11 @@ public class HttpRequestEx {
         private Map<String, String> queryParameters = new ConcurrentHashMap<>();
         private Map<String, String> pathParameters = new ConcurrentHashMap<>();
         private String body;
+        private byte[] bodyBytes;
+        private HttpBodyStream bodyStream;
         private String contentType;
         private String clientId;
+        private String remoteAddress;
         private long timestamp;
 
         public Builder method(@NotNull String method) {
@@ -241,6 +301,16 @@ public class HttpRequestEx {
             return this;
         }
 
+        public Builder bodyBytes(@Nullable byte[] bodyBytes) {
+            this.bodyBytes = bodyBytes;
+            return this;
+        }
+
+        public Builder bodyStream(@Nullable HttpBodyStream bodyStream) {
+            this.bodyStream = bodyStream;
+            return this;
+        }
+
         public Builder contentType(@Nullable String contentType) {
             this.contentType = contentType;
             return this;
@@ -251,6 +321,24 @@ public class HttpRequestEx {
             return this;
         }
 
+        public Builder remoteAddress(@Nullable String remoteAddress) {
+            this.remoteAddress = remoteAddress;
+            return this;
+        }
+
+        /**
+         * 从连接的对端地址取出 IP，端口随连接变化，不计入
+         */
+        public Builder remoteAddress(@Nullable SocketAddress remoteAddress) {
+            if (remoteAddress instanceof InetSocketAddress inet) {
+                this.remoteAddress = inet.getAddress() != null ? inet.getAddress().getHostAddress()
+                        : inet.getHostString();
+            } else {
+                this.remoteAddress = remoteAddress != null ? remoteAddress.toString() : null;
+            }
+            return this;
+        }
+
         public Builder timestamp(long timestamp) {
             this.timestamp = timestamp;
             return this;
@@ -1,8 +1,15 @@
 package com.dtc.core.network.http;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -12,14 +19,21 @@ import org.slf4j.LoggerFactory;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.diagnostic.jfr.HttpRequestEvent;
+import com.dtc.core.metrics.MetricFamily;
+import com.dtc.core.metrics.MetricsRegistry;
+import com.dtc.core.metrics.Timer;
 import com.dtc.core.network.http.middleware.HttpMiddleware;
+import com.dtc.core.network.http.route.AsyncHttpRouteHandler;
 import com.dtc.core.network.http.route.HttpRoute;
+import com.dtc.core.network.http.route.RouteHandlerChain;
 import com.dtc.core.web.filter.FilterRegistry;
 import com.dtc.core.web.filter.FilterChain;
 import com.dtc.core.web.filter.DefaultFilterChain;
 import com.dtc.core.web.interceptor.InterceptorRegistry;
 import com.dtc.core.web.HandlerMethod;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dtc.core.web.HandlerMethodRouteHandler;
+import com.dtc.core.serialization.JsonCodec;
 
 /**
  * HTTP 请求处理器
@@ -31,117 +45,194 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class HttpRequestHandler{
 
     private static final Logger log = LoggerFactory.getLogger(HttpRequestHandler.class);
+    // 异步处理器的最长等待时间，可通过 -Dhttp.async.timeout.ms 调整
+    private static final long ASYNC_TIMEOUT_MS = Long.getLong("http.async.timeout.ms", 30_000L);
 
     private final HttpRouteManager routeManager;
     private final HttpMiddlewareManager middlewareManager;
     private final FilterRegistry filterRegistry;
     private final InterceptorRegistry interceptorRegistry;
-    private final ObjectMapper objectMapper;
-    private final AtomicLong processedRequests = new AtomicLong(0);
-    private final AtomicLong errorCount = new AtomicLong(0);
+    private final JsonCodec jsonCodec;
+    private final MetricFamily<Timer> routeLatency;
+    private final Timer unmatchedTimer;
+    private final LongAdder processedRequests = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private volatile RouteHandlerChain defaultChain;
 
-    @Inject
     public HttpRequestHandler(@NotNull HttpRouteManager routeManager,
             @NotNull HttpMiddlewareManager middlewareManager,
             @NotNull FilterRegistry filterRegistry,
             @NotNull InterceptorRegistry interceptorRegistry) {
+        this(routeManager, middlewareManager, filterRegistry, interceptorRegistry, new MetricsRegistry());
+    }
+
+    @Inject
+    public HttpRequestHandler(@NotNull HttpRouteManager routeManager,
+            @NotNull HttpMiddlewareManager middlewareManager,
+            @NotNull FilterRegistry filterRegistry,
+            @NotNull InterceptorRegistry interceptorRegistry,
+            @NotNull MetricsRegistry metricsRegistry) {
         this.routeManager = routeManager;
         this.middlewareManager = middlewareManager;
         this.filterRegistry = filterRegistry;
         this.interceptorRegistry = interceptorRegistry;
-        this.objectMapper = new ObjectMapper();
+        this.jsonCodec = JsonCodec.getDefault();
+        this.routeLatency = metricsRegistry.timerFamily("http_route_latency_seconds",
+                "HTTP request latency by route in seconds", "method", "route");
+        this.unmatchedTimer = routeLatency.labels("ANY", "unmatched");
     }
 
     /**
-     * 处理 HTTP 请求
+     * 处理 HTTP 请求，阻塞等待异步处理方法的结果
      * 
      * @param request HTTP 请求
      * @return HTTP 响应
      */
     @NotNull
     public HttpResponseEx handleRequest(@NotNull HttpRequestEx request) {
-        HttpResponseEx response = null;
-        Exception exception = null;
-        Object handler = null;
-        
+        return handleRequestAsync(request).join();
+    }
+
+    /**
+     * 异步处理 HTTP 请求
+     * 同步处理器返回已完成的 Future；异步处理器的结果完成后再执行 postHandle、后置中间件和 afterCompletion，
+     * 调用线程不等待处理结果。超过 http.async.timeout.ms 未完成的请求返回 503。
+     * 
+     * @param request HTTP 请求
+     * @return 完成时给出 HTTP 响应，不会异常完成
+     */
+    @NotNull
+    public CompletableFuture<HttpResponseEx> handleRequestAsync(@NotNull HttpRequestEx request) {
+        long startTime = System.nanoTime();
+        // JFR 未开启时 isEnabled 恒为 false，事件对象不会逃逸
+        HttpRequestEvent probe = new HttpRequestEvent();
+        HttpRequestEvent jfrEvent = probe.isEnabled() ? probe : null;
+        if (jfrEvent != null) {
+            jfrEvent.begin();
+        }
         try {
-            processedRequests.incrementAndGet();
+            processedRequests.increment();
 
             log.debug("Processing HTTP request: {} {}", request.getMethod(), request.getPath());
 
-            // 创建响应对象（用于 Filter 和 Interceptor）
-            final HttpResponseEx[] finalResponse = {new HttpResponseEx.Builder().statusCode(200).build()};
+            // 查找匹配的路由并提取路径参数，取路由上缓存的处理链
+            HttpRoute route = routeManager.matchRoute(request);
+            RouteHandlerChain chain = resolveChain(route);
 
-            // 执行 Filter 链（在请求处理之前）
-            FilterChain targetChain = (req, resp) -> {
-                // Filter 链执行完毕后，执行实际的请求处理逻辑
-                finalResponse[0] = processRequestInternal(req);
-            };
-            
-            filterRegistry.doFilter(request, finalResponse[0], targetChain);
-            response = finalResponse[0];
+            CompletableFuture<HttpResponseEx> future;
+            if (chain.getFilters().length == 0) {
+                future = processRequestAsync(request, route, chain);
+            } else {
+                // 创建响应对象（用于 Filter 和 Interceptor）
+                HttpResponseEx filterResponse = new HttpResponseEx.Builder().statusCode(200).build();
+                List<CompletableFuture<HttpResponseEx>> target = new ArrayList<>(1);
 
-            // 如果 Filter 链已经设置了响应，直接返回
-            if (response.getStatusCode() != 200 || (response.getBody() != null && !response.getBody().isEmpty())) {
-                return response;
-            }
+                // 执行 Filter 链，链执行完毕后开始实际的请求处理
+                FilterChain targetChain = (req, resp) -> target.add(processRequestAsync(req, route, chain));
+                new DefaultFilterChain(chain.getFilters(), targetChain).doFilter(request, filterResponse);
 
-            // 执行实际的请求处理
-            response = processRequestInternal(request);
-            
-            log.debug("HTTP request processed successfully: {} {} -> {}", request.getMethod(), request.getPath(),
-                    response.getStatusCode());
+                // 过滤器没有继续调用链时仍然处理请求
+                future = target.isEmpty() ? processRequestAsync(request, route, chain) : target.get(0);
+            }
 
-            return response;
+            if (!future.isDone()) {
+                future = future.completeOnTimeout(createServiceUnavailableResponse("Request processing timed out"),
+                        ASYNC_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            Timer timer = routeTimer(route);
+            return future.whenComplete((response, error) -> {
+                timer.recordSince(startTime);
+                if (jfrEvent != null) {
+                    commitEvent(jfrEvent, request, route, response != null ? response.getStatusCode() : 500);
+                }
+                log.debug("HTTP request processed successfully: {} {} -> {}", request.getMethod(), request.getPath(),
+                        response != null ? response.getStatusCode() : -1);
+            });
 
         } catch (Exception e) {
             log.error("Error processing HTTP request: {} {}", request.getMethod(), request.getPath(), e);
-            errorCount.incrementAndGet();
-            exception = e;
-            if (response == null) {
-                response = createInternalServerErrorResponse(e.getMessage());
-            }
-            return response;
-        } finally {
-            // 执行拦截器的 afterCompletion
-            if (handler instanceof HandlerMethod) {
-                HandlerMethod handlerMethod = (HandlerMethod) handler;
-                try {
-                    interceptorRegistry.applyAfterCompletion(request, response, handlerMethod, exception);
-                } catch (Exception e) {
-                    log.error("Error in interceptor afterCompletion", e);
-                }
+            errorCount.increment();
+            if (jfrEvent != null) {
+                commitEvent(jfrEvent, request, null, 500);
             }
+            return CompletableFuture.completedFuture(createInternalServerErrorResponse(e.getMessage()));
         }
     }
+
+    private static void commitEvent(@NotNull HttpRequestEvent event, @NotNull HttpRequestEx request,
+            @Nullable HttpRoute route, int status) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getPath();
+            event.route = route != null ? route.getPath() : null;
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * 获取路由的延迟计时器，以方法和路径模式为标签并缓存在路由上；未匹配的请求共用一个计时器
+     */
+    @NotNull
+    private Timer routeTimer(@Nullable HttpRoute route) {
+        if (route == null) {
+            return unmatchedTimer;
+        }
+        Timer timer = route.getTimer();
+        if (timer == null) {
+            timer = routeLatency.labels(route.getMethod(), route.getPath());
+            route.setTimer(timer);
+        }
+        return timer;
+    }
+
+    /**
+     * 获取路由的处理链
+     * 第一次分发到路由时按路径前缀筛选过滤器、中间件和拦截器并缓存在路由上，注册表变更后重新计算；
+     * 未匹配到路由的请求使用只包含全局组件的处理链
+     */
+    @NotNull
+    private RouteHandlerChain resolveChain(@Nullable HttpRoute route) {
+        long version = filterRegistry.getVersion() + middlewareManager.getVersion() + interceptorRegistry.getVersion();
+        RouteHandlerChain chain = route != null ? route.getHandlerChain() : defaultChain;
+        if (chain != null && chain.getVersion() == version) {
+            return chain;
+        }
+        chain = RouteHandlerChain.build(route != null ? route.getPath() : null, filterRegistry.getFilters(),
+                middlewareManager.getMiddlewares(), interceptorRegistry.getInterceptors(), version);
+        if (route != null) {
+            route.setHandlerChain(chain);
+        } else {
+            defaultChain = chain;
+        }
+        return chain;
+    }
     
     /**
      * 内部请求处理方法（在 Filter 链之后执行）
      */
     @NotNull
-    private HttpResponseEx processRequestInternal(@NotNull HttpRequestEx request) {
-        Exception exception = null;
+    private CompletableFuture<HttpResponseEx> processRequestAsync(@NotNull HttpRequestEx request,
+            @Nullable HttpRoute route, @NotNull RouteHandlerChain chain) {
         Object handler = null;
         HttpResponseEx response = null;
         
         try {
             // 执行前置中间件
-            HttpResponseEx preResponse = executePreMiddleware(request);
+            HttpResponseEx preResponse = executePreMiddleware(request, chain.getMiddlewares());
             if (preResponse != null) {
-                return preResponse;
+                return CompletableFuture.completedFuture(preResponse);
             }
 
-            // 查找匹配的路由
-            HttpRoute route = routeManager.findRoute(request.getMethod(), request.getPath());
             if (route == null) {
-                return createNotFoundResponse(request);
+                return CompletableFuture.completedFuture(createNotFoundResponse(request));
             }
 
-            // 提取路径参数
-            extractPathParameters(request, route);
-
-            // 获取处理器对象（用于 Interceptor）
-            handler = route.getHandler();
+            // 获取处理器对象（用于 Interceptor），控制器方法以 HandlerMethod 作为 handler
+            handler = route.getHandler() instanceof HandlerMethodRouteHandler methodHandler
+                    ? methodHandler.getHandlerMethod()
+                    : route.getHandler();
             
             // 创建响应对象（用于 Interceptor）
             response = new HttpResponseEx.Builder().statusCode(200).build();
@@ -149,43 +240,68 @@ public class HttpRequestHandler{
             // 执行拦截器的 preHandle
             if (handler instanceof HandlerMethod) {
                 HandlerMethod handlerMethod = (HandlerMethod) handler;
-                if (!interceptorRegistry.applyPreHandle(request, response, handlerMethod)) {
+                if (!chain.applyPreHandle(request, response, handlerMethod)) {
                     log.debug("Interceptor preHandle returned false, stopping execution");
-                    return response;
+                    return CompletableFuture.completedFuture(response);
                 }
             }
 
-            // 执行路由处理器
-            HttpResponseEx routeResponse = route.getHandler().handle(request);
-            if (routeResponse == null) {
-                routeResponse = createInternalServerErrorResponse("Route handler returned null");
+            // 执行路由处理器，异步处理器的结果完成后再继续
+            CompletionStage<HttpResponseEx> stage = route.getHandler() instanceof AsyncHttpRouteHandler asyncHandler
+                    ? asyncHandler.handleAsync(request)
+                    : CompletableFuture.completedFuture(route.getHandler().handle(request));
+            Object finalHandler = handler;
+            return stage.toCompletableFuture().handle(
+                    (routeResponse, error) -> completeRequest(request, chain, finalHandler, routeResponse, error));
+
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(completeRequest(request, chain, handler, response, e));
+        }
+    }
+
+    /**
+     * 路由处理完成后执行 postHandle、后置中间件和 afterCompletion
+     */
+    @NotNull
+    private HttpResponseEx completeRequest(@NotNull HttpRequestEx request, @NotNull RouteHandlerChain chain,
+            @Nullable Object handler, @Nullable HttpResponseEx routeResponse, @Nullable Throwable error) {
+        Exception exception = null;
+        HttpResponseEx response = routeResponse;
+
+        try {
+            if (error != null) {
+                throw error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            }
+            if (response == null) {
+                response = createInternalServerErrorResponse("Route handler returned null");
             }
-            response = routeResponse;
 
             // 执行拦截器的 postHandle
             if (handler instanceof HandlerMethod) {
                 HandlerMethod handlerMethod = (HandlerMethod) handler;
-                interceptorRegistry.applyPostHandle(request, response, handlerMethod, response);
+                chain.applyPostHandle(request, response, handlerMethod, response);
             }
 
             // 执行后置中间件
-            response = executePostMiddleware(request, response);
+            return executePostMiddleware(request, response, chain.getMiddlewares());
 
+        } catch (TimeoutException | RejectedExecutionException e) {
+            log.warn("HTTP request not completed: {} {} - {}", request.getMethod(), request.getPath(), e.getMessage());
+            exception = e;
+            response = createServiceUnavailableResponse(e.getMessage());
             return response;
-
-        } catch (Exception e) {
+        } catch (Throwable e) {
             log.error("Error in processRequestInternal", e);
-            exception = e;
-            if (response == null) {
-                response = createInternalServerErrorResponse(e.getMessage());
-            }
+            errorCount.increment();
+            exception = e instanceof Exception ex ? ex : new RuntimeException(e);
+            response = createInternalServerErrorResponse(e.getMessage());
             return response;
         } finally {
             // 执行拦截器的 afterCompletion
             if (handler instanceof HandlerMethod) {
                 HandlerMethod handlerMethod = (HandlerMethod) handler;
                 try {
-                    interceptorRegistry.applyAfterCompletion(request, response, handlerMethod, exception);
+                    chain.applyAfterCompletion(request, response, handlerMethod, exception);
                 } catch (Exception e) {
                     log.error("Error in interceptor afterCompletion", e);
                 }
@@ -197,10 +313,9 @@ public class HttpRequestHandler{
      * 执行前置中间件
      */
     @Nullable
-    private HttpResponseEx executePreMiddleware(@NotNull HttpRequestEx request) {
-        List<HttpMiddleware> middlewares = middlewareManager.getMiddlewares();
-
-        for (HttpMiddleware middleware : middlewares) {
+    private HttpResponseEx executePreMiddleware(@NotNull HttpRequestEx request, @NotNull HttpMiddleware[] middlewares) {
+        for (int i = 0; i < middlewares.length; i++) {
+            HttpMiddleware middleware = middlewares[i];
             try {
                 HttpResponseEx response = middleware.beforeRequest(request);
                 if (response != null) {
@@ -220,12 +335,12 @@ public class HttpRequestHandler{
      * 执行后置中间件
      */
     @NotNull
-    private HttpResponseEx executePostMiddleware(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response) {
-        List<HttpMiddleware> middlewares = middlewareManager.getMiddlewares();
-
+    private HttpResponseEx executePostMiddleware(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response,
+            @NotNull HttpMiddleware[] middlewares) {
         HttpResponseEx currentResponse = response;
 
-        for (HttpMiddleware middleware : middlewares) {
+        for (int i = 0; i < middlewares.length; i++) {
+            HttpMiddleware middleware = middlewares[i];
             try {
                 HttpResponseEx newResponse = middleware.afterRequest(request, currentResponse);
                 if (newResponse != null) {
@@ -240,27 +355,17 @@ public class HttpRequestHandler{
         return currentResponse;
     }
 
-    /**
-     * 提取路径参数
-     */
-    private void extractPathParameters(@NotNull HttpRequestEx request, @NotNull HttpRoute route) {
-        Map<String, String> pathParams = route.extractPathParameters(request.getPath());
-        if (pathParams != null) {
-            request.getPathParameters().putAll(pathParams);
-        }
-    }
-
     /**
      * 解析 JSON 请求体
      */
     @Nullable
     public <T> T parseJsonBody(@NotNull HttpRequestEx request, @NotNull Class<T> clazz) {
-        if (!request.isJsonContent() || request.getBody() == null) {
+        if (!request.isJsonContent() || !request.hasBody()) {
             return null;
         }
 
         try {
-            return objectMapper.readValue(request.getBody(), clazz);
+            return jsonCodec.read(request.getBodyBytes(), clazz);
         } catch (Exception e) {
             log.error("Error parsing JSON body", e);
             return null;
@@ -319,6 +424,15 @@ public class HttpRequestHandler{
                 .body(createErrorJson("Internal Server Error", message)).build();
     }
 
+    /**
+     * 创建 503 响应
+     */
+    @NotNull
+    private HttpResponseEx createServiceUnavailableResponse(@Nullable String message) {
+        return new HttpResponseEx.Builder().serviceUnavailable().jsonContent()
+                .body(createErrorJson("Service Unavailable", message)).build();
+    }
+
     /**
      * 创建错误 JSON
      */
@@ -329,7 +443,7 @@ public class HttpRequestHandler{
             errorMap.put("error", error);
             errorMap.put("message", message != null ? message : "");
             errorMap.put("timestamp", System.currentTimeMillis());
-            return objectMapper.writeValueAsString(errorMap);
+            return jsonCodec.writeAsString(errorMap);
         } catch (Exception e) {
             return "{\"error\":\"" + error + "\",\"message\":\"" + (message != null ? message : "") + "\"}";
         }
@@ -340,7 +454,7 @@ public class HttpRequestHandler{
      */
     @NotNull
     public HttpRequestStats getStats() {
-        return new HttpRequestStats(processedRequests.get(), errorCount.get());
+        return new HttpRequestStats(processedRequests.sum(), errorCount.sum());
     }
 
     /**
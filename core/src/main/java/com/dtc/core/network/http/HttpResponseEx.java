@@ -2,10 +2,22 @@ package com.dtc.core.network.http;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.stream.StreamingBody;
+import com.dtc.core.serialization.JsonCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
 
 /**
  * HTTP éå¶ç°²å¦¯â³ç· çä½½î HTTP éå¶ç°²é¨å¬å¢éå¤ä¿é­? * æµ£è·¨æ¤ HttpResponseEx é¬å®å¤æ¶åº¡å¾æµ æ §ç°±é¨?HttpResponse ç»«è¯²æéè¬ç
@@ -17,7 +29,10 @@ public class HttpResponseEx {
     private final int statusCode;
     private final String statusMessage;
     private final Map<String, String> headers;
-    private final String body;
+    private String body;
+    private final Object jsonBody;
+    private final ByteBuf bodyBuffer;
+    private final StreamingBody streamingBody;
     private final String contentType;
     private final long timestamp;
 
@@ -26,6 +41,9 @@ public class HttpResponseEx {
         this.statusMessage = builder.statusMessage;
         this.headers = new ConcurrentHashMap<>(builder.headers);
         this.body = builder.body;
+        this.jsonBody = builder.jsonBody;
+        this.bodyBuffer = builder.bodyBuffer;
+        this.streamingBody = builder.streamingBody;
         this.contentType = builder.contentType;
         this.timestamp = builder.timestamp;
     }
@@ -45,11 +63,74 @@ public class HttpResponseEx {
         return headers;
     }
 
+    /**
+     * 获取响应体字符串，JSON 对象响应体在首次调用时才序列化
+     */
     @Nullable
     public String getBody() {
+        if (body == null && jsonBody != null) {
+            try {
+                body = JsonCodec.getDefault().writeAsString(jsonBody);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize response body", e);
+            }
+        }
+        if (body == null && bodyBuffer != null) {
+            body = bodyBuffer.toString(StandardCharsets.UTF_8);
+        }
         return body;
     }
 
+    /**
+     * 获取待序列化为 JSON 的响应对象
+     */
+    @Nullable
+    public Object getJsonBody() {
+        return jsonBody;
+    }
+
+    public boolean hasJsonBody() {
+        return jsonBody != null;
+    }
+
+    /**
+     * 获取已编码的响应体
+     */
+    @Nullable
+    public ByteBuf getBodyBuffer() {
+        return bodyBuffer;
+    }
+
+    /**
+     * 获取流式响应体
+     */
+    @Nullable
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    public boolean hasStreamingBody() {
+        return streamingBody != null;
+    }
+
+    /**
+     * 将响应体编码到分配器分配的缓冲区
+     * JSON 对象响应体直接序列化进缓冲区，不生成中间字符串
+     */
+    @NotNull
+    public ByteBuf encodeBody(@NotNull ByteBufAllocator allocator) throws IOException {
+        if (bodyBuffer != null) {
+            return bodyBuffer.retainedDuplicate();
+        }
+        if (body != null) {
+            return body.isEmpty() ? Unpooled.EMPTY_BUFFER : ByteBufUtil.writeUtf8(allocator, body);
+        }
+        if (jsonBody != null) {
+            return JsonCodec.getDefault().writeToBuffer(jsonBody, allocator);
+        }
+        return Unpooled.EMPTY_BUFFER;
+    }
+
     @Nullable
     public String getContentType() {
         return contentType;
@@ -107,6 +188,9 @@ public class HttpResponseEx {
         private String statusMessage = "OK";
         private Map<String, String> headers = new ConcurrentHashMap<>();
         private String body;
+        private Object jsonBody;
+        private ByteBuf bodyBuffer;
+        private StreamingBody streamingBody;
         private String contentType;
         private long timestamp;
 
@@ -141,6 +225,54 @@ public class HttpResponseEx {
             return this;
         }
 
+        /**
+         * 设置 JSON 响应对象，发送时直接序列化到响应缓冲区
+         */
+        public Builder jsonBody(@Nullable Object jsonBody) {
+            this.jsonBody = jsonBody;
+            if (jsonBody != null && contentType == null) {
+                contentType = "application/json";
+            }
+            return this;
+        }
+
+        /**
+         * 设置已编码的响应体，发送时共享缓冲区内容（retainedDuplicate），不再序列化，设置后忽略字符串和 JSON 响应体
+         */
+        public Builder bodyBuffer(@Nullable ByteBuf bodyBuffer) {
+            this.bodyBuffer = bodyBuffer;
+            return this;
+        }
+
+        /**
+         * 设置流式响应体，设置后忽略字符串和 JSON 响应体
+         */
+        public Builder streamingBody(@Nullable StreamingBody streamingBody) {
+            this.streamingBody = streamingBody;
+            return this;
+        }
+
+        /**
+         * 以文件作为响应体，零拷贝发送
+         */
+        public Builder file(@NotNull Path file) {
+            return streamingBody(StreamingBody.ofFile(file));
+        }
+
+        /**
+         * 以输入流作为响应体，chunked 编码发送
+         */
+        public Builder stream(@NotNull InputStream inputStream) {
+            return streamingBody(StreamingBody.ofInputStream(inputStream));
+        }
+
+        /**
+         * 以 Publisher 作为响应体，chunked 编码发送
+         */
+        public Builder publisher(@NotNull Flow.Publisher<ByteBuf> publisher) {
+            return streamingBody(StreamingBody.ofPublisher(publisher));
+        }
+
         public Builder contentType(@Nullable String contentType) {
             this.contentType = contentType;
             return this;
@@ -2,14 +2,14 @@ package com.dtc.core.network.http;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dtc.core.serialization.JsonCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * HTTP 响应处理器
@@ -22,13 +22,13 @@ public class HttpResponseHandler {
 
     private static final Logger log = LoggerFactory.getLogger(HttpResponseHandler.class);
 
-    private final ObjectMapper objectMapper;
-    private final AtomicLong sentResponses = new AtomicLong(0);
-    private final AtomicLong errorResponses = new AtomicLong(0);
+    private final JsonCodec jsonCodec;
+    private final LongAdder sentResponses = new LongAdder();
+    private final LongAdder errorResponses = new LongAdder();
 
     @Inject
     public HttpResponseHandler() {
-        this.objectMapper = new ObjectMapper();
+        this.jsonCodec = JsonCodec.getDefault();
     }
 
     /**
@@ -39,10 +39,10 @@ public class HttpResponseHandler {
      */
     public void sendResponse(@NotNull String clientId, @NotNull HttpResponseEx response) {
         try {
-            sentResponses.incrementAndGet();
+            sentResponses.increment();
 
             if (response.isServerError()) {
-                errorResponses.incrementAndGet();
+                errorResponses.increment();
             }
 
             log.debug("Sending HTTP response to client: {} (status: {})", clientId, response.getStatusCode());
@@ -59,7 +59,7 @@ public class HttpResponseHandler {
      */
     @NotNull
     public HttpResponseEx createSuccessResponse(@Nullable Object data) {
-        return new HttpResponseEx.Builder().ok().jsonContent().body(serializeToJson(data)).build();
+        return withJsonBody(new HttpResponseEx.Builder().ok().jsonContent(), data).build();
     }
 
     /**
@@ -67,7 +67,7 @@ public class HttpResponseHandler {
      */
     @NotNull
     public HttpResponseEx createCreatedResponse(@Nullable Object data) {
-        return new HttpResponseEx.Builder().created().jsonContent().body(serializeToJson(data)).build();
+        return withJsonBody(new HttpResponseEx.Builder().created().jsonContent(), data).build();
     }
 
     /**
@@ -148,7 +148,7 @@ public class HttpResponseHandler {
      */
     @NotNull
     public HttpResponseEx createJsonResponse(int statusCode, @Nullable Object data) {
-        return new HttpResponseEx.Builder().statusCode(statusCode).jsonContent().body(serializeToJson(data)).build();
+        return withJsonBody(new HttpResponseEx.Builder().statusCode(statusCode).jsonContent(), data).build();
     }
 
     /**
@@ -193,6 +193,14 @@ public class HttpResponseHandler {
                 .addHeader("Location", location).build();
     }
 
+    /**
+     * 设置 JSON 响应体，对象在发送时直接序列化到响应缓冲区
+     */
+    @NotNull
+    private HttpResponseEx.Builder withJsonBody(@NotNull HttpResponseEx.Builder builder, @Nullable Object data) {
+        return data == null ? builder.body("null") : builder.jsonBody(data);
+    }
+
     /**
      * 序列化对象为 JSON
      */
@@ -203,7 +211,7 @@ public class HttpResponseHandler {
         }
 
         try {
-            return objectMapper.writeValueAsString(data);
+            return jsonCodec.writeAsString(data);
         } catch (Exception e) {
             log.error("Error serializing object to JSON", e);
             return "{}";
@@ -220,7 +228,7 @@ public class HttpResponseHandler {
             errorMap.put("error", error);
             errorMap.put("message", message != null ? message : "");
             errorMap.put("timestamp", System.currentTimeMillis());
-            return objectMapper.writeValueAsString(errorMap);
+            return jsonCodec.writeAsString(errorMap);
         } catch (Exception e) {
             return "{\"error\":\"" + error + "\",\"message\":\"" + (message != null ? message : "") + "\"}";
         }
@@ -269,7 +277,7 @@ public class HttpResponseHandler {
      */
     @NotNull
     public HttpResponseStats getStats() {
-        return new HttpResponseStats(sentResponses.get(), errorResponses.get());
+        return new HttpResponseStats(sentResponses.sum(), errorResponses.sum());
     }
 
     /**
@@ -2,8 +2,10 @@ package com.dtc.core.network.http;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.route.HttpBodyMode;
 import com.dtc.core.network.http.route.HttpRoute;
 import com.dtc.core.network.http.route.HttpRouteHandler;
+import com.dtc.core.network.http.route.RouteTree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,12 +13,12 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * HTTP 路由管理器
- * 负责管理 HTTP 路由的注册、查找和匹配
+ * 负责管理 HTTP 路由的注册、查找和匹配。
+ * 每个 HTTP 方法一棵 {@link RouteTree}，注册或移除路由时重建并整体替换，
+ * 查找只读取已发布的树，耗时与路径长度相关而与路由数量无关
  * 
  * @author Network Service Template
  */
@@ -26,7 +28,8 @@ public class HttpRouteManager {
     private static final Logger log = LoggerFactory.getLogger(HttpRouteManager.class);
 
     private final Map<String, List<HttpRoute>> routes = new ConcurrentHashMap<>();
-    private final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+    private final Map<String, RouteTree> trees = new ConcurrentHashMap<>();
+    private final ThreadLocal<int[]> captures = ThreadLocal.withInitial(() -> new int[8]);
 
     @Inject
     public HttpRouteManager() {
@@ -41,17 +44,34 @@ public class HttpRouteManager {
      * @param handler 处理器
      */
     public void registerRoute(@NotNull String method, @NotNull String path, @NotNull HttpRouteHandler handler) {
+        registerRoute(method, path, handler, HttpBodyMode.AGGREGATE);
+    }
+
+    /**
+     * 注册路由并指定请求体接收方式
+     *
+     * @param method   HTTP 方法
+     * @param path     路由路径（支持参数）
+     * @param handler  处理器
+     * @param bodyMode 请求体接收方式，STREAM 时请求体不经过聚合
+     */
+    public synchronized void registerRoute(@NotNull String method, @NotNull String path,
+            @NotNull HttpRouteHandler handler, @NotNull HttpBodyMode bodyMode) {
         String normalizedMethod = method.toUpperCase();
         String normalizedPath = normalizePath(path);
 
-        HttpRoute route = new HttpRoute(normalizedMethod, normalizedPath, handler);
+        HttpRoute route = new HttpRoute(normalizedMethod, normalizedPath, handler, bodyMode);
 
-        routes.computeIfAbsent(normalizedMethod, k -> new ArrayList<>()).add(route);
+        List<HttpRoute> methodRoutes = routes.computeIfAbsent(normalizedMethod, k -> new ArrayList<>());
+        if (methodRoutes.removeIf(existing -> existing.getPath().equals(normalizedPath))) {
+            log.warn("Route {} {} registered again, replacing previous handler", normalizedMethod, normalizedPath);
+        }
+        methodRoutes.add(route);
 
-        // 编译路径模式
-        compilePathPattern(normalizedPath);
+        // 重建该方法的路由树
+        rebuildTree(normalizedMethod);
 
-        log.debug("Registered route: {} {}", normalizedMethod, normalizedPath);
+        log.debug("Registered route: {} {} ({})", normalizedMethod, normalizedPath, bodyMode);
     }
 
     /**
@@ -112,66 +132,76 @@ public class HttpRouteManager {
      */
     @Nullable
     public HttpRoute findRoute(@NotNull String method, @NotNull String path) {
-        String normalizedMethod = method.toUpperCase();
-        String normalizedPath = normalizePath(path);
-
-        List<HttpRoute> methodRoutes = routes.get(normalizedMethod);
-        if (methodRoutes == null) {
-            return null;
-        }
+        return lookup(method, path, null);
+    }
 
-        // 优先匹配精确路由，然后匹配参数路由
-        methodRoutes.sort((r1, r2) -> {
-            boolean exact1 = !r1.getPath().contains("{");
-            boolean exact2 = !r2.getPath().contains("{");
-            if (exact1 && !exact2)
-                return -1;
-            if (!exact1 && exact2)
-                return 1;
-            return 0;
-        });
+    /**
+     * 查找与请求匹配的路由，并把路径参数写入请求
+     *
+     * @param request HTTP 请求
+     * @return 匹配的路由，如果未找到则返回null
+     */
+    @Nullable
+    public HttpRoute matchRoute(@NotNull HttpRequestEx request) {
+        return lookup(request.getMethod(), request.getPath(), request.getPathParameters());
+    }
 
-        for (HttpRoute route : methodRoutes) {
-            if (matchesRoute(route, normalizedPath)) {
-                log.debug("Found matching route: {} {}", route.getMethod(), route.getPath());
-                return route;
+    @Nullable
+    private HttpRoute lookup(@NotNull String method, @NotNull String path, @Nullable Map<String, String> parameters) {
+        RouteTree tree = trees.get(method);
+        if (tree == null) {
+            tree = trees.get(method.toUpperCase());
+            if (tree == null) {
+                return null;
             }
         }
 
-        return null;
-    }
-
-    /**
-     * 检查路由是否匹配
-     */
-    private boolean matchesRoute(@NotNull HttpRoute route, @NotNull String path) {
-        String routePath = route.getPath();
+        // 末尾的 "/" 通过有效长度忽略，不创建新字符串
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        int end = path.length();
+        if (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
 
-        // 精确匹配
-        if (routePath.equals(path)) {
-            return true;
+        int[] positions = captures.get();
+        int required = tree.getMaxParameters() << 1;
+        if (positions.length < required) {
+            positions = new int[required];
+            captures.set(positions);
         }
 
-        // 参数匹配
-        if (routePath.contains("{")) {
-            Pattern pattern = compiledPatterns.get(routePath);
-            if (pattern != null) {
-                return pattern.matcher(path).matches();
+        HttpRoute route = tree.find(path, end, positions);
+        if (route != null) {
+            if (parameters != null) {
+                route.putPathParameters(path, positions, parameters);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Found matching route: {} {}", route.getMethod(), route.getPath());
             }
         }
-
-        return false;
+        return route;
     }
 
     /**
-     * 编译路径模式
+     * 按当前路由列表重建指定方法的路由树并发布
      */
-    private void compilePathPattern(@NotNull String path) {
-        if (path.contains("{")) {
-            String regex = path.replaceAll("\\{[^}]+\\}", "([^/]+)");
-            Pattern pattern = Pattern.compile("^" + regex + "$");
-            compiledPatterns.put(path, pattern);
+    private void rebuildTree(@NotNull String method) {
+        List<HttpRoute> methodRoutes = routes.get(method);
+        if (methodRoutes == null || methodRoutes.isEmpty()) {
+            trees.remove(method);
+            return;
+        }
+        RouteTree tree = new RouteTree();
+        for (HttpRoute route : methodRoutes) {
+            HttpRoute shadowed = tree.insert(route);
+            if (shadowed != null) {
+                log.warn("Route {} {} shadows {} {}", route.getMethod(), route.getPath(),
+                        shadowed.getMethod(), shadowed.getPath());
+            }
         }
+        trees.put(method, tree);
     }
 
     /**
@@ -222,17 +252,18 @@ public class HttpRouteManager {
     /**
      * 清除所有路由
      */
-    public void clearRoutes() {
+    public synchronized void clearRoutes() {
         routes.clear();
-        compiledPatterns.clear();
+        trees.clear();
         log.info("All routes cleared");
     }
 
     /**
      * 移除指定方法的所有路由
      */
-    public void removeRoutes(@NotNull String method) {
+    public synchronized void removeRoutes(@NotNull String method) {
         String normalizedMethod = method.toUpperCase();
+        trees.remove(normalizedMethod);
         List<HttpRoute> removed = routes.remove(normalizedMethod);
         if (removed != null) {
             log.info("Removed {} routes for method {}", removed.size(), normalizedMethod);
@@ -242,7 +273,7 @@ public class HttpRouteManager {
     /**
      * 移除指定路由
      */
-    public boolean removeRoute(@NotNull String method, @NotNull String path) {
+    public synchronized boolean removeRoute(@NotNull String method, @NotNull String path) {
         String normalizedMethod = method.toUpperCase();
         String normalizedPath = normalizePath(path);
 
@@ -250,7 +281,7 @@ public class HttpRouteManager {
         if (methodRoutes != null) {
             boolean removed = methodRoutes.removeIf(route -> route.getPath().equals(normalizedPath));
             if (removed) {
-                compiledPatterns.remove(normalizedPath);
+                rebuildTree(normalizedMethod);
                 log.debug("Removed route: {} {}", normalizedMethod, normalizedPath);
             }
             return removed;
@@ -2,6 +2,8 @@ package com.dtc.core.network.http;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.core.statistics.StatisticsCollector;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.*;
@@ -10,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HTTP服务器
@@ -71,50 +74,57 @@ public class HttpServer extends ChannelInboundHandlerAdapter {
      * @param request HTTP请求
      */
     private void handleHttpRequest(@NotNull ChannelHandlerContext ctx, @NotNull FullHttpRequest request) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         statisticsCollector.onRequestStart();
+        // 按请求的 Connection 头和协议版本决定响应后是否保持连接
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
 
         try {
             log.debug("📥 Received HTTP request: {} {}", request.method(), request.uri());
 
             // 创建HTTP请求对象
-            HttpRequestEx requestEx = createHttpRequestEx(request);
+            HttpRequestEx requestEx = createHttpRequestEx(ctx, request);
 
             // 处理请求
             HttpResponseEx responseEx = processRequest(requestEx);
 
             // 发送响应
-            sendResponse(ctx, responseEx);
+            sendResponse(ctx, responseEx, keepAlive);
             log.debug("📤 Sent HTTP response: {}", responseEx.getStatusCode());
 
             // 记录请求完成
-            long processingTime = System.currentTimeMillis() - startTime;
-            statisticsCollector.onRequestComplete(processingTime);
+            long processingNanos = System.nanoTime() - startTime;
+            statisticsCollector.recordHandlerLatency("HTTP", processingNanos);
+            statisticsCollector.onRequestComplete(TimeUnit.NANOSECONDS.toMillis(processingNanos));
 
         } catch (Exception e) {
             log.error("❌ Failed to handle HTTP request", e);
             statisticsCollector.onRequestError();
-            sendErrorResponse(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+            sendErrorResponse(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", keepAlive);
         }
     }
 
     /**
      * 创建HTTP请求对象
      * 
+     * @param ctx     ChannelHandlerContext
      * @param request Netty HTTP请求
      * @return HttpRequestEx对象
      */
     @NotNull
-    private HttpRequestEx createHttpRequestEx(@NotNull FullHttpRequest request) {
+    private HttpRequestEx createHttpRequestEx(@NotNull ChannelHandlerContext ctx, @NotNull FullHttpRequest request) {
         // 使用Builder模式创建HttpRequestEx对象
         return new HttpRequestEx.Builder()
                 .method(request.method().name())
                 .path(request.uri())
                 .uri(request.uri())
                 .version(request.protocolVersion())
-                .body(request.content() != null ? request.content().toString() : null)
+                .bodyBytes(request.content() != null && request.content().isReadable()
+                        ? ByteBufUtil.getBytes(request.content())
+                        : null)
                 .contentType(request.headers().get("Content-Type"))
                 .clientId(null) // 可以通过路由管理器获取客户端ID
+                .remoteAddress(ctx.channel().remoteAddress())
                 .timestamp(System.currentTimeMillis())
                 .build();
     }
@@ -150,18 +160,32 @@ public class HttpServer extends ChannelInboundHandlerAdapter {
     /**
      * 发送HTTP响应
      * 
-     * @param ctx      ChannelHandlerContext
-     * @param response HTTP响应
+     * @param ctx       ChannelHandlerContext
+     * @param response  HTTP响应
+     * @param keepAlive 是否保持连接
      */
-    private void sendResponse(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponseEx response) {
+    private void sendResponse(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponseEx response,
+            boolean keepAlive) {
         try {
             // 简单的响应发送，可以通过路由管理器转换为Netty响应
-            FullHttpResponse httpResponse = createNettyResponse(response);
-            ctx.writeAndFlush(httpResponse);
+            FullHttpResponse httpResponse = createNettyResponse(ctx, response);
+            write(ctx, httpResponse, keepAlive);
             log.debug("📤 Sent HTTP response: {}", httpResponse.status());
         } catch (Exception e) {
             log.error("❌ Failed to send response", e);
-            sendErrorResponse(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Response Error");
+            sendErrorResponse(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Response Error", keepAlive);
+        }
+    }
+
+    /**
+     * 写出响应，设置 Connection 头，不保持连接时写完后关闭
+     */
+    private void write(@NotNull ChannelHandlerContext ctx, @NotNull FullHttpResponse response, boolean keepAlive) {
+        HttpUtil.setKeepAlive(response, keepAlive);
+        if (keepAlive) {
+            ctx.writeAndFlush(response);
+        } else {
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
         }
     }
 
@@ -169,19 +193,16 @@ public class HttpServer extends ChannelInboundHandlerAdapter {
      * 创建Netty HTTP响应
      */
     @NotNull
-    private FullHttpResponse createNettyResponse(@NotNull HttpResponseEx response) {
+    private FullHttpResponse createNettyResponse(@NotNull ChannelHandlerContext ctx,
+            @NotNull HttpResponseEx response) throws java.io.IOException {
         HttpResponseStatus status = HttpResponseStatus.valueOf(response.getStatusCode());
-        FullHttpResponse httpResponse = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+        // 响应内容直接编码到池化缓冲区
+        FullHttpResponse httpResponse = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+                response.encodeBody(ctx.alloc()));
 
         // 设置内容类型
         httpResponse.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=UTF-8");
 
-        // 设置响应内容
-        String content = response.getBody();
-        if (content != null) {
-            httpResponse.content().writeBytes(content.getBytes());
-        }
-
         // 设置内容长度头部
         httpResponse.headers().set(HttpHeaderNames.CONTENT_LENGTH, httpResponse.content().readableBytes());
 
@@ -269,12 +290,13 @@ public class HttpServer extends ChannelInboundHandlerAdapter {
     /**
      * 发送错误响应
      * 
-     * @param ctx     ChannelHandlerContext
-     * @param status  响应状态
-     * @param message 错误消息
+     * @param ctx       ChannelHandlerContext
+     * @param status    响应状态
+     * @param message   错误消息
+     * @param keepAlive 是否保持连接
      */
     private void sendErrorResponse(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponseStatus status,
-            @NotNull String message) {
+            @NotNull String message, boolean keepAlive) {
         try {
             FullHttpResponse response = new DefaultFullHttpResponse(
                     HttpVersion.HTTP_1_1, status);
@@ -282,7 +304,7 @@ public class HttpServer extends ChannelInboundHandlerAdapter {
             response.content().writeBytes(message.getBytes());
             response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
 
-            ctx.writeAndFlush(response);
+            write(ctx, response, keepAlive);
         } catch (Exception e) {
             log.error("❌ Failed to send error response", e);
             ctx.close();
@@ -0,0 +1,135 @@
+package com.dtc.core.network.http.cache;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * 缓存的响应
+ * 响应体保存为编码后的堆缓冲区（不可释放，由 GC 回收），每次命中只创建共享内容的 duplicate，
+ * 不再执行控制器和序列化。
+ *
+ * @author Network Service Template
+ */
+final class CachedResponse {
+
+    private final String key;
+    private final int statusCode;
+    private final String statusMessage;
+    private final String contentType;
+    private final Map<String, String> headers;
+    private final ByteBuf body;
+    private final String etag;
+    private final long lastModifiedMillis;
+    private final String lastModified;
+    private final long expiresAtMillis;
+    private final String[] tags;
+
+    CachedResponse(@NotNull String key, @NotNull HttpResponseEx response, @NotNull ByteBuf body,
+            @NotNull ResponseCachePolicy policy, long nowMillis) {
+        this.key = key;
+        this.statusCode = response.getStatusCode();
+        this.statusMessage = response.getStatusMessage();
+        this.contentType = response.getContentType();
+        this.body = Unpooled.unreleasableBuffer(body.asReadOnly());
+        this.etag = etag(body);
+        // HTTP 日期精度为秒
+        this.lastModifiedMillis = nowMillis / 1000 * 1000;
+        this.lastModified = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModifiedMillis), ZoneOffset.UTC));
+        this.expiresAtMillis = nowMillis + policy.getTtlMillis();
+        this.tags = policy.getTags();
+
+        Map<String, String> headers = new HashMap<>(response.getHeaders());
+        headers.put("etag", etag);
+        headers.put("last-modified", lastModified);
+        if (policy.getVaryHeaders().length > 0) {
+            headers.put("vary", String.join(", ", policy.getVaryHeaders()));
+        }
+        this.headers = headers;
+    }
+
+    @NotNull
+    String getKey() {
+        return key;
+    }
+
+    @NotNull
+    String getEtag() {
+        return etag;
+    }
+
+    @NotNull
+    String[] getTags() {
+        return tags;
+    }
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * 为请求生成响应，条件请求的校验器与缓存一致时返回 304
+     */
+    @NotNull
+    HttpResponseEx toResponse(@NotNull HttpRequestEx request) {
+        if (isNotModified(request)) {
+            return new HttpResponseEx.Builder().statusCode(304).statusMessage("Not Modified")
+                    .addHeader("ETag", etag).addHeader("Last-Modified", lastModified).build();
+        }
+        return new HttpResponseEx.Builder().statusCode(statusCode).statusMessage(statusMessage).headers(headers)
+                .contentType(contentType).bodyBuffer(body.duplicate()).build();
+    }
+
+    /**
+     * If-None-Match 优先于 If-Modified-Since
+     */
+    private boolean isNotModified(@NotNull HttpRequestEx request) {
+        String ifNoneMatch = request.getHeader("if-none-match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader("if-modified-since");
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant().toEpochMilli();
+                return lastModifiedMillis <= since;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 以内容长度和 CRC32C 作为强校验器
+     */
+    @NotNull
+    private static String etag(@NotNull ByteBuf body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.nioBuffer());
+        return "\"" + Integer.toHexString(body.readableBytes()) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+}
@@ -0,0 +1,115 @@
+package com.dtc.core.network.http.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.route.AsyncHttpRouteHandler;
+import com.dtc.core.network.http.route.HttpRouteHandler;
+
+/**
+ * 带响应缓存的路由处理器
+ * 只缓存 GET / HEAD 请求，缓存键由方法、URI 和策略指定的请求头组成。
+ * 带 Authorization 或 Cookie 的请求只有在策略按该请求头区分缓存时才使用缓存，否则直接执行处理器，
+ * 避免按用户生成的响应被其他用户读到。
+ * 命中时直接返回缓存的响应，条件请求校验通过时返回 304；同键请求同时未命中时只有第一个请求执行处理器，
+ * 其余请求复用它缓存的结果，响应不可缓存或处理失败时再各自执行。
+ *
+ * @author Network Service Template
+ */
+public class CachingRouteHandler implements AsyncHttpRouteHandler {
+
+    private static final String AUTHORIZATION = "authorization";
+    private static final String COOKIE = "cookie";
+
+    private final HttpRouteHandler delegate;
+    private final ResponseCache cache;
+    private final ResponseCachePolicy policy;
+
+    public CachingRouteHandler(@NotNull HttpRouteHandler delegate, @NotNull ResponseCache cache,
+            @NotNull ResponseCachePolicy policy) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.policy = policy;
+    }
+
+    @Override
+    @NotNull
+    public CompletionStage<HttpResponseEx> handleAsync(@NotNull HttpRequestEx request) {
+        String method = request.getMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method) || hasUnvariedCredentials(request)) {
+            return invokeDelegate(request);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.toResponse(request));
+        }
+
+        CompletableFuture<CachedResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> inFlight = cache.joinInFlight(key, policy, leader);
+        if (inFlight != null) {
+            return inFlight.thenCompose(entry -> entry != null
+                    ? CompletableFuture.completedFuture(entry.toResponse(request))
+                    : invokeDelegate(request));
+        }
+
+        CompletionStage<HttpResponseEx> result;
+        try {
+            result = invokeDelegate(request);
+        } catch (RuntimeException e) {
+            cache.completeInFlight(key, leader, null);
+            throw e;
+        }
+        return result.handle((response, error) -> {
+            CachedResponse entry = error == null && response != null ? cache.put(key, leader, response, policy) : null;
+            cache.completeInFlight(key, leader, entry);
+            if (error != null) {
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            return entry != null ? entry.toResponse(request) : response;
+        });
+    }
+
+    @NotNull
+    private CompletionStage<HttpResponseEx> invokeDelegate(@NotNull HttpRequestEx request) {
+        return delegate instanceof AsyncHttpRouteHandler asyncHandler
+                ? asyncHandler.handleAsync(request)
+                : CompletableFuture.completedFuture(delegate.handle(request));
+    }
+
+    /**
+     * 请求是否带有凭据，而策略没有按该请求头区分缓存
+     */
+    private boolean hasUnvariedCredentials(@NotNull HttpRequestEx request) {
+        return request.hasHeader(AUTHORIZATION) && !policy.variesOn(AUTHORIZATION)
+                || request.hasHeader(COOKIE) && !policy.variesOn(COOKIE);
+    }
+
+    /**
+     * 缓存键：方法、URI（含查询参数）以及策略指定的请求头
+     */
+    @NotNull
+    private String cacheKey(@NotNull HttpRequestEx request) {
+        String uri = request.getUri() != null ? request.getUri() : request.getPath();
+        String[] varyHeaders = policy.getVaryHeaders();
+        if (varyHeaders.length == 0) {
+            return request.getMethod() + ' ' + uri;
+        }
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(uri);
+        for (String header : varyHeaders) {
+            String value = request.getHeader(header);
+            key.append('\n').append(header).append('=').append(value != null ? value : "");
+        }
+        return key.toString();
+    }
+
+    @NotNull
+    public ResponseCachePolicy getPolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,312 @@
+package com.dtc.core.network.http.cache;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.metrics.Counter;
+import com.dtc.core.network.http.HttpResponseEx;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * HTTP 响应缓存
+ * 保存幂等路由编码后的响应，按有效期过期，可按缓存键或标签失效；同一缓存键同时只有一个请求执行处理器，
+ * 其余请求等待它的结果。执行期间缓存键被失效（按键、标签或清空）时，执行结果不再写入缓存，
+ * 避免失效之前计算的响应在失效之后继续被返回。
+ * <p>
+ * 最多保存的条目数可通过系统属性 http.cache.max.entries 配置，达到上限后先清理过期条目，仍然没有空间时不再缓存新响应。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+    private static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("http.cache.max.entries", 10_000);
+    private static final ByteBufAllocator HEAP_ALLOCATOR = new UnpooledByteBufAllocator(false);
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> tagIndex = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Load> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits = new Counter();
+    private final Counter misses = new Counter();
+    private final Counter coalesced = new Counter();
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ResponseCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    ResponseCache(int maxEntries, @NotNull LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * 获取未过期的缓存响应
+     */
+    @Nullable
+    CachedResponse get(@NotNull String key) {
+        CachedResponse entry = entries.get(key);
+        if (entry != null && entry.isExpired(clock.getAsLong())) {
+            remove(entry);
+            entry = null;
+        }
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * 登记正在执行的请求
+     *
+     * @return 已经在执行的同键请求的结果，没有时返回 null，调用方成为执行者
+     */
+    @Nullable
+    CompletableFuture<CachedResponse> joinInFlight(@NotNull String key, @NotNull ResponseCachePolicy policy,
+            @NotNull CompletableFuture<CachedResponse> leader) {
+        Load existing = inFlight.putIfAbsent(key, new Load(leader, policy.getTags()));
+        if (existing != null) {
+            coalesced.increment();
+            return existing.future;
+        }
+        return null;
+    }
+
+    /**
+     * 执行者完成后通知等待的请求，响应不可缓存时结果为 null
+     */
+    void completeInFlight(@NotNull String key, @NotNull CompletableFuture<CachedResponse> leader,
+            @Nullable CachedResponse entry) {
+        inFlight.computeIfPresent(key, (k, load) -> load.future == leader ? null : load);
+        leader.complete(entry);
+    }
+
+    /**
+     * 缓存执行者的响应，只缓存 200 且不是流式响应体的响应
+     *
+     * @param leader 登记执行时的 future，执行期间缓存键被失效时不写入缓存
+     * @return 缓存条目，响应不可缓存或已经失效时返回 null
+     */
+    @Nullable
+    CachedResponse put(@NotNull String key, @NotNull CompletableFuture<CachedResponse> leader,
+            @NotNull HttpResponseEx response, @NotNull ResponseCachePolicy policy) {
+        if (response.getStatusCode() != 200 || response.hasStreamingBody() || isStale(key, leader)) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (entries.size() >= maxEntries && purgeExpired(now) == 0 && entries.size() >= maxEntries) {
+            log.debug("Response cache is full ({} entries), not caching {}", maxEntries, key);
+            return null;
+        }
+
+        ByteBuf body;
+        try {
+            body = response.encodeBody(HEAP_ALLOCATOR);
+        } catch (IOException e) {
+            log.warn("Failed to encode response for caching: {}", key, e);
+            return null;
+        }
+        CachedResponse entry = new CachedResponse(key, response, body, policy, now);
+        entries.put(key, entry);
+        for (String tag : entry.getTags()) {
+            tagIndex.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        // 失效先标记执行再删除条目，写入后再检查一次，保证与并发的失效不会留下失效前的响应
+        if (isStale(key, leader)) {
+            remove(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isStale(@NotNull String key, @NotNull CompletableFuture<CachedResponse> leader) {
+        Load load = inFlight.get(key);
+        return load == null || load.future != leader || load.stale;
+    }
+
+    /**
+     * 使缓存键失效
+     */
+    public void invalidate(@NotNull String key) {
+        Load load = inFlight.get(key);
+        if (load != null) {
+            load.stale = true;
+        }
+        CachedResponse entry = entries.get(key);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * 使带有标签的全部缓存失效
+     *
+     * @return 失效的条目数
+     */
+    public int invalidateTag(@NotNull String tag) {
+        for (Load load : inFlight.values()) {
+            if (load.hasTag(tag)) {
+                load.stale = true;
+            }
+        }
+        Set<String> keys = tagIndex.remove(tag);
+        if (keys == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String key : keys) {
+            CachedResponse entry = entries.get(key);
+            if (entry != null && remove(entry)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (Load load : inFlight.values()) {
+            load.stale = true;
+        }
+        entries.clear();
+        tagIndex.clear();
+    }
+
+    /**
+     * 清理过期条目
+     *
+     * @return 清理的条目数
+     */
+    public int purgeExpired() {
+        return purgeExpired(clock.getAsLong());
+    }
+
+    private int purgeExpired(long now) {
+        int removed = 0;
+        for (CachedResponse entry : entries.values()) {
+            if (entry.isExpired(now) && remove(entry)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean remove(@NotNull CachedResponse entry) {
+        if (entries.remove(entry.getKey(), entry)) {
+            untag(entry);
+            return true;
+        }
+        return false;
+    }
+
+    private void untag(@NotNull CachedResponse entry) {
+        for (String tag : entry.getTags()) {
+            Set<String> keys = tagIndex.get(tag);
+            if (keys != null) {
+                keys.remove(entry.getKey());
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 正在执行的请求，失效时标记为过时
+     */
+    private static final class Load {
+        private final CompletableFuture<CachedResponse> future;
+        private final String[] tags;
+        private volatile boolean stale;
+
+        Load(@NotNull CompletableFuture<CachedResponse> future, @NotNull String[] tags) {
+            this.future = future;
+            this.tags = tags;
+        }
+
+        boolean hasTag(@NotNull String tag) {
+            for (String candidate : tags) {
+                if (candidate.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @NotNull
+    public CacheStats getStats() {
+        return new CacheStats(entries.size(), hits.get(), misses.get(), coalesced.get());
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    public static class CacheStats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long coalesced;
+
+        public CacheStats(int size, long hits, long misses, long coalesced) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * 等待同键请求结果而没有执行处理器的请求数
+         */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CacheStats{size=%d, hits=%d, misses=%d, coalesced=%d, hitRate=%.2f%%}", size, hits,
+                    misses, coalesced, getHitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.dtc.core.network.http.cache;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.dtc.api.annotations.NotNull;
+
+/**
+ * 路由响应缓存策略
+ *
+ * @author Network Service Template
+ */
+public class ResponseCachePolicy {
+
+    private long ttlMillis = 60_000;
+    private String[] varyHeaders = new String[0];
+    private String[] tags = new String[0];
+
+    /**
+     * 获取缓存有效期（毫秒）
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public ResponseCachePolicy setTtlMillis(long ttlMillis) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * 获取参与缓存键的请求头（小写）
+     */
+    @NotNull
+    public String[] getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    public ResponseCachePolicy setVaryHeaders(@NotNull String... varyHeaders) {
+        this.varyHeaders = Arrays.stream(varyHeaders).map(header -> header.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        return this;
+    }
+
+    /**
+     * 缓存键是否包含指定请求头
+     *
+     * @param header 小写请求头名
+     */
+    public boolean variesOn(@NotNull String header) {
+        return Arrays.asList(varyHeaders).contains(header);
+    }
+
+    /**
+     * 获取缓存标签，按标签失效时删除带该标签的全部缓存
+     */
+    @NotNull
+    public String[] getTags() {
+        return tags;
+    }
+
+    public ResponseCachePolicy setTags(@NotNull String... tags) {
+        this.tags = tags.clone();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResponseCachePolicy{ttlMillis=%d, varyHeaders=%s, tags=%s}", ttlMillis,
+                Arrays.toString(varyHeaders), Arrays.toString(tags));
+    }
+}
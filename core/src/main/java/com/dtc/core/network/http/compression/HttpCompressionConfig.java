@@ -0,0 +1,149 @@
+package com.dtc.core.network.http.compression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * HTTP 响应压缩参数
+ * 只压缩达到最小长度且内容类型可压缩的响应；压缩级别可以按路由路径前缀单独设置，级别 0 表示不压缩。
+ *
+ * @author Network Service Template
+ */
+public class HttpCompressionConfig {
+
+    private static final String DEFAULT_TYPES = "text/,application/json,application/javascript,application/xml,"
+            + "application/xhtml+xml,application/problem+json,image/svg+xml";
+
+    private boolean enabled = true;
+    private int level = 6;
+    private int minSize = 1024;
+    private String[] compressibleTypes = DEFAULT_TYPES.split(",");
+    private final Map<String, Integer> routeLevels = new LinkedHashMap<>();
+
+    /**
+     * 从系统属性读取参数
+     * <ul>
+     * <li>http.compression.enabled：是否压缩响应，默认 true</li>
+     * <li>http.compression.level：默认压缩级别 1-9</li>
+     * <li>http.compression.min.size：小于该长度（字节）的响应不压缩</li>
+     * <li>http.compression.types：可压缩的内容类型前缀，逗号分隔</li>
+     * <li>http.compression.route.levels：按路由前缀设置的级别，如 {@code /api/export=9,/media=0}</li>
+     * </ul>
+     */
+    @NotNull
+    public static HttpCompressionConfig fromSystemProperties() {
+        HttpCompressionConfig config = new HttpCompressionConfig();
+        config.setEnabled(Boolean.parseBoolean(System.getProperty("http.compression.enabled", "true")));
+        config.setLevel(Integer.getInteger("http.compression.level", config.level));
+        config.setMinSize(Integer.getInteger("http.compression.min.size", config.minSize));
+        config.setCompressibleTypes(System.getProperty("http.compression.types", DEFAULT_TYPES).split(","));
+        String routeLevels = System.getProperty("http.compression.route.levels");
+        if (routeLevels != null) {
+            for (String entry : routeLevels.split(",")) {
+                int separator = entry.lastIndexOf('=');
+                if (separator > 0) {
+                    config.setRouteLevel(entry.substring(0, separator).trim(),
+                            Integer.parseInt(entry.substring(separator + 1).trim()));
+                }
+            }
+        }
+        return config;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public HttpCompressionConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * 获取默认压缩级别
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public HttpCompressionConfig setLevel(int level) {
+        this.level = checkLevel(level);
+        return this;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public HttpCompressionConfig setMinSize(int minSize) {
+        this.minSize = Math.max(0, minSize);
+        return this;
+    }
+
+    @NotNull
+    public String[] getCompressibleTypes() {
+        return compressibleTypes;
+    }
+
+    public HttpCompressionConfig setCompressibleTypes(@NotNull String... compressibleTypes) {
+        List<String> types = new ArrayList<>(compressibleTypes.length);
+        for (String type : compressibleTypes) {
+            if (!type.isBlank()) {
+                types.add(type.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        this.compressibleTypes = types.toArray(new String[0]);
+        return this;
+    }
+
+    /**
+     * 设置路由路径前缀的压缩级别，多个前缀匹配时最长的前缀生效
+     *
+     * @param pathPattern 路由路径前缀，匹配规则与过滤器、中间件的路径前缀相同
+     * @param level       压缩级别 0-9，0 表示不压缩
+     */
+    public HttpCompressionConfig setRouteLevel(@NotNull String pathPattern, int level) {
+        routeLevels.put(pathPattern, level == 0 ? 0 : checkLevel(level));
+        return this;
+    }
+
+    @NotNull
+    public Map<String, Integer> getRouteLevels() {
+        return routeLevels;
+    }
+
+    /**
+     * 内容类型是否可压缩，未知类型不压缩
+     */
+    public boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (String type : compressibleTypes) {
+            if (contentType.regionMatches(true, 0, type, 0, type.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int checkLevel(int level) {
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+        }
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HttpCompressionConfig{enabled=%s, level=%d, minSize=%d, types=%s, routeLevels=%s}",
+                enabled, level, minSize, Arrays.toString(compressibleTypes), routeLevels);
+    }
+}
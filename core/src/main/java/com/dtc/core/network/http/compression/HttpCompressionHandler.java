@@ -0,0 +1,148 @@
+package com.dtc.core.network.http.compression;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.route.RouteHandlerChain;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.util.AsciiString;
+
+/**
+ * HTTP 响应压缩处理器
+ * 按请求的 Accept-Encoding 协商 JDK zlib 实现的 gzip / deflate。不做动态 brotli 压缩：它依赖 brotli4j 及各平台的
+ * 原生库，项目没有引入；需要 br 时使用预压缩的 {@code .br} 静态文件。只压缩内容类型可压缩且长度达到阈值的响应，
+ * 已经带 Content-Encoding 的响应（例如预压缩的静态文件）原样透传。
+ * <p>
+ * 每个请求在入站时按路径前缀确定压缩级别，与 Accept-Encoding 一样按请求顺序排队，出站时与响应一一对应。
+ *
+ * @author Network Service Template
+ */
+public class HttpCompressionHandler extends HttpContentCompressor {
+
+    private final HttpCompressionConfig config;
+    private final String[] routePrefixes;
+    private final int[] routeLevels;
+    private final Queue<Integer> levelQueue = new ArrayDeque<>();
+    private ChannelHandlerContext ctx;
+    private int level;
+
+    public HttpCompressionHandler(@NotNull HttpCompressionConfig config) {
+        super(config.getMinSize(), compressionOptions(config.getLevel()));
+        this.config = config;
+        this.level = config.getLevel();
+
+        // 最长的前缀优先匹配
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(config.getRouteLevels().entrySet());
+        entries.sort(Comparator.comparingInt((Map.Entry<String, Integer> entry) -> entry.getKey().length()).reversed());
+        this.routePrefixes = new String[entries.size()];
+        this.routeLevels = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            routePrefixes[i] = entries.get(i).getKey();
+            routeLevels[i] = entries.get(i).getValue();
+        }
+    }
+
+    @NotNull
+    private static CompressionOptions[] compressionOptions(int level) {
+        return new CompressionOptions[] {
+                StandardCompressionOptions.gzip(level, 15, 8),
+                StandardCompressionOptions.deflate(level, 15, 8)
+        };
+    }
+
+    @Override
+    public void handlerAdded(@NotNull ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        super.handlerAdded(ctx);
+    }
+
+    @Override
+    protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull HttpRequest msg, @NotNull List<Object> out)
+            throws Exception {
+        levelQueue.add(levelFor(msg.uri()));
+        super.decode(ctx, msg, out);
+    }
+
+    @Override
+    protected void encode(@NotNull ChannelHandlerContext ctx, @NotNull HttpObject msg, @NotNull List<Object> out)
+            throws Exception {
+        // 与父类取 Accept-Encoding 的时机一致：1xx 响应之后还会有最终响应，不出队
+        if (msg instanceof HttpResponse response && response.status().codeClass() != HttpStatusClass.INFORMATIONAL) {
+            Integer next = levelQueue.poll();
+            level = next != null ? next : config.getLevel();
+        }
+        super.encode(ctx, msg, out);
+    }
+
+    @Override
+    @Nullable
+    protected Result beginEncode(@NotNull HttpResponse response, @NotNull String acceptEncoding) throws Exception {
+        if (level == 0 || response.headers().contains(HttpHeaderNames.CONTENT_ENCODING)
+                || !config.isCompressible(response.headers().get(HttpHeaderNames.CONTENT_TYPE))) {
+            return null;
+        }
+        long length = response instanceof FullHttpResponse full
+                ? full.content().readableBytes()
+                : HttpUtil.getContentLength(response, -1L);
+        if (length >= 0 && length < config.getMinSize()) {
+            return null;
+        }
+        String vary = response.headers().get(HttpHeaderNames.VARY);
+        if (vary == null) {
+            response.headers().set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+        } else if (!AsciiString.containsIgnoreCase(vary, HttpHeaderNames.ACCEPT_ENCODING)) {
+            response.headers().set(HttpHeaderNames.VARY, vary + ", " + HttpHeaderNames.ACCEPT_ENCODING);
+        }
+        if (level == config.getLevel()) {
+            return super.beginEncode(response, acceptEncoding);
+        }
+
+        // 路由单独设置了级别，gzip / deflate 按该级别创建编码器
+        String encoding = determineEncoding(acceptEncoding);
+        if (HttpHeaderValues.GZIP.contentEquals(encoding) || HttpHeaderValues.DEFLATE.contentEquals(encoding)) {
+            ZlibWrapper wrapper = HttpHeaderValues.GZIP.contentEquals(encoding) ? ZlibWrapper.GZIP : ZlibWrapper.ZLIB;
+            return new Result(encoding, new EmbeddedChannel(ctx.channel().id(),
+                    ctx.channel().metadata().hasDisconnect(), ctx.channel().config(),
+                    ZlibCodecFactory.newZlibEncoder(wrapper, level, 15, 8)));
+        }
+        return super.beginEncode(response, acceptEncoding);
+    }
+
+    /**
+     * 请求路径对应的压缩级别
+     */
+    private int levelFor(@NotNull String uri) {
+        if (routePrefixes.length == 0) {
+            return config.getLevel();
+        }
+        int queryIndex = uri.indexOf('?');
+        String path = queryIndex >= 0 ? uri.substring(0, queryIndex) : uri;
+        for (int i = 0; i < routePrefixes.length; i++) {
+            if (RouteHandlerChain.matches(routePrefixes[i], path)) {
+                return routeLevels[i];
+            }
+        }
+        return config.getLevel();
+    }
+}
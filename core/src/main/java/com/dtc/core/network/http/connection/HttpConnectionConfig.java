@@ -0,0 +1,93 @@
+package com.dtc.core.network.http.connection;
+
+import com.dtc.api.annotations.NotNull;
+
+/**
+ * HTTP/1.1 持久连接参数
+ * 控制每个连接的最大请求数、流水线请求上限、空闲和读取超时，以及同时保持的连接数上限。
+ * 数量参数为 0 表示不限制。
+ *
+ * @author Network Service Template
+ */
+public class HttpConnectionConfig {
+
+    private int maxRequestsPerConnection = 1000;
+    private int maxPipelinedRequests = 16;
+    private int idleTimeoutSeconds = 60;
+    private int readTimeoutSeconds = 300;
+    private int maxConnections = 10_000;
+
+    /**
+     * 从系统属性读取参数
+     * <ul>
+     * <li>http.keepalive.max.requests：每个连接最多处理的请求数，达到后响应带 Connection: close 并关闭连接</li>
+     * <li>http.pipelining.max：等待响应的流水线请求上限，达到后暂停读取</li>
+     * <li>http.idle.timeout.seconds：没有等待中的请求且连接无读写的时间超过该值时关闭连接</li>
+     * <li>http.read.timeout.seconds：连接没有读到数据的时间超过该值时关闭连接</li>
+     * <li>http.max.connections：同时保持的 HTTP/1.1 连接上限，超出的连接返回 503 后关闭</li>
+     * </ul>
+     */
+    @NotNull
+    public static HttpConnectionConfig fromSystemProperties() {
+        HttpConnectionConfig config = new HttpConnectionConfig();
+        config.setMaxRequestsPerConnection(
+                Integer.getInteger("http.keepalive.max.requests", config.maxRequestsPerConnection));
+        config.setMaxPipelinedRequests(Integer.getInteger("http.pipelining.max", config.maxPipelinedRequests));
+        config.setIdleTimeoutSeconds(Integer.getInteger("http.idle.timeout.seconds", config.idleTimeoutSeconds));
+        config.setReadTimeoutSeconds(Integer.getInteger("http.read.timeout.seconds", config.readTimeoutSeconds));
+        config.setMaxConnections(Integer.getInteger("http.max.connections", config.maxConnections));
+        return config;
+    }
+
+    public int getMaxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
+    public HttpConnectionConfig setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+        this.maxRequestsPerConnection = checkNotNegative(maxRequestsPerConnection, "maxRequestsPerConnection");
+        return this;
+    }
+
+    public int getMaxPipelinedRequests() {
+        return maxPipelinedRequests;
+    }
+
+    public HttpConnectionConfig setMaxPipelinedRequests(int maxPipelinedRequests) {
+        this.maxPipelinedRequests = checkNotNegative(maxPipelinedRequests, "maxPipelinedRequests");
+        return this;
+    }
+
+    public int getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    public HttpConnectionConfig setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+        this.idleTimeoutSeconds = checkNotNegative(idleTimeoutSeconds, "idleTimeoutSeconds");
+        return this;
+    }
+
+    public int getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public HttpConnectionConfig setReadTimeoutSeconds(int readTimeoutSeconds) {
+        this.readTimeoutSeconds = checkNotNegative(readTimeoutSeconds, "readTimeoutSeconds");
+        return this;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public HttpConnectionConfig setMaxConnections(int maxConnections) {
+        this.maxConnections = checkNotNegative(maxConnections, "maxConnections");
+        return this;
+    }
+
+    private static int checkNotNegative(int value, @NotNull String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,319 @@
+package com.dtc.core.network.http.connection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.stream.StreamingHttpRequest;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * HTTP/1.1 持久连接处理器
+ * 位于请求聚合之后、分块写出之前，每个连接一个实例：
+ * <ul>
+ * <li>按请求的 Connection 头和协议版本决定是否保持连接，达到每连接最大请求数时响应带 Connection: close，
+ * 写完后关闭连接，之后收到的流水线请求直接丢弃</li>
+ * <li>处理方法异步完成的顺序可能与请求顺序不同，通过 {@link #writeResponse} 写出的响应按请求顺序排队，
+ * 前一个响应（包括流式响应体）写完后才写下一个</li>
+ * <li>等待响应的请求达到流水线上限时暂停读取，响应写出后恢复</li>
+ * <li>连接数超过上限时，该连接的第一个请求返回 503 并关闭连接</li>
+ * <li>IdleStateHandler 的读超时直接关闭连接，空闲超时只在没有等待中的请求时关闭连接</li>
+ * <li>流式请求的响应写完后丢弃没有读完的请求体</li>
+ * </ul>
+ *
+ * @author Network Service Template
+ */
+public class HttpKeepAliveHandler extends ChannelDuplexHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpKeepAliveHandler.class);
+
+    private final HttpConnectionConfig config;
+    private final AtomicInteger activeConnections;
+    private final ArrayDeque<PendingResponse> pending = new ArrayDeque<>();
+    private ChannelHandlerContext ctx;
+    private int requestCount;
+    private boolean registered;
+    private boolean overloaded;
+    private boolean closing;
+    private boolean readPaused;
+    private boolean draining;
+
+    public HttpKeepAliveHandler(@NotNull HttpConnectionConfig config, @NotNull AtomicInteger activeConnections) {
+        this.config = config;
+        this.activeConnections = activeConnections;
+    }
+
+    /**
+     * 按请求顺序写出响应
+     * writer 在连接的 EventLoop 上执行，轮到该请求时才执行；连接上没有持久连接处理器（如 HTTP/2 流）时直接执行
+     *
+     * @param ctx     写出响应使用的 ChannelHandlerContext
+     * @param request 响应对应的请求
+     * @param writer  写出响应
+     */
+    public static void writeResponse(@NotNull ChannelHandlerContext ctx, @NotNull HttpRequest request,
+            @NotNull Runnable writer) {
+        HttpKeepAliveHandler handler = ctx.pipeline().get(HttpKeepAliveHandler.class);
+        if (handler == null) {
+            writer.run();
+        } else if (ctx.executor().inEventLoop()) {
+            handler.complete(request, writer);
+        } else {
+            ctx.executor().execute(() -> handler.complete(request, writer));
+        }
+    }
+
+    @Override
+    public void handlerAdded(@NotNull ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        // TLS 协商后才安装时连接已经是活动状态
+        if (ctx.channel().isActive()) {
+            register();
+        }
+    }
+
+    @Override
+    public void handlerRemoved(@NotNull ChannelHandlerContext ctx) {
+        unregister();
+    }
+
+    @Override
+    public void channelActive(@NotNull ChannelHandlerContext ctx) throws Exception {
+        register();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(@NotNull ChannelHandlerContext ctx) throws Exception {
+        unregister();
+        pending.clear();
+        super.channelInactive(ctx);
+    }
+
+    private void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        int active = activeConnections.incrementAndGet();
+        if (config.getMaxConnections() > 0 && active > config.getMaxConnections()) {
+            overloaded = true;
+        }
+    }
+
+    private void unregister() {
+        if (registered) {
+            registered = false;
+            activeConnections.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) throws Exception {
+        if (!(msg instanceof HttpRequest request)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        if (closing) {
+            // 已经决定关闭连接，之后的流水线请求不再处理，客户端会在新连接上重试
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        if (overloaded) {
+            ReferenceCountUtil.release(msg);
+            rejectOverloaded(ctx);
+            return;
+        }
+
+        requestCount++;
+        int maxRequests = config.getMaxRequestsPerConnection();
+        boolean keepAlive = HttpUtil.isKeepAlive(request) && (maxRequests == 0 || requestCount < maxRequests);
+        pending.add(new PendingResponse(request, request.protocolVersion(), keepAlive));
+        if (!keepAlive) {
+            closing = true;
+            pauseReading();
+        } else if (msg instanceof StreamingHttpRequest) {
+            // 流式请求体还要继续读取，由请求体流自己控制读取
+            resumeReading();
+        } else if (config.getMaxPipelinedRequests() > 0 && pending.size() >= config.getMaxPipelinedRequests()) {
+            pauseReading();
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ChannelPromise promise)
+            throws Exception {
+        PendingResponse head = pending.peek();
+        if (head == null) {
+            ctx.write(msg, promise);
+            return;
+        }
+        if (msg instanceof HttpResponse response && response.status().codeClass() != HttpStatusClass.INFORMATIONAL) {
+            // 直接写出、没有经过 writeResponse 的响应同样视为队首请求的响应
+            head.started = true;
+            if (response.headers().containsValue(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE, true)) {
+                head.keepAlive = false;
+                closing = true;
+            }
+            HttpUtil.setKeepAlive(response.headers(), head.version, head.keepAlive);
+        }
+        if (!(msg instanceof LastHttpContent) || !head.started) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        pending.poll();
+        if (head.request instanceof StreamingHttpRequest streaming) {
+            // 处理方法没有读完的请求体不再需要，释放缓冲并恢复读取，否则持久连接会停在暂停读取的状态
+            streaming.getBodyStream().discard();
+        }
+        if (!head.keepAlive) {
+            ctx.write(msg, promise.unvoid()).addListener(ChannelFutureListener.CLOSE);
+            return;
+        }
+        ctx.write(msg, promise);
+        if (readPaused && !closing
+                && (config.getMaxPipelinedRequests() == 0 || pending.size() < config.getMaxPipelinedRequests())) {
+            resumeReading();
+        }
+        if (!draining) {
+            drain();
+        }
+    }
+
+    @Override
+    public void userEventTriggered(@NotNull ChannelHandlerContext ctx, @NotNull Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent idle) {
+            if (idle.state() == IdleState.READER_IDLE) {
+                log.debug("HTTP connection {} read timed out, closing", ctx.channel().remoteAddress());
+                ctx.close();
+            } else if (idle.state() == IdleState.ALL_IDLE && pending.isEmpty()) {
+                log.debug("Closing idle HTTP keep-alive connection {}", ctx.channel().remoteAddress());
+                ctx.close();
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    /**
+     * 请求的响应已经就绪，按顺序写出队首已就绪的响应
+     */
+    private void complete(@NotNull HttpRequest request, @NotNull Runnable writer) {
+        PendingResponse entry = find(request);
+        if (entry == null) {
+            // 连接已经关闭或请求未经过本处理器
+            writer.run();
+            return;
+        }
+        entry.writer = writer;
+        drain();
+    }
+
+    private void drain() {
+        draining = true;
+        try {
+            PendingResponse head;
+            while ((head = pending.peek()) != null && head.writer != null && !head.started) {
+                head.started = true;
+                head.writer.run();
+                if (pending.peek() == head) {
+                    // 流式响应体还没有写完，写完最后一块时继续
+                    return;
+                }
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    @Nullable
+    private PendingResponse find(@NotNull HttpRequest request) {
+        for (PendingResponse entry : pending) {
+            if (entry.request == request) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void pauseReading() {
+        if (!readPaused) {
+            readPaused = true;
+            ctx.channel().config().setAutoRead(false);
+        }
+    }
+
+    private void resumeReading() {
+        if (readPaused) {
+            readPaused = false;
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * 连接数超过上限，返回 503 并关闭连接
+     */
+    private void rejectOverloaded(@NotNull ChannelHandlerContext ctx) {
+        closing = true;
+        log.warn("HTTP connection limit {} exceeded, rejecting {}", config.getMaxConnections(),
+                ctx.channel().remoteAddress());
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.SERVICE_UNAVAILABLE,
+                Unpooled.copiedBuffer("{\"error\":\"Too many connections\"}", StandardCharsets.UTF_8));
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        response.headers().setInt(HttpHeaderNames.RETRY_AFTER, 1);
+        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    /**
+     * 当前连接等待响应的请求数
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 等待响应的请求
+     */
+    private static final class PendingResponse {
+        private final HttpRequest request;
+        private final HttpVersion version;
+        private boolean keepAlive;
+        private boolean started;
+        private Runnable writer;
+
+        PendingResponse(@NotNull HttpRequest request, @NotNull HttpVersion version, boolean keepAlive) {
+            this.request = request;
+            this.version = version;
+            this.keepAlive = keepAlive;
+        }
+    }
+}
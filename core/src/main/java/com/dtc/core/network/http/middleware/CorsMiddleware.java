@@ -75,6 +75,9 @@ public class CorsMiddleware implements HttpMiddleware {
                 .addHeader("Access-Control-Allow-Methods", allowedMethods)
                 .addHeader("Access-Control-Allow-Headers", allowedHeaders)
                 .addHeader("Access-Control-Allow-Credentials", String.valueOf(allowCredentials))
-                .body(response.getBody()).contentType(response.getContentType()).build();
+                .body(response.hasJsonBody() || response.getBodyBuffer() != null ? null : response.getBody())
+                .jsonBody(response.getJsonBody()).bodyBuffer(response.getBodyBuffer())
+                .streamingBody(response.getStreamingBody())
+                .contentType(response.getContentType()).build();
     }
 }
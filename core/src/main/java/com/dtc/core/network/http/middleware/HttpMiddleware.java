@@ -50,4 +50,12 @@ public interface HttpMiddleware {
     default int getPriority() {
         return 100;
     }
+
+    /**
+     * 获取中间件作用的路径前缀，为空时作用于所有请求，匹配规则与 Filter#getPathPatterns 相同
+     */
+    @NotNull
+    default String[] getPathPatterns() {
+        return new String[0];
+    }
 }
@@ -5,28 +5,62 @@ import com.dtc.api.annotations.Nullable;
 import com.dtc.core.network.http.HttpRequestEx;
 import com.dtc.core.network.http.HttpResponseEx;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * 速率限制中间件
- * 根据客户端 IP 对请求进行速率限制
+ * 按请求的限流 key 使用令牌桶进行速率限制，指定路径前缀时只作用于对应路由，可为不同路由注册不同限额。
+ * 默认按客户端 IP 地址限流；位于反向代理之后或需要按用户、API Key 限流时，通过 key 提取器指定
  * 
  * @author Network Service Template
  */
 public class RateLimitMiddleware implements HttpMiddleware {
 
-    private final int maxRequests;
-    private final long windowMs;
-    private final ConcurrentHashMap<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
+    /**
+     * 最多跟踪的客户端数量，可通过系统属性 http.ratelimit.max.keys 配置
+     */
+    private static final int MAX_KEYS = Integer.getInteger("http.ratelimit.max.keys", 65_536);
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    /**
+     * 按客户端 IP 地址限流
+     */
+    public static final Function<HttpRequestEx, String> REMOTE_ADDRESS = HttpRequestEx::getRemoteAddress;
+
+    private final TokenBucketRateLimiter limiter;
+    private final Function<HttpRequestEx, String> keyExtractor;
+    private final String[] pathPatterns;
 
     public RateLimitMiddleware() {
         this(100, 60000); // 默认：每分钟 100 个请求
     }
 
-    public RateLimitMiddleware(int maxRequests, long windowMs) {
-        this.maxRequests = maxRequests;
-        this.windowMs = windowMs;
+    /**
+     * @param maxRequests  每个时间窗口允许的请求数，同时作为突发容量
+     * @param windowMs     时间窗口（毫秒）
+     * @param pathPatterns 作用的路由路径前缀，为空时作用于所有路由
+     */
+    public RateLimitMiddleware(int maxRequests, long windowMs, @NotNull String... pathPatterns) {
+        this(new TokenBucketRateLimiter(maxRequests, TimeUnit.MILLISECONDS.toNanos(windowMs), maxRequests, MAX_KEYS),
+                pathPatterns);
+    }
+
+    public RateLimitMiddleware(@NotNull TokenBucketRateLimiter limiter, @NotNull String... pathPatterns) {
+        this(limiter, REMOTE_ADDRESS, pathPatterns);
+    }
+
+    /**
+     * @param limiter      令牌桶
+     * @param keyExtractor 从请求中提取限流 key，返回 null 时计入同一个未知客户端
+     * @param pathPatterns 作用的路由路径前缀，为空时作用于所有路由
+     */
+    public RateLimitMiddleware(@NotNull TokenBucketRateLimiter limiter,
+            @NotNull Function<HttpRequestEx, String> keyExtractor, @NotNull String... pathPatterns) {
+        this.limiter = limiter;
+        this.keyExtractor = keyExtractor;
+        this.pathPatterns = pathPatterns;
     }
 
     @Override
@@ -34,29 +68,18 @@ public class RateLimitMiddleware implements HttpMiddleware {
         return 40; // 速率限制优先级较高
     }
 
+    @Override
+    @NotNull
+    public String[] getPathPatterns() {
+        return pathPatterns;
+    }
+
     @Override
     @Nullable
     public HttpResponseEx beforeRequest(@NotNull HttpRequestEx request) {
-        String clientId = request.getClientId();
-        long currentTime = System.currentTimeMillis();
-
-        RateLimitInfo rateLimitInfo = rateLimitMap.computeIfAbsent(clientId, k -> new RateLimitInfo(currentTime));
-
-        // 检查时间窗口是否过期
-        if (currentTime - rateLimitInfo.getWindowStart() > windowMs) {
-            // 重置时间窗口
-            rateLimitInfo.reset(currentTime);
-        }
-
-        // 检查请求数量
-        if (rateLimitInfo.getRequestCount() >= maxRequests) {
-            return createRateLimitResponse();
-        }
-
-        // 增加请求计数
-        rateLimitInfo.incrementRequest();
-
-        return null;
+        String key = keyExtractor.apply(request);
+        long waitNanos = limiter.tryAcquire(key != null ? key : UNKNOWN_CLIENT);
+        return waitNanos == 0 ? null : createRateLimitResponse(waitNanos);
     }
 
     @Override
@@ -70,53 +93,17 @@ public class RateLimitMiddleware implements HttpMiddleware {
      * 创建速率限制响应
      */
     @NotNull
-    private HttpResponseEx createRateLimitResponse() {
+    private HttpResponseEx createRateLimitResponse(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
         return new HttpResponseEx.Builder().statusCode(429).statusMessage("Too Many Requests").jsonContent()
                 .body("{\"error\":\"Rate Limit Exceeded\",\"message\":\"Too many requests\"}")
-                .addHeader("Retry-After", String.valueOf(windowMs / 1000)).build();
-    }
-
-    /**
-     * 清理过期的速率限制信息
-     */
-    public void cleanupExpiredEntries() {
-        long currentTime = System.currentTimeMillis();
-        rateLimitMap.entrySet().removeIf(entry -> currentTime - entry.getValue().getWindowStart() > windowMs);
+                .addHeader("Retry-After", String.valueOf(retryAfterSeconds)).build();
     }
 
     /**
      * 获取活动客户端数量
      */
     public int getActiveClients() {
-        return rateLimitMap.size();
-    }
-
-    /**
-     * 速率限制信息
-     */
-    private static class RateLimitInfo {
-        private long windowStart;
-        private final AtomicInteger requestCount = new AtomicInteger(0);
-
-        public RateLimitInfo(long windowStart) {
-            this.windowStart = windowStart;
-        }
-
-        public long getWindowStart() {
-            return windowStart;
-        }
-
-        public int getRequestCount() {
-            return requestCount.get();
-        }
-
-        public void incrementRequest() {
-            requestCount.incrementAndGet();
-        }
-
-        public void reset(long newWindowStart) {
-            this.windowStart = newWindowStart;
-            this.requestCount.set(0);
-        }
+        return limiter.size();
     }
 }
@@ -0,0 +1,155 @@
+package com.dtc.core.network.http.middleware;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import com.dtc.api.annotations.NotNull;
+
+/**
+ * 令牌桶速率限制器
+ * 按 GCRA（通用信元速率算法）实现：每个 key 只保存一个"理论到达时间"（TAT），
+ * 每次请求把 TAT 推后一个发放间隔，TAT 领先当前时间超过突发容量时拒绝。
+ * 效果等价于按时间惰性补充令牌的令牌桶，没有固定窗口边界处的突发问题。
+ * <p>
+ * 每个槽位保存一个不可变的 (key, TAT) 条目，按 key 的哈希值开放寻址，key 和 TAT 通过同一次 CAS 一起更新，不加锁。
+ * 查找时先探测整条探测链，找到已有条目就只更新该条目；找不到时才占用第一个空槽位或 TAT 不晚于当前时间
+ * （已经满桶）的槽位，探测范围内全部繁忙时淘汰 TAT 最早的 key，因此 key 数量不会超过容量。
+ * 满桶的条目等同于不存在，原地复用即可，不需要定期清理。
+ *
+ * @author Network Service Template
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * 每个 key 最多探测的槽位数
+     */
+    private static final int MAX_PROBES = 8;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> table;
+    private final LongSupplier clock;
+
+    /**
+     * @param permits     每个周期发放的令牌数
+     * @param periodNanos 周期（纳秒）
+     * @param burst       桶容量，即空闲后允许的最大突发请求数
+     * @param capacity    最多跟踪的 key 数量，向上取整为 2 的幂
+     */
+    public TokenBucketRateLimiter(int permits, long periodNanos, int burst, int capacity) {
+        this(permits, periodNanos, burst, capacity, nanoClock());
+    }
+
+    TokenBucketRateLimiter(int permits, long periodNanos, int burst, int capacity, @NotNull LongSupplier clock) {
+        if (permits <= 0 || periodNanos <= 0 || burst <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Permits, period, burst and capacity must be positive");
+        }
+        this.intervalNanos = Math.max(1, periodNanos / permits);
+        this.burstNanos = intervalNanos * burst;
+        int size = Integer.highestOneBit(Math.max(MAX_PROBES, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.clock = clock;
+    }
+
+    /**
+     * 为 key 获取一个令牌
+     *
+     * @return 0 表示获取成功，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(@NotNull String key) {
+        long now = clock.getAsLong();
+        int hash = spread(key.hashCode());
+        for (;;) {
+            int free = -1;
+            Entry freeEntry = null;
+            int victim = -1;
+            Entry victimEntry = null;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int slot = (hash + probe) & mask;
+                Entry entry = table.get(slot);
+                if (entry != null && entry.key.equals(key)) {
+                    long newTat = Math.max(entry.tat, now) + intervalNanos;
+                    long waitNanos = newTat - now - burstNanos;
+                    if (waitNanos > 0) {
+                        return waitNanos;
+                    }
+                    if (table.compareAndSet(slot, entry, new Entry(key, newTat))) {
+                        return 0;
+                    }
+                    free = -2;
+                    break;
+                }
+                if (entry == null || entry.tat <= now) {
+                    // 空槽位或已经满桶的 key，复用后等同于新桶；继续探测，key 可能在探测链的后面
+                    if (free == -1) {
+                        free = slot;
+                        freeEntry = entry;
+                    }
+                } else if (victimEntry == null || entry.tat < victimEntry.tat) {
+                    victim = slot;
+                    victimEntry = entry;
+                }
+            }
+            if (free == -2) {
+                // 已有条目被并发更新，重新读取
+                continue;
+            }
+            int slot = free >= 0 ? free : victim;
+            Entry expected = free >= 0 ? freeEntry : victimEntry;
+            // 新桶的第一个请求总是可以通过：突发容量至少为一个发放间隔
+            if (table.compareAndSet(slot, expected, new Entry(key, now + intervalNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 获取令牌桶未满的 key 数量，满桶的 key 等同于不存在
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        int size = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            Entry entry = table.get(slot);
+            if (entry != null && entry.tat > now) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获取最多跟踪的 key 数量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 槽位条目，key 和理论到达时间一起发布
+     */
+    private static final class Entry {
+        private final String key;
+        private final long tat;
+
+        Entry(@NotNull String key, long tat) {
+            this.key = key;
+            this.tat = tat;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 以创建时刻为零点的单调时钟，保证空槽位的 TAT（0）不晚于当前时间
+     */
+    @NotNull
+    private static LongSupplier nanoClock() {
+        long origin = System.nanoTime();
+        return () -> System.nanoTime() - origin;
+    }
+}
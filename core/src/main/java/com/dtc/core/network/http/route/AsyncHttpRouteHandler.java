@@ -0,0 +1,35 @@
+package com.dtc.core.network.http.route;
+
+import java.util.concurrent.CompletionStage;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+
+/**
+ * 异步 HTTP 路由处理器
+ * 返回的 CompletionStage 完成时才执行后置中间件并写出响应，处理期间不占用调用线程
+ *
+ * @author Network Service Template
+ */
+@FunctionalInterface
+public interface AsyncHttpRouteHandler extends HttpRouteHandler {
+
+    /**
+     * 异步处理 HTTP 请求
+     *
+     * @param request HTTP 请求
+     * @return 完成时给出 HTTP 响应
+     */
+    @NotNull
+    CompletionStage<HttpResponseEx> handleAsync(@NotNull HttpRequestEx request);
+
+    /**
+     * 同步调用时阻塞等待异步结果
+     */
+    @Override
+    @NotNull
+    default HttpResponseEx handle(@NotNull HttpRequestEx request) {
+        return handleAsync(request).toCompletableFuture().join();
+    }
+}
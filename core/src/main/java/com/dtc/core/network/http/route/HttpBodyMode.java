@@ -0,0 +1,19 @@
+package com.dtc.core.network.http.route;
+
+/**
+ * 路由的请求体接收方式
+ *
+ * @author Network Service Template
+ */
+public enum HttpBodyMode {
+
+    /**
+     * 由 HttpObjectAggregator 聚合为完整请求后再分发，受最大内容长度限制
+     */
+    AGGREGATE,
+
+    /**
+     * 收到请求头即分发，请求体以 HttpBodyStream 的形式按块到达
+     */
+    STREAM
+}
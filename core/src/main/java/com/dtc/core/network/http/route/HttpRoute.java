@@ -1,13 +1,13 @@
 package com.dtc.core.network.http.route;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.metrics.Timer;
 import com.dtc.core.network.http.HttpRequestEx;
 import com.dtc.core.network.http.HttpResponseEx;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * HTTP 路由
@@ -20,15 +20,26 @@ public class HttpRoute {
     private final String method;
     private final String path;
     private final HttpRouteHandler handler;
-    private final Pattern compiledPattern;
-    private final String[] pathSegments;
+    private final HttpBodyMode bodyMode;
+    private final String[] parameterNames;
+    private final RouteTree matcher;
+    private volatile RouteHandlerChain handlerChain;
+    private volatile Timer timer;
 
     public HttpRoute(@NotNull String method, @NotNull String path, @NotNull HttpRouteHandler handler) {
+        this(method, path, handler, HttpBodyMode.AGGREGATE);
+    }
+
+    public HttpRoute(@NotNull String method, @NotNull String path, @NotNull HttpRouteHandler handler,
+            @NotNull HttpBodyMode bodyMode) {
         this.method = method;
         this.path = path;
         this.handler = handler;
-        this.compiledPattern = compilePathPattern(path);
-        this.pathSegments = path.split("/");
+        this.bodyMode = bodyMode;
+        this.parameterNames = RouteTree.parameterNames(path);
+        // 单路由的树，同时校验路径模式
+        this.matcher = new RouteTree();
+        this.matcher.insert(this);
     }
 
     /**
@@ -55,14 +66,64 @@ public class HttpRoute {
         return handler;
     }
 
+    /**
+     * 获取请求体接收方式
+     */
+    @NotNull
+    public HttpBodyMode getBodyMode() {
+        return bodyMode;
+    }
+
+    /**
+     * 是否以流的方式接收请求体
+     */
+    public boolean isStreaming() {
+        return bodyMode == HttpBodyMode.STREAM;
+    }
+
+    /**
+     * 获取缓存的处理链，尚未计算时返回 null
+     */
+    @Nullable
+    public RouteHandlerChain getHandlerChain() {
+        return handlerChain;
+    }
+
+    /**
+     * 缓存处理链
+     */
+    public void setHandlerChain(@NotNull RouteHandlerChain handlerChain) {
+        this.handlerChain = handlerChain;
+    }
+
+    /**
+     * 获取缓存的延迟计时器，尚未分发过请求时返回 null
+     */
+    @Nullable
+    public Timer getTimer() {
+        return timer;
+    }
+
+    /**
+     * 缓存延迟计时器
+     */
+    public void setTimer(@NotNull Timer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * 获取路径参数名，按在路径中出现的顺序排列
+     */
+    @NotNull
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
     /**
      * 检查是否匹配路由路径
      */
     public boolean matches(@NotNull String requestPath) {
-        if (compiledPattern != null) {
-            return compiledPattern.matcher(requestPath).matches();
-        }
-        return path.equals(requestPath);
+        return matcher.find(requestPath, new int[parameterNames.length << 1]) != null;
     }
 
     /**
@@ -71,36 +132,25 @@ public class HttpRoute {
     @NotNull
     public Map<String, String> extractPathParameters(@NotNull String requestPath) {
         Map<String, String> parameters = new HashMap<>();
-
-        if (compiledPattern != null) {
-            Matcher matcher = compiledPattern.matcher(requestPath);
-            if (matcher.matches()) {
-                // 提取路径参数值
-                String[] requestSegments = requestPath.split("/");
-                for (int i = 0; i < pathSegments.length && i < requestSegments.length; i++) {
-                    String segment = pathSegments[i];
-                    if (segment.startsWith("{") && segment.endsWith("}")) {
-                        String paramName = segment.substring(1, segment.length() - 1);
-                        parameters.put(paramName, requestSegments[i]);
-                    }
-                }
-            }
+        int[] captures = new int[parameterNames.length << 1];
+        if (matcher.find(requestPath, captures) != null) {
+            putPathParameters(requestPath, captures, parameters);
         }
-
         return parameters;
     }
 
     /**
-     * 编译路由路径模式为正则表达式
+     * 按匹配得到的参数位置把参数值写入目标 Map
+     *
+     * @param requestPath 请求路径
+     * @param captures    {@link RouteTree#find} 输出的参数位置
+     * @param target      目标 Map
      */
-    @NotNull
-    private Pattern compilePathPattern(@NotNull String path) {
-        if (path.contains("{")) {
-            // 将 {param} 替换为正则表达式
-            String regex = path.replaceAll("\\{[^}]+\\}", "([^/]+)");
-            return Pattern.compile("^" + regex + "$");
+    public void putPathParameters(@NotNull String requestPath, @NotNull int[] captures,
+            @NotNull Map<String, String> target) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            target.put(parameterNames[i], requestPath.substring(captures[i << 1], captures[(i << 1) + 1]));
         }
-        return null;
     }
 
     @Override
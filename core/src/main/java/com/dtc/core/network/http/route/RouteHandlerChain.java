@@ -0,0 +1,157 @@
+package com.dtc.core.network.http.route;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.middleware.HttpMiddleware;
+import com.dtc.core.web.filter.Filter;
+import com.dtc.core.web.interceptor.HandlerInterceptor;
+
+/**
+ * 路由处理链
+ * 一个路由实际生效的过滤器、中间件和拦截器，按路径前缀筛选后保存为数组，缓存在路由节点上。
+ * 请求只按下标遍历数组，不再复制列表或匹配路径；任一注册表变更后版本号变化，下次分发时重新计算。
+ *
+ * @author Network Service Template
+ */
+public final class RouteHandlerChain {
+
+    private final long version;
+    private final Filter[] filters;
+    private final HttpMiddleware[] middlewares;
+    private final HandlerInterceptor[] interceptors;
+
+    private RouteHandlerChain(long version, @NotNull Filter[] filters, @NotNull HttpMiddleware[] middlewares,
+            @NotNull HandlerInterceptor[] interceptors) {
+        this.version = version;
+        this.filters = filters;
+        this.middlewares = middlewares;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 计算路由的处理链
+     *
+     * @param routePath    路由路径模式，为 null 时（未匹配到路由）只保留作用于所有请求的组件
+     * @param filters      按优先级排序的过滤器
+     * @param middlewares  中间件
+     * @param interceptors 按优先级排序的拦截器
+     * @param version      注册表版本号
+     */
+    @NotNull
+    public static RouteHandlerChain build(@Nullable String routePath, @NotNull List<Filter> filters,
+            @NotNull List<HttpMiddleware> middlewares, @NotNull List<HandlerInterceptor> interceptors, long version) {
+        return new RouteHandlerChain(version,
+                select(filters, Filter::getPathPatterns, routePath).toArray(new Filter[0]),
+                select(middlewares, HttpMiddleware::getPathPatterns, routePath).toArray(new HttpMiddleware[0]),
+                select(interceptors, HandlerInterceptor::getPathPatterns, routePath)
+                        .toArray(new HandlerInterceptor[0]));
+    }
+
+    /**
+     * 路径前缀是否覆盖路由路径
+     * 前缀按整段匹配，末尾的 "/**"、"/*" 和 "/" 忽略，"/admin" 覆盖 "/admin" 和 "/admin/users/{id}"，
+     * 不覆盖 "/administrator"
+     */
+    public static boolean matches(@NotNull String pattern, @NotNull String routePath) {
+        String prefix = pattern;
+        if (prefix.endsWith("/**")) {
+            prefix = prefix.substring(0, prefix.length() - 3);
+        } else if (prefix.endsWith("/*")) {
+            prefix = prefix.substring(0, prefix.length() - 2);
+        }
+        while (prefix.endsWith("/")) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        if (prefix.isEmpty()) {
+            return true;
+        }
+        if (!prefix.startsWith("/")) {
+            prefix = "/" + prefix;
+        }
+        return routePath.startsWith(prefix)
+                && (routePath.length() == prefix.length() || routePath.charAt(prefix.length()) == '/');
+    }
+
+    @NotNull
+    private static <T> List<T> select(@NotNull List<T> components, @NotNull Function<T, String[]> patterns,
+            @Nullable String routePath) {
+        List<T> selected = new ArrayList<>(components.size());
+        for (T component : components) {
+            String[] prefixes = patterns.apply(component);
+            if (prefixes == null || prefixes.length == 0) {
+                selected.add(component);
+            } else if (routePath != null) {
+                for (String prefix : prefixes) {
+                    if (matches(prefix, routePath)) {
+                        selected.add(component);
+                        break;
+                    }
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 计算时的注册表版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @NotNull
+    public Filter[] getFilters() {
+        return filters;
+    }
+
+    @NotNull
+    public HttpMiddleware[] getMiddlewares() {
+        return middlewares;
+    }
+
+    @NotNull
+    public HandlerInterceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * 执行前置拦截逻辑
+     *
+     * @return {@code true} 如果执行链应该继续，否则 {@code false}
+     */
+    public boolean applyPreHandle(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response,
+            @NotNull Object handler) throws Exception {
+        for (int i = 0; i < interceptors.length; i++) {
+            if (!interceptors[i].preHandle(request, response, handler)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 逆序执行后置拦截逻辑
+     */
+    public void applyPostHandle(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response,
+            @NotNull Object handler, @Nullable Object result) throws Exception {
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].postHandle(request, response, handler, result);
+        }
+    }
+
+    /**
+     * 逆序执行完成回调
+     */
+    public void applyAfterCompletion(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response,
+            @NotNull Object handler, @Nullable Exception ex) throws Exception {
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].afterCompletion(request, response, handler, ex);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.dtc.core.network.http.route;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 路由基数树
+ * 静态文本按公共前缀压缩存储，路径参数和通配符作为独立子节点挂在段起始位置。
+ * 匹配时按 静态 &gt; 参数 &gt; 通配符 的优先级逐层尝试，失败时回溯到下一优先级；
+ * 参数值只记录在调用方提供的 captures 数组中（[起始, 结束) 下标对），匹配过程不分配对象。
+ *
+ * <p>支持的路径模式：
+ * <ul>
+ * <li>{@code /users/list} 静态段</li>
+ * <li>{@code /users/{id}} 路径参数，匹配一个非空路径段</li>
+ * <li>{@code /files/*} 或 {@code /files/{*path}} 通配符，匹配剩余的全部路径，只能出现在末尾</li>
+ * </ul>
+ * 参数和通配符必须占据完整的路径段。
+ *
+ * <p>树不是线程安全的，写入完成后再发布给并发读取方。
+ *
+ * @author Network Service Template
+ */
+public final class RouteTree {
+
+    /**
+     * 未命名通配符 {@code *} 的参数名
+     */
+    public static final String WILDCARD_NAME = "*";
+
+    private final Node root = new Node("");
+    private int size;
+    private int maxParameters;
+
+    /**
+     * 插入路由
+     *
+     * @param route 路由
+     * @return 被替换的同路径路由，没有则返回 null
+     * @throws IllegalArgumentException 路径模式非法
+     */
+    @Nullable
+    public HttpRoute insert(@NotNull HttpRoute route) {
+        String path = route.getPath();
+        Node node = root;
+        int length = path.length();
+        int i = 0;
+        while (i < length) {
+            if (isSegmentStart(path, i) && path.charAt(i) == '{') {
+                int close = path.indexOf('}', i);
+                if (close < 0 || (close + 1 < length && path.charAt(close + 1) != '/')) {
+                    throw invalidPattern(path, "path parameters must occupy a whole segment");
+                }
+                String name = path.substring(i + 1, close);
+                if (name.startsWith("*")) {
+                    if (close + 1 != length) {
+                        throw invalidPattern(path, "wildcard must be the last segment");
+                    }
+                    return insertWildcard(node, route);
+                }
+                if (name.isEmpty()) {
+                    throw invalidPattern(path, "empty parameter name");
+                }
+                if (node.paramChild == null) {
+                    node.paramChild = new Node("");
+                }
+                node = node.paramChild;
+                i = close + 1;
+            } else if (isSegmentStart(path, i) && path.charAt(i) == '*' && i + 1 == length) {
+                return insertWildcard(node, route);
+            } else {
+                int staticEnd = staticEnd(path, i);
+                node = insertStatic(node, path.substring(i, staticEnd));
+                i = staticEnd;
+            }
+        }
+        return setRoute(node, route);
+    }
+
+    /**
+     * 查找与路径匹配的路由
+     *
+     * @param path     请求路径
+     * @param end      路径的有效长度（不含末尾需要忽略的字符）
+     * @param captures 参数位置输出数组，长度不小于 {@link #getMaxParameters()} 的两倍
+     * @return 匹配的路由，未找到返回 null；参数 i 的值为 path[captures[2i], captures[2i+1])
+     */
+    @Nullable
+    public HttpRoute find(@NotNull String path, int end, @NotNull int[] captures) {
+        return match(root, path, 0, end, captures, 0);
+    }
+
+    /**
+     * 查找与路径匹配的路由
+     */
+    @Nullable
+    public HttpRoute find(@NotNull String path, @NotNull int[] captures) {
+        return find(path, path.length(), captures);
+    }
+
+    /**
+     * 获取路由数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取单个路由包含的最多参数数量
+     */
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    /**
+     * 解析路径模式中的参数名，按出现顺序排列，与 captures 中的位置一一对应
+     */
+    @NotNull
+    static String[] parameterNames(@NotNull String path) {
+        List<String> names = new ArrayList<>();
+        int length = path.length();
+        for (int i = 0; i < length; i++) {
+            if (!isSegmentStart(path, i)) {
+                continue;
+            }
+            char c = path.charAt(i);
+            if (c == '{') {
+                int close = path.indexOf('}', i);
+                if (close > i) {
+                    String name = path.substring(i + 1, close);
+                    names.add(name.startsWith("*") ? wildcardName(name.substring(1)) : name);
+                    i = close;
+                }
+            } else if (c == '*' && i + 1 == length) {
+                names.add(WILDCARD_NAME);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    @NotNull
+    private static String wildcardName(@NotNull String name) {
+        return name.isEmpty() ? WILDCARD_NAME : name;
+    }
+
+    @Nullable
+    private static HttpRoute match(@NotNull Node node, @NotNull String path, int pos, int end,
+            @NotNull int[] captures, int count) {
+        if (pos == end && node.route != null) {
+            return node.route;
+        }
+
+        if (pos < end) {
+            Node child = node.staticChild(path.charAt(pos));
+            if (child != null) {
+                int prefixLength = child.prefix.length();
+                if (end - pos >= prefixLength && path.regionMatches(pos, child.prefix, 0, prefixLength)) {
+                    HttpRoute route = match(child, path, pos + prefixLength, end, captures, count);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+
+            if (node.paramChild != null) {
+                int segmentEnd = path.indexOf('/', pos);
+                if (segmentEnd < 0 || segmentEnd > end) {
+                    segmentEnd = end;
+                }
+                if (segmentEnd > pos) {
+                    captures[count << 1] = pos;
+                    captures[(count << 1) + 1] = segmentEnd;
+                    HttpRoute route = match(node.paramChild, path, segmentEnd, end, captures, count + 1);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+        }
+
+        if (node.wildcardRoute != null) {
+            captures[count << 1] = pos;
+            captures[(count << 1) + 1] = end;
+            return node.wildcardRoute;
+        }
+        return null;
+    }
+
+    @Nullable
+    private HttpRoute insertWildcard(@NotNull Node node, @NotNull HttpRoute route) {
+        HttpRoute previous = node.wildcardRoute;
+        node.wildcardRoute = route;
+        onInserted(route, previous);
+        return previous;
+    }
+
+    @Nullable
+    private HttpRoute setRoute(@NotNull Node node, @NotNull HttpRoute route) {
+        HttpRoute previous = node.route;
+        node.route = route;
+        onInserted(route, previous);
+        return previous;
+    }
+
+    private void onInserted(@NotNull HttpRoute route, @Nullable HttpRoute previous) {
+        if (previous == null) {
+            size++;
+        }
+        maxParameters = Math.max(maxParameters, route.getParameterNames().length);
+    }
+
+    /**
+     * 插入静态文本，必要时拆分已有节点，返回文本结束位置对应的节点
+     */
+    @NotNull
+    private static Node insertStatic(@NotNull Node node, @NotNull String text) {
+        while (!text.isEmpty()) {
+            int index = node.indexOf(text.charAt(0));
+            if (index < 0) {
+                Node child = new Node(text);
+                node.addChild(child);
+                return child;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.prefix, text);
+            if (common < child.prefix.length()) {
+                Node split = new Node(child.prefix.substring(0, common));
+                child.prefix = child.prefix.substring(common);
+                split.addChild(child);
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            text = text.substring(common);
+        }
+        return node;
+    }
+
+    /**
+     * 静态文本的结束位置：下一个参数或通配符段的起始位置
+     */
+    private static int staticEnd(@NotNull String path, int from) {
+        int length = path.length();
+        for (int i = from; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '{' || c == '}') {
+                if (!isSegmentStart(path, i)) {
+                    throw invalidPattern(path, "path parameters must occupy a whole segment");
+                }
+                if (i > from) {
+                    return i;
+                }
+            } else if (c == '*' && isSegmentStart(path, i) && i + 1 == length && i > from) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isSegmentStart(@NotNull String path, int index) {
+        return index > 0 && path.charAt(index - 1) == '/';
+    }
+
+    private static int commonPrefixLength(@NotNull String a, @NotNull String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @NotNull
+    private static IllegalArgumentException invalidPattern(@NotNull String path, @NotNull String reason) {
+        return new IllegalArgumentException("Invalid route path '" + path + "': " + reason);
+    }
+
+    /**
+     * 树节点
+     * 静态子节点按首字符索引，同一节点下的静态子节点首字符互不相同
+     */
+    private static final class Node {
+        private static final char[] NO_INDICES = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String prefix;
+        private char[] indices = NO_INDICES;
+        private Node[] children = NO_CHILDREN;
+        private Node paramChild;
+        private HttpRoute route;
+        private HttpRoute wildcardRoute;
+
+        Node(@NotNull String prefix) {
+            this.prefix = prefix;
+        }
+
+        int indexOf(char c) {
+            char[] keys = indices;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Nullable
+        Node staticChild(char c) {
+            int index = indexOf(c);
+            return index < 0 ? null : children[index];
+        }
+
+        void addChild(@NotNull Node child) {
+            int n = indices.length;
+            indices = Arrays.copyOf(indices, n + 1);
+            children = Arrays.copyOf(children, n + 1);
+            indices[n] = child.prefix.charAt(0);
+            children[n] = child;
+        }
+    }
+}
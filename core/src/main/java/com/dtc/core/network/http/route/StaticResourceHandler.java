@@ -0,0 +1,144 @@
+package com.dtc.core.network.http.route;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+
+/**
+ * 静态资源处理器
+ * 把路由前缀之后的路径解析为根目录下的文件，以 FileRegion 零拷贝发送。
+ * 客户端接受 br / gzip 且存在同名的 {@code .br} / {@code .gz} 预压缩文件时直接发送预压缩文件，
+ * 响应带 Content-Encoding，压缩处理器不再重复压缩，也不需要在运行时压缩。
+ *
+ * <pre>
+ * routeManager.registerGet("/static/*", new StaticResourceHandler(Path.of("public"), "/static"));
+ * </pre>
+ *
+ * @author Network Service Template
+ */
+public class StaticResourceHandler implements HttpRouteHandler {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html; charset=UTF-8"),
+            Map.entry("htm", "text/html; charset=UTF-8"),
+            Map.entry("css", "text/css; charset=UTF-8"),
+            Map.entry("js", "application/javascript; charset=UTF-8"),
+            Map.entry("mjs", "application/javascript; charset=UTF-8"),
+            Map.entry("json", "application/json"),
+            Map.entry("map", "application/json"),
+            Map.entry("txt", "text/plain; charset=UTF-8"),
+            Map.entry("xml", "application/xml"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("ico", "image/x-icon"),
+            Map.entry("woff", "font/woff"),
+            Map.entry("woff2", "font/woff2"),
+            Map.entry("wasm", "application/wasm"));
+
+    private final Path root;
+    private final String urlPrefix;
+
+    /**
+     * @param root      静态资源根目录
+     * @param urlPrefix 路由前缀，请求路径去掉该前缀后作为相对路径
+     */
+    public StaticResourceHandler(@NotNull Path root, @NotNull String urlPrefix) {
+        this.root = root.toAbsolutePath().normalize();
+        this.urlPrefix = urlPrefix.endsWith("/") ? urlPrefix.substring(0, urlPrefix.length() - 1) : urlPrefix;
+    }
+
+    @Override
+    @NotNull
+    public HttpResponseEx handle(@NotNull HttpRequestEx request) {
+        Path file = resolve(request.getPath());
+        if (file == null || !Files.isRegularFile(file)) {
+            return new HttpResponseEx.Builder().notFound().textContent().body("Not Found").build();
+        }
+
+        HttpResponseEx.Builder builder = new HttpResponseEx.Builder().ok().contentType(contentType(file))
+                .addHeader("Vary", "Accept-Encoding");
+        String acceptEncoding = request.getHeader("accept-encoding");
+        Path variant = null;
+        String encoding = null;
+        if (accepts(acceptEncoding, "br")) {
+            variant = sibling(file, ".br");
+            encoding = "br";
+        }
+        if (variant == null && accepts(acceptEncoding, "gzip")) {
+            variant = sibling(file, ".gz");
+            encoding = "gzip";
+        }
+        if (variant != null) {
+            return builder.addHeader("Content-Encoding", encoding).file(variant).build();
+        }
+        return builder.file(file).build();
+    }
+
+    /**
+     * 解析请求对应的文件，路径越出根目录时返回 null
+     */
+    @Nullable
+    private Path resolve(@NotNull String requestPath) {
+        String relative = requestPath.startsWith(urlPrefix) ? requestPath.substring(urlPrefix.length()) : requestPath;
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        if (relative.isEmpty() || relative.indexOf('\0') >= 0) {
+            return null;
+        }
+        Path file = root.resolve(relative).normalize();
+        return file.startsWith(root) ? file : null;
+    }
+
+    @Nullable
+    private static Path sibling(@NotNull Path file, @NotNull String suffix) {
+        Path variant = file.resolveSibling(file.getFileName() + suffix);
+        return Files.isRegularFile(variant) ? variant : null;
+    }
+
+    @NotNull
+    private static String contentType(@NotNull Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String type = dot >= 0 ? CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT)) : null;
+        return type != null ? type : "application/octet-stream";
+    }
+
+    /**
+     * Accept-Encoding 是否接受指定编码，q=0 表示拒绝
+     */
+    static boolean accepts(@Nullable String acceptEncoding, @NotNull String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim();
+            if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
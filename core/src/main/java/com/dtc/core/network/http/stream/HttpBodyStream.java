@@ -0,0 +1,370 @@
+package com.dtc.core.network.http.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+/**
+ * HTTP 请求体流
+ * 请求体按 HttpContent 块到达，以 {@link Flow.Publisher} 的形式交给唯一的订阅者，或通过 {@link #asInputStream()} 阻塞读取。
+ * 所有回调都在 channel 的事件循环上执行，订阅者不能在回调中阻塞；
+ * onNext 收到的 ByteBuf 只在回调期间有效，需要保留时调用 retain()。
+ * 未消费的数据超过高水位时暂停 channel 的自动读取，降到低水位以下后恢复，请求体不会整体缓存在堆上。
+ * 处理方法没有读完请求体时，响应写完或连接关闭后通过 {@link #discard()} 释放剩余内容块并恢复读取，
+ * 避免持久连接停在暂停读取的状态。
+ *
+ * @author Network Service Template
+ */
+public class HttpBodyStream implements Flow.Publisher<ByteBuf> {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpBodyStream.class);
+
+    /**
+     * 暂停读取的缓冲字节数，可通过 -Dhttp.stream.high.water.mark 调整
+     */
+    static final int HIGH_WATER_MARK = Integer.getInteger("http.stream.high.water.mark", 256 * 1024);
+    static final int LOW_WATER_MARK = HIGH_WATER_MARK / 2;
+
+    private final EventExecutor executor;
+    private final @Nullable Channel channel;
+
+    // 以下状态只在 executor 上访问
+    private final ArrayDeque<ByteBuf> pending = new ArrayDeque<>();
+    private Flow.Subscriber<? super ByteBuf> subscriber;
+    private long demand;
+    private long bufferedBytes;
+    private long receivedBytes;
+    private boolean completed;
+    private boolean terminated;
+    private boolean readPaused;
+    private Throwable failure;
+
+    public HttpBodyStream(@NotNull Channel channel) {
+        this(channel.eventLoop(), channel);
+    }
+
+    HttpBodyStream(@NotNull EventExecutor executor, @Nullable Channel channel) {
+        this.executor = executor;
+        this.channel = channel;
+    }
+
+    /**
+     * 创建内容已全部到达的请求体流，用于聚合请求按流的方式读取
+     */
+    @NotNull
+    public static HttpBodyStream of(@Nullable byte[] body) {
+        HttpBodyStream stream = new HttpBodyStream(ImmediateEventExecutor.INSTANCE, null);
+        if (body != null && body.length > 0) {
+            stream.offer(Unpooled.wrappedBuffer(body), true);
+        } else {
+            stream.offer(Unpooled.EMPTY_BUFFER, true);
+        }
+        return stream;
+    }
+
+    @Override
+    public void subscribe(@NotNull Flow.Subscriber<? super ByteBuf> subscriber) {
+        executor.execute(() -> {
+            if (this.subscriber != null) {
+                subscriber.onSubscribe(new BodySubscription());
+                subscriber.onError(new IllegalStateException("HttpBodyStream allows only one subscriber"));
+                return;
+            }
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new BodySubscription());
+            drain();
+        });
+    }
+
+    /**
+     * 以阻塞输入流的方式读取请求体，只能在事件循环以外的线程读取
+     */
+    @NotNull
+    public InputStream asInputStream() {
+        BodyInputStream input = new BodyInputStream();
+        subscribe(input);
+        return input;
+    }
+
+    /**
+     * 追加一个内容块，由事件循环调用，接管 content 的所有权
+     *
+     * @param content 内容块
+     * @param last    是否为最后一块
+     */
+    void offer(@NotNull ByteBuf content, boolean last) {
+        if (terminated) {
+            content.release();
+            return;
+        }
+        int readable = content.readableBytes();
+        if (readable > 0) {
+            pending.add(content);
+            bufferedBytes += readable;
+            receivedBytes += readable;
+            if (bufferedBytes > HIGH_WATER_MARK) {
+                setAutoRead(false);
+            }
+        } else {
+            content.release();
+        }
+        if (last) {
+            completed = true;
+        }
+        drain();
+    }
+
+    /**
+     * 以异常结束请求体流，由事件循环调用
+     */
+    void fail(@NotNull Throwable cause) {
+        if (terminated || completed) {
+            return;
+        }
+        failure = cause;
+        drain();
+    }
+
+    /**
+     * 丢弃未消费的请求体，由事件循环在响应写完或连接关闭时调用
+     * 释放缓冲的内容块并恢复自动读取，之后到达的内容块直接释放；尚未结束的订阅者收到 CancellationException
+     */
+    public void discard() {
+        executor.execute(() -> {
+            if (terminated) {
+                return;
+            }
+            terminate();
+            if (subscriber != null) {
+                subscriber.onError(new CancellationException("HTTP body discarded before it was consumed"));
+            }
+        });
+    }
+
+    /**
+     * 是否已经结束（读完、失败、取消或丢弃），由事件循环调用
+     */
+    boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * 获取已接收的字节数
+     */
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    /**
+     * 请求体是否已全部到达
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void drain() {
+        if (terminated || subscriber == null) {
+            return;
+        }
+        if (failure != null) {
+            terminate();
+            subscriber.onError(failure);
+            return;
+        }
+        while (demand > 0 && !pending.isEmpty()) {
+            ByteBuf content = pending.poll();
+            bufferedBytes -= content.readableBytes();
+            demand--;
+            try {
+                subscriber.onNext(content);
+            } catch (Throwable t) {
+                log.error("HTTP body subscriber failed", t);
+                terminate();
+                return;
+            } finally {
+                content.release();
+            }
+        }
+        if (readPaused && bufferedBytes < LOW_WATER_MARK) {
+            setAutoRead(true);
+        }
+        if (completed && pending.isEmpty()) {
+            terminate();
+            subscriber.onComplete();
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        ByteBuf content;
+        while ((content = pending.poll()) != null) {
+            content.release();
+        }
+        bufferedBytes = 0;
+        if (readPaused) {
+            setAutoRead(true);
+        }
+    }
+
+    private void setAutoRead(boolean autoRead) {
+        readPaused = !autoRead;
+        if (channel != null) {
+            channel.config().setAutoRead(autoRead);
+        }
+    }
+
+    /**
+     * 订阅，request / cancel 可在任意线程调用
+     */
+    private class BodySubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            executor.execute(() -> {
+                if (terminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Non-positive request: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                drain();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            executor.execute(HttpBodyStream.this::terminate);
+        }
+    }
+
+    /**
+     * 基于订阅的阻塞输入流，每读完一块再请求下一块
+     */
+    private class BodyInputStream extends InputStream implements Flow.Subscriber<ByteBuf> {
+
+        private final BlockingQueue<Object> chunks = new LinkedBlockingQueue<>();
+        private Flow.Subscription subscription;
+        private ByteBuf current;
+        private boolean finished;
+
+        @Override
+        public void onSubscribe(@NotNull Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(@NotNull ByteBuf item) {
+            chunks.add(item.retain());
+        }
+
+        @Override
+        public void onError(@NotNull Throwable throwable) {
+            chunks.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            chunks.add(Unpooled.EMPTY_BUFFER);
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuf buffer = nextBuffer();
+            return buffer == null ? -1 : buffer.readUnsignedByte();
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuf buffer = nextBuffer();
+            if (buffer == null) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.readableBytes());
+            buffer.readBytes(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current != null ? current.readableBytes() : 0;
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.release();
+                current = null;
+            }
+            if (!finished) {
+                finished = true;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+            Object chunk;
+            while ((chunk = chunks.poll()) != null) {
+                if (chunk instanceof ByteBuf buffer) {
+                    buffer.release();
+                }
+            }
+        }
+
+        @Nullable
+        private ByteBuf nextBuffer() throws IOException {
+            while (current == null || !current.isReadable()) {
+                if (current != null) {
+                    current.release();
+                    current = null;
+                    subscription.request(1);
+                }
+                if (finished) {
+                    return null;
+                }
+                if (executor.inEventLoop() && executor != ImmediateEventExecutor.INSTANCE && chunks.isEmpty()) {
+                    throw new IllegalStateException("Blocking read of HTTP body on the event loop");
+                }
+                Object chunk;
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading HTTP body");
+                }
+                if (chunk instanceof Throwable cause) {
+                    finished = true;
+                    throw new IOException("HTTP body stream failed", cause);
+                }
+                ByteBuf buffer = (ByteBuf) chunk;
+                if (buffer == Unpooled.EMPTY_BUFFER) {
+                    finished = true;
+                    return null;
+                }
+                current = buffer;
+            }
+            return current;
+        }
+    }
+}
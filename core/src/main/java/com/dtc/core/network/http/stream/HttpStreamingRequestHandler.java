@@ -0,0 +1,107 @@
+package com.dtc.core.network.http.stream;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRouteManager;
+import com.dtc.core.network.http.route.HttpRoute;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * HTTP 流式请求分发处理器
+ * 位于 HttpObjectAggregator 之前，收到请求头时按路由的 {@link com.dtc.core.network.http.route.HttpBodyMode}
+ * 决定请求体的接收方式：流式路由立即以 {@link StreamingHttpRequest} 向后传递，后续内容块写入其请求体流；
+ * 其余请求原样交给聚合器。每个 channel 一个实例。
+ * 连接关闭时接收中的请求体流以异常结束，已经接收完但还没有读取的请求体流被丢弃，释放缓冲的内容块。
+ *
+ * @author Network Service Template
+ */
+public class HttpStreamingRequestHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpStreamingRequestHandler.class);
+
+    private final HttpRouteManager routeManager;
+    private final ArrayDeque<HttpBodyStream> streams = new ArrayDeque<>();
+    private HttpBodyStream current;
+
+    public HttpStreamingRequestHandler(@NotNull HttpRouteManager routeManager) {
+        this.routeManager = routeManager;
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+        if (msg instanceof HttpRequest request && !(msg instanceof FullHttpRequest)
+                && request.decoderResult().isSuccess() && isStreamingRoute(request)) {
+            if (HttpUtil.is100ContinueExpected(request)) {
+                ctx.writeAndFlush(new DefaultFullHttpResponse(request.protocolVersion(), HttpResponseStatus.CONTINUE,
+                        Unpooled.EMPTY_BUFFER));
+                request.headers().remove(HttpHeaderNames.EXPECT);
+            }
+            HttpBodyStream stream = new HttpBodyStream(ctx.channel());
+            current = stream;
+            streams.removeIf(HttpBodyStream::isTerminated);
+            streams.add(stream);
+            log.debug("Streaming request body for {} {}", request.method(), request.uri());
+            ctx.fireChannelRead(new StreamingHttpRequest(request, stream));
+            return;
+        }
+
+        if (current != null && msg instanceof HttpContent content) {
+            HttpBodyStream stream = current;
+            boolean last = msg instanceof LastHttpContent;
+            if (last) {
+                current = null;
+            }
+            stream.offer(content.content(), last);
+            return;
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(@NotNull ChannelHandlerContext ctx) throws Exception {
+        failCurrent(new ClosedChannelException());
+        HttpBodyStream stream;
+        while ((stream = streams.poll()) != null) {
+            stream.discard();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(@NotNull ChannelHandlerContext ctx, @NotNull Throwable cause) throws Exception {
+        failCurrent(cause);
+        super.exceptionCaught(ctx, cause);
+    }
+
+    private void failCurrent(@NotNull Throwable cause) {
+        if (current != null) {
+            current.fail(cause);
+            current = null;
+        }
+    }
+
+    private boolean isStreamingRoute(@NotNull HttpRequest request) {
+        String uri = request.uri();
+        int queryIndex = uri.indexOf('?');
+        String path = queryIndex >= 0 ? uri.substring(0, queryIndex) : uri;
+        HttpRoute route = routeManager.findRoute(request.method().name(), path);
+        return route != null && route.isStreaming();
+    }
+}
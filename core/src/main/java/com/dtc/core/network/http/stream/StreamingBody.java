@@ -0,0 +1,106 @@
+package com.dtc.core.network.http.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Flow;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 流式响应体
+ * 文件以零拷贝的 FileRegion 发送（TLS 等需要处理字节的场景下退化为分块读取）；
+ * 输入流和 Publisher 以 chunked 编码分块发送，不在堆上缓存完整内容。
+ *
+ * @author Network Service Template
+ */
+public final class StreamingBody {
+
+    /**
+     * 流式响应体的来源
+     */
+    public enum Kind {
+        FILE, INPUT_STREAM, PUBLISHER
+    }
+
+    private final Kind kind;
+    private final Path file;
+    private final InputStream inputStream;
+    private final Flow.Publisher<ByteBuf> publisher;
+    private final long contentLength;
+
+    private StreamingBody(@NotNull Kind kind, @Nullable Path file, @Nullable InputStream inputStream,
+            @Nullable Flow.Publisher<ByteBuf> publisher, long contentLength) {
+        this.kind = kind;
+        this.file = file;
+        this.inputStream = inputStream;
+        this.publisher = publisher;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * 文件响应体，长度取自文件大小
+     */
+    @NotNull
+    public static StreamingBody ofFile(@NotNull Path file) {
+        try {
+            return new StreamingBody(Kind.FILE, file, null, null, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file size: " + file, e);
+        }
+    }
+
+    /**
+     * 输入流响应体，发送完成或连接关闭后关闭输入流
+     */
+    @NotNull
+    public static StreamingBody ofInputStream(@NotNull InputStream inputStream) {
+        return new StreamingBody(Kind.INPUT_STREAM, null, inputStream, null, -1);
+    }
+
+    /**
+     * Publisher 响应体，与 {@link HttpBodyStream} 约定一致：ByteBuf 只在 onNext 期间有效，由发布方负责释放，
+     * 写出方写出前自行 retain，因此请求体流可以直接作为响应体转发
+     */
+    @NotNull
+    public static StreamingBody ofPublisher(@NotNull Flow.Publisher<ByteBuf> publisher) {
+        return new StreamingBody(Kind.PUBLISHER, null, null, publisher, -1);
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Nullable
+    public Path getFile() {
+        return file;
+    }
+
+    @Nullable
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Nullable
+    public Flow.Publisher<ByteBuf> getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * 获取内容长度，未知时返回 -1
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StreamingBody{kind=%s, contentLength=%d}", kind, contentLength);
+    }
+}
@@ -0,0 +1,148 @@
+package com.dtc.core.network.http.stream;
+
+import java.io.IOException;
+import java.util.concurrent.Flow;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedFile;
+import io.netty.handler.stream.ChunkedStream;
+
+/**
+ * 流式响应体写出器
+ * 先写响应头，再按 {@link StreamingBody} 的来源写出响应体。
+ * 输入流和文件的分块读取依赖 pipeline 中的 ChunkedWriteHandler，按 channel 可写性推进；
+ * Publisher 每写完一块再请求下一块。
+ *
+ * @author Network Service Template
+ */
+public final class StreamingBodyWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingBodyWriter.class);
+    private static final int CHUNK_SIZE = 8192;
+
+    private StreamingBodyWriter() {
+    }
+
+    /**
+     * 写出响应头和流式响应体
+     *
+     * @param ctx  ChannelHandlerContext
+     * @param head 响应头，不含内容
+     * @param body 流式响应体
+     * @return 响应体全部写出后完成的 future
+     */
+    @NotNull
+    public static ChannelFuture write(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponse head,
+            @NotNull StreamingBody body) throws IOException {
+        switch (body.getKind()) {
+            case FILE:
+                return writeFile(ctx, head, body);
+            case INPUT_STREAM:
+                HttpUtil.setTransferEncodingChunked(head, true);
+                ctx.write(head);
+                return ctx.writeAndFlush(new HttpChunkedInput(new ChunkedStream(body.getInputStream(), CHUNK_SIZE)));
+            case PUBLISHER:
+            default:
+                HttpUtil.setTransferEncodingChunked(head, true);
+                ctx.write(head);
+                ChannelPromise promise = ctx.newPromise();
+                body.getPublisher().subscribe(new ChannelSubscriber(ctx, promise));
+                return promise;
+        }
+    }
+
+    @NotNull
+    private static ChannelFuture writeFile(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponse head,
+            @NotNull StreamingBody body) throws IOException {
+        long length = body.getContentLength();
+        head.headers().set(HttpHeaderNames.CONTENT_LENGTH, length);
+        ctx.write(head);
+        if (requiresChunkedFile(ctx, head)) {
+            // 需要处理字节的 handler 无法处理 FileRegion，退化为分块读取
+            return ctx.writeAndFlush(new HttpChunkedInput(new ChunkedFile(body.getFile().toFile(), CHUNK_SIZE)));
+        }
+        ctx.write(new DefaultFileRegion(body.getFile().toFile(), 0, length));
+        return ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    private static boolean requiresChunkedFile(@NotNull ChannelHandlerContext ctx, @NotNull HttpResponse head) {
+        // HTTP/2 流需要把文件内容转换成 DATA 帧，不能零拷贝；已经编码（预压缩）的响应不会再经过压缩处理器
+        return ctx.channel() instanceof Http2StreamChannel
+                || ctx.pipeline().get(SslHandler.class) != null
+                || (ctx.pipeline().get(HttpContentCompressor.class) != null
+                        && !head.headers().contains(HttpHeaderNames.CONTENT_ENCODING));
+    }
+
+    /**
+     * 把 Publisher 的内容写成 HTTP 分块，写完一块再请求下一块
+     */
+    private static final class ChannelSubscriber implements Flow.Subscriber<ByteBuf> {
+
+        private final ChannelHandlerContext ctx;
+        private final ChannelPromise promise;
+        private Flow.Subscription subscription;
+
+        ChannelSubscriber(@NotNull ChannelHandlerContext ctx, @NotNull ChannelPromise promise) {
+            this.ctx = ctx;
+            this.promise = promise;
+        }
+
+        @Override
+        public void onSubscribe(@NotNull Flow.Subscription subscription) {
+            this.subscription = subscription;
+            ctx.channel().closeFuture().addListener(f -> subscription.cancel());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(@NotNull ByteBuf item) {
+            ctx.writeAndFlush(new DefaultHttpContent(item.retain())).addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    subscription.request(1);
+                } else {
+                    subscription.cancel();
+                    promise.tryFailure(future.cause());
+                }
+            });
+        }
+
+        @Override
+        public void onError(@NotNull Throwable throwable) {
+            log.error("Streaming response body failed, closing connection {}", ctx.channel().remoteAddress(),
+                    throwable);
+            promise.tryFailure(throwable);
+            // 分块响应已经开始，只能关闭连接让客户端感知不完整的响应
+            ctx.close();
+        }
+
+        @Override
+        public void onComplete() {
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    promise.trySuccess();
+                } else {
+                    promise.tryFailure(future.cause());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dtc.core.network.http.stream;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+
+/**
+ * 流式 HTTP 请求
+ * 只携带请求头，请求体通过 {@link #getBodyStream()} 按块读取。
+ * 继承 FullHttpRequest，使 HttpObjectAggregator 直接放行，下游仍按完整请求分发。
+ *
+ * @author Network Service Template
+ */
+public class StreamingHttpRequest extends DefaultFullHttpRequest {
+
+    private final HttpBodyStream bodyStream;
+
+    public StreamingHttpRequest(@NotNull HttpRequest head, @NotNull HttpBodyStream bodyStream) {
+        super(head.protocolVersion(), head.method(), head.uri(), Unpooled.EMPTY_BUFFER, head.headers(),
+                EmptyHttpHeaders.INSTANCE);
+        this.bodyStream = bodyStream;
+    }
+
+    /**
+     * 获取请求体流
+     */
+    @NotNull
+    public HttpBodyStream getBodyStream() {
+        return bodyStream;
+    }
+}
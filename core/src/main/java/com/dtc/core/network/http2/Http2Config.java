@@ -0,0 +1,151 @@
+package com.dtc.core.network.http2;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * HTTP/2 参数
+ * TLS 连接通过 ALPN 协商 h2 / http/1.1；明文连接支持 h2c 直连（prior knowledge）和 Upgrade 升级。
+ * 流控窗口越大，单连接上的高带宽流越不容易被窗口卡住，但每个连接可能占用的接收缓冲也越多。
+ *
+ * @author Network Service Template
+ */
+public class Http2Config {
+
+    /**
+     * HTTP/2 协议规定的初始窗口大小
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 65_535;
+
+    private boolean sslEnabled;
+    private String certificatePath;
+    private String privateKeyPath;
+    private boolean selfSignedCertificate;
+    private boolean h2cEnabled = true;
+    private int initialWindowSize = 1024 * 1024;
+    private int connectionWindowSize = 4 * 1024 * 1024;
+    private long maxConcurrentStreams = 256;
+    private int maxFrameSize = 16_384;
+
+    /**
+     * 从系统属性读取参数
+     * <ul>
+     * <li>http.ssl.enabled / http.ssl.cert / http.ssl.key：启用 TLS 及 PEM 证书和 PKCS#8 私钥路径，
+     * 开启 TLS 但证书无法加载时启动失败</li>
+     * <li>http.ssl.self.signed：仅用于开发，未指定证书时生成自签名证书，默认 false；
+     * JDK 17 起需要 BouncyCastle（core 模块的 dev-tls profile）</li>
+     * <li>http2.h2c.enabled：明文连接是否接受 h2c</li>
+     * <li>http2.initial.window.size / http2.connection.window.size：流级和连接级流控窗口</li>
+     * <li>http2.max.concurrent.streams / http2.max.frame.size</li>
+     * </ul>
+     */
+    @NotNull
+    public static Http2Config fromSystemProperties() {
+        Http2Config config = new Http2Config();
+        config.setSslEnabled(Boolean.getBoolean("http.ssl.enabled"));
+        config.setCertificatePath(System.getProperty("http.ssl.cert"));
+        config.setPrivateKeyPath(System.getProperty("http.ssl.key"));
+        config.setSelfSignedCertificate(Boolean.getBoolean("http.ssl.self.signed"));
+        config.setH2cEnabled(Boolean.parseBoolean(System.getProperty("http2.h2c.enabled", "true")));
+        config.setInitialWindowSize(Integer.getInteger("http2.initial.window.size", config.initialWindowSize));
+        config.setConnectionWindowSize(Integer.getInteger("http2.connection.window.size", config.connectionWindowSize));
+        config.setMaxConcurrentStreams(Long.getLong("http2.max.concurrent.streams", config.maxConcurrentStreams));
+        config.setMaxFrameSize(Integer.getInteger("http2.max.frame.size", config.maxFrameSize));
+        return config;
+    }
+
+    public boolean isSslEnabled() {
+        return sslEnabled;
+    }
+
+    public Http2Config setSslEnabled(boolean sslEnabled) {
+        this.sslEnabled = sslEnabled;
+        return this;
+    }
+
+    @Nullable
+    public String getCertificatePath() {
+        return certificatePath;
+    }
+
+    public Http2Config setCertificatePath(@Nullable String certificatePath) {
+        this.certificatePath = certificatePath;
+        return this;
+    }
+
+    @Nullable
+    public String getPrivateKeyPath() {
+        return privateKeyPath;
+    }
+
+    public Http2Config setPrivateKeyPath(@Nullable String privateKeyPath) {
+        this.privateKeyPath = privateKeyPath;
+        return this;
+    }
+
+    /**
+     * 未配置证书时是否生成自签名证书，仅用于开发
+     */
+    public boolean isSelfSignedCertificate() {
+        return selfSignedCertificate;
+    }
+
+    public Http2Config setSelfSignedCertificate(boolean selfSignedCertificate) {
+        this.selfSignedCertificate = selfSignedCertificate;
+        return this;
+    }
+
+    public boolean isH2cEnabled() {
+        return h2cEnabled;
+    }
+
+    public Http2Config setH2cEnabled(boolean h2cEnabled) {
+        this.h2cEnabled = h2cEnabled;
+        return this;
+    }
+
+    /**
+     * 获取每个流的初始接收窗口（SETTINGS_INITIAL_WINDOW_SIZE）
+     */
+    public int getInitialWindowSize() {
+        return initialWindowSize;
+    }
+
+    public Http2Config setInitialWindowSize(int initialWindowSize) {
+        if (initialWindowSize < 0) {
+            throw new IllegalArgumentException("Initial window size must not be negative");
+        }
+        this.initialWindowSize = initialWindowSize;
+        return this;
+    }
+
+    /**
+     * 获取连接级接收窗口，在连接建立后通过 WINDOW_UPDATE 扩大，不小于流初始窗口
+     */
+    public int getConnectionWindowSize() {
+        return connectionWindowSize;
+    }
+
+    public Http2Config setConnectionWindowSize(int connectionWindowSize) {
+        this.connectionWindowSize = Math.max(DEFAULT_WINDOW_SIZE, connectionWindowSize);
+        return this;
+    }
+
+    public long getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public Http2Config setMaxConcurrentStreams(long maxConcurrentStreams) {
+        this.maxConcurrentStreams = Math.max(1, maxConcurrentStreams);
+        return this;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    public Http2Config setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+        return this;
+    }
+}
@@ -0,0 +1,93 @@
+package com.dtc.core.network.http2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2Frame;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * HTTP/2 连接级帧处理器
+ * 紧跟在 Http2MultiplexHandler 之后：连接建立后按配置扩大连接级接收窗口，
+ * 并消费 SETTINGS / PING / GOAWAY 等不属于任何流的帧，避免它们进入后面的 HTTP/1.1 处理器。
+ * 连接读超时时关闭连接，空闲超时只在没有活动流时关闭连接（关闭时由 Http2FrameCodec 发送 GOAWAY）。
+ *
+ * @author Network Service Template
+ */
+public class Http2ConnectionFrameHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(Http2ConnectionFrameHandler.class);
+
+    private final int connectionWindowSize;
+    private boolean windowUpdated;
+
+    public Http2ConnectionFrameHandler(@NotNull Http2Config config) {
+        this.connectionWindowSize = config.getConnectionWindowSize();
+    }
+
+    @Override
+    public void handlerAdded(@NotNull ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            updateConnectionWindow(ctx);
+        }
+    }
+
+    @Override
+    public void channelActive(@NotNull ChannelHandlerContext ctx) {
+        updateConnectionWindow(ctx);
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+        if (msg instanceof Http2Frame frame) {
+            if (frame instanceof Http2GoAwayFrame goAway) {
+                log.debug("Received GOAWAY from {}: error code {}", ctx.channel().remoteAddress(), goAway.errorCode());
+            }
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void userEventTriggered(@NotNull ChannelHandlerContext ctx, @NotNull Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent idle) {
+            Http2FrameCodec frameCodec = ctx.pipeline().get(Http2FrameCodec.class);
+            if (idle.state() == IdleState.READER_IDLE
+                    || idle.state() == IdleState.ALL_IDLE
+                            && (frameCodec == null || frameCodec.connection().numActiveStreams() == 0)) {
+                log.debug("Closing idle HTTP/2 connection {} ({})", ctx.channel().remoteAddress(), idle.state());
+                ctx.close();
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    private void updateConnectionWindow(@NotNull ChannelHandlerContext ctx) {
+        Http2FrameCodec frameCodec = ctx.pipeline().get(Http2FrameCodec.class);
+        if (windowUpdated || frameCodec == null) {
+            return;
+        }
+        windowUpdated = true;
+        // 本地流控会把连接窗口回补到 initialWindowSize，WINDOW_UPDATE 在这个目标上累加，
+        // 按当前目标计算增量，使连接窗口和回补目标都等于配置值
+        Http2Connection connection = frameCodec.connection();
+        int windowIncrement = connectionWindowSize
+                - connection.local().flowController().initialWindowSize(connection.connectionStream());
+        if (windowIncrement > 0) {
+            ctx.writeAndFlush(new DefaultHttp2WindowUpdateFrame(windowIncrement));
+        }
+    }
+}
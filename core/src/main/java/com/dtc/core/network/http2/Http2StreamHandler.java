@@ -0,0 +1,60 @@
+package com.dtc.core.network.http2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.ProtocolExtension;
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * HTTP/2 流处理器
+ * 位于每个 Http2MultiplexHandler 子 channel 的末尾，把转换后的 HTTP 请求交给 HTTP 协议扩展，
+ * 之后与 HTTP/1.1 请求走同一条 过滤器 / 中间件 / 路由 处理链，响应写回子 channel 即对应的流。
+ *
+ * @author Network Service Template
+ */
+public class Http2StreamHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(Http2StreamHandler.class);
+
+    private final @Nullable ProtocolExtension extension;
+
+    public Http2StreamHandler(@Nullable ProtocolExtension extension) {
+        this.extension = extension;
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+        if (extension == null) {
+            log.warn("No HTTP extension for HTTP/2 stream {}, dropping {}", ctx.channel(),
+                    msg.getClass().getSimpleName());
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        try {
+            extension.onMessage(ctx, msg);
+        } catch (Exception e) {
+            log.error("Protocol extension failed to handle HTTP/2 stream message", e);
+            extension.onException(ctx, e);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(@NotNull ChannelHandlerContext ctx, @NotNull Throwable cause) {
+        log.error("Exception on HTTP/2 stream {}", ctx.channel(), cause);
+        if (extension != null) {
+            try {
+                extension.onException(ctx, cause);
+            } catch (Exception e) {
+                log.error("Protocol extension failed to handle exception", e);
+            }
+        }
+        // 关闭子 channel 只重置当前流，不影响同一连接上的其他流
+        ctx.close();
+    }
+}
@@ -6,6 +6,7 @@ import com.dtc.api.annotations.Nullable;
 import com.dtc.core.extensions.ExtensionManager;
 import com.dtc.core.extensions.NetworkExtension;
 import com.dtc.core.messaging.NetworkMessageHandler;
+import com.dtc.core.network.grpc.GrpcServer;
 import com.dtc.core.network.netty.codec.CodecFactory;
 import com.dtc.core.network.netty.PipelineConfigurer;
 import io.netty.bootstrap.ServerBootstrap;
@@ -50,6 +51,7 @@ public class NettyServer {
     private final @NotNull NetworkMessageHandler messageHandler;
     private final @NotNull ExtensionManager extensionManager;
     private final @NotNull PipelineConfigurer pipelineConfigurer;
+    private final @NotNull GrpcServer grpcServer;
     private final AtomicBoolean started = new AtomicBoolean(false);
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
@@ -58,11 +60,13 @@ public class NettyServer {
 
     @Inject
     public NettyServer(@NotNull CodecFactory codecFactory, @NotNull NetworkMessageHandler messageHandler,
-            @NotNull ExtensionManager extensionManager, @NotNull PipelineConfigurer pipelineConfigurer) {
+            @NotNull ExtensionManager extensionManager, @NotNull PipelineConfigurer pipelineConfigurer,
+            @NotNull GrpcServer grpcServer) {
         this.codecFactory = codecFactory;
         this.messageHandler = messageHandler;
         this.extensionManager = extensionManager;
         this.pipelineConfigurer = pipelineConfigurer;
+        this.grpcServer = grpcServer;
     }
 
     /**
@@ -98,6 +102,9 @@ public class NettyServer {
                     }
                 }
 
+                // gRPC 服务共用同一组事件循环
+                grpcServer.start(bossGroup, workerGroup);
+
                 log.info("✅ Netty server started successfully with {} active ports", serverChannels.size());
 
             } catch (Exception e) {
@@ -128,6 +135,9 @@ public class NettyServer {
                 serverChannels.clear();
                 portExtensions.clear();
 
+                // 先停止 gRPC 服务，再关闭共享的事件循环组
+                grpcServer.stop();
+
                 // 关闭事件循环组
                 if (workerGroup != null) {
                     workerGroup.shutdownGracefully();
@@ -172,6 +182,22 @@ public class NettyServer {
         return List.copyOf(serverChannels.keySet());
     }
 
+    /**
+     * 获取 boss 事件循环组，未启动时为 null
+     */
+    @Nullable
+    public EventLoopGroup getBossGroup() {
+        return bossGroup;
+    }
+
+    /**
+     * 获取 worker 事件循环组，未启动时为 null
+     */
+    @Nullable
+    public EventLoopGroup getWorkerGroup() {
+        return workerGroup;
+    }
+
     // ========== 私有方法 ==========
 
     /**
@@ -3,17 +3,13 @@ package com.dtc.core.network.netty;
 import com.dtc.api.ProtocolExtension;
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpPipelineConfigurer;
 import com.dtc.core.network.netty.codec.CodecFactory;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpRequestDecoder;
-import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
-import io.netty.handler.stream.ChunkedWriteHandler;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,11 +30,13 @@ public class PipelineConfigurer {
     private static final int MAX_FRAME_LENGTH = 1024 * 1024; // 1MB
 
     private final CodecFactory codecFactory;
+    private final HttpPipelineConfigurer httpPipelineConfigurer;
     private final Map<String, BiConsumer<ChannelPipeline, ProtocolExtension>> pipelineConfigurers;
 
     @Inject
-    public PipelineConfigurer(@NotNull CodecFactory codecFactory) {
+    public PipelineConfigurer(@NotNull CodecFactory codecFactory, @NotNull HttpPipelineConfigurer httpPipelineConfigurer) {
         this.codecFactory = codecFactory;
+        this.httpPipelineConfigurer = httpPipelineConfigurer;
         this.pipelineConfigurers = initializePipelineConfigurers();
     }
 
@@ -80,13 +78,8 @@ public class PipelineConfigurer {
      * é°å¶çHTTP Pipeline
      */
     private void configureHttpPipeline(@NotNull ChannelPipeline pipeline, @NotNull ProtocolExtension extension) {
-        int timeoutSeconds = 300;
-        pipeline.addLast("httpRequestDecoder", new HttpRequestDecoder());
-        pipeline.addLast("httpResponseEncoder", new HttpResponseEncoder());
-        pipeline.addLast("httpObjectAggregator", new HttpObjectAggregator(65536));
-        pipeline.addLast(new ChunkedWriteHandler());
-        pipeline.addLast(new ReadTimeoutHandler(timeoutSeconds));
-        pipeline.addLast(new WriteTimeoutHandler(timeoutSeconds));
+        // HTTP/1.1、h2c 和 TLS + ALPN 的处理器由 HttpPipelineConfigurer 按协商结果安装
+        httpPipelineConfigurer.configure(pipeline, extension);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.dtc.core.network.netty.codec;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.core.serialization.LazyNetworkMessage;
 import com.dtc.core.serialization.ProtobufSerializer;
 import com.google.protobuf.Message;
 import io.netty.buffer.ByteBuf;
@@ -86,4 +87,28 @@ public class ProtobufDecoder extends MessageDecoder {
     public <T extends Message> T decodeMessage(@NotNull byte[] data, @NotNull Class<T> messageClass) {
         return serializer.deserialize(data, messageClass);
     }
+
+    /**
+     * 直接从缓冲区解码为指定类型的 Protobuf 消息，不复制到字节数组
+     * 
+     * @param data         消息数据，解码后读索引移到末尾
+     * @param messageClass 消息类型
+     * @param <T>          消息类型
+     * @return 解码后的消息
+     */
+    @NotNull
+    public <T extends Message> T decodeMessage(@NotNull ByteBuf data, @NotNull Class<T> messageClass) {
+        return serializer.deserialize(data, messageClass);
+    }
+
+    /**
+     * 按需解码 NetworkMessage：只读取路由需要的头部字段，payload 在处理器访问时才解码
+     * 
+     * @param data NetworkMessage 消息数据，之后不能再修改
+     * @return 按需解码的消息
+     */
+    @NotNull
+    public LazyNetworkMessage decodeLazy(@NotNull byte[] data) {
+        return LazyNetworkMessage.parse(data);
+    }
 }
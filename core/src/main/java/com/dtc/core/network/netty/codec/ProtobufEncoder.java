@@ -1,6 +1,7 @@
 package com.dtc.core.network.netty.codec;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.core.serialization.LazyNetworkMessage;
 import com.dtc.core.serialization.ProtobufSerializer;
 import com.google.protobuf.Message;
 import io.netty.buffer.ByteBuf;
@@ -14,6 +15,8 @@ import jakarta.inject.Singleton;
 /**
  * Protobuf 消息编码器
  * 将Protobuf消息编码为字节流
+ * 按长度字段加消息长度分配输出缓冲区，消息直接序列化到缓冲区中，不经过中间字节数组
+ * 转发的 {@link LazyNetworkMessage} 原样写出原始字节，不重新序列化
  * 
  * @author Network Service Template
  */
@@ -29,11 +32,28 @@ public class ProtobufEncoder extends MessageEncoder {
         this.serializer = serializer;
     }
 
+    @Override
+    protected ByteBuf allocateBuffer(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, boolean preferDirect)
+            throws Exception {
+        if (msg instanceof Message message) {
+            // getSerializedSize 的结果由消息缓存，序列化时不会重复计算
+            int size = 4 + message.getSerializedSize();
+            return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+        }
+        if (msg instanceof LazyNetworkMessage lazy) {
+            int size = 4 + lazy.getSerializedSize();
+            return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+        }
+        return super.allocateBuffer(ctx, msg, preferDirect);
+    }
+
     @Override
     protected void doEncode(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ByteBuf out) {
         try {
             if (msg instanceof Message) {
                 encodeProtobufMessage((Message) msg, out);
+            } else if (msg instanceof LazyNetworkMessage) {
+                encodeLazyMessage((LazyNetworkMessage) msg, out);
             } else if (msg instanceof byte[]) {
                 encodeByteArray((byte[]) msg, out);
             } else {
@@ -50,16 +70,23 @@ public class ProtobufEncoder extends MessageEncoder {
      * 编码 Protobuf 消息
      */
     private void encodeProtobufMessage(@NotNull Message message, @NotNull ByteBuf out) {
-        // 序列化消息
-        byte[] messageData = serializer.serialize(message);
-
         // 写入长度字段
-        out.writeInt(messageData.length);
+        out.writeInt(message.getSerializedSize());
 
-        // 写入消息数据
-        out.writeBytes(messageData);
+        // 消息直接序列化到输出缓冲区
+        int length = serializer.serialize(message, out);
+
+        log.debug("Encoded Protobuf message: {} bytes", length);
+    }
+
+    /**
+     * 编码按需解码的消息，写出原始字节
+     */
+    private void encodeLazyMessage(@NotNull LazyNetworkMessage message, @NotNull ByteBuf out) {
+        out.writeInt(message.getSerializedSize());
+        message.writeTo(out);
 
-        log.debug("Encoded Protobuf message: {} bytes", messageData.length);
+        log.debug("Forwarded NetworkMessage: {} bytes", message.getSerializedSize());
     }
 
     /**
@@ -1,22 +1,18 @@
 package com.dtc.core.network.tcp;
 
 import com.dtc.api.annotations.NotNull;
-import com.dtc.core.tcp.proto.TcpServiceGrpc;
 import com.dtc.core.tcp.proto.TcpServiceProto;
-import io.grpc.Server;
-import io.grpc.ServerBuilder;
-import io.grpc.stub.StreamObserver;
 import io.netty.channel.ChannelHandlerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
-import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * gRPC TCP 协议处理器
  * 支持 Google Protobuf 协议和 gRPC 框架
+ * gRPC 服务本身由 {@link TcpGrpcService} 提供，经 GrpcServer 在框架共享的事件循环上对外服务
  * 
  * @author Network Service Template
  */
@@ -25,7 +21,6 @@ public class GrpcTcpProtocolHandler extends TcpProtocolHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GrpcTcpProtocolHandler.class);
 
-    private Server grpcServer;
     private final ConcurrentHashMap<String, ChannelHandlerContext> grpcConnections = new ConcurrentHashMap<>();
 
     public GrpcTcpProtocolHandler() {
@@ -36,9 +31,6 @@ public class GrpcTcpProtocolHandler extends TcpProtocolHandler {
     public void handleConnect(@NotNull ChannelHandlerContext ctx, @NotNull String clientId) {
         log.info("gRPC client connected: {} from {}", clientId, ctx.channel().remoteAddress());
         grpcConnections.put(clientId, ctx);
-
-        // 启动 gRPC 服务器，如果尚未启动
-        startGrpcServer();
     }
 
     @Override
@@ -84,31 +76,6 @@ public class GrpcTcpProtocolHandler extends TcpProtocolHandler {
                 String.class.isAssignableFrom(messageType);
     }
 
-    /**
-     * 启动 gRPC 服务器
-     */
-    private void startGrpcServer() {
-        if (grpcServer == null || grpcServer.isShutdown()) {
-            try {
-                grpcServer = ServerBuilder.forPort(9090)
-                        .addService(new TcpGrpcService())
-                        .build()
-                        .start();
-
-                log.info("gRPC server started on port 9090");
-
-                // 添加关闭钩子
-                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                    log.info("Shutting down gRPC server...");
-                    grpcServer.shutdown();
-                }));
-
-            } catch (IOException e) {
-                log.error("Failed to start gRPC server", e);
-            }
-        }
-    }
-
     /**
      * 处理 gRPC 请求
      */
@@ -190,72 +157,4 @@ public class GrpcTcpProtocolHandler extends TcpProtocolHandler {
         }
         grpcConnections.clear();
     }
-
-    /**
-     * 停止 gRPC 服务器
-     */
-    public void stopGrpcServer() {
-        if (grpcServer != null && !grpcServer.isShutdown()) {
-            log.info("Stopping gRPC server...");
-            grpcServer.shutdown();
-        }
-    }
-
-    /**
-     * gRPC 服务实现
-     */
-    private static class TcpGrpcService extends TcpServiceGrpc.TcpServiceImplBase {
-
-        @Override
-        public void processMessage(TcpServiceProto.TcpRequest request,
-                StreamObserver<TcpServiceProto.TcpResponse> responseObserver) {
-
-            log.debug("Processing gRPC request: {}", request.getMessage());
-
-            // 创建响应
-            TcpServiceProto.TcpResponse response = TcpServiceProto.TcpResponse.newBuilder()
-                    .setMessage("Echo: " + request.getMessage())
-                    .setTimestamp(System.currentTimeMillis())
-                    .setStatus("SUCCESS")
-                    .build();
-
-            // 发送响应
-            responseObserver.onNext(response);
-            responseObserver.onCompleted();
-        }
-
-        @Override
-        public StreamObserver<TcpServiceProto.TcpRequest> processMessageStream(
-                StreamObserver<TcpServiceProto.TcpResponse> responseObserver) {
-
-            return new StreamObserver<TcpServiceProto.TcpRequest>() {
-                @Override
-                public void onNext(TcpServiceProto.TcpRequest request) {
-                    log.debug("Processing stream request: {}", request.getMessage());
-
-                    // 创建响应
-                    TcpServiceProto.TcpResponse response = TcpServiceProto.TcpResponse.newBuilder()
-                            .setMessage("Stream Echo: " + request.getMessage())
-                            .setTimestamp(System.currentTimeMillis())
-                            .setStatus("SUCCESS")
-                            .build();
-
-                    // 发送响应
-                    responseObserver.onNext(response);
-                }
-
-                @Override
-                public void onError(Throwable t) {
-                    log.error("Stream error", t);
-                    responseObserver.onError(t);
-                }
-
-                @Override
-                public void onCompleted() {
-                    log.debug("Stream completed");
-                    responseObserver.onCompleted();
-                }
-            };
-        }
-    }
 }
@@ -0,0 +1,72 @@
+package com.dtc.core.network.tcp;
+
+import com.dtc.annotations.web.GrpcService;
+import com.dtc.core.tcp.proto.TcpServiceGrpc;
+import com.dtc.core.tcp.proto.TcpServiceProto;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TCP gRPC 服务实现
+ * 由 GrpcServer 扫描注册，在框架共享的事件循环上提供 TcpService
+ * 
+ * @author Network Service Template
+ */
+@GrpcService("TcpService")
+public class TcpGrpcService extends TcpServiceGrpc.TcpServiceImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpGrpcService.class);
+
+    @Override
+    public void processMessage(TcpServiceProto.TcpRequest request,
+            StreamObserver<TcpServiceProto.TcpResponse> responseObserver) {
+
+        log.debug("Processing gRPC request: {}", request.getMessage());
+
+        // 创建响应
+        TcpServiceProto.TcpResponse response = TcpServiceProto.TcpResponse.newBuilder()
+                .setMessage("Echo: " + request.getMessage())
+                .setTimestamp(System.currentTimeMillis())
+                .setStatus("SUCCESS")
+                .build();
+
+        // 发送响应
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<TcpServiceProto.TcpRequest> processMessageStream(
+            StreamObserver<TcpServiceProto.TcpResponse> responseObserver) {
+
+        return new StreamObserver<TcpServiceProto.TcpRequest>() {
+            @Override
+            public void onNext(TcpServiceProto.TcpRequest request) {
+                log.debug("Processing stream request: {}", request.getMessage());
+
+                // 创建响应
+                TcpServiceProto.TcpResponse response = TcpServiceProto.TcpResponse.newBuilder()
+                        .setMessage("Stream Echo: " + request.getMessage())
+                        .setTimestamp(System.currentTimeMillis())
+                        .setStatus("SUCCESS")
+                        .build();
+
+                // 发送响应
+                responseObserver.onNext(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.error("Stream error", t);
+                responseObserver.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                log.debug("Stream completed");
+                responseObserver.onCompleted();
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.dtc.core.network.udp;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.messaging.MessageHandlerRegistry;
+import com.dtc.core.network.udp.arq.ArqSession;
+import com.dtc.core.network.udp.arq.ReliableDatagramPacket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+
+/**
+ * UDP 数据报分发器
+ * 在 I/O 事件循环上直接把数据报分发给 @UdpHandler 方法，不经过全局消息队列。
+ * 数据报缓冲区来自池化分配器，处理器返回后由 SimpleChannelInboundHandler 释放，
+ * 因此 ByteBuf / DatagramPacket 类型的参数只在处理器调用期间有效。
+ * 经 ARQ 送达的消息以 {@link ReliableDatagramPacket} 到达，声明 reliable 的处理器只接收这类消息。
+ *
+ * @author Network Service Template
+ */
+@ChannelHandler.Sharable
+public class UdpDatagramDispatcher extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpDatagramDispatcher.class);
+    private static final String PROTOCOL = "UDP";
+
+    private final @Nullable MessageHandlerRegistry messageHandlerRegistry;
+    private final @NotNull UdpSessionManager sessionManager;
+
+    private final LongAdder receivedDatagrams = new LongAdder();
+    private final LongAdder unhandledDatagrams = new LongAdder();
+    private final LongAdder failedDatagrams = new LongAdder();
+    private final LongAdder unreliableRejected = new LongAdder();
+
+    public UdpDatagramDispatcher(@Nullable MessageHandlerRegistry messageHandlerRegistry,
+            @NotNull UdpSessionManager sessionManager) {
+        super(DatagramPacket.class, true);
+        this.messageHandlerRegistry = messageHandlerRegistry;
+        this.sessionManager = sessionManager;
+    }
+
+    @Override
+    protected void channelRead0(@NotNull ChannelHandlerContext ctx, @NotNull DatagramPacket packet) {
+        receivedDatagrams.increment();
+
+        InetSocketAddress sender = packet.sender();
+        ByteBuf content = packet.content();
+        UdpSession session = sessionManager.touch(sender, content.readableBytes());
+
+        if (messageHandlerRegistry == null) {
+            unhandledDatagrams.increment();
+            return;
+        }
+
+        // 按原始字节路由，只有处理器声明 String 参数时才解码
+        MessageHandlerRegistry.HandlerMethod handler = messageHandlerRegistry.findHandler(PROTOCOL, content);
+        if (handler == null) {
+            unhandledDatagrams.increment();
+            log.debug("No UDP handler found for datagram from {}", sender);
+            return;
+        }
+        if (handler.isReliable() && !(packet instanceof ReliableDatagramPacket)) {
+            unreliableRejected.increment();
+            log.debug("Dropped unreliable datagram from {} for reliable handler {}", sender,
+                    handler.getMethod().getName());
+            return;
+        }
+
+        try {
+            handler.invoke(resolveArguments(handler, ctx, packet, session));
+        } catch (Exception e) {
+            failedDatagrams.increment();
+            log.error("Failed to invoke UDP handler {} for datagram from {}", handler.getMethod().getName(), sender, e);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(@NotNull ChannelHandlerContext ctx, @NotNull Throwable cause) {
+        // UDP socket 不因单个数据报的异常而关闭
+        log.error("UDP listener error on {}", ctx.channel().localAddress(), cause);
+    }
+
+    /**
+     * 按处理器方法的参数类型组装参数
+     * 支持 ChannelHandlerContext、InetSocketAddress、String、byte[]、ByteBuf、DatagramPacket、UdpSession、ArqSession，
+     * String 和 byte[] 仅在方法声明时才解码或复制；非可靠消息的 ArqSession 参数为 null
+     */
+    @NotNull
+    private Object[] resolveArguments(@NotNull MessageHandlerRegistry.HandlerMethod handler,
+            @NotNull ChannelHandlerContext ctx, @NotNull DatagramPacket packet,
+            @Nullable UdpSession session) {
+        Class<?>[] parameterTypes = handler.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            if (type == ChannelHandlerContext.class) {
+                args[i] = ctx;
+            } else if (type == InetSocketAddress.class) {
+                args[i] = packet.sender();
+            } else if (type == String.class) {
+                args[i] = packet.content().toString(StandardCharsets.UTF_8);
+            } else if (type == byte[].class) {
+                args[i] = ByteBufUtil.getBytes(packet.content());
+            } else if (type == ByteBuf.class) {
+                args[i] = packet.content();
+            } else if (type == DatagramPacket.class) {
+                args[i] = packet;
+            } else if (type == UdpSession.class) {
+                args[i] = session;
+            } else if (type == ArqSession.class) {
+                args[i] = packet instanceof ReliableDatagramPacket reliable ? reliable.getSession() : null;
+            }
+        }
+        return args;
+    }
+
+    /**
+     * 获取接收的数据报数量
+     */
+    public long getReceivedDatagrams() {
+        return receivedDatagrams.sum();
+    }
+
+    /**
+     * 获取没有匹配处理器的数据报数量
+     */
+    public long getUnhandledDatagrams() {
+        return unhandledDatagrams.sum();
+    }
+
+    /**
+     * 获取因处理器要求可靠送达而被丢弃的数据报数量
+     */
+    public long getUnreliableRejected() {
+        return unreliableRejected.sum();
+    }
+
+    /**
+     * 获取处理器调用失败的数据报数量
+     */
+    public long getFailedDatagrams() {
+        return failedDatagrams.sum();
+    }
+}
@@ -1,16 +1,48 @@
 package com.dtc.core.network.udp;
 
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.messaging.MessageHandlerRegistry;
+import com.dtc.core.network.udp.arq.ArqConfig;
+import com.dtc.core.network.udp.arq.ArqHandler;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.concurrent.ScheduledFuture;
 
 /**
  * UDP 服务器类
  * 负责管理 UDP 连接和消息处理
  * 
+ * 默认只保存配置，由 NettyServer 统一管理；调用 {@link #start()} 进入独立监听模式：
+ * Linux 上使用 epoll 传输，通过 SO_REUSEPORT 绑定多个 socket 分布到各事件循环，
+ * 以 recvmmsg 批量接收、合并 flush 后以 sendmmsg 批量发送；其他平台退化为单个 NIO socket。
+ * 数据报在事件循环上直接分发到 @UdpHandler 方法，来源会话由 {@link UdpSessionManager} 维护。
+ * 开启 ARQ 后每个 socket 增加一个 {@link ArqHandler}，提供 KCP 风格的可靠按序送达。
+ * 
  * @author Network Service Template
  */
 @Singleton
@@ -23,10 +55,197 @@ public class UdpServer {
     private String host = "0.0.0.0";
     private int maxPacketSize = 65507; // UDP最大数据包大小限制
 
+    // 监听模式配置
+    private int socketCount = 0; // 0 表示按CPU核数自动选择
+    private int receiveBatchSize = 32; // 每次 recvmmsg 读取的数据报数量
+    private int batchPayloadSize = 2048; // 批量接收时单个数据报的最大长度，超出部分被截断
+    private int receiveBufferSize = 4 * 1024 * 1024; // SO_RCVBUF
+    private long sessionSweepIntervalMs = 5_000;
+    private boolean arqEnabled = false;
+    private @NotNull ArqConfig arqConfig = new ArqConfig();
+
+    private final @NotNull UdpSessionManager sessionManager;
+    private final @NotNull UdpDatagramDispatcher dispatcher;
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private EventLoopGroup eventLoopGroup;
+    private ScheduledFuture<?> sessionSweepTask;
+    private volatile boolean started = false;
+    private volatile boolean epollEnabled = false;
+
     public UdpServer() {
+        this(new UdpSessionManager(), null);
+    }
+
+    @Inject
+    public UdpServer(@NotNull UdpSessionManager sessionManager,
+            @Nullable MessageHandlerRegistry messageHandlerRegistry) {
+        this.sessionManager = sessionManager;
+        this.dispatcher = new UdpDatagramDispatcher(messageHandlerRegistry, sessionManager);
         log.info("Creating UDP Server instance");
     }
 
+    /**
+     * 以监听模式启动UDP服务器
+     * 
+     * @throws InterruptedException 绑定端口时被中断
+     */
+    public synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+
+        epollEnabled = Epoll.isAvailable();
+        int sockets = epollEnabled ? resolveSocketCount() : 1;
+        eventLoopGroup = epollEnabled ? new EpollEventLoopGroup(sockets) : new NioEventLoopGroup(sockets);
+
+        try {
+            Bootstrap bootstrap = createBootstrap();
+            int bindPort = port;
+            for (int i = 0; i < sockets; i++) {
+                // 每个 channel 注册到 group 的下一个事件循环，SO_REUSEPORT 让内核按来源地址散列到各 socket
+                Channel channel = bootstrap.bind(host, bindPort).sync().channel();
+                channels.add(channel);
+                // 端口为 0 时由系统分配，其余 socket 复用第一个 socket 的端口
+                bindPort = ((InetSocketAddress) channel.localAddress()).getPort();
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            closeChannels();
+            eventLoopGroup.shutdownGracefully();
+            eventLoopGroup = null;
+            throw e;
+        }
+
+        sessionSweepTask = eventLoopGroup.next().scheduleAtFixedRate(sessionManager::expireIdleSessions,
+                sessionSweepIntervalMs, sessionSweepIntervalMs, TimeUnit.MILLISECONDS);
+        started = true;
+        log.info("UDP server listening on {} with {} socket(s), transport: {}", getLocalAddress(), sockets,
+                epollEnabled ? "epoll" : "nio");
+    }
+
+    /**
+     * 停止监听模式
+     */
+    public synchronized void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+
+        if (sessionSweepTask != null) {
+            sessionSweepTask.cancel(false);
+            sessionSweepTask = null;
+        }
+        closeChannels();
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS).syncUninterruptibly();
+            eventLoopGroup = null;
+        }
+        sessionManager.clear();
+        log.info("UDP server on port {} stopped", port);
+    }
+
+    @NotNull
+    private Bootstrap createBootstrap() {
+        Bootstrap bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.SO_RCVBUF, receiveBufferSize)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(@NotNull Channel ch) {
+                        // 读循环内的 flush 合并到 channelReadComplete，使响应以 sendmmsg 批量发出
+                        ch.pipeline().addLast("flushConsolidation",
+                                new FlushConsolidationHandler(receiveBatchSize, true));
+                        if (arqEnabled) {
+                            ch.pipeline().addLast("arq", new ArqHandler(arqConfig));
+                        }
+                        ch.pipeline().addLast("udpDispatcher", dispatcher);
+                    }
+                });
+
+        if (epollEnabled) {
+            // 接收缓冲区按批量大小切片，每个切片承载一个数据报，由 recvmmsg 一次填满
+            bootstrap.channel(EpollDatagramChannel.class)
+                    .option(EpollChannelOption.SO_REUSEPORT, true)
+                    .option(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, batchPayloadSize)
+                    .option(ChannelOption.RCVBUF_ALLOCATOR,
+                            new FixedRecvByteBufAllocator(batchPayloadSize * receiveBatchSize)
+                                    .maxMessagesPerRead(receiveBatchSize));
+        } else {
+            bootstrap.channel(NioDatagramChannel.class)
+                    .option(ChannelOption.RCVBUF_ALLOCATOR,
+                            new FixedRecvByteBufAllocator(maxPacketSize).maxMessagesPerRead(receiveBatchSize));
+        }
+        return bootstrap;
+    }
+
+    private int resolveSocketCount() {
+        return socketCount > 0 ? socketCount : Runtime.getRuntime().availableProcessors();
+    }
+
+    private void closeChannels() {
+        for (Channel channel : channels) {
+            channel.close().syncUninterruptibly();
+        }
+        channels.clear();
+    }
+
+    /**
+     * 是否处于监听模式
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * 是否使用 epoll 传输
+     */
+    public boolean isEpollEnabled() {
+        return epollEnabled;
+    }
+
+    /**
+     * 获取所有 socket 上的可靠UDP处理器，未开启 ARQ 时为空
+     */
+    @NotNull
+    public List<ArqHandler> getArqHandlers() {
+        return channels.stream()
+                .map(channel -> channel.pipeline().get(ArqHandler.class))
+                .filter(handler -> handler != null)
+                .toList();
+    }
+
+    /**
+     * 获取实际绑定的地址，端口为 0 时返回系统分配的端口；未启动时返回 null
+     */
+    @Nullable
+    public InetSocketAddress getLocalAddress() {
+        return channels.isEmpty() ? null : (InetSocketAddress) channels.get(0).localAddress();
+    }
+
+    /**
+     * 获取已绑定的 socket 数量
+     */
+    public int getBoundSocketCount() {
+        return channels.size();
+    }
+
+    /**
+     * 获取会话管理器
+     */
+    @NotNull
+    public UdpSessionManager getSessionManager() {
+        return sessionManager;
+    }
+
+    /**
+     * 获取数据报分发器
+     */
+    @NotNull
+    public UdpDatagramDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * 获取服务器端口
      */
@@ -74,4 +293,110 @@ public class UdpServer {
             this.maxPacketSize = maxPacketSize;
         }
     }
+
+    /**
+     * 获取监听 socket 数量，0 表示按CPU核数自动选择
+     */
+    public int getSocketCount() {
+        return socketCount;
+    }
+
+    /**
+     * 设置监听 socket 数量，仅在 epoll 可用时生效
+     */
+    public void setSocketCount(int socketCount) {
+        this.socketCount = Math.max(0, socketCount);
+    }
+
+    /**
+     * 获取每次批量接收的数据报数量
+     */
+    public int getReceiveBatchSize() {
+        return receiveBatchSize;
+    }
+
+    /**
+     * 设置每次批量接收的数据报数量
+     */
+    public void setReceiveBatchSize(int receiveBatchSize) {
+        this.receiveBatchSize = Math.max(1, receiveBatchSize);
+    }
+
+    /**
+     * 获取批量接收时单个数据报的最大长度
+     */
+    public int getBatchPayloadSize() {
+        return batchPayloadSize;
+    }
+
+    /**
+     * 设置批量接收时单个数据报的最大长度，不能超过最大数据包大小
+     */
+    public void setBatchPayloadSize(int batchPayloadSize) {
+        this.batchPayloadSize = Math.min(Math.max(1, batchPayloadSize), maxPacketSize);
+    }
+
+    /**
+     * 获取 socket 接收缓冲区大小
+     */
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * 设置 socket 接收缓冲区大小
+     */
+    public void setReceiveBufferSize(int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * 获取会话空闲超时时间（毫秒）
+     */
+    public long getSessionIdleTimeoutMs() {
+        return sessionManager.getIdleTimeoutMs();
+    }
+
+    /**
+     * 设置会话空闲超时时间（毫秒）
+     */
+    public void setSessionIdleTimeoutMs(long sessionIdleTimeoutMs) {
+        sessionManager.setIdleTimeoutMs(sessionIdleTimeoutMs);
+    }
+
+    /**
+     * 设置会话清理间隔（毫秒），启动前设置生效
+     */
+    public void setSessionSweepIntervalMs(long sessionSweepIntervalMs) {
+        this.sessionSweepIntervalMs = Math.max(1, sessionSweepIntervalMs);
+    }
+
+    /**
+     * 是否开启可靠UDP（ARQ）
+     */
+    public boolean isArqEnabled() {
+        return arqEnabled;
+    }
+
+    /**
+     * 设置是否开启可靠UDP（ARQ），启动前设置生效
+     */
+    public void setArqEnabled(boolean arqEnabled) {
+        this.arqEnabled = arqEnabled;
+    }
+
+    /**
+     * 获取 ARQ 参数
+     */
+    @NotNull
+    public ArqConfig getArqConfig() {
+        return arqConfig;
+    }
+
+    /**
+     * 设置 ARQ 参数，启动前设置生效
+     */
+    public void setArqConfig(@NotNull ArqConfig arqConfig) {
+        this.arqConfig = arqConfig;
+    }
 }
@@ -0,0 +1,106 @@
+package com.dtc.core.network.udp;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * UDP 会话
+ * UDP 是无连接协议，会话以来源地址为键，记录来源的活跃时间和流量，并允许处理器挂载自定义状态
+ *
+ * @author Network Service Template
+ */
+public class UdpSession {
+
+    private final InetSocketAddress address;
+    private final String clientId;
+    private final long createdTime;
+
+    // 会话只在所属 socket 的事件循环上更新，volatile 保证清理线程可见
+    private volatile long lastActiveTime;
+    private volatile long packetCount;
+    private volatile long byteCount;
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    public UdpSession(@NotNull InetSocketAddress address, long now) {
+        this.address = address;
+        this.clientId = String.format("udp-%s-%d", address.getAddress().getHostAddress(), address.getPort());
+        this.createdTime = now;
+        this.lastActiveTime = now;
+    }
+
+    /**
+     * 记录一次来源活动
+     */
+    void touch(long now, int bytes) {
+        lastActiveTime = now;
+        packetCount++;
+        byteCount += bytes;
+    }
+
+    /**
+     * 是否已超过空闲时间
+     */
+    boolean isExpired(long now, long idleTimeoutMs) {
+        return now - lastActiveTime > idleTimeoutMs;
+    }
+
+    @NotNull
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public long getLastActiveTime() {
+        return lastActiveTime;
+    }
+
+    public long getPacketCount() {
+        return packetCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * 获取会话属性
+     */
+    @Nullable
+    public Object getAttribute(@NotNull String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * 设置会话属性
+     */
+    public void setAttribute(@NotNull String name, @Nullable Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UdpSession{" +
+                "clientId='" + clientId + '\'' +
+                ", packetCount=" + packetCount +
+                ", byteCount=" + byteCount +
+                ", lastActiveTime=" + lastActiveTime +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package com.dtc.core.network.udp;
+
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * UDP 会话管理器
+ * 按来源地址维护会话状态，空闲超时的会话由定时清理任务回收
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class UdpSessionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpSessionManager.class);
+
+    private final Map<InetSocketAddress, UdpSession> sessions = new ConcurrentHashMap<>();
+    private final LongAdder expiredSessions = new LongAdder();
+    private final LongAdder rejectedSessions = new LongAdder();
+
+    private volatile long idleTimeoutMs = 60_000;
+    private volatile int maxSessions = 100_000;
+
+    public UdpSessionManager() {
+        log.info("Creating UDP Session Manager instance");
+    }
+
+    /**
+     * 记录来源活动，必要时创建会话
+     *
+     * @return 来源会话，超过会话上限时返回 null
+     */
+    @Nullable
+    public UdpSession touch(@NotNull InetSocketAddress sender, int bytes) {
+        long now = System.currentTimeMillis();
+        UdpSession session = sessions.get(sender);
+        if (session == null) {
+            if (sessions.size() >= maxSessions) {
+                rejectedSessions.increment();
+                return null;
+            }
+            session = sessions.computeIfAbsent(sender, address -> new UdpSession(address, now));
+        }
+        session.touch(now, bytes);
+        return session;
+    }
+
+    /**
+     * 清理空闲超时的会话
+     *
+     * @return 本次清理的会话数量
+     */
+    public int expireIdleSessions() {
+        long now = System.currentTimeMillis();
+        long timeout = idleTimeoutMs;
+        int expired = 0;
+
+        Iterator<UdpSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now, timeout)) {
+                iterator.remove();
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            expiredSessions.add(expired);
+            log.debug("Expired {} idle UDP sessions, {} remaining", expired, sessions.size());
+        }
+        return expired;
+    }
+
+    /**
+     * 移除会话
+     */
+    public void removeSession(@NotNull InetSocketAddress address) {
+        sessions.remove(address);
+    }
+
+    /**
+     * 获取会话
+     */
+    @Nullable
+    public UdpSession getSession(@NotNull InetSocketAddress address) {
+        return sessions.get(address);
+    }
+
+    /**
+     * 获取活动会话数量
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 获取累计过期的会话数量
+     */
+    public long getExpiredSessionCount() {
+        return expiredSessions.sum();
+    }
+
+    /**
+     * 获取因超过上限而未建立会话的数据包数量
+     */
+    public long getRejectedSessionCount() {
+        return rejectedSessions.sum();
+    }
+
+    /**
+     * 清空所有会话
+     */
+    public void clear() {
+        sessions.clear();
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public void setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+}
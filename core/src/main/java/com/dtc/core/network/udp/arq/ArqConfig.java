@@ -0,0 +1,150 @@
+package com.dtc.core.network.udp.arq;
+
+/**
+ * 可靠UDP（ARQ）参数
+ * 默认值对应 KCP 的快速模式：短 tick、较小的最小 RTO、两次重复 ACK 触发快速重传
+ *
+ * @author Network Service Template
+ */
+public class ArqConfig {
+
+    private int mtu = 1400;
+    private int sendWindow = 256;
+    private int receiveWindow = 256;
+    private int initialCongestionWindow = 4;
+    private int intervalMs = 10;
+    private int minRtoMs = 30;
+    private int initialRtoMs = 200;
+    private int fastResend = 2;
+    private int deadLink = 20;
+    private boolean congestionControl = true;
+    private long sessionIdleTimeoutMs = 60_000;
+    private int maxSessions = 10_000;
+
+    /**
+     * 获取单个分片的最大负载
+     */
+    public int getMss() {
+        return mtu - ArqSegment.HEADER_LENGTH;
+    }
+
+    public int getMtu() {
+        return mtu;
+    }
+
+    public ArqConfig setMtu(int mtu) {
+        if (mtu <= ArqSegment.ACK_LENGTH) {
+            throw new IllegalArgumentException("MTU must be larger than " + ArqSegment.ACK_LENGTH);
+        }
+        this.mtu = mtu;
+        return this;
+    }
+
+    public int getSendWindow() {
+        return sendWindow;
+    }
+
+    public ArqConfig setSendWindow(int sendWindow) {
+        this.sendWindow = Math.max(1, sendWindow);
+        return this;
+    }
+
+    public int getReceiveWindow() {
+        return receiveWindow;
+    }
+
+    public ArqConfig setReceiveWindow(int receiveWindow) {
+        this.receiveWindow = Math.max(1, receiveWindow);
+        return this;
+    }
+
+    public int getInitialCongestionWindow() {
+        return initialCongestionWindow;
+    }
+
+    public ArqConfig setInitialCongestionWindow(int initialCongestionWindow) {
+        this.initialCongestionWindow = Math.max(1, initialCongestionWindow);
+        return this;
+    }
+
+    public int getIntervalMs() {
+        return intervalMs;
+    }
+
+    public ArqConfig setIntervalMs(int intervalMs) {
+        this.intervalMs = Math.max(1, intervalMs);
+        return this;
+    }
+
+    public int getMinRtoMs() {
+        return minRtoMs;
+    }
+
+    public ArqConfig setMinRtoMs(int minRtoMs) {
+        this.minRtoMs = Math.max(1, minRtoMs);
+        return this;
+    }
+
+    public int getInitialRtoMs() {
+        return initialRtoMs;
+    }
+
+    public ArqConfig setInitialRtoMs(int initialRtoMs) {
+        this.initialRtoMs = Math.max(1, initialRtoMs);
+        return this;
+    }
+
+    public int getFastResend() {
+        return fastResend;
+    }
+
+    /**
+     * 设置触发快速重传的跳过次数，0 表示关闭快速重传
+     */
+    public ArqConfig setFastResend(int fastResend) {
+        this.fastResend = Math.max(0, fastResend);
+        return this;
+    }
+
+    public int getDeadLink() {
+        return deadLink;
+    }
+
+    /**
+     * 设置单个分片的最大发送次数，超过后会话判定为断开
+     */
+    public ArqConfig setDeadLink(int deadLink) {
+        this.deadLink = Math.max(1, deadLink);
+        return this;
+    }
+
+    public boolean isCongestionControl() {
+        return congestionControl;
+    }
+
+    public ArqConfig setCongestionControl(boolean congestionControl) {
+        this.congestionControl = congestionControl;
+        return this;
+    }
+
+    public long getSessionIdleTimeoutMs() {
+        return sessionIdleTimeoutMs;
+    }
+
+    public ArqConfig setSessionIdleTimeoutMs(long sessionIdleTimeoutMs) {
+        this.sessionIdleTimeoutMs = sessionIdleTimeoutMs;
+        return this;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * 设置每个 channel 最多维护的会话数量，达到上限后新来源的分片直接丢弃，直到空闲会话过期
+     */
+    public ArqConfig setMaxSessions(int maxSessions) {
+        this.maxSessions = Math.max(1, maxSessions);
+        return this;
+    }
+}
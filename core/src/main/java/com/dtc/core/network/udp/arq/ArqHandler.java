@@ -0,0 +1,173 @@
+package com.dtc.core.network.udp.arq;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * 可靠UDP（ARQ）处理器
+ * 识别 ARQ 分片并交给对应远端的 {@link ArqSession}，按序重组后的消息以 {@link ReliableDatagramPacket}
+ * 继续向后传递；普通数据报原样透传。时间轮由 channel 的事件循环按 ARQ tick 推进。
+ * 每个 channel 一个实例，服务端和客户端共用。
+ * <p>
+ * 与 {@link com.dtc.core.network.udp.UdpSessionManager} 一样，会话数量有上限（{@link ArqConfig#getMaxSessions()}），
+ * 达到上限后新来源的分片直接丢弃并计数；没有待发送数据且超过空闲超时的会话由时间轮定期关闭回收。
+ *
+ * @author Network Service Template
+ */
+public class ArqHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(ArqHandler.class);
+    private static final int WHEEL_SIZE = 512;
+    private static final long IDLE_CHECK_INTERVAL_MS = 1_000;
+
+    private final ArqConfig config;
+    private final Map<InetSocketAddress, ArqSession> sessions = new ConcurrentHashMap<>();
+    private final LongAdder expiredSessions = new LongAdder();
+    private final LongAdder rejectedSessions = new LongAdder();
+    private ChannelHandlerContext ctx;
+    private ArqTimerWheel timerWheel;
+    private ScheduledFuture<?> tickTask;
+
+    public ArqHandler(@NotNull ArqConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * ARQ 时间戳，单调时钟的毫秒低 32 位，比较时使用差值
+     */
+    static int currentTimeMs() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    @Override
+    public void handlerAdded(@NotNull ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        this.timerWheel = new ArqTimerWheel(config.getIntervalMs(), WHEEL_SIZE, now);
+        this.tickTask = ctx.executor().scheduleAtFixedRate(
+                () -> timerWheel.advance(TimeUnit.NANOSECONDS.toMillis(System.nanoTime())),
+                config.getIntervalMs(), config.getIntervalMs(), TimeUnit.MILLISECONDS);
+        timerWheel.schedule(this::evictIdleSessions, IDLE_CHECK_INTERVAL_MS);
+    }
+
+    @Override
+    public void handlerRemoved(@NotNull ChannelHandlerContext ctx) {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+        for (ArqSession session : new ArrayList<>(sessions.values())) {
+            session.close();
+        }
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+        if (!(msg instanceof DatagramPacket packet) || msg instanceof ReliableDatagramPacket
+                || !ArqSegment.isArqSegment(packet.content())) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        try {
+            ArqSession session = sessions.get(packet.sender());
+            if (session == null) {
+                if (sessions.size() >= config.getMaxSessions()) {
+                    rejectedSessions.increment();
+                    log.debug("ARQ session limit {} reached, dropping segment from {}", config.getMaxSessions(),
+                            packet.sender());
+                    return;
+                }
+                session = session(packet.sender());
+            }
+            session.input(packet.content());
+        } catch (Exception e) {
+            log.error("Failed to process ARQ segment from {}", packet.sender(), e);
+        } finally {
+            packet.release();
+        }
+    }
+
+    /**
+     * 获取或创建到远端的可靠会话，可在任意线程调用
+     */
+    @NotNull
+    public ArqSession session(@NotNull InetSocketAddress remote) {
+        if (ctx == null) {
+            throw new IllegalStateException("ArqHandler is not attached to a channel");
+        }
+        return sessions.computeIfAbsent(remote, this::createSession);
+    }
+
+    /**
+     * 获取已存在的会话
+     */
+    @Nullable
+    public ArqSession getSession(@NotNull InetSocketAddress remote) {
+        return sessions.get(remote);
+    }
+
+    /**
+     * 获取所有会话
+     */
+    @NotNull
+    public Collection<ArqSession> getSessions() {
+        return sessions.values();
+    }
+
+    /**
+     * 获取累计因空闲过期而关闭的会话数量
+     */
+    public long getExpiredSessionCount() {
+        return expiredSessions.sum();
+    }
+
+    /**
+     * 获取因超过会话上限而丢弃的分片数量
+     */
+    public long getRejectedSessionCount() {
+        return rejectedSessions.sum();
+    }
+
+    @NotNull
+    private ArqSession createSession(@NotNull InetSocketAddress remote) {
+        log.debug("Creating ARQ session for {}", remote);
+        InetSocketAddress local = (InetSocketAddress) ctx.channel().localAddress();
+        ArqSession[] holder = new ArqSession[1];
+        holder[0] = new ArqSession(remote, ctx, config, timerWheel,
+                message -> ctx.fireChannelRead(new ReliableDatagramPacket(message, local, holder[0])),
+                closed -> sessions.remove(closed.getRemoteAddress(), closed));
+        return holder[0];
+    }
+
+    private void evictIdleSessions() {
+        long now = System.currentTimeMillis();
+        int expired = 0;
+        for (ArqSession session : sessions.values()) {
+            if (session.isIdle(now)) {
+                session.close();
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            expiredSessions.add(expired);
+            log.debug("Expired {} idle ARQ sessions, {} remaining", expired, sessions.size());
+        }
+        timerWheel.schedule(this::evictIdleSessions, IDLE_CHECK_INTERVAL_MS);
+    }
+}
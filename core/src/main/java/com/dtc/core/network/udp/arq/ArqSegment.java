@@ -0,0 +1,110 @@
+package com.dtc.core.network.udp.arq;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * ARQ 分片线格式
+ *
+ * <pre>
+ * 0             2      3      4      5      6             8             12            16            20
+ * +-------------+------+------+------+------+-------------+-------------+-------------+-------------+
+ * |    magic    | ver  | cmd  | frg  | rsv  |     wnd     |     ts      |     sn      |     una     |
+ * +-------------+------+------+------+------+-------------+-------------+-------------+-------------+
+ * PUSH: 之后是负载；ACK: 之后是 8 字节选择确认位图，第 i 位表示 una + 1 + i 已收到
+ * </pre>
+ *
+ * magic 以 0xFE 开头，这个字节不会出现在合法的 UTF-8 文本开头；识别时还要求版本、命令、保留字节、
+ * 分片序号和长度都合法，因此同一个 socket 上的普通数据报不会被误当作 ARQ 分片。
+ *
+ * @author Network Service Template
+ */
+public final class ArqSegment {
+
+    public static final short MAGIC = (short) 0xFEA5;
+    public static final byte VERSION = 1;
+    public static final byte CMD_PUSH = 1;
+    public static final byte CMD_ACK = 2;
+
+    /**
+     * 单条消息的最大分片数，frg 为剩余分片数，取值 0 到 MAX_FRAGMENTS - 1
+     */
+    public static final int MAX_FRAGMENTS = 255;
+
+    public static final int HEADER_LENGTH = 20;
+    public static final int ACK_LENGTH = HEADER_LENGTH + 8;
+    public static final int SACK_BITS = 64;
+
+    // 发送端状态，sn 在分片进入发送窗口时分配
+    int sn;
+    final int frg;
+    final ByteBuf data;
+    int ts;
+    int resendTs;
+    int rto;
+    int fastAck;
+    int xmit;
+
+    ArqSegment(int frg, @NotNull ByteBuf data) {
+        this.frg = frg;
+        this.data = data;
+    }
+
+    /**
+     * 判断数据报是否为 ARQ 分片
+     */
+    public static boolean isArqSegment(@NotNull ByteBuf content) {
+        int length = content.readableBytes();
+        int start = content.readerIndex();
+        if (length < HEADER_LENGTH || content.getShort(start) != MAGIC || content.getByte(start + 2) != VERSION
+                || content.getByte(start + 5) != 0) {
+            return false;
+        }
+        byte cmd = cmd(content);
+        if (cmd == CMD_ACK) {
+            return length == ACK_LENGTH && frg(content) == 0;
+        }
+        return cmd == CMD_PUSH && frg(content) < MAX_FRAGMENTS;
+    }
+
+    static void writeHeader(@NotNull ByteBuf out, byte cmd, int frg, int wnd, int ts, int sn, int una) {
+        out.writeShort(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(cmd);
+        out.writeByte(frg);
+        out.writeByte(0);
+        out.writeShort(wnd);
+        out.writeInt(ts);
+        out.writeInt(sn);
+        out.writeInt(una);
+    }
+
+    static byte cmd(@NotNull ByteBuf in) {
+        return in.getByte(in.readerIndex() + 3);
+    }
+
+    static int frg(@NotNull ByteBuf in) {
+        return in.getUnsignedByte(in.readerIndex() + 4);
+    }
+
+    static int wnd(@NotNull ByteBuf in) {
+        return in.getUnsignedShort(in.readerIndex() + 6);
+    }
+
+    static int ts(@NotNull ByteBuf in) {
+        return in.getInt(in.readerIndex() + 8);
+    }
+
+    static int sn(@NotNull ByteBuf in) {
+        return in.getInt(in.readerIndex() + 12);
+    }
+
+    static int una(@NotNull ByteBuf in) {
+        return in.getInt(in.readerIndex() + 16);
+    }
+
+    static long sackBits(@NotNull ByteBuf in) {
+        return in.getLong(in.readerIndex() + HEADER_LENGTH);
+    }
+}
@@ -0,0 +1,531 @@
+package com.dtc.core.network.udp.arq;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+
+/**
+ * 可靠UDP会话
+ * 一个远端地址对应一个会话，实现 KCP 风格的 ARQ：序号、累计确认加选择确认、快速重传、
+ * RTO 退避以及慢启动/拥塞避免窗口。除 {@link #send} 外，所有方法都只在所属 channel 的事件循环上调用。
+ *
+ * @author Network Service Template
+ */
+public class ArqSession {
+
+    private static final Logger log = LoggerFactory.getLogger(ArqSession.class);
+    private static final int MAX_RTO_MS = 60_000;
+
+    private final InetSocketAddress remote;
+    private final ChannelHandlerContext ctx;
+    private final ArqConfig config;
+    private final ArqTimerWheel timerWheel;
+    private final Consumer<ByteBuf> receiver;
+    private final Consumer<ArqSession> closeListener;
+
+    // 发送端
+    private final ArrayDeque<ArqSegment> sendQueue = new ArrayDeque<>();
+    private final ArrayDeque<ArqSegment> sendBuffer = new ArrayDeque<>();
+    private int sndUna;
+    private int sndNxt;
+    private int cwnd;
+    private int cwndIncrement;
+    private int ssthresh;
+    private int remoteWindow;
+    private int srtt;
+    private int rttVar;
+    private int rto;
+
+    // 接收端：以 sn % receiveWindow 为下标的环形缓冲区
+    private final ByteBuf[] receiveSlots;
+    private final int[] receiveFragments;
+    private final List<ByteBuf> pendingFragments = new ArrayList<>();
+    private int rcvNxt;
+    private int outOfOrderCount;
+
+    private boolean ackPending;
+    private int ackSn;
+    private int ackTs;
+    private boolean timerScheduled;
+    private volatile boolean closed;
+    private volatile long lastActiveTime = System.currentTimeMillis();
+
+    // 统计
+    private long sentSegments;
+    private long retransmits;
+    private long fastRetransmits;
+    private long deliveredMessages;
+
+    ArqSession(@NotNull InetSocketAddress remote, @NotNull ChannelHandlerContext ctx, @NotNull ArqConfig config,
+            @NotNull ArqTimerWheel timerWheel, @NotNull Consumer<ByteBuf> receiver,
+            @NotNull Consumer<ArqSession> closeListener) {
+        this.remote = remote;
+        this.ctx = ctx;
+        this.config = config;
+        this.timerWheel = timerWheel;
+        this.receiver = receiver;
+        this.closeListener = closeListener;
+        this.cwnd = config.getInitialCongestionWindow();
+        this.ssthresh = config.getSendWindow();
+        this.remoteWindow = config.getReceiveWindow();
+        this.rto = config.getInitialRtoMs();
+        this.receiveSlots = new ByteBuf[config.getReceiveWindow()];
+        this.receiveFragments = new int[config.getReceiveWindow()];
+    }
+
+    // ========== 发送 ==========
+
+    /**
+     * 可靠发送一条消息，超过 MSS 的消息会被分片；可在任意线程调用，缓冲区所有权转移给会话
+     */
+    public void send(@NotNull ByteBuf payload) {
+        int fragments = fragmentCount(payload.readableBytes());
+        if (fragments > ArqSegment.MAX_FRAGMENTS) {
+            payload.release();
+            throw new IllegalArgumentException("ARQ message too large: " + payload.readableBytes() + " bytes");
+        }
+        if (ctx.executor().inEventLoop()) {
+            enqueue(payload, fragments);
+        } else {
+            ctx.executor().execute(() -> enqueue(payload, fragments));
+        }
+    }
+
+    /**
+     * 可靠发送文本消息
+     */
+    public void send(@NotNull String message) {
+        send(Unpooled.wrappedBuffer(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 可靠发送二进制消息
+     */
+    public void send(@NotNull byte[] data) {
+        send(Unpooled.wrappedBuffer(data));
+    }
+
+    private int fragmentCount(int length) {
+        int mss = config.getMss();
+        return length <= mss ? 1 : (length + mss - 1) / mss;
+    }
+
+    private void enqueue(@NotNull ByteBuf payload, int fragments) {
+        if (closed) {
+            payload.release();
+            return;
+        }
+        int mss = config.getMss();
+        int offset = payload.readerIndex();
+        int remaining = payload.readableBytes();
+        for (int i = 0; i < fragments; i++) {
+            int length = Math.min(mss, remaining);
+            sendQueue.add(new ArqSegment(fragments - i - 1, payload.retainedSlice(offset, length)));
+            offset += length;
+            remaining -= length;
+        }
+        payload.release();
+        lastActiveTime = System.currentTimeMillis();
+        flush();
+    }
+
+    /**
+     * 发送确认、新分片以及需要重传的分片
+     */
+    void flush() {
+        if (closed) {
+            return;
+        }
+        int now = ArqHandler.currentTimeMs();
+        boolean written = false;
+
+        if (ackPending) {
+            writeAck();
+            ackPending = false;
+            written = true;
+        }
+
+        int window = Math.min(config.getSendWindow(), remoteWindow);
+        if (config.isCongestionControl()) {
+            window = Math.min(window, cwnd);
+        }
+        while (!sendQueue.isEmpty() && sndNxt - sndUna < window) {
+            ArqSegment segment = sendQueue.poll();
+            segment.sn = sndNxt++;
+            sendBuffer.add(segment);
+        }
+
+        boolean lost = false;
+        boolean fastResent = false;
+        for (ArqSegment segment : sendBuffer) {
+            boolean transmit = false;
+            if (segment.xmit == 0) {
+                transmit = true;
+                segment.rto = rto;
+                segment.resendTs = now + segment.rto;
+            } else if (now - segment.resendTs >= 0) {
+                transmit = true;
+                lost = true;
+                retransmits++;
+                segment.rto = Math.min(MAX_RTO_MS, segment.rto + Math.max(segment.rto, rto) / 2);
+                segment.resendTs = now + segment.rto;
+            } else if (config.getFastResend() > 0 && segment.fastAck >= config.getFastResend()) {
+                transmit = true;
+                fastResent = true;
+                fastRetransmits++;
+                segment.fastAck = 0;
+                segment.resendTs = now + segment.rto;
+            }
+
+            if (transmit) {
+                segment.xmit++;
+                segment.ts = now;
+                writeSegment(segment);
+                written = true;
+                if (segment.xmit >= config.getDeadLink()) {
+                    log.warn("ARQ session to {} exceeded {} transmissions, closing", remote, config.getDeadLink());
+                    ctx.flush();
+                    close();
+                    return;
+                }
+            }
+        }
+
+        if (written) {
+            ctx.flush();
+        }
+
+        if (config.isCongestionControl()) {
+            if (fastResent) {
+                int inflight = sndNxt - sndUna;
+                ssthresh = Math.max(inflight / 2, 2);
+                cwnd = ssthresh + config.getFastResend();
+                cwndIncrement = 0;
+            }
+            if (lost) {
+                ssthresh = Math.max(cwnd / 2, 2);
+                cwnd = 1;
+                cwndIncrement = 0;
+            }
+        }
+
+        if (!sendBuffer.isEmpty() || !sendQueue.isEmpty()) {
+            scheduleTimer();
+        }
+    }
+
+    private void writeSegment(@NotNull ArqSegment segment) {
+        int length = segment.data.readableBytes();
+        ByteBuf out = ctx.alloc().ioBuffer(ArqSegment.HEADER_LENGTH + length);
+        ArqSegment.writeHeader(out, ArqSegment.CMD_PUSH, segment.frg, freeWindow(), segment.ts, segment.sn, rcvNxt);
+        out.writeBytes(segment.data, segment.data.readerIndex(), length);
+        ctx.write(new DatagramPacket(out, remote));
+        sentSegments++;
+    }
+
+    private void writeAck() {
+        ByteBuf out = ctx.alloc().ioBuffer(ArqSegment.ACK_LENGTH);
+        ArqSegment.writeHeader(out, ArqSegment.CMD_ACK, 0, freeWindow(), ackTs, ackSn, rcvNxt);
+        long sackBits = 0;
+        int limit = Math.min(ArqSegment.SACK_BITS, receiveSlots.length - 1);
+        for (int i = 0; i < limit && outOfOrderCount > 0; i++) {
+            if (receiveSlots[slot(rcvNxt + 1 + i)] != null) {
+                sackBits |= 1L << i;
+            }
+        }
+        out.writeLong(sackBits);
+        ctx.write(new DatagramPacket(out, remote));
+    }
+
+    private void scheduleTimer() {
+        if (!timerScheduled) {
+            timerScheduled = true;
+            timerWheel.schedule(this::onTimer, config.getIntervalMs());
+        }
+    }
+
+    private void onTimer() {
+        timerScheduled = false;
+        flush();
+    }
+
+    // ========== 接收 ==========
+
+    /**
+     * 处理收到的 ARQ 分片，调用方负责释放 content
+     */
+    void input(@NotNull ByteBuf content) {
+        if (closed) {
+            return;
+        }
+        lastActiveTime = System.currentTimeMillis();
+
+        byte cmd = ArqSegment.cmd(content);
+        int prevUna = sndUna;
+        remoteWindow = ArqSegment.wnd(content);
+        acknowledgeUntil(ArqSegment.una(content));
+
+        if (cmd == ArqSegment.CMD_ACK) {
+            handleAck(content);
+        } else {
+            handlePush(content);
+        }
+
+        sndUna = sendBuffer.isEmpty() ? sndNxt : sendBuffer.peekFirst().sn;
+        if (sndUna - prevUna > 0) {
+            growCongestionWindow();
+        }
+        flush();
+    }
+
+    private void handleAck(@NotNull ByteBuf content) {
+        int una = ArqSegment.una(content);
+        int sn = ArqSegment.sn(content);
+        int rtt = ArqHandler.currentTimeMs() - ArqSegment.ts(content);
+
+        int maxAck = sn;
+        if (acknowledge(sn) && rtt >= 0) {
+            updateRtt(rtt);
+        }
+        long sackBits = ArqSegment.sackBits(content);
+        while (sackBits != 0) {
+            int bit = Long.numberOfTrailingZeros(sackBits);
+            int sackSn = una + 1 + bit;
+            acknowledge(sackSn);
+            if (sackSn - maxAck > 0) {
+                maxAck = sackSn;
+            }
+            sackBits &= sackBits - 1;
+        }
+
+        // 被更大序号的确认跳过的分片累计 fastAck
+        for (ArqSegment segment : sendBuffer) {
+            if (segment.sn - maxAck >= 0) {
+                break;
+            }
+            segment.fastAck++;
+        }
+    }
+
+    private void handlePush(@NotNull ByteBuf content) {
+        int sn = ArqSegment.sn(content);
+        int offset = sn - rcvNxt;
+        if (offset >= receiveSlots.length) {
+            // 超出接收窗口，丢弃并只回送窗口信息
+            ackPending = true;
+            ackSn = sn;
+            ackTs = ArqSegment.ts(content);
+            return;
+        }
+
+        ackPending = true;
+        ackSn = sn;
+        ackTs = ArqSegment.ts(content);
+
+        if (offset >= 0) {
+            int index = slot(sn);
+            if (receiveSlots[index] == null) {
+                receiveSlots[index] = content.retainedSlice(content.readerIndex() + ArqSegment.HEADER_LENGTH,
+                        content.readableBytes() - ArqSegment.HEADER_LENGTH);
+                receiveFragments[index] = ArqSegment.frg(content);
+                outOfOrderCount++;
+            }
+        }
+
+        // 把连续的分片移出接收窗口并组装消息
+        int index = slot(rcvNxt);
+        while (receiveSlots[index] != null) {
+            ByteBuf fragment = receiveSlots[index];
+            int frg = receiveFragments[index];
+            receiveSlots[index] = null;
+            outOfOrderCount--;
+            rcvNxt++;
+            pendingFragments.add(fragment);
+            if (frg == 0) {
+                deliver();
+            }
+            index = slot(rcvNxt);
+        }
+    }
+
+    private void deliver() {
+        ByteBuf message;
+        if (pendingFragments.size() == 1) {
+            message = pendingFragments.get(0);
+        } else {
+            CompositeByteBuf composite = ctx.alloc().compositeBuffer(pendingFragments.size());
+            for (ByteBuf fragment : pendingFragments) {
+                composite.addComponent(true, fragment);
+            }
+            message = composite;
+        }
+        pendingFragments.clear();
+        deliveredMessages++;
+        receiver.accept(message);
+    }
+
+    private void acknowledgeUntil(int una) {
+        while (!sendBuffer.isEmpty() && sendBuffer.peekFirst().sn - una < 0) {
+            sendBuffer.pollFirst().data.release();
+        }
+    }
+
+    private boolean acknowledge(int sn) {
+        Iterator<ArqSegment> iterator = sendBuffer.iterator();
+        while (iterator.hasNext()) {
+            ArqSegment segment = iterator.next();
+            if (segment.sn == sn) {
+                iterator.remove();
+                segment.data.release();
+                return true;
+            }
+            if (segment.sn - sn > 0) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void updateRtt(int rtt) {
+        if (srtt == 0) {
+            srtt = rtt;
+            rttVar = rtt / 2;
+        } else {
+            int delta = Math.abs(rtt - srtt);
+            rttVar = (3 * rttVar + delta) / 4;
+            srtt = Math.max(1, (7 * srtt + rtt) / 8);
+        }
+        int candidate = srtt + Math.max(config.getIntervalMs(), 4 * rttVar);
+        rto = Math.max(config.getMinRtoMs(), Math.min(MAX_RTO_MS, candidate));
+    }
+
+    private void growCongestionWindow() {
+        if (!config.isCongestionControl() || cwnd >= remoteWindow) {
+            return;
+        }
+        if (cwnd < ssthresh) {
+            cwnd++;
+        } else if (++cwndIncrement >= cwnd) {
+            cwndIncrement = 0;
+            cwnd++;
+        }
+    }
+
+    private int freeWindow() {
+        return Math.max(0, receiveSlots.length - outOfOrderCount);
+    }
+
+    private int slot(int sn) {
+        return Math.floorMod(sn, receiveSlots.length);
+    }
+
+    // ========== 生命周期 ==========
+
+    /**
+     * 关闭会话并释放所有缓冲区
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseAll(sendQueue);
+        releaseAll(sendBuffer);
+        for (int i = 0; i < receiveSlots.length; i++) {
+            if (receiveSlots[i] != null) {
+                receiveSlots[i].release();
+                receiveSlots[i] = null;
+            }
+        }
+        for (ByteBuf fragment : pendingFragments) {
+            fragment.release();
+        }
+        pendingFragments.clear();
+        closeListener.accept(this);
+    }
+
+    private static void releaseAll(@NotNull ArrayDeque<ArqSegment> segments) {
+        ArqSegment segment;
+        while ((segment = segments.poll()) != null) {
+            segment.data.release();
+        }
+    }
+
+    boolean isIdle(long now) {
+        return sendBuffer.isEmpty() && sendQueue.isEmpty()
+                && now - lastActiveTime > config.getSessionIdleTimeoutMs();
+    }
+
+    // ========== 状态 ==========
+
+    @NotNull
+    public InetSocketAddress getRemoteAddress() {
+        return remote;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 获取尚未被确认的分片数量（含排队中的分片）
+     */
+    public int getPendingSegmentCount() {
+        return sendBuffer.size() + sendQueue.size();
+    }
+
+    public int getCongestionWindow() {
+        return cwnd;
+    }
+
+    public int getSmoothedRttMs() {
+        return srtt;
+    }
+
+    public int getRtoMs() {
+        return rto;
+    }
+
+    public long getSentSegments() {
+        return sentSegments;
+    }
+
+    public long getRetransmits() {
+        return retransmits;
+    }
+
+    public long getFastRetransmits() {
+        return fastRetransmits;
+    }
+
+    public long getDeliveredMessages() {
+        return deliveredMessages;
+    }
+
+    @Override
+    public String toString() {
+        return "ArqSession{" +
+                "remote=" + remote +
+                ", cwnd=" + cwnd +
+                ", srtt=" + srtt +
+                ", rto=" + rto +
+                ", retransmits=" + retransmits +
+                ", fastRetransmits=" + fastRetransmits +
+                '}';
+    }
+}
@@ -0,0 +1,109 @@
+package com.dtc.core.network.udp.arq;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+/**
+ * 单线程时间轮
+ * 由所属 channel 的事件循环周期性推进，所有操作都在事件循环上执行，因此不需要加锁
+ *
+ * @author Network Service Template
+ */
+public class ArqTimerWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(ArqTimerWheel.class);
+
+    private final long tickMs;
+    private final int mask;
+    private final List<Timeout>[] slots;
+    private long currentTick;
+    private long nextTickTime;
+    private int pendingTimeouts;
+
+    @SuppressWarnings("unchecked")
+    public ArqTimerWheel(long tickMs, int wheelSize, long now) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMs = Math.max(1, tickMs);
+        this.mask = wheelSize - 1;
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.nextTickTime = now + this.tickMs;
+    }
+
+    /**
+     * 注册定时任务，延迟向上取整到 tick
+     */
+    public void schedule(@NotNull Runnable task, long delayMs) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        long deadlineTick = currentTick + ticks;
+        slots[(int) (deadlineTick & mask)].add(new Timeout(task, deadlineTick));
+        pendingTimeouts++;
+    }
+
+    /**
+     * 推进时间轮并执行到期任务
+     */
+    public void advance(long now) {
+        while (nextTickTime <= now) {
+            currentTick++;
+            nextTickTime += tickMs;
+            expireSlot(slots[(int) (currentTick & mask)]);
+        }
+    }
+
+    private void expireSlot(@NotNull List<Timeout> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        // 任务执行期间可能向同一个槽位注册新任务，先摘出到期项再执行
+        List<Timeout> expired = null;
+        for (int i = slot.size() - 1; i >= 0; i--) {
+            Timeout timeout = slot.get(i);
+            if (timeout.deadlineTick <= currentTick) {
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(timeout);
+                slot.set(i, slot.get(slot.size() - 1));
+                slot.remove(slot.size() - 1);
+            }
+        }
+        if (expired == null) {
+            return;
+        }
+        pendingTimeouts -= expired.size();
+        for (Timeout timeout : expired) {
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                log.error("ARQ timer task failed", e);
+            }
+        }
+    }
+
+    /**
+     * 获取待执行任务数量
+     */
+    public int getPendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dtc.core.network.udp.arq;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * 数据报丢包注入器
+ * 按给定概率丢弃入站和出站的数据报，用于在回环网络上验证 ARQ 的重传行为。
+ * 放在 pipeline 的最前面，每个 channel 一个实例。
+ *
+ * @author Network Service Template
+ */
+public class PacketLossInjector extends ChannelDuplexHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(PacketLossInjector.class);
+
+    private final double inboundLossRate;
+    private final double outboundLossRate;
+    private final SplittableRandom random;
+    private final AtomicLong droppedInbound = new AtomicLong();
+    private final AtomicLong droppedOutbound = new AtomicLong();
+
+    public PacketLossInjector(double inboundLossRate, double outboundLossRate, long seed) {
+        this.inboundLossRate = inboundLossRate;
+        this.outboundLossRate = outboundLossRate;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+        if (msg instanceof DatagramPacket && random.nextDouble() < inboundLossRate) {
+            droppedInbound.incrementAndGet();
+            log.trace("Dropped inbound datagram");
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ChannelPromise promise) {
+        if (msg instanceof DatagramPacket && random.nextDouble() < outboundLossRate) {
+            droppedOutbound.incrementAndGet();
+            log.trace("Dropped outbound datagram");
+            ReferenceCountUtil.release(msg);
+            promise.setSuccess();
+            return;
+        }
+        ctx.write(msg, promise);
+    }
+
+    public long getDroppedInbound() {
+        return droppedInbound.get();
+    }
+
+    public long getDroppedOutbound() {
+        return droppedOutbound.get();
+    }
+}
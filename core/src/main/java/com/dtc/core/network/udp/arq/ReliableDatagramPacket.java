@@ -0,0 +1,34 @@
+package com.dtc.core.network.udp.arq;
+
+import java.net.InetSocketAddress;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.socket.DatagramPacket;
+
+/**
+ * 经 ARQ 按序可靠送达的消息
+ * 内容是重组后的完整消息，可通过 {@link #getSession()} 可靠地回复发送方
+ *
+ * @author Network Service Template
+ */
+public class ReliableDatagramPacket extends DatagramPacket {
+
+    private final ArqSession session;
+
+    public ReliableDatagramPacket(@NotNull ByteBuf data, @Nullable InetSocketAddress recipient,
+            @NotNull ArqSession session) {
+        super(data, recipient, session.getRemoteAddress());
+        this.session = session;
+    }
+
+    /**
+     * 获取所属的可靠会话
+     */
+    @NotNull
+    public ArqSession getSession() {
+        return session;
+    }
+}
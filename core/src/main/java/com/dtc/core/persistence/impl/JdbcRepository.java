@@ -2,6 +2,7 @@ package com.dtc.core.persistence.impl;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.dtc.core.diagnostic.jfr.SqlStatementEvent;
 import com.dtc.core.persistence.*;
 import com.dtc.annotations.persistence.Id;
 import com.dtc.annotations.persistence.Table;
@@ -70,6 +71,9 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     public T findById(@NotNull ID id) {
         String sql = buildSelectByIdSql();
         log.debug("Executing SQL: {} with id: {}", sql, id);
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        long rows = -1;
         
         try (Connection conn = dataSourceProvider.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -77,13 +81,17 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
             setParameter(stmt, 1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                rows = 0;
                 if (rs.next()) {
+                    rows = 1;
                     return mapRowToEntity(rs);
                 }
             }
         } catch (SQLException e) {
             log.error("Failed to find entity by id: {}", id, e);
             throw new RuntimeException("Failed to find entity by id", e);
+        } finally {
+            commitSqlEvent(event, sql, rows);
         }
         
         return null;
@@ -103,6 +111,9 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
         log.debug("Executing SQL: {}", sql);
         
         List<T> results = new ArrayList<>();
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        boolean success = false;
         
         try (Connection conn = dataSourceProvider.getConnection();
              Statement stmt = conn.createStatement();
@@ -111,9 +122,12 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
             while (rs.next()) {
                 results.add(mapRowToEntity(rs));
             }
+            success = true;
         } catch (SQLException e) {
             log.error("Failed to find all entities", e);
             throw new RuntimeException("Failed to find all entities", e);
+        } finally {
+            commitSqlEvent(event, sql, success ? results.size() : -1);
         }
         
         return results;
@@ -145,17 +159,22 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     public boolean deleteById(@NotNull ID id) {
         String sql = buildDeleteByIdSql();
         log.debug("Executing SQL: {} with id: {}", sql, id);
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        int rows = -1;
         
         try (Connection conn = dataSourceProvider.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             setParameter(stmt, 1, id);
             
-            int rows = stmt.executeUpdate();
+            rows = stmt.executeUpdate();
             return rows > 0;
         } catch (SQLException e) {
             log.error("Failed to delete entity by id: {}", id, e);
             throw new RuntimeException("Failed to delete entity by id", e);
+        } finally {
+            commitSqlEvent(event, sql, rows);
         }
     }
     
@@ -188,17 +207,24 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     public long count() {
         String sql = buildCountSql();
         log.debug("Executing SQL: {}", sql);
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        long rows = -1;
         
         try (Connection conn = dataSourceProvider.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            rows = 0;
             if (rs.next()) {
+                rows = 1;
                 return rs.getLong(1);
             }
         } catch (SQLException e) {
             log.error("Failed to count entities", e);
             throw new RuntimeException("Failed to count entities", e);
+        } finally {
+            commitSqlEvent(event, sql, rows);
         }
         
         return 0;
@@ -211,6 +237,19 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     
     // ========== 私有辅助方法 ==========
     
+    /**
+     * 提交 SQL 语句的 JFR 事件，未开启录制或耗时低于阈值时不记录
+     */
+    private void commitSqlEvent(@NotNull SqlStatementEvent event, @NotNull String sql, long rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = sql;
+            event.entity = entityClass.getSimpleName();
+            event.rows = rows;
+            event.commit();
+        }
+    }
+    
     /**
      * 判断主键是否为自动生成
      */
@@ -230,12 +269,15 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     public T insert(@NotNull T entity) {
         String sql = buildInsertSql();
         log.debug("Executing SQL: {}", sql);
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        int rows = -1;
         
         try (Connection conn = dataSourceProvider.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             setInsertParameters(stmt, entity);
-            stmt.executeUpdate();
+            rows = stmt.executeUpdate();
             
             // 处理自动生成的主键
             if (isAutoGeneratedKey()) {
@@ -263,6 +305,8 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
         } catch (SQLException e) {
             log.error("Failed to insert entity", e);
             throw new RuntimeException("Failed to insert entity", e);
+        } finally {
+            commitSqlEvent(event, sql, rows);
         }
     }
     
@@ -273,6 +317,9 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
     private T updateEntity(@NotNull T entity) {
         String sql = buildUpdateSql();
         log.debug("Executing SQL: {}", sql);
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        int rows = -1;
         
         try (Connection conn = dataSourceProvider.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -281,7 +328,7 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
             ID id = getPrimaryKeyValue(entity);
             setParameter(stmt, getUpdateParameterCount(), id);
             
-            int rows = stmt.executeUpdate();
+            rows = stmt.executeUpdate();
             if (rows == 0) {
                 throw new RuntimeException("Failed to update entity");
             }
@@ -290,6 +337,8 @@ public class JdbcRepository<T, ID> implements BaseRepository<T, ID> {
         } catch (SQLException e) {
             log.error("Failed to update entity", e);
             throw new RuntimeException("Failed to update entity", e);
+        } finally {
+            commitSqlEvent(event, sql, rows);
         }
     }
     
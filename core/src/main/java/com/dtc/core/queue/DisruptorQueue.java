@@ -1,6 +1,11 @@
 package com.dtc.core.queue;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.metrics.Counter;
+import com.dtc.core.metrics.Gauge;
+import com.dtc.core.metrics.MetricsRegistry;
+import com.dtc.core.metrics.Timer;
 import com.lmax.disruptor.*;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
@@ -8,6 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -15,6 +23,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Disruptor 队列实现
  * 基于高性能无锁队列Disruptor实现，提供高吞吐量的消息处理
+ * <p>
+ * 剩余容量和各消费者的积压（生产者游标减消费者序号）在读取时直接从序号计算；
+ * 消费者的忙碌时间按批次计时，发布被阻塞的时间只在环形缓冲区已满时计时，不增加每个事件的开销。
  * 
  * @author Network Service Template
  */
@@ -27,6 +38,13 @@ public class DisruptorQueue<T> {
     private final Disruptor<QueueEvent<T>> disruptor;
     private final RingBuffer<QueueEvent<T>> ringBuffer;
     private final AtomicBoolean started = new AtomicBoolean(false);
+    // 事件从发布到消费者开始处理的等待时间（纳秒）
+    private final Timer publishToConsumeTimer = new Timer();
+    // 环形缓冲区已满时发布被阻塞的时间（纳秒）
+    private final Timer publishBlockedTimer = new Timer();
+    private final List<ConsumerMetrics> consumerMetrics = new CopyOnWriteArrayList<>();
+    private volatile MetricsRegistry metricsRegistry;
+    private volatile String metricsName;
 
     public DisruptorQueue() {
         this(DEFAULT_BUFFER_SIZE);
@@ -84,11 +102,20 @@ public class DisruptorQueue<T> {
         }
 
         try {
-            long sequence = ringBuffer.next();
+            long sequence;
+            try {
+                sequence = ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                // 缓冲区已满，阻塞等待最慢的消费者
+                long blockedSince = System.nanoTime();
+                sequence = ringBuffer.next();
+                publishBlockedTimer.recordSince(blockedSince);
+            }
             try {
                 QueueEvent<T> event = ringBuffer.get(sequence);
                 event.setData(data);
                 event.setTimestamp(System.currentTimeMillis());
+                event.setPublishNanos(System.nanoTime());
             } finally {
                 ringBuffer.publish(sequence);
             }
@@ -106,7 +133,7 @@ public class DisruptorQueue<T> {
      */
     public void addConsumer(@NotNull QueueConsumer<T> consumer) {
         @SuppressWarnings("unchecked")
-        QueueEventHandler<T>[] handlers = new QueueEventHandler[] { new QueueEventHandler<>(consumer) };
+        QueueEventHandler<T>[] handlers = new QueueEventHandler[] { newHandler(consumer) };
         disruptor.handleEventsWith(handlers);
         log.info("Added consumer: {}", consumer.getClass().getSimpleName());
     }
@@ -121,7 +148,7 @@ public class DisruptorQueue<T> {
         @SuppressWarnings("unchecked")
         QueueEventHandler<T>[] handlers = (QueueEventHandler<T>[]) new QueueEventHandler[consumers.length];
         for (int i = 0; i < consumers.length; i++) {
-            handlers[i] = new QueueEventHandler<>(consumers[i]);
+            handlers[i] = newHandler(consumers[i]);
         }
         disruptor.handleEventsWith(handlers);
         log.info("Added {} consumers for parallel processing", consumers.length);
@@ -129,11 +156,89 @@ public class DisruptorQueue<T> {
 
     /**
      * 获取队列状态
+     * 消费者的事件速率和忙碌比例以上一次调用以来为统计窗口，首次调用时从队列创建算起
      */
     @NotNull
     public QueueStatus getStatus() {
-        return new QueueStatus(started.get(), ringBuffer.getBufferSize(), ringBuffer.remainingCapacity(),
-                ringBuffer.getCursor());
+        long cursor = ringBuffer.getCursor();
+        long now = System.nanoTime();
+        List<ConsumerStatus> consumers = new ArrayList<>(consumerMetrics.size());
+        for (ConsumerMetrics metrics : consumerMetrics) {
+            consumers.add(metrics.sample(cursor, now));
+        }
+        return new QueueStatus(started.get(), ringBuffer.getBufferSize(), ringBuffer.remainingCapacity(), cursor,
+                publishBlockedTimer.getCount(), publishBlockedTimer.getTotalNanos(), consumers);
+    }
+
+    /**
+     * 把队列指标注册到指标注册表，以 queue 标签区分队列，之后添加的消费者也会注册
+     *
+     * @param registry 指标注册表
+     * @param name     队列名称
+     */
+    public void registerMetrics(@NotNull MetricsRegistry registry, @NotNull String name) {
+        registry.gaugeFamily("queue_capacity", "Ring buffer size", "queue")
+                .register(new Gauge(ringBuffer::getBufferSize), name);
+        registry.gaugeFamily("queue_remaining_capacity", "Free slots in the ring buffer", "queue")
+                .register(new Gauge(ringBuffer::remainingCapacity), name);
+        registry.timerFamily("queue_publish_blocked_seconds",
+                "Time publishers spent blocked on a full ring buffer in seconds", "queue")
+                .register(publishBlockedTimer, name);
+        registry.timerFamily("queue_publish_to_consume_seconds", "Queue publish to consume latency in seconds",
+                "queue").register(publishToConsumeTimer, name);
+        this.metricsName = name;
+        this.metricsRegistry = registry;
+        for (ConsumerMetrics metrics : consumerMetrics) {
+            registerConsumerMetrics(registry, name, metrics);
+        }
+    }
+
+    private void registerConsumerMetrics(@NotNull MetricsRegistry registry, @NotNull String name,
+            @NotNull ConsumerMetrics metrics) {
+        registry.gaugeFamily("queue_consumer_lag", "Producer cursor minus consumer sequence", "queue", "consumer")
+                .register(new Gauge(() -> Math.max(0, ringBuffer.getCursor() - metrics.sequence())), name,
+                        metrics.name);
+        registry.counterFamily("queue_consumer_events_total", "Events processed by the consumer", "queue",
+                "consumer").register(new Counter(() -> metrics.sequence() + 1), name, metrics.name);
+        registry.timerFamily("queue_consumer_batch_seconds",
+                "Consumer batch processing time in seconds, rate of _sum is the busy ratio", "queue", "consumer")
+                .register(metrics.batchTimer, name, metrics.name);
+    }
+
+    @NotNull
+    private QueueEventHandler<T> newHandler(@NotNull QueueConsumer<T> consumer) {
+        String name = consumer.getClass().getSimpleName();
+        for (ConsumerMetrics existing : consumerMetrics) {
+            if (existing.name.equals(name)) {
+                name = name + "#" + consumerMetrics.size();
+                break;
+            }
+        }
+        Timer batchTimer = new Timer();
+        QueueEventHandler<T> handler = new QueueEventHandler<>(consumer, publishToConsumeTimer, batchTimer);
+        ConsumerMetrics metrics = new ConsumerMetrics(name, handler, batchTimer);
+        consumerMetrics.add(metrics);
+        MetricsRegistry registry = metricsRegistry;
+        if (registry != null) {
+            registerConsumerMetrics(registry, metricsName, metrics);
+        }
+        return handler;
+    }
+
+    /**
+     * 获取发布被阻塞的时间计时器，只在环形缓冲区已满时记录
+     */
+    @NotNull
+    public Timer getPublishBlockedTimer() {
+        return publishBlockedTimer;
+    }
+
+    /**
+     * 获取发布到消费的等待时间计时器，并行消费者各自记录一次
+     */
+    @NotNull
+    public Timer getPublishToConsumeTimer() {
+        return publishToConsumeTimer;
     }
 
     /**
@@ -142,6 +247,7 @@ public class DisruptorQueue<T> {
     public static class QueueEvent<T> {
         private T data;
         private long timestamp;
+        private long publishNanos;
 
         public T getData() {
             return data;
@@ -158,6 +264,14 @@ public class DisruptorQueue<T> {
         public void setTimestamp(long timestamp) {
             this.timestamp = timestamp;
         }
+
+        public long getPublishNanos() {
+            return publishNanos;
+        }
+
+        public void setPublishNanos(long publishNanos) {
+            this.publishNanos = publishNanos;
+        }
     }
 
     /**
@@ -173,21 +287,143 @@ public class DisruptorQueue<T> {
     /**
      * 队列事件处理器
      */
-    public static class QueueEventHandler<T> implements EventHandler<QueueEvent<T>> {
+    public static class QueueEventHandler<T> implements EventHandler<QueueEvent<T>>, BatchStartAware {
         private final QueueConsumer<T> consumer;
+        private final Timer publishToConsumeTimer;
+        private final Timer batchTimer;
+        // 只由消费者线程读写
+        private long batchStartNanos;
 
         public QueueEventHandler(@NotNull QueueConsumer<T> consumer) {
+            this(consumer, null);
+        }
+
+        public QueueEventHandler(@NotNull QueueConsumer<T> consumer, @Nullable Timer publishToConsumeTimer) {
+            this(consumer, publishToConsumeTimer, null);
+        }
+
+        public QueueEventHandler(@NotNull QueueConsumer<T> consumer, @Nullable Timer publishToConsumeTimer,
+                @Nullable Timer batchTimer) {
             this.consumer = consumer;
+            this.publishToConsumeTimer = publishToConsumeTimer;
+            this.batchTimer = batchTimer;
+        }
+
+        @Override
+        public void onBatchStart(long batchSize) {
+            if (batchTimer != null) {
+                batchStartNanos = System.nanoTime();
+            }
         }
 
         @Override
         public void onEvent(QueueEvent<T> event, long sequence, boolean endOfBatch) throws Exception {
+            if (publishToConsumeTimer != null) {
+                publishToConsumeTimer.recordSince(event.getPublishNanos());
+            }
             try {
                 consumer.consume(event.getData(), sequence, endOfBatch);
             } catch (Exception e) {
                 log.error("Error processing queue event", e);
                 // 可以通过路由管理器实现错误处理逻辑
             }
+            if (endOfBatch && batchTimer != null) {
+                batchTimer.recordSince(batchStartNanos);
+            }
+        }
+    }
+
+    /**
+     * 消费者的指标来源：消费者序号和批次计时器，以及上一次采样的值
+     */
+    private final class ConsumerMetrics {
+        private final String name;
+        private final QueueEventHandler<T> handler;
+        private final Timer batchTimer;
+        private long lastSequence = -1;
+        private long lastBusyNanos;
+        private long lastSampleNanos = System.nanoTime();
+
+        ConsumerMetrics(@NotNull String name, @NotNull QueueEventHandler<T> handler, @NotNull Timer batchTimer) {
+            this.name = name;
+            this.handler = handler;
+            this.batchTimer = batchTimer;
+        }
+
+        long sequence() {
+            return disruptor.getSequenceValueFor(handler);
+        }
+
+        synchronized ConsumerStatus sample(long cursor, long now) {
+            long sequence = sequence();
+            long busyNanos = batchTimer.getTotalNanos();
+            long elapsed = Math.max(1, now - lastSampleNanos);
+            double eventsPerSecond = (sequence - lastSequence) * 1e9 / elapsed;
+            double busyRatio = Math.min(1.0, (busyNanos - lastBusyNanos) / (double) elapsed);
+            lastSequence = sequence;
+            lastBusyNanos = busyNanos;
+            lastSampleNanos = now;
+            return new ConsumerStatus(name, Math.max(0, cursor - sequence), sequence + 1, eventsPerSecond,
+                    busyRatio);
+        }
+    }
+
+    /**
+     * 消费者状态
+     */
+    public static class ConsumerStatus {
+        private final String name;
+        private final long lag;
+        private final long processed;
+        private final double eventsPerSecond;
+        private final double busyRatio;
+
+        public ConsumerStatus(@NotNull String name, long lag, long processed, double eventsPerSecond,
+                double busyRatio) {
+            this.name = name;
+            this.lag = lag;
+            this.processed = processed;
+            this.eventsPerSecond = eventsPerSecond;
+            this.busyRatio = busyRatio;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 已发布但该消费者尚未处理的事件数
+         */
+        public long getLag() {
+            return lag;
+        }
+
+        /**
+         * 累计处理的事件数
+         */
+        public long getProcessed() {
+            return processed;
+        }
+
+        /**
+         * 统计窗口内每秒处理的事件数
+         */
+        public double getEventsPerSecond() {
+            return eventsPerSecond;
+        }
+
+        /**
+         * 统计窗口内处理事件的时间占比，接近 1 表示消费者已饱和
+         */
+        public double getBusyRatio() {
+            return busyRatio;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ConsumerStatus{name=%s, lag=%d, processed=%d, rate=%.1f/s, busy=%.2f}", name, lag,
+                    processed, eventsPerSecond, busyRatio);
         }
     }
 
@@ -199,12 +435,23 @@ public class DisruptorQueue<T> {
         private final int bufferSize;
         private final long remainingCapacity;
         private final long cursor;
+        private final long publishBlockedCount;
+        private final long publishBlockedNanos;
+        private final List<ConsumerStatus> consumers;
 
         public QueueStatus(boolean started, int bufferSize, long remainingCapacity, long cursor) {
+            this(started, bufferSize, remainingCapacity, cursor, 0, 0, List.of());
+        }
+
+        public QueueStatus(boolean started, int bufferSize, long remainingCapacity, long cursor,
+                long publishBlockedCount, long publishBlockedNanos, @NotNull List<ConsumerStatus> consumers) {
             this.started = started;
             this.bufferSize = bufferSize;
             this.remainingCapacity = remainingCapacity;
             this.cursor = cursor;
+            this.publishBlockedCount = publishBlockedCount;
+            this.publishBlockedNanos = publishBlockedNanos;
+            this.consumers = List.copyOf(consumers);
         }
 
         public boolean isStarted() {
@@ -223,10 +470,32 @@ public class DisruptorQueue<T> {
             return cursor;
         }
 
+        /**
+         * 因缓冲区已满而阻塞的发布次数
+         */
+        public long getPublishBlockedCount() {
+            return publishBlockedCount;
+        }
+
+        /**
+         * 发布被阻塞的累计时间（纳秒）
+         */
+        public long getPublishBlockedNanos() {
+            return publishBlockedNanos;
+        }
+
+        /**
+         * 各消费者的状态
+         */
+        @NotNull
+        public List<ConsumerStatus> getConsumers() {
+            return consumers;
+        }
+
         @Override
         public String toString() {
-            return String.format("QueueStatus{started=%s, bufferSize=%d, remaining=%d, cursor=%d}", started, bufferSize,
-                    remainingCapacity, cursor);
+            return String.format("QueueStatus{started=%s, bufferSize=%d, remaining=%d, cursor=%d, blocked=%d, "
+                    + "consumers=%s}", started, bufferSize, remainingCapacity, cursor, publishBlockedCount, consumers);
         }
     }
 }
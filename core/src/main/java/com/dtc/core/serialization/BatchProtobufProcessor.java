@@ -1,25 +1,34 @@
 package com.dtc.core.serialization;
 
 import com.dtc.api.annotations.NotNull;
-import com.dtc.api.annotations.Nullable;
+import com.dtc.core.metrics.Histogram;
+import com.dtc.core.metrics.HistogramSnapshot;
 import com.google.protobuf.Message;
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
  * 批量 Protobuf 处理器
  * 提供高性能的批量序列化/反序列化功能
+ * <p>
+ * 消息发布到多生产者 RingBuffer，由专用线程按顺序取出组成批次：批次达到最大条数，或者批次中第一条消息
+ * 发布后等待超过最大延迟（微秒）时立即提交，以先到者为准。消费线程在没有新消息时挂起到当前批次的截止时间，
+ * 生产者发布时唤醒它，因此低负载时延迟不受固定的调度周期限制。
+ * 批次以连续的数组交给消费者，消费者列表为写时复制，提交时不加锁。批次大小和等待时间记录在直方图中。
  * 
  * @author Network Service Template
  */
@@ -28,70 +37,94 @@ public class BatchProtobufProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(BatchProtobufProcessor.class);
 
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    private static final long DEFAULT_MAX_LINGER_MICROS = 1000;
+    private static final int DEFAULT_BUFFER_SIZE = 16384;
+    private static final long MAX_TRACKABLE_LINGER_MICROS = TimeUnit.MINUTES.toMicros(1);
+
     private final OptimizedProtobufSerializer serializer;
-    private final ScheduledExecutorService scheduler;
-    private final BlockingQueue<Message> messageQueue;
-    private final List<Consumer<Message[]>> batchConsumers;
+    private final RingBuffer<MessageEvent> ringBuffer;
+    private final LingerWaitStrategy waitStrategy;
+    private final SequenceBarrier barrier;
+    private final Sequence sequence = new Sequence(-1);
+    private final List<Consumer<Message[]>> batchConsumers = new CopyOnWriteArrayList<>();
 
     // 配置参数
     private final int maxBatchSize;
-    private final long maxBatchDelayMs;
-    private final int queueCapacity;
+    private final long maxLingerMicros;
+    private final long maxLingerNanos;
 
     // 统计信息
-    private final AtomicLong totalBatches = new AtomicLong(0);
-    private final AtomicLong totalMessages = new AtomicLong(0);
-    private final AtomicLong totalProcessingTime = new AtomicLong(0);
+    private final LongAdder totalBatches = new LongAdder();
+    private final LongAdder totalMessages = new LongAdder();
+    private final LongAdder rejectedMessages = new LongAdder();
+    private final LongAdder totalProcessingTime = new LongAdder();
+    private final Histogram batchSizeHistogram;
+    private final Histogram lingerHistogram = new Histogram(MAX_TRACKABLE_LINGER_MICROS);
 
     private volatile boolean running = false;
+    private Thread processorThread;
 
     public BatchProtobufProcessor() {
-        this(1000, 100, 10000); // 默认配置
+        this(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LINGER_MICROS, DEFAULT_BUFFER_SIZE); // 默认配置
     }
 
-    public BatchProtobufProcessor(int maxBatchSize, long maxBatchDelayMs, int queueCapacity) {
+    /**
+     * @param maxBatchSize    每批最多的消息数
+     * @param maxLingerMicros 批次中第一条消息最多等待的微秒数
+     * @param bufferSize      RingBuffer 大小，向上取整到 2 的幂
+     */
+    public BatchProtobufProcessor(int maxBatchSize, long maxLingerMicros, int bufferSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
         this.serializer = new OptimizedProtobufSerializer();
-        this.scheduler = Executors.newScheduledThreadPool(2);
-        this.messageQueue = new LinkedBlockingQueue<>(queueCapacity);
-        this.batchConsumers = new ArrayList<>();
         this.maxBatchSize = maxBatchSize;
-        this.maxBatchDelayMs = maxBatchDelayMs;
-        this.queueCapacity = queueCapacity;
+        this.maxLingerMicros = maxLingerMicros;
+        this.maxLingerNanos = TimeUnit.MICROSECONDS.toNanos(maxLingerMicros);
+        this.batchSizeHistogram = new Histogram(Math.max(maxBatchSize, 128));
+
+        this.waitStrategy = new LingerWaitStrategy();
+        int capacity = 1 << -Integer.numberOfLeadingZeros(Math.max(bufferSize, 2) - 1);
+        this.ringBuffer = RingBuffer.createMultiProducer(MessageEvent::new, capacity, waitStrategy);
+        this.barrier = ringBuffer.newBarrier();
+        this.ringBuffer.addGatingSequences(sequence);
     }
 
     /**
      * 启动批量处理器
      */
-    public void start() {
+    public synchronized void start() {
         if (running) {
             return;
         }
 
         running = true;
+        barrier.clearAlert();
+        processorThread = new Thread(this::processEvents, "BatchProtobufProcessor");
+        processorThread.setDaemon(true);
+        processorThread.start();
 
-        // 启动批量处理线程
-        scheduler.scheduleAtFixedRate(this::processBatch, maxBatchDelayMs, maxBatchDelayMs, TimeUnit.MILLISECONDS);
-
-        // 启动立即处理线程
-        scheduler.scheduleAtFixedRate(this::processImmediateBatch, 10, 10, TimeUnit.MILLISECONDS);
-
-        log.info("Batch Protobuf processor started with batchSize={}, delay={}ms, queueCapacity={}", maxBatchSize,
-                maxBatchDelayMs, queueCapacity);
+        log.info("Batch Protobuf processor started with batchSize={}, linger={}us, bufferSize={}", maxBatchSize,
+                maxLingerMicros, ringBuffer.getBufferSize());
     }
 
     /**
-     * 停止批量处理器
+     * 停止批量处理器，已发布的消息提交完后返回
      */
-    public void stop() {
+    public synchronized void stop() {
         if (!running) {
             return;
         }
 
         running = false;
-        scheduler.shutdown();
-
-        // 处理剩余消息
-        processRemainingMessages();
+        barrier.alert();
+        try {
+            processorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        processorThread = null;
 
         log.info("Batch Protobuf processor stopped");
     }
@@ -100,27 +133,27 @@ public class BatchProtobufProcessor {
      * 添加消息到批量处理器队列
      * 
      * @param message 要处理的消息
-     * @return 是否成功添加
+     * @return 是否成功添加，RingBuffer 已满时返回 false
      */
     public boolean addMessage(@NotNull Message message) {
         if (!running) {
             return false;
         }
 
+        long claimed;
         try {
-            boolean added = messageQueue.offer(message);
-            if (added) {
-                totalMessages.incrementAndGet();
-            }
-            return added;
-        } catch (Exception e) {
-            log.error("Failed to add message to batch queue", e);
+            claimed = ringBuffer.tryNext();
+        } catch (InsufficientCapacityException e) {
+            rejectedMessages.increment();
             return false;
         }
+        publish(claimed, claimed, List.of(message));
+        return true;
     }
 
     /**
      * 批量添加消息
+     * 空间足够时一次申请连续的序号，否则逐条添加直到 RingBuffer 已满
      * 
      * @param messages 消息列表
      * @return 成功添加的消息数量
@@ -130,26 +163,47 @@ public class BatchProtobufProcessor {
             return 0;
         }
 
+        if (messages.size() <= ringBuffer.getBufferSize()) {
+            try {
+                long hi = ringBuffer.tryNext(messages.size());
+                publish(hi - messages.size() + 1, hi, messages);
+                return messages.size();
+            } catch (InsufficientCapacityException e) {
+                // 逐条添加
+            }
+        }
+
         int addedCount = 0;
         for (Message message : messages) {
-            if (messageQueue.offer(message)) {
-                addedCount++;
-                totalMessages.incrementAndGet();
+            if (!addMessage(message)) {
+                break;
             }
+            addedCount++;
         }
-
         return addedCount;
     }
 
+    private void publish(long lo, long hi, @NotNull List<Message> messages) {
+        long now = System.nanoTime();
+        try {
+            for (long claimed = lo; claimed <= hi; claimed++) {
+                MessageEvent event = ringBuffer.get(claimed);
+                event.message = messages.get((int) (claimed - lo));
+                event.publishNanos = now;
+            }
+        } finally {
+            ringBuffer.publish(lo, hi);
+        }
+        totalMessages.add(hi - lo + 1);
+    }
+
     /**
      * 添加批量消息消费者
      * 
      * @param consumer 消息消费者
      */
     public void addBatchConsumer(@NotNull Consumer<Message[]> consumer) {
-        synchronized (batchConsumers) {
-            batchConsumers.add(consumer);
-        }
+        batchConsumers.add(consumer);
     }
 
     /**
@@ -158,87 +212,130 @@ public class BatchProtobufProcessor {
      * @param consumer 消息消费者
      */
     public void removeBatchConsumer(@NotNull Consumer<Message[]> consumer) {
-        synchronized (batchConsumers) {
-            batchConsumers.remove(consumer);
-        }
+        batchConsumers.remove(consumer);
     }
 
     /**
-     * 处理批量消息
+     * 消费线程：按顺序取出消息组成批次，满批或者等待超时时提交
      */
-    private void processBatch() {
-        if (!running || messageQueue.isEmpty()) {
-            return;
+    private void processEvents() {
+        Message[] batch = new Message[maxBatchSize];
+        int count = 0;
+        long firstPublishNanos = 0;
+        long nextSequence = sequence.get() + 1;
+
+        while (true) {
+            try {
+                if (count == 0) {
+                    waitStrategy.clearDeadline();
+                } else {
+                    waitStrategy.setDeadline(firstPublishNanos + maxLingerNanos);
+                }
+                long availableSequence = barrier.waitFor(nextSequence);
+                while (nextSequence <= availableSequence) {
+                    MessageEvent event = ringBuffer.get(nextSequence);
+                    if (count == 0) {
+                        firstPublishNanos = event.publishNanos;
+                    }
+                    batch[count++] = event.message;
+                    event.message = null;
+                    nextSequence++;
+                    if (count == maxBatchSize) {
+                        sequence.set(nextSequence - 1);
+                        flush(batch, count, firstPublishNanos);
+                        count = 0;
+                    }
+                }
+                // 消息已经复制到批次中，释放 RingBuffer 的空间
+                sequence.set(nextSequence - 1);
+                if (count > 0 && System.nanoTime() - firstPublishNanos >= maxLingerNanos) {
+                    flush(batch, count, firstPublishNanos);
+                    count = 0;
+                }
+            } catch (TimeoutException e) {
+                if (count > 0) {
+                    flush(batch, count, firstPublishNanos);
+                    count = 0;
+                }
+            } catch (AlertException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                log.error("Error in batch processor loop", e);
+            }
         }
 
-        List<Message> batch = new ArrayList<>(maxBatchSize);
-        messageQueue.drainTo(batch, maxBatchSize);
-
-        if (!batch.isEmpty()) {
-            processMessageBatch(batch.toArray(new Message[0]));
+        // 提交停止前已经发布的消息
+        while (ringBuffer.isPublished(nextSequence)) {
+            MessageEvent event = ringBuffer.get(nextSequence);
+            if (count == 0) {
+                firstPublishNanos = event.publishNanos;
+            }
+            batch[count++] = event.message;
+            event.message = null;
+            nextSequence++;
+            if (count == maxBatchSize) {
+                flush(batch, count, firstPublishNanos);
+                count = 0;
+            }
+        }
+        sequence.set(nextSequence - 1);
+        if (count > 0) {
+            log.info("Processing {} remaining messages", count);
+            flush(batch, count, firstPublishNanos);
         }
     }
 
     /**
-     * 立即处理批量消息（当队列达到最大批次大小时）
+     * 提交一个批次
      */
-    private void processImmediateBatch() {
-        if (!running || messageQueue.size() < maxBatchSize) {
-            return;
+    private void flush(@NotNull Message[] batch, int count, long firstPublishNanos) {
+        long startTime = System.nanoTime();
+        Message[] messages = Arrays.copyOf(batch, count);
+        Arrays.fill(batch, 0, count, null);
+        batchSizeHistogram.record(count);
+        lingerHistogram.record(TimeUnit.NANOSECONDS.toMicros(startTime - firstPublishNanos));
+
+        // 通知所有消息消费者
+        for (Consumer<Message[]> consumer : batchConsumers) {
+            try {
+                consumer.accept(messages);
+            } catch (Exception e) {
+                log.error("Error in batch consumer", e);
+            }
         }
 
-        List<Message> batch = new ArrayList<>(maxBatchSize);
-        messageQueue.drainTo(batch, maxBatchSize);
+        totalBatches.increment();
+        totalProcessingTime.add(System.nanoTime() - startTime);
 
-        if (!batch.isEmpty()) {
-            processMessageBatch(batch.toArray(new Message[0]));
-        }
+        log.debug("Processed batch of {} messages in {}ns", count, System.nanoTime() - startTime);
     }
 
     /**
-     * 处理消息批次
-     * 
-     * @param messages 消息数组
+     * 批次大小分布
      */
-    private void processMessageBatch(@NotNull Message[] messages) {
-        long startTime = System.nanoTime();
-
-        try {
-            // 批量序列化
-            byte[][] serializedData = serializer.serializeBatch(messages);
-
-            // 通知所有消息消费者
-            synchronized (batchConsumers) {
-                for (Consumer<Message[]> consumer : batchConsumers) {
-                    try {
-                        consumer.accept(messages);
-                    } catch (Exception e) {
-                        log.error("Error in batch consumer", e);
-                    }
-                }
-            }
-
-            totalBatches.incrementAndGet();
-            totalProcessingTime.addAndGet(System.nanoTime() - startTime);
-
-            log.debug("Processed batch of {} messages in {}ns", messages.length, System.nanoTime() - startTime);
-
-        } catch (Exception e) {
-            log.error("Error processing message batch", e);
-        }
+    @NotNull
+    public HistogramSnapshot getBatchSizeSnapshot() {
+        return batchSizeHistogram.snapshot();
     }
 
     /**
-     * 处理剩余消息
+     * 批次中第一条消息从发布到提交的等待时间分布（微秒）
      */
-    private void processRemainingMessages() {
-        List<Message> remainingMessages = new ArrayList<>();
-        messageQueue.drainTo(remainingMessages);
+    @NotNull
+    public HistogramSnapshot getLingerSnapshot() {
+        return lingerHistogram.snapshot();
+    }
 
-        if (!remainingMessages.isEmpty()) {
-            log.info("Processing {} remaining messages", remainingMessages.size());
-            processMessageBatch(remainingMessages.toArray(new Message[0]));
-        }
+    /**
+     * 因 RingBuffer 已满被拒绝的消息数
+     */
+    public long getRejectedMessages() {
+        return rejectedMessages.sum();
     }
 
     /**
@@ -246,8 +343,9 @@ public class BatchProtobufProcessor {
      */
     @NotNull
     public QueueStatus getQueueStatus() {
-        return new QueueStatus(messageQueue.size(), queueCapacity, totalBatches.get(), totalMessages.get(),
-                totalProcessingTime.get());
+        int currentSize = (int) (ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+        return new QueueStatus(currentSize, ringBuffer.getBufferSize(), totalBatches.sum(), totalMessages.sum(),
+                totalProcessingTime.sum());
     }
 
     /**
@@ -260,6 +358,14 @@ public class BatchProtobufProcessor {
         log.info("Batch processor warmed up for {} message types", messageClasses.length);
     }
 
+    /**
+     * RingBuffer 事件
+     */
+    private static final class MessageEvent {
+        private Message message;
+        private long publishNanos;
+    }
+
     /**
      * 队列状态
      */
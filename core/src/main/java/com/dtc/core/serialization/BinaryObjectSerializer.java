@@ -0,0 +1,850 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 紧凑二进制对象序列化器
+ * 与 Kryo 的 FieldSerializer 类似：每个值以类型 ID 开头，常用 JDK 类型使用固定 ID，业务类型通过
+ * {@link #register(Class)} 按注册顺序（或显式指定）分配 ID，只写一个 varint。
+ * <p>
+ * 默认只接受固定类型和已注册的类型，反序列化时不会按数据中的类名加载任意类。不方便统一注册 ID 的类型可以通过
+ * {@link #allow(Class)} 或系统属性 serialization.binary.allowed.classes（逗号分隔的类名）放行，按类名写出；
+ * 设置 serialization.binary.registration.required=false 或调用 {@link #setRegistrationRequired(boolean)}
+ * 后按类名读写任意类型，只应在两端都可信时使用。
+ * <p>
+ * 普通类按字段名排序后依次写出字段值，基本类型字段直接写 varint 或定长值，不写字段名和类型；record 按组件顺序写出，
+ * 通过规范构造器创建；枚举写序号。普通类需要无参构造器。List、Set、Map 分别还原为 ArrayList、LinkedHashSet、
+ * LinkedHashMap。
+ * <p>
+ * 格式不包含字段信息，两端的类结构和注册顺序必须一致；不跟踪引用，不支持循环引用的对象图。
+ *
+ * @author Network Service Template
+ */
+public class BinaryObjectSerializer implements ObjectSerializer {
+
+    public static final String NAME = "binary";
+
+    private static final int MAX_DEPTH = 256;
+
+    // 固定类型 ID
+    private static final int NULL = 0;
+    private static final int BOOLEAN = 1;
+    private static final int BYTE = 2;
+    private static final int SHORT = 3;
+    private static final int CHAR = 4;
+    private static final int INT = 5;
+    private static final int LONG = 6;
+    private static final int FLOAT = 7;
+    private static final int DOUBLE = 8;
+    private static final int STRING = 9;
+    private static final int BYTE_ARRAY = 10;
+    private static final int INT_ARRAY = 11;
+    private static final int LONG_ARRAY = 12;
+    private static final int DOUBLE_ARRAY = 13;
+    private static final int OBJECT_ARRAY = 14;
+    private static final int LIST = 15;
+    private static final int SET = 16;
+    private static final int MAP = 17;
+    private static final int OBJECT = 18;
+    private static final int BIG_DECIMAL = 19;
+    private static final int BIG_INTEGER = 20;
+    private static final int UUID_ID = 21;
+    private static final int INSTANT = 22;
+    private static final int NAMED = 31;
+    private static final int FIRST_REGISTERED_ID = 32;
+
+    private static final Map<Class<?>, Integer> BUILTIN_IDS = new HashMap<>();
+    private static final Class<?>[] BUILTIN_CLASSES = new Class<?>[FIRST_REGISTERED_ID];
+
+    static {
+        builtin(BOOLEAN, Boolean.class);
+        builtin(BYTE, Byte.class);
+        builtin(SHORT, Short.class);
+        builtin(CHAR, Character.class);
+        builtin(INT, Integer.class);
+        builtin(LONG, Long.class);
+        builtin(FLOAT, Float.class);
+        builtin(DOUBLE, Double.class);
+        builtin(STRING, String.class);
+        builtin(BYTE_ARRAY, byte[].class);
+        builtin(INT_ARRAY, int[].class);
+        builtin(LONG_ARRAY, long[].class);
+        builtin(DOUBLE_ARRAY, double[].class);
+        builtin(OBJECT, Object.class);
+        builtin(BIG_DECIMAL, BigDecimal.class);
+        builtin(BIG_INTEGER, BigInteger.class);
+        builtin(UUID_ID, UUID.class);
+        builtin(INSTANT, Instant.class);
+    }
+
+    private static void builtin(int id, @NotNull Class<?> type) {
+        BUILTIN_IDS.put(type, id);
+        BUILTIN_CLASSES[id] = type;
+    }
+
+    private final Map<Class<?>, ClassInfo> classes = new ConcurrentHashMap<>();
+    private final Map<Integer, ClassInfo> registeredById = new ConcurrentHashMap<>();
+    private final Map<String, ClassInfo> namedClasses = new ConcurrentHashMap<>();
+    private final Set<String> allowedNames = ConcurrentHashMap.newKeySet();
+    private int nextId = FIRST_REGISTERED_ID;
+    private volatile boolean registrationRequired = Boolean.parseBoolean(
+            System.getProperty("serialization.binary.registration.required", "true"));
+
+    public BinaryObjectSerializer() {
+        String allowed = System.getProperty("serialization.binary.allowed.classes", "");
+        for (String name : allowed.split(",")) {
+            if (!name.isBlank()) {
+                allowedNames.add(name.trim());
+            }
+        }
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * 按注册顺序分配类型 ID 注册类型，两端必须以相同顺序注册
+     */
+    public synchronized void register(@NotNull Class<?> type) {
+        while (registeredById.containsKey(nextId)) {
+            nextId++;
+        }
+        register(type, nextId++);
+    }
+
+    /**
+     * 以指定的类型 ID 注册类型
+     *
+     * @param id 类型 ID，不小于 32
+     */
+    public synchronized void register(@NotNull Class<?> type, int id) {
+        if (id < FIRST_REGISTERED_ID) {
+            throw new IllegalArgumentException("Type id must be at least " + FIRST_REGISTERED_ID + ": " + id);
+        }
+        ClassInfo existing = registeredById.get(id);
+        if (existing != null && existing.type != type) {
+            throw new IllegalArgumentException("Type id " + id + " already registered for " + existing.type.getName());
+        }
+        ClassInfo info = new ClassInfo(type, id);
+        classes.put(type, info);
+        registeredById.put(id, info);
+    }
+
+    /**
+     * 放行未注册的类型，按类名读写；只影响这些类型本身，字段中的其他类型仍需注册或放行
+     */
+    public void allow(@NotNull Class<?>... types) {
+        for (Class<?> type : types) {
+            allowedNames.add(type.getName());
+        }
+    }
+
+    /**
+     * 是否只允许已注册或放行的类型（默认是），遇到其他类型时序列化和反序列化都会失败
+     */
+    public void setRegistrationRequired(boolean registrationRequired) {
+        this.registrationRequired = registrationRequired;
+    }
+
+    @Override
+    @NotNull
+    public byte[] serialize(@Nullable Object value) {
+        Output output = new Output(64);
+        try {
+            writeObject(output, value, 0);
+        } catch (ProtobufSerializer.SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProtobufSerializer.SerializationException("Failed to serialize " + value.getClass().getName(), e);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T deserialize(@NotNull byte[] data, @NotNull Class<T> type) {
+        Input input = new Input(data);
+        try {
+            Object value = readObject(input, 0);
+            if (input.position != data.length) {
+                throw new ProtobufSerializer.SerializationException("Trailing bytes after value: "
+                        + (data.length - input.position));
+            }
+            if (value != null && !MethodType.methodType(type).wrap().returnType().isInstance(value)) {
+                throw new ProtobufSerializer.SerializationException("Expected " + type.getName() + " but got "
+                        + value.getClass().getName());
+            }
+            return (T) value;
+        } catch (ProtobufSerializer.SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProtobufSerializer.SerializationException("Failed to deserialize " + type.getName(), e);
+        }
+    }
+
+    // ========== 写出 ==========
+
+    private void writeObject(@NotNull Output out, @Nullable Object value, int depth) throws Exception {
+        if (value == null) {
+            out.writeVarint(NULL);
+            return;
+        }
+        if (depth > MAX_DEPTH) {
+            throw new ProtobufSerializer.SerializationException("Object graph too deep or cyclic");
+        }
+        Class<?> type = value.getClass();
+        Integer builtinId = BUILTIN_IDS.get(type);
+        if (builtinId != null) {
+            out.writeVarint(builtinId);
+            writeBuiltin(out, builtinId, value);
+        } else if (value instanceof Object[] array) {
+            out.writeVarint(OBJECT_ARRAY);
+            writeClassRef(out, type.getComponentType());
+            out.writeVarint(array.length);
+            for (Object element : array) {
+                writeObject(out, element, depth + 1);
+            }
+        } else if (value instanceof List<?> list && classes.get(type) == null) {
+            out.writeVarint(LIST);
+            writeElements(out, list, depth);
+        } else if (value instanceof Set<?> set && classes.get(type) == null) {
+            out.writeVarint(SET);
+            writeElements(out, set, depth);
+        } else if (value instanceof Map<?, ?> map && classes.get(type) == null) {
+            out.writeVarint(MAP);
+            out.writeVarint(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeObject(out, entry.getKey(), depth + 1);
+                writeObject(out, entry.getValue(), depth + 1);
+            }
+        } else {
+            if (value instanceof Enum<?> constant) {
+                type = constant.getDeclaringClass();
+            }
+            ClassInfo info = writeClassRef(out, type);
+            writeBody(out, info, value, depth);
+        }
+    }
+
+    private void writeElements(@NotNull Output out, @NotNull Collection<?> elements, int depth) throws Exception {
+        out.writeVarint(elements.size());
+        for (Object element : elements) {
+            writeObject(out, element, depth + 1);
+        }
+    }
+
+    private static void writeBuiltin(@NotNull Output out, int id, @NotNull Object value) {
+        switch (id) {
+            case BOOLEAN -> out.writeByte((Boolean) value ? 1 : 0);
+            case BYTE -> out.writeByte((Byte) value);
+            case SHORT -> out.writeVarint(zigZag((Short) value));
+            case CHAR -> out.writeVarint((Character) value);
+            case INT -> out.writeVarint(zigZag((Integer) value));
+            case LONG -> out.writeVarLong(zigZag((Long) value));
+            case FLOAT -> out.writeFixed32(Float.floatToIntBits((Float) value));
+            case DOUBLE -> out.writeFixed64(Double.doubleToLongBits((Double) value));
+            case STRING -> out.writeString((String) value);
+            case BYTE_ARRAY -> out.writeBytes((byte[]) value);
+            case INT_ARRAY -> {
+                int[] array = (int[]) value;
+                out.writeVarint(array.length);
+                for (int element : array) {
+                    out.writeVarint(zigZag(element));
+                }
+            }
+            case LONG_ARRAY -> {
+                long[] array = (long[]) value;
+                out.writeVarint(array.length);
+                for (long element : array) {
+                    out.writeVarLong(zigZag(element));
+                }
+            }
+            case DOUBLE_ARRAY -> {
+                double[] array = (double[]) value;
+                out.writeVarint(array.length);
+                for (double element : array) {
+                    out.writeFixed64(Double.doubleToLongBits(element));
+                }
+            }
+            case BIG_DECIMAL -> out.writeString(value.toString());
+            case BIG_INTEGER -> out.writeBytes(((BigInteger) value).toByteArray());
+            case UUID_ID -> {
+                out.writeFixed64(((UUID) value).getMostSignificantBits());
+                out.writeFixed64(((UUID) value).getLeastSignificantBits());
+            }
+            case INSTANT -> {
+                out.writeVarLong(zigZag(((Instant) value).getEpochSecond()));
+                out.writeVarint(((Instant) value).getNano());
+            }
+            default -> throw new ProtobufSerializer.SerializationException("Not a value type: " + value.getClass());
+        }
+    }
+
+    /**
+     * 写出类型引用：固定类型和已注册的类型写 ID，其他类型写类名
+     */
+    @Nullable
+    private ClassInfo writeClassRef(@NotNull Output out, @NotNull Class<?> type) {
+        Integer builtinId = BUILTIN_IDS.get(type);
+        if (builtinId != null) {
+            out.writeVarint(builtinId);
+            return null;
+        }
+        ClassInfo info = classes.get(type);
+        if (info != null && info.id >= FIRST_REGISTERED_ID) {
+            out.writeVarint(info.id);
+            return info;
+        }
+        if (registrationRequired && !allowedNames.contains(type.getName())) {
+            throw new ProtobufSerializer.SerializationException("Class is not registered: " + type.getName());
+        }
+        if (info == null) {
+            info = classes.computeIfAbsent(type, t -> new ClassInfo(t, NAMED));
+        }
+        // 同一次序列化中类名只写一次，之后写出其序号
+        out.writeVarint(NAMED);
+        Integer index = out.namedIndex(info);
+        if (index != null) {
+            out.writeVarint(index + 1);
+        } else {
+            out.writeVarint(0);
+            out.writeString(type.getName());
+        }
+        return info;
+    }
+
+    private void writeBody(@NotNull Output out, @NotNull ClassInfo info, @NotNull Object value, int depth)
+            throws Exception {
+        if (info.enumConstants != null) {
+            out.writeVarint(((Enum<?>) value).ordinal());
+            return;
+        }
+        if (info.recordAccessors != null) {
+            for (int i = 0; i < info.recordAccessors.length; i++) {
+                writeValue(out, info.recordTypes[i], info.recordAccessors[i].invoke(value), depth);
+            }
+            return;
+        }
+        for (Field field : info.fields) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                writeValue(out, type, field.get(value), depth);
+            } else {
+                writeObject(out, field.get(value), depth + 1);
+            }
+        }
+    }
+
+    /**
+     * 基本类型的字段不写类型 ID
+     */
+    private void writeValue(@NotNull Output out, @NotNull Class<?> type, @Nullable Object value, int depth)
+            throws Exception {
+        if (type == int.class) {
+            out.writeVarint(zigZag((Integer) value));
+        } else if (type == long.class) {
+            out.writeVarLong(zigZag((Long) value));
+        } else if (type == boolean.class) {
+            out.writeByte((Boolean) value ? 1 : 0);
+        } else if (type == double.class) {
+            out.writeFixed64(Double.doubleToLongBits((Double) value));
+        } else if (type == float.class) {
+            out.writeFixed32(Float.floatToIntBits((Float) value));
+        } else if (type == byte.class) {
+            out.writeByte((Byte) value);
+        } else if (type == short.class) {
+            out.writeVarint(zigZag((Short) value));
+        } else if (type == char.class) {
+            out.writeVarint((Character) value);
+        } else {
+            writeObject(out, value, depth + 1);
+        }
+    }
+
+    // ========== 读取 ==========
+
+    @Nullable
+    private Object readObject(@NotNull Input in, int depth) throws Exception {
+        int id = in.readVarint();
+        if (id == NULL) {
+            return null;
+        }
+        if (depth > MAX_DEPTH) {
+            throw new ProtobufSerializer.SerializationException("Object graph too deep");
+        }
+        switch (id) {
+            case OBJECT_ARRAY -> {
+                Class<?> componentType = readClassRef(in);
+                int length = in.readLength();
+                Object[] array = (Object[]) Array.newInstance(componentType, length);
+                for (int i = 0; i < length; i++) {
+                    array[i] = readObject(in, depth + 1);
+                }
+                return array;
+            }
+            case LIST -> {
+                int size = in.readLength();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readObject(in, depth + 1));
+                }
+                return list;
+            }
+            case SET -> {
+                int size = in.readLength();
+                Set<Object> set = new LinkedHashSet<>(Math.max(16, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    set.add(readObject(in, depth + 1));
+                }
+                return set;
+            }
+            case MAP -> {
+                int size = in.readLength();
+                Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    map.put(readObject(in, depth + 1), readObject(in, depth + 1));
+                }
+                return map;
+            }
+            case NAMED -> {
+                return readBody(in, namedClass(in), depth);
+            }
+            default -> {
+                if (id < FIRST_REGISTERED_ID) {
+                    return readBuiltin(in, id);
+                }
+                return readBody(in, registeredClass(id), depth);
+            }
+        }
+    }
+
+    @NotNull
+    private static Object readBuiltin(@NotNull Input in, int id) {
+        return switch (id) {
+            case BOOLEAN -> in.readByte() != 0;
+            case BYTE -> in.readByte();
+            case SHORT -> (short) unZigZag(in.readVarint());
+            case CHAR -> (char) in.readVarint();
+            case INT -> unZigZag(in.readVarint());
+            case LONG -> unZigZag(in.readVarLong());
+            case FLOAT -> Float.intBitsToFloat(in.readFixed32());
+            case DOUBLE -> Double.longBitsToDouble(in.readFixed64());
+            case STRING -> in.readString();
+            case BYTE_ARRAY -> in.readBytes();
+            case INT_ARRAY -> {
+                int[] array = new int[in.readLength()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = unZigZag(in.readVarint());
+                }
+                yield array;
+            }
+            case LONG_ARRAY -> {
+                long[] array = new long[in.readLength()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = unZigZag(in.readVarLong());
+                }
+                yield array;
+            }
+            case DOUBLE_ARRAY -> {
+                double[] array = new double[in.readLength()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = Double.longBitsToDouble(in.readFixed64());
+                }
+                yield array;
+            }
+            case BIG_DECIMAL -> new BigDecimal(in.readString());
+            case BIG_INTEGER -> new BigInteger(in.readBytes());
+            case UUID_ID -> new UUID(in.readFixed64(), in.readFixed64());
+            case INSTANT -> Instant.ofEpochSecond(unZigZag(in.readVarLong()), in.readVarint());
+            default -> throw new ProtobufSerializer.SerializationException("Unknown type id: " + id);
+        };
+    }
+
+    @NotNull
+    private Class<?> readClassRef(@NotNull Input in) throws Exception {
+        int id = in.readVarint();
+        if (id == NAMED) {
+            return namedClass(in).type;
+        }
+        if (id < FIRST_REGISTERED_ID) {
+            Class<?> type = BUILTIN_CLASSES[id];
+            if (type == null) {
+                throw new ProtobufSerializer.SerializationException("Unknown type id: " + id);
+            }
+            return type;
+        }
+        return registeredClass(id).type;
+    }
+
+    @NotNull
+    private ClassInfo registeredClass(int id) {
+        ClassInfo info = registeredById.get(id);
+        if (info == null) {
+            throw new ProtobufSerializer.SerializationException("Unregistered type id: " + id);
+        }
+        return info;
+    }
+
+    @NotNull
+    private ClassInfo namedClass(@NotNull Input in) throws ClassNotFoundException {
+        int index = in.readVarint();
+        if (index > 0) {
+            return in.namedClass(index - 1);
+        }
+        ClassInfo info = namedClass(in.readString());
+        in.named.add(info);
+        return info;
+    }
+
+    @NotNull
+    private ClassInfo namedClass(@NotNull String name) throws ClassNotFoundException {
+        // 先按名称检查，拒绝的类名不会被加载和初始化
+        if (registrationRequired && !allowedNames.contains(name)) {
+            throw new ProtobufSerializer.SerializationException("Class is not registered: " + name);
+        }
+        ClassInfo info = namedClasses.get(name);
+        if (info == null) {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> type = Class.forName(name, false, loader != null ? loader : getClass().getClassLoader());
+            info = classes.computeIfAbsent(type, t -> new ClassInfo(t, NAMED));
+            namedClasses.put(name, info);
+        }
+        return info;
+    }
+
+    @NotNull
+    private Object readBody(@NotNull Input in, @NotNull ClassInfo info, int depth) throws Exception {
+        if (info.enumConstants != null) {
+            int ordinal = in.readVarint();
+            if (ordinal >= info.enumConstants.length) {
+                throw new ProtobufSerializer.SerializationException("Invalid ordinal " + ordinal + " for "
+                        + info.type.getName());
+            }
+            return info.enumConstants[ordinal];
+        }
+        if (info.recordAccessors != null) {
+            Object[] components = new Object[info.recordTypes.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = readValue(in, info.recordTypes[i], depth);
+            }
+            return info.constructor.newInstance(components);
+        }
+        Object value = info.constructor.newInstance();
+        for (Field field : info.fields) {
+            Class<?> type = field.getType();
+            field.set(value, type.isPrimitive() ? readValue(in, type, depth) : readObject(in, depth + 1));
+        }
+        return value;
+    }
+
+    @Nullable
+    private Object readValue(@NotNull Input in, @NotNull Class<?> type, int depth) throws Exception {
+        if (type == int.class) {
+            return unZigZag(in.readVarint());
+        } else if (type == long.class) {
+            return unZigZag(in.readVarLong());
+        } else if (type == boolean.class) {
+            return in.readByte() != 0;
+        } else if (type == double.class) {
+            return Double.longBitsToDouble(in.readFixed64());
+        } else if (type == float.class) {
+            return Float.intBitsToFloat(in.readFixed32());
+        } else if (type == byte.class) {
+            return in.readByte();
+        } else if (type == short.class) {
+            return (short) unZigZag(in.readVarint());
+        } else if (type == char.class) {
+            return (char) in.readVarint();
+        }
+        return readObject(in, depth + 1);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 类型的序列化信息，首次使用时通过反射解析一次
+     */
+    private static final class ClassInfo {
+        private final Class<?> type;
+        private final int id;
+        private final Object[] enumConstants;
+        private final Method[] recordAccessors;
+        private final Class<?>[] recordTypes;
+        private final Field[] fields;
+        private final Constructor<?> constructor;
+
+        ClassInfo(@NotNull Class<?> type, int id) {
+            this.type = type;
+            this.id = id;
+            if (type.isEnum()) {
+                this.enumConstants = type.getEnumConstants();
+                this.recordAccessors = null;
+                this.recordTypes = null;
+                this.fields = null;
+                this.constructor = null;
+            } else if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                this.enumConstants = null;
+                this.recordAccessors = new Method[components.length];
+                this.recordTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    recordAccessors[i] = components[i].getAccessor();
+                    recordAccessors[i].setAccessible(true);
+                    recordTypes[i] = components[i].getType();
+                }
+                this.fields = null;
+                this.constructor = accessibleConstructor(type, recordTypes);
+            } else {
+                this.enumConstants = null;
+                this.recordAccessors = null;
+                this.recordTypes = null;
+                this.fields = serializableFields(type);
+                this.constructor = accessibleConstructor(type);
+            }
+        }
+
+        @NotNull
+        private static Field[] serializableFields(@NotNull Class<?> type) {
+            List<Field> result = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class;
+                    current = current.getSuperclass()) {
+                Field[] declared = current.getDeclaredFields();
+                Arrays.sort(declared, Comparator.comparing(Field::getName));
+                for (Field field : declared) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                        field.setAccessible(true);
+                        result.add(field);
+                    }
+                }
+            }
+            return result.toArray(new Field[0]);
+        }
+
+        @NotNull
+        private static Constructor<?> accessibleConstructor(@NotNull Class<?> type, @NotNull Class<?>... parameters) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new ProtobufSerializer.SerializationException(
+                        type.getName() + " needs a no-arg constructor to be serialized", e);
+            }
+        }
+    }
+
+    /**
+     * 可扩容的输出缓冲
+     */
+    private static final class Output {
+        private byte[] buffer;
+        private int position;
+        private Map<ClassInfo, Integer> named;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+
+        /**
+         * 返回已写出类名的序号，首次出现时登记并返回 null
+         */
+        @Nullable
+        Integer namedIndex(@NotNull ClassInfo info) {
+            if (named == null) {
+                named = new HashMap<>();
+            }
+            Integer index = named.get(info);
+            if (index == null) {
+                named.put(info, named.size());
+            }
+            return index;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarint(int value) {
+            writeVarLong(value & 0xffffffffL);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeFixed32(int value) {
+            ensure(4);
+            for (int i = 0; i < 4; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        void writeFixed64(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        void writeBytes(@NotNull byte[] bytes) {
+            writeVarint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeString(@NotNull String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @NotNull
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    /**
+     * 输入
+     */
+    private static final class Input {
+        private final byte[] buffer;
+        private final List<ClassInfo> named = new ArrayList<>();
+        private int position;
+
+        Input(@NotNull byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        @NotNull
+        ClassInfo namedClass(int index) {
+            if (index >= named.size()) {
+                throw new ProtobufSerializer.SerializationException("Invalid class reference: " + index);
+            }
+            return named.get(index);
+        }
+
+        private void require(int bytes) {
+            if (bytes < 0 || position + bytes > buffer.length) {
+                throw new ProtobufSerializer.SerializationException("Truncated binary data");
+            }
+        }
+
+        byte readByte() {
+            require(1);
+            return buffer[position++];
+        }
+
+        int readVarint() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new ProtobufSerializer.SerializationException("Malformed varint");
+        }
+
+        int readLength() {
+            int length = readVarint();
+            // 每个元素至少占一个字节
+            require(length);
+            return length;
+        }
+
+        int readFixed32() {
+            require(4);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value |= (buffer[position++] & 0xff) << (i * 8);
+            }
+            return value;
+        }
+
+        long readFixed64() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (buffer[position++] & 0xffL) << (i * 8);
+            }
+            return value;
+        }
+
+        @NotNull
+        byte[] readBytes() {
+            int length = readLength();
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        @NotNull
+        String readString() {
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
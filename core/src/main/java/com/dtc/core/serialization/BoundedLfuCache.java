@@ -0,0 +1,524 @@
+package com.dtc.core.serialization;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * 按权重限制容量的 W-TinyLFU 缓存
+ * <ul>
+ * <li>新条目先进入占总权重 1% 的窗口 LRU，被挤出窗口后作为候选进入主区的试用段</li>
+ * <li>主区超出容量时用 {@link FrequencySketch} 比较候选与试用段最久未访问的条目，访问频率更高的留下，
+ * 一次性扫描的冷数据不会挤掉热点数据</li>
+ * <li>试用段中再次被访问的条目晋升到占主区 80% 的保护段，保护段超出时最久未访问的条目降回试用段</li>
+ * <li>写入后按固定有效期过期，过期条目挂在时间轮上，在淘汰时按 tick 批量清理，不需要清理线程</li>
+ * </ul>
+ * 读操作只访问 ConcurrentHashMap，访问顺序和频率在能立即拿到淘汰锁时才记录，竞争时丢弃这次记录；
+ * 写操作在淘汰锁内更新各段和时间轮。命中、未命中等统计使用 LongAdder。
+ *
+ * @author Network Service Template
+ */
+final class BoundedLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    /** 频率达到该值的候选偶尔直接准入，避免攻击者用哈希碰撞抬高试用段条目的频率 */
+    private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long ttlMillis;
+    private final ToIntFunction<V> weigher;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedQueue = new AccessOrderDeque<>();
+    private final TimerWheel<K, V> timerWheel;
+
+    private long weightedSize;
+    private long windowWeightedSize;
+    private long protectedWeightedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    BoundedLfuCache(long maximumWeight, long ttlMillis, @NotNull ToIntFunction<V> weigher,
+            @NotNull LongSupplier clock) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 80 / 100;
+        this.ttlMillis = ttlMillis;
+        this.weigher = weigher;
+        this.clock = clock;
+        this.timerWheel = new TimerWheel<>(ttlMillis, clock.getAsLong());
+        // 先按平均 1KB 一个条目估计，条目数增长后再扩容
+        this.sketch.ensureCapacity(Math.min(maximumWeight / 1024, 1 << 16));
+    }
+
+    /**
+     * 获取未过期的缓存值
+     */
+    @Nullable
+    V getIfPresent(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            // 未命中同样计入频率，反复未命中的键之后写入时更容易准入
+            if (evictionLock.tryLock()) {
+                try {
+                    sketch.increment(key.hashCode());
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (node.expiresAt <= now) {
+            misses.increment();
+            if (evictionLock.tryLock()) {
+                try {
+                    expireEntries(now);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return null;
+        }
+        hits.increment();
+        if (evictionLock.tryLock()) {
+            try {
+                if (node.alive) {
+                    onAccess(node);
+                }
+                expireEntries(now);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * 获取缓存值，不存在时计算并写入
+     * 同键并发未命中时可能重复计算，计算在锁外执行
+     */
+    @NotNull
+    V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存值，权重超过缓存容量的值不缓存
+     *
+     * @return 是否写入
+     */
+    boolean put(@NotNull K key, @NotNull V value) {
+        int weight = weigher.applyAsInt(value);
+        if (weight > maximumWeight) {
+            invalidate(key);
+            return false;
+        }
+        long now = clock.getAsLong();
+        Node<K, V> node = new Node<>(key, value, weight, now + ttlMillis);
+        evictionLock.lock();
+        try {
+            Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            if (data.size() > sketch.capacity()) {
+                sketch.ensureCapacity(2L * data.size());
+            }
+            sketch.increment(key.hashCode());
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowWeightedSize += weight;
+            weightedSize += weight;
+            timerWheel.schedule(node);
+
+            expireEntries(now);
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 移除缓存值
+     */
+    void invalidate(@NotNull K key) {
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存，统计不清零
+     */
+    void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 清零统计
+     */
+    void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        evictionWeight.reset();
+        expirations.reset();
+    }
+
+    int size() {
+        return data.size();
+    }
+
+    long weightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    long maximumWeight() {
+        return maximumWeight;
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    long evictionWeight() {
+        return evictionWeight.sum();
+    }
+
+    long expirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * 记录一次命中：窗口和保护段内移到队尾，试用段的条目晋升到保护段
+     */
+    private void onAccess(@NotNull Node<K, V> node) {
+        sketch.increment(node.key.hashCode());
+        switch (node.queue) {
+            case WINDOW -> window.moveToBack(node);
+            case PROTECTED -> protectedQueue.moveToBack(node);
+            default -> {
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeightedSize += node.weight;
+                while (protectedWeightedSize > protectedMaximum) {
+                    Node<K, V> demoted = protectedQueue.pollFirst();
+                    protectedWeightedSize -= demoted.weight;
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+        }
+    }
+
+    /**
+     * 窗口超出容量的条目进入试用段作为候选，总权重超出容量时候选与试用段队首比较频率后淘汰一个
+     */
+    private void evict() {
+        int candidates = 0;
+        while (windowWeightedSize > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            if (node == null) {
+                break;
+            }
+            windowWeightedSize -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+
+        while (weightedSize > maximumWeight) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = candidates > 0 ? probation.peekLast() : null;
+            if (victim == null) {
+                victim = protectedQueue.peekFirst();
+                if (victim == null) {
+                    victim = window.peekFirst();
+                }
+                evictEntry(victim);
+            } else if (candidate == null || candidate == victim) {
+                if (candidate != null) {
+                    candidates--;
+                }
+                evictEntry(victim);
+            } else if (admit(candidate, victim)) {
+                evictEntry(victim);
+            } else {
+                candidates--;
+                evictEntry(candidate);
+            }
+        }
+    }
+
+    private boolean admit(@NotNull Node<K, V> candidate, @NotNull Node<K, V> victim) {
+        int candidateFrequency = sketch.frequency(candidate.key.hashCode());
+        int victimFrequency = sketch.frequency(victim.key.hashCode());
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency < ADMIT_HASHDOS_THRESHOLD) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+
+    private void evictEntry(@NotNull Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+        evictionWeight.add(node.weight);
+    }
+
+    /**
+     * 推进时间轮并移除到期的条目
+     */
+    private void expireEntries(long now) {
+        timerWheel.advance(now, node -> {
+            data.remove(node.key, node);
+            unlink(node);
+            expirations.increment();
+        });
+    }
+
+    /**
+     * 从所在的段和时间轮中移除条目，调用方负责从 map 中移除
+     */
+    private void unlink(@NotNull Node<K, V> node) {
+        if (!node.alive) {
+            return;
+        }
+        node.alive = false;
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeightedSize -= node.weight;
+            }
+            case PROTECTED -> {
+                protectedQueue.remove(node);
+                protectedWeightedSize -= node.weight;
+            }
+            default -> probation.remove(node);
+        }
+        weightedSize -= node.weight;
+        timerWheel.deschedule(node);
+    }
+
+    /**
+     * 缓存条目，同时挂在所在段的访问顺序链表和时间轮的槽链表上
+     */
+    static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int weight;
+        final long expiresAt;
+        int queue;
+        boolean alive = true;
+        Node<K, V> previous;
+        Node<K, V> next;
+        Node<K, V> previousInWheel;
+        Node<K, V> nextInWheel;
+
+        Node(@NotNull K key, @NotNull V value, int weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 按访问顺序排列的侵入式双向链表，队首最久未访问
+     */
+    static final class AccessOrderDeque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        @Nullable
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        @Nullable
+        Node<K, V> peekLast() {
+            return last;
+        }
+
+        void addLast(@NotNull Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        @Nullable
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void moveToBack(@NotNull Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(@NotNull Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * 过期时间轮
+     * 有效期固定，条目按到期 tick 挂到槽上，一圈覆盖约两倍有效期；推进时只检查经过的槽，
+     * 槽中还没到期的条目（下一圈）保留
+     */
+    static final class TimerWheel<K, V> {
+        private static final int WHEEL_SIZE = 128;
+        private static final int MASK = WHEEL_SIZE - 1;
+
+        private final long tickMillis;
+        private final Node<K, V>[] slots;
+        private long currentTick;
+
+        @SuppressWarnings("unchecked")
+        TimerWheel(long ttlMillis, long now) {
+            this.tickMillis = Math.max(1, ttlMillis / (WHEEL_SIZE / 2));
+            this.slots = new Node[WHEEL_SIZE];
+            this.currentTick = now / tickMillis;
+        }
+
+        void schedule(@NotNull Node<K, V> node) {
+            int index = (int) ((node.expiresAt / tickMillis) & MASK);
+            Node<K, V> head = slots[index];
+            node.previousInWheel = null;
+            node.nextInWheel = head;
+            if (head != null) {
+                head.previousInWheel = node;
+            }
+            slots[index] = node;
+        }
+
+        void deschedule(@NotNull Node<K, V> node) {
+            if (node.previousInWheel == null) {
+                int index = (int) ((node.expiresAt / tickMillis) & MASK);
+                if (slots[index] == node) {
+                    slots[index] = node.nextInWheel;
+                }
+            } else {
+                node.previousInWheel.nextInWheel = node.nextInWheel;
+            }
+            if (node.nextInWheel != null) {
+                node.nextInWheel.previousInWheel = node.previousInWheel;
+            }
+            node.previousInWheel = null;
+            node.nextInWheel = null;
+        }
+
+        /**
+         * 推进到当前时间，已经过去的 tick 所在槽中到期的条目交给 expirer 移除
+         * 当前 tick 内到期的条目在读取时按到期时间判断，下一个 tick 再移除
+         */
+        void advance(long now, @NotNull Consumer<Node<K, V>> expirer) {
+            long targetTick = now / tickMillis;
+            if (targetTick <= currentTick) {
+                return;
+            }
+            // 经过一整圈以上时每个槽只需要检查一次
+            long startTick = Math.max(currentTick, targetTick - WHEEL_SIZE);
+            for (long tick = startTick; tick < targetTick; tick++) {
+                Node<K, V> node = slots[(int) (tick & MASK)];
+                while (node != null) {
+                    Node<K, V> next = node.nextInWheel;
+                    if (node.expiresAt <= now) {
+                        expirer.accept(node);
+                    }
+                    node = next;
+                }
+            }
+            currentTick = targetTick;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON 编解码器
+ * 按目标类型缓存 ObjectReader / ObjectWriter，直接从 ByteBuf 或字节数组解析，直接写入 ByteBuf，
+ * 不经过中间的 String 和字节数组拷贝
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class JsonCodec {
+
+    private static final JsonCodec DEFAULT = new JsonCodec();
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonCodec() {
+        this(new ObjectMapper());
+    }
+
+    public JsonCodec(@NotNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 获取共享实例，供不经过IoC容器创建的组件使用
+     */
+    @NotNull
+    public static JsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 获取目标类型的 ObjectReader（支持泛型类型）
+     */
+    @NotNull
+    public ObjectReader readerFor(@NotNull Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, t -> objectMapper.readerFor(objectMapper.constructType(t)));
+        }
+        return reader;
+    }
+
+    /**
+     * 获取值类型的 ObjectWriter
+     */
+    @NotNull
+    public ObjectWriter writerFor(@NotNull Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(type, objectMapper::writerFor);
+        }
+        return writer;
+    }
+
+    /**
+     * 从 ByteBuf 解析，读取全部可读字节并移动读指针
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T read(@NotNull ByteBuf in, @NotNull Type type) throws IOException {
+        int length = in.readableBytes();
+        ObjectReader reader = readerFor(type);
+        T value;
+        if (in.hasArray()) {
+            value = (T) reader.readValue(in.array(), in.arrayOffset() + in.readerIndex(), length);
+        } else {
+            try (InputStream input = new ByteBufInputStream(in.duplicate())) {
+                value = (T) reader.readValue(input);
+            }
+        }
+        in.skipBytes(length);
+        return value;
+    }
+
+    /**
+     * 从字节数组解析
+     */
+    @Nullable
+    public <T> T read(@NotNull byte[] data, @NotNull Type type) throws IOException {
+        return read(data, 0, data.length, type);
+    }
+
+    /**
+     * 从字节数组片段解析
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T read(@NotNull byte[] data, int offset, int length, @NotNull Type type) throws IOException {
+        return (T) readerFor(type).readValue(data, offset, length);
+    }
+
+    /**
+     * 从字符串解析
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T read(@NotNull String json, @NotNull Type type) throws IOException {
+        return (T) readerFor(type).readValue(json);
+    }
+
+    /**
+     * 序列化并写入 ByteBuf
+     */
+    public void write(@Nullable Object value, @NotNull ByteBuf out) throws IOException {
+        try (OutputStream output = new ByteBufOutputStream(out)) {
+            writerOf(value).writeValue(output, value);
+        }
+    }
+
+    /**
+     * 序列化到分配器分配的缓冲区，失败时释放缓冲区
+     */
+    @NotNull
+    public ByteBuf writeToBuffer(@Nullable Object value, @NotNull ByteBufAllocator allocator) throws IOException {
+        ByteBuf buffer = allocator.buffer();
+        try {
+            write(value, buffer);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 序列化为 UTF-8 字节数组
+     */
+    @NotNull
+    public byte[] writeAsBytes(@Nullable Object value) throws IOException {
+        return writerOf(value).writeValueAsBytes(value);
+    }
+
+    /**
+     * 序列化为字符串
+     */
+    @NotNull
+    public String writeAsString(@Nullable Object value) throws IOException {
+        return writerOf(value).writeValueAsString(value);
+    }
+
+    /**
+     * 获取底层 ObjectMapper
+     */
+    @NotNull
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @NotNull
+    private ObjectWriter writerOf(@Nullable Object value) {
+        return value == null ? objectMapper.writer() : writerFor(value.getClass());
+    }
+}
@@ -0,0 +1,73 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * JSON 对象序列化器
+ * 基于 {@link JsonCodec}，不需要注册类型，作为跨语言和调试时的兜底格式。
+ * 方法参数写成 JSON 数组，反序列化时按参数类型逐个转换。
+ *
+ * @author Network Service Template
+ */
+public class JsonObjectSerializer implements ObjectSerializer {
+
+    public static final String NAME = "json";
+
+    private final JsonCodec codec;
+
+    public JsonObjectSerializer(@NotNull JsonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull
+    public byte[] serialize(@Nullable Object value) {
+        try {
+            return codec.writeAsBytes(value);
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to serialize value to JSON", e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public <T> T deserialize(@NotNull byte[] data, @NotNull Class<T> type) {
+        try {
+            return codec.read(data, type);
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to deserialize JSON as " + type.getName(), e);
+        }
+    }
+
+    @Override
+    @NotNull
+    public Object[] deserializeArguments(@NotNull byte[] data, @NotNull Class<?>[] types) {
+        if (data.length == 0) {
+            return new Object[0];
+        }
+        try {
+            JsonNode array = codec.read(data, JsonNode.class);
+            if (array == null || !array.isArray() || array.size() != types.length) {
+                throw new ProtobufSerializer.SerializationException(
+                        "Expected JSON array of " + types.length + " arguments");
+            }
+            Object[] args = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                args[i] = codec.readerFor(types[i]).readValue(array.get(i));
+            }
+            return args;
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to deserialize JSON arguments", e);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import com.dtc.core.protobuf.NetworkMessageProtos.MessageType;
+import com.dtc.core.protobuf.NetworkMessageProtos.NetworkMessage;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+
+/**
+ * 按需解码的 NetworkMessage
+ * 构造时只扫描一遍线格式：消息 ID、类型、时间戳、客户端 ID 和服务端 ID 这些头部字段直接读取，payload oneof
+ * 只记录字段号和在原始字节中的位置，用 {@link CodedInputStream#skipRawBytes} 跳过，不创建任何对象。
+ * 路由层据此决定转发目标，转发时通过 {@link #writeTo(ByteBuf)} 原样写出原始字节，不需要重新序列化；
+ * 处理器需要消息体时再通过 {@link #getPayload()} 或 {@link #toMessage()} 解码，结果会缓存。
+ * <p>
+ * 与完整解析的语义一致：同一字段出现多次时以最后一次为准，oneof 以最后出现的成员为准；同一个 payload 成员
+ * 出现多次时需要合并，此时 payload 从完整解码的消息中获取。未知字段保留在原始字节中。
+ * 消息 ID 可以作为链路追踪 ID，服务端 ID 作为转发目标。
+ * <p>
+ * 不是线程安全的，同一实例只在一个线程中使用。
+ *
+ * @author Network Service Template
+ */
+public final class LazyNetworkMessage {
+
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+
+    // 头部字段
+    private String messageId = "";
+    private int typeValue;
+    private long timestamp;
+    private String clientId = "";
+    private String serverId = "";
+
+    // payload 在原始字节中的位置
+    private int payloadFieldNumber;
+    private int payloadOffset;
+    private int payloadLength;
+    private boolean payloadFragmented;
+
+    private Message payload;
+    private NetworkMessage message;
+
+    private LazyNetworkMessage(@NotNull byte[] data, int offset, int length) {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * 扫描消息头部字段
+     *
+     * @param data 完整的 NetworkMessage 线格式字节，之后不能再修改
+     */
+    @NotNull
+    public static LazyNetworkMessage parse(@NotNull byte[] data) {
+        return parse(data, 0, data.length);
+    }
+
+    /**
+     * 扫描消息头部字段
+     *
+     * @param data   包含 NetworkMessage 线格式的字节数组，之后不能再修改
+     * @param offset 消息起始位置
+     * @param length 消息长度
+     */
+    @NotNull
+    public static LazyNetworkMessage parse(@NotNull byte[] data, int offset, int length) {
+        LazyNetworkMessage lazy = new LazyNetworkMessage(data, offset, length);
+        try {
+            lazy.scan();
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to scan NetworkMessage header", e);
+        }
+        return lazy;
+    }
+
+    private void scan() throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(data, offset, length);
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+            switch (fieldNumber) {
+                case NetworkMessage.MESSAGE_ID_FIELD_NUMBER -> messageId = readString(input, wireType, tag);
+                case NetworkMessage.TYPE_FIELD_NUMBER -> typeValue = readVarint(input, wireType, tag);
+                case NetworkMessage.TIMESTAMP_FIELD_NUMBER -> {
+                    checkWireType(wireType, WireFormat.WIRETYPE_VARINT, tag);
+                    timestamp = input.readInt64();
+                }
+                case NetworkMessage.CLIENT_ID_FIELD_NUMBER -> clientId = readString(input, wireType, tag);
+                case NetworkMessage.SERVER_ID_FIELD_NUMBER -> serverId = readString(input, wireType, tag);
+                case NetworkMessage.HEARTBEAT_FIELD_NUMBER, NetworkMessage.DATA_FIELD_NUMBER,
+                        NetworkMessage.ACK_FIELD_NUMBER, NetworkMessage.ERROR_FIELD_NUMBER,
+                        NetworkMessage.CLOSE_FIELD_NUMBER -> {
+                    checkWireType(wireType, WireFormat.WIRETYPE_LENGTH_DELIMITED, tag);
+                    int size = input.readRawVarint32();
+                    if (size < 0) {
+                        throw new InvalidProtocolBufferException("Negative payload size in NetworkMessage");
+                    }
+                    payloadFragmented = payloadFieldNumber == fieldNumber;
+                    payloadFieldNumber = fieldNumber;
+                    payloadOffset = offset + input.getTotalBytesRead();
+                    payloadLength = size;
+                    input.skipRawBytes(size);
+                }
+                default -> input.skipField(tag);
+            }
+        }
+    }
+
+    @NotNull
+    private static String readString(@NotNull CodedInputStream input, int wireType, int tag) throws IOException {
+        checkWireType(wireType, WireFormat.WIRETYPE_LENGTH_DELIMITED, tag);
+        return input.readStringRequireUtf8();
+    }
+
+    private static int readVarint(@NotNull CodedInputStream input, int wireType, int tag) throws IOException {
+        checkWireType(wireType, WireFormat.WIRETYPE_VARINT, tag);
+        return input.readEnum();
+    }
+
+    private static void checkWireType(int actual, int expected, int tag) throws InvalidProtocolBufferException {
+        if (actual != expected) {
+            throw new InvalidProtocolBufferException("Unexpected wire type for NetworkMessage tag " + tag);
+        }
+    }
+
+    @NotNull
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * 消息类型，未知的枚举值返回 {@link MessageType#UNRECOGNIZED}
+     */
+    @NotNull
+    public MessageType getType() {
+        MessageType type = MessageType.forNumber(typeValue);
+        return type != null ? type : MessageType.UNRECOGNIZED;
+    }
+
+    public int getTypeValue() {
+        return typeValue;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    @NotNull
+    public String getServerId() {
+        return serverId;
+    }
+
+    /**
+     * payload 中设置的成员，不解码消息体
+     */
+    @NotNull
+    public NetworkMessage.PayloadCase getPayloadCase() {
+        NetworkMessage.PayloadCase payloadCase = NetworkMessage.PayloadCase.forNumber(payloadFieldNumber);
+        return payloadCase != null ? payloadCase : NetworkMessage.PayloadCase.PAYLOAD_NOT_SET;
+    }
+
+    /**
+     * payload 的原始字节，共享底层数组，不解码
+     */
+    @NotNull
+    public ByteString getPayloadBytes() {
+        if (payloadFieldNumber == 0) {
+            return ByteString.EMPTY;
+        }
+        if (payloadFragmented) {
+            Message decoded = getPayload();
+            return decoded != null ? decoded.toByteString() : ByteString.EMPTY;
+        }
+        return UnsafeByteOperations.unsafeWrap(data, payloadOffset, payloadLength);
+    }
+
+    /**
+     * 解码 payload，没有设置时返回 null
+     */
+    @Nullable
+    public Message getPayload() {
+        if (payload != null || payloadFieldNumber == 0) {
+            return payload;
+        }
+        if (payloadFragmented) {
+            NetworkMessage full = toMessage();
+            payload = switch (full.getPayloadCase()) {
+                case HEARTBEAT -> full.getHeartbeat();
+                case DATA -> full.getData();
+                case ACK -> full.getAck();
+                case ERROR -> full.getError();
+                case CLOSE -> full.getClose();
+                case PAYLOAD_NOT_SET -> null;
+            };
+            return payload;
+        }
+        Parser<? extends Message> parser = switch (getPayloadCase()) {
+            case HEARTBEAT -> NetworkMessageProtos.HeartbeatMessage.parser();
+            case DATA -> NetworkMessageProtos.DataMessage.parser();
+            case ACK -> NetworkMessageProtos.AckMessage.parser();
+            case ERROR -> NetworkMessageProtos.ErrorMessage.parser();
+            case CLOSE -> NetworkMessageProtos.CloseMessage.parser();
+            case PAYLOAD_NOT_SET -> null;
+        };
+        if (parser != null) {
+            try {
+                payload = parser.parseFrom(data, payloadOffset, payloadLength);
+            } catch (InvalidProtocolBufferException e) {
+                throw new ProtobufSerializer.SerializationException("Failed to decode NetworkMessage payload", e);
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * 解码指定类型的 payload，类型不匹配时返回 null
+     */
+    @Nullable
+    public <T extends Message> T getPayload(@NotNull Class<T> payloadClass) {
+        Message decoded = getPayload();
+        return payloadClass.isInstance(decoded) ? payloadClass.cast(decoded) : null;
+    }
+
+    /**
+     * 完整解码消息
+     */
+    @NotNull
+    public NetworkMessage toMessage() {
+        if (message == null) {
+            try {
+                message = NetworkMessage.parser().parseFrom(data, offset, length);
+            } catch (InvalidProtocolBufferException e) {
+                throw new ProtobufSerializer.SerializationException("Failed to decode NetworkMessage", e);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * 原始线格式的长度
+     */
+    public int getSerializedSize() {
+        return length;
+    }
+
+    /**
+     * 原样写出原始线格式
+     */
+    public void writeTo(@NotNull ByteBuf out) {
+        out.writeBytes(data, offset, length);
+    }
+
+    /**
+     * 原始线格式的副本
+     */
+    @NotNull
+    public byte[] toByteArray() {
+        byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyNetworkMessage{messageId=" + messageId + ", type=" + getType() + ", clientId=" + clientId
+                + ", serverId=" + serverId + ", payload=" + getPayloadCase() + ", size=" + length + "}";
+    }
+}
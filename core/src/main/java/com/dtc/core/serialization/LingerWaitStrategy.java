@@ -0,0 +1,83 @@
+package com.dtc.core.serialization;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WaitStrategy;
+
+/**
+ * 带截止时间的等待策略
+ * 只供单个消费者线程使用：消费者在每次等待前设置当前批次的截止时间，没有新事件时先短暂自旋，再挂起到截止时间，
+ * 到期抛出 {@link TimeoutException} 让消费者提交未满的批次；生产者发布时唤醒挂起的消费者。
+ *
+ * @author Network Service Template
+ */
+final class LingerWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private volatile Thread waiter;
+    private long deadlineNanos;
+    private boolean hasDeadline;
+
+    /**
+     * 设置截止时间，只能由消费者线程调用
+     */
+    void setDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = true;
+    }
+
+    /**
+     * 清除截止时间，没有未提交的批次时一直等待新事件
+     */
+    void clearDeadline() {
+        this.hasDeadline = false;
+    }
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+            throws AlertException, InterruptedException, TimeoutException {
+        long availableSequence;
+        int spins = SPIN_TRIES;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+            if (spins > 0) {
+                spins--;
+                Thread.onSpinWait();
+                continue;
+            }
+            long parkNanos = MAX_PARK_NANOS;
+            if (hasDeadline) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    throw TimeoutException.INSTANCE;
+                }
+                parkNanos = Math.min(parkNanos, remaining);
+            }
+            // 先登记再检查序号，与生产者先发布再读取 waiter 配对，不会错过唤醒
+            waiter = Thread.currentThread();
+            if (dependentSequence.get() < sequence) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+            waiter = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
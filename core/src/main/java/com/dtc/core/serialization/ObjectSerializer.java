@@ -0,0 +1,60 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * 对象序列化器 SPI
+ * 内置 protobuf、binary 和 json 三种实现，由 {@link SerializerRegistry} 按名称管理；
+ * 其他实现可以通过 META-INF/services/com.dtc.core.serialization.ObjectSerializer 注册。
+ * 实现必须是线程安全的，失败时抛出 {@link ProtobufSerializer.SerializationException}。
+ *
+ * @author Network Service Template
+ */
+public interface ObjectSerializer {
+
+    /**
+     * 序列化器名称，RPC 请求中以该名称标识参数和结果的编码
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * 是否支持该类型
+     */
+    default boolean supports(@NotNull Class<?> type) {
+        return true;
+    }
+
+    /**
+     * 序列化对象
+     */
+    @NotNull
+    byte[] serialize(@Nullable Object value);
+
+    /**
+     * 反序列化为指定类型，基本类型按对应的包装类型返回
+     */
+    @Nullable
+    <T> T deserialize(@NotNull byte[] data, @NotNull Class<T> type);
+
+    /**
+     * 序列化方法参数
+     */
+    @NotNull
+    default byte[] serializeArguments(@Nullable Object[] args) {
+        return serialize(args != null ? args : new Object[0]);
+    }
+
+    /**
+     * 按方法参数类型反序列化参数
+     */
+    @NotNull
+    default Object[] deserializeArguments(@NotNull byte[] data, @NotNull Class<?>[] types) {
+        if (data.length == 0) {
+            return new Object[0];
+        }
+        Object[] args = deserialize(data, Object[].class);
+        return args != null ? args : new Object[0];
+    }
+}
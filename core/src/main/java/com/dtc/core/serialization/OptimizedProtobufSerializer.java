@@ -1,6 +1,5 @@
 package com.dtc.core.serialization;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,14 +15,21 @@ import org.slf4j.LoggerFactory;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
 import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
 import com.google.protobuf.ExtensionRegistryLite;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
 /**
  * 优化的 Protobuf 序列化器
  * 提供高性能的序列化/反序列化功能，包括缓存和性能优化策略
+ * <p>
+ * ByteBuf 重载按消息长度直接写入（池化）缓冲区、直接从缓冲区解析，不创建中间 byte[]。
  * 
  * @author Network Service Template
  */
@@ -38,10 +44,6 @@ public class OptimizedProtobufSerializer {
     private final ConcurrentHashMap<Class<?>, Method> newBuilderMethodCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Class<?>, Method> parserMethodCache = new ConcurrentHashMap<>();
 
-    // 对象池
-    private final ThreadLocal<ByteArrayOutputStream> byteArrayOutputStreamPool = ThreadLocal
-            .withInitial(() -> new ByteArrayOutputStream(1024));
-
     // 统计信息
     private final AtomicLong serializeCount = new AtomicLong(0);
     private final AtomicLong deserializeCount = new AtomicLong(0);
@@ -95,6 +97,46 @@ public class OptimizedProtobufSerializer {
         }
     }
 
+    /**
+     * 序列化消息，直接写入缓冲区的 writerIndex 处
+     * 
+     * @param message 要序列化的消息
+     * @param out     输出缓冲区，空间不足时扩容
+     * @return 写入的字节数
+     */
+    public int serialize(@NotNull MessageLite message, @NotNull ByteBuf out) {
+        long startTime = System.nanoTime();
+        try {
+            int size = ProtobufByteBufs.write(message, out);
+            serializeCount.incrementAndGet();
+            totalSerializeTime.addAndGet(System.nanoTime() - startTime);
+            return size;
+        } catch (Exception e) {
+            log.error("Failed to serialize message: {}", message.getClass().getSimpleName(), e);
+            throw new SerializationException("Failed to serialize message", e);
+        }
+    }
+
+    /**
+     * 序列化消息到新分配的缓冲区，缓冲区容量正好等于消息长度
+     * 
+     * @param message   要序列化的消息
+     * @param allocator 缓冲区分配器
+     * @return 序列化后的缓冲区，由调用方释放
+     */
+    @NotNull
+    public ByteBuf serialize(@NotNull MessageLite message, @NotNull ByteBufAllocator allocator) {
+        int size = message.getSerializedSize();
+        ByteBuf buffer = allocator.ioBuffer(size, size);
+        try {
+            serialize(message, buffer);
+            return buffer;
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
     /**
      * 批量序列化消息
      * 
@@ -146,6 +188,64 @@ public class OptimizedProtobufSerializer {
         }
     }
 
+    /**
+     * 反序列化缓冲区中全部可读字节为消息，成功后读索引移到末尾
+     * 
+     * @param data         序列化的数据
+     * @param messageClass 消息类型
+     * @param <T>          消息类型
+     * @return 反序列化后的消息
+     */
+    @NotNull
+    public <T extends Message> T deserialize(@NotNull ByteBuf data, @NotNull Class<T> messageClass) {
+        long startTime = System.nanoTime();
+        try {
+            T result = parse(data, getCachedParser(messageClass));
+            deserializeCount.incrementAndGet();
+            totalDeserializeTime.addAndGet(System.nanoTime() - startTime);
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to deserialize message of type: {}", messageClass.getSimpleName(), e);
+            throw new SerializationException("Failed to deserialize message", e);
+        }
+    }
+
+    /**
+     * 反序列化缓冲区中全部可读字节为消息，支持MessageLite类型
+     * 
+     * @param data         序列化的数据
+     * @param messageClass 消息类型
+     * @param <T>          消息类型
+     * @return 反序列化后的消息
+     */
+    @NotNull
+    public <T extends MessageLite> T deserializeLite(@NotNull ByteBuf data, @NotNull Class<T> messageClass) {
+        long startTime = System.nanoTime();
+        try {
+            T result = parse(data, getCachedLiteParser(messageClass));
+            deserializeCount.incrementAndGet();
+            totalDeserializeTime.addAndGet(System.nanoTime() - startTime);
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to deserialize message of type: {}", messageClass.getSimpleName(), e);
+            throw new SerializationException("Failed to deserialize message", e);
+        }
+    }
+
+    /**
+     * 直接从缓冲区的可读区域解析消息
+     */
+    @NotNull
+    private static <T extends MessageLite> T parse(@NotNull ByteBuf data, @NotNull Parser<T> parser)
+            throws IOException {
+        int length = data.readableBytes();
+        CodedInputStream input = ProtobufByteBufs.newCodedInput(data, data.readerIndex(), length);
+        T result = parser.parseFrom(input);
+        input.checkLastTagWas(0);
+        data.skipBytes(length);
+        return result;
+    }
+
     /**
      * 反序列化字节数组为消息，支持MessageLite类型
      * 
@@ -399,7 +499,7 @@ public class OptimizedProtobufSerializer {
     }
 
     /**
-     * 流式序列化消息，使用对象池优化
+     * 流式序列化消息，按消息长度分配数组后直接写入，不经过中间输出流和再次复制
      * 
      * @param message 要序列化的消息
      * @return 序列化后的字节数组
@@ -408,11 +508,10 @@ public class OptimizedProtobufSerializer {
     public byte[] serializeStreaming(@NotNull Message message) {
         long startTime = System.nanoTime();
         try {
-            ByteArrayOutputStream baos = byteArrayOutputStreamPool.get();
-            baos.reset();
-
-            message.writeTo(baos);
-            byte[] result = baos.toByteArray();
+            byte[] result = new byte[message.getSerializedSize()];
+            CodedOutputStream output = CodedOutputStream.newInstance(result);
+            message.writeTo(output);
+            output.checkNoSpaceLeft();
 
             serializeCount.incrementAndGet();
             totalSerializeTime.addAndGet(System.nanoTime() - startTime);
@@ -0,0 +1,65 @@
+package com.dtc.core.serialization;
+
+import java.io.IOException;
+
+import com.dtc.api.annotations.NotNull;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * Protobuf 与 Netty ByteBuf 之间的直接读写
+ * 按 getSerializedSize 预留空间后由 CodedOutputStream 直接写入缓冲区的底层数组或 NIO 缓冲区，
+ * 读取时由 CodedInputStream 直接解析底层数组或 nioBuffer 切片，不经过中间 byte[]。
+ * 由多个 NIO 缓冲区组成的 CompositeByteBuf 退回到流式读写。
+ *
+ * @author Network Service Template
+ */
+final class ProtobufByteBufs {
+
+    private ProtobufByteBufs() {
+    }
+
+    /**
+     * 把消息写到缓冲区的 writerIndex 处
+     *
+     * @return 写入的字节数
+     */
+    static int write(@NotNull MessageLite message, @NotNull ByteBuf out) throws IOException {
+        int size = message.getSerializedSize();
+        out.ensureWritable(size);
+        int writerIndex = out.writerIndex();
+        CodedOutputStream output;
+        if (out.hasArray()) {
+            output = CodedOutputStream.newInstance(out.array(), out.arrayOffset() + writerIndex, size);
+        } else if (out.nioBufferCount() == 1) {
+            // 堆外缓冲区由 CodedOutputStream 直接写入内存
+            output = CodedOutputStream.newInstance(out.internalNioBuffer(writerIndex, size));
+        } else {
+            message.writeTo(new ByteBufOutputStream(out));
+            return size;
+        }
+        message.writeTo(output);
+        output.checkNoSpaceLeft();
+        out.writerIndex(writerIndex + size);
+        return size;
+    }
+
+    /**
+     * 在缓冲区的指定区域上创建 CodedInputStream，不移动缓冲区的读写索引
+     */
+    @NotNull
+    static CodedInputStream newCodedInput(@NotNull ByteBuf in, int index, int length) {
+        if (in.hasArray()) {
+            return CodedInputStream.newInstance(in.array(), in.arrayOffset() + index, length);
+        }
+        if (in.nioBufferCount() == 1) {
+            return CodedInputStream.newInstance(in.nioBuffer(index, length));
+        }
+        return CodedInputStream.newInstance(new ByteBufInputStream(in.slice(index, length)));
+    }
+}
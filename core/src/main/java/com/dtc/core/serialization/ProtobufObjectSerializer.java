@@ -0,0 +1,112 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+
+import java.io.IOException;
+
+/**
+ * Protobuf 对象序列化器
+ * 只支持生成的 Protobuf 消息类型；方法参数逐个按长度前缀写出，反序列化时按参数类型解析。
+ *
+ * @author Network Service Template
+ */
+public class ProtobufObjectSerializer implements ObjectSerializer {
+
+    public static final String NAME = "protobuf";
+
+    private final ProtobufSerializer serializer;
+
+    public ProtobufObjectSerializer(@NotNull ProtobufSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(@NotNull Class<?> type) {
+        return Message.class.isAssignableFrom(type);
+    }
+
+    @Override
+    @NotNull
+    public byte[] serialize(@Nullable Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        return serializer.serialize(toMessage(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T deserialize(@NotNull byte[] data, @NotNull Class<T> type) {
+        if (!supports(type)) {
+            throw new ProtobufSerializer.SerializationException("Not a protobuf message type: " + type.getName());
+        }
+        return (T) serializer.deserialize(data, (Class<? extends Message>) type);
+    }
+
+    @Override
+    @NotNull
+    public byte[] serializeArguments(@Nullable Object[] args) {
+        if (args == null || args.length == 0) {
+            return new byte[0];
+        }
+        try {
+            int size = 0;
+            for (Object arg : args) {
+                int messageSize = toMessage(arg).getSerializedSize();
+                size += CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+            }
+            byte[] data = new byte[size];
+            CodedOutputStream output = CodedOutputStream.newInstance(data);
+            for (Object arg : args) {
+                Message message = toMessage(arg);
+                output.writeUInt32NoTag(message.getSerializedSize());
+                message.writeTo(output);
+            }
+            output.checkNoSpaceLeft();
+            return data;
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to serialize arguments", e);
+        }
+    }
+
+    @Override
+    @NotNull
+    public Object[] deserializeArguments(@NotNull byte[] data, @NotNull Class<?>[] types) {
+        Object[] args = new Object[types.length];
+        CodedInputStream input = CodedInputStream.newInstance(data);
+        try {
+            for (int i = 0; i < types.length; i++) {
+                if (!supports(types[i])) {
+                    throw new ProtobufSerializer.SerializationException(
+                            "Not a protobuf message type: " + types[i].getName());
+                }
+                @SuppressWarnings("unchecked")
+                Class<? extends Message> messageType = (Class<? extends Message>) types[i];
+                args[i] = serializer.deserialize(input.readByteArray(), messageType);
+            }
+        } catch (IOException e) {
+            throw new ProtobufSerializer.SerializationException("Failed to deserialize arguments", e);
+        }
+        return args;
+    }
+
+    @NotNull
+    private static Message toMessage(@Nullable Object value) {
+        if (value instanceof Message message) {
+            return message;
+        }
+        throw new ProtobufSerializer.SerializationException(
+                "Not a protobuf message: " + (value == null ? "null" : value.getClass().getName()));
+    }
+}
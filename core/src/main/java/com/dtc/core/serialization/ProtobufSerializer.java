@@ -2,8 +2,10 @@ package com.dtc.core.serialization;
 
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +60,22 @@ public class ProtobufSerializer {
         }
     }
 
+    /**
+     * 序列化消息，直接写入缓冲区的 writerIndex 处，不创建中间字节数组
+     * 
+     * @param message 要序列化的消息
+     * @param out     输出缓冲区，空间不足时扩容
+     * @return 写入的字节数
+     */
+    public int serialize(@NotNull MessageLite message, @NotNull ByteBuf out) {
+        try {
+            return ProtobufByteBufs.write(message, out);
+        } catch (Exception e) {
+            log.error("Failed to serialize message: {}", message.getClass().getSimpleName(), e);
+            throw new SerializationException("Failed to serialize message", e);
+        }
+    }
+
     /**
      * 反序列化字节数组为消息
      * 
@@ -77,6 +95,30 @@ public class ProtobufSerializer {
         }
     }
 
+    /**
+     * 反序列化缓冲区中全部可读字节为消息，直接解析缓冲区内容，成功后读索引移到末尾
+     * 
+     * @param data         序列化的数据
+     * @param messageClass 消息类型
+     * @param <T>          消息类型
+     * @return 反序列化后的消息
+     */
+    @NotNull
+    public <T extends Message> T deserialize(@NotNull ByteBuf data, @NotNull Class<T> messageClass) {
+        try {
+            int length = data.readableBytes();
+            CodedInputStream input = ProtobufByteBufs.newCodedInput(data, data.readerIndex(), length);
+            Message.Builder builder = getBuilderForClass(messageClass);
+            T result = (T) builder.mergeFrom(input).build();
+            input.checkLastTagWas(0);
+            data.skipBytes(length);
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to deserialize message of type: {}", messageClass.getSimpleName(), e);
+            throw new SerializationException("Failed to deserialize message", e);
+        }
+    }
+
     /**
      * 反序列化字节数组为消息，支持MessageLite类型
      * 
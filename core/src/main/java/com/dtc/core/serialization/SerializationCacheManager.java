@@ -8,17 +8,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Singleton;
-import java.lang.ref.WeakReference;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
  * 序列化缓存管理器
  * 提供序列化相关的缓存管理和统计功能
- * 
+ * <p>
+ * 序列化数据缓存以消息本身为键：Protobuf 消息不可变，hashCode 按内容计算并缓存在消息中，equals 先比较引用，
+ * 同一个消息实例命中时不需要比较内容，内容相同的不同实例也能命中。缓存按序列化数据的字节数限制容量，
+ * 使用 W-TinyLFU 准入和淘汰，写入后按有效期过期，见 {@link BoundedLfuCache}。
+ * <p>
+ * Parser 和 Builder 按消息类型缓存，类型数量有限，不需要淘汰。
+ * <p>
+ * 容量和有效期可通过系统属性 serialization.cache.max.bytes（默认 32MB）和 serialization.cache.ttl.ms
+ * （默认 5 分钟）配置。
+ *
  * @author Network Service Template
  */
 @Singleton
@@ -27,54 +33,29 @@ public class SerializationCacheManager {
     private static final Logger log = LoggerFactory.getLogger(SerializationCacheManager.class);
 
     // 缓存配置
-    private static final int DEFAULT_MAX_CACHE_SIZE = 1000;
-    private static final long DEFAULT_CACHE_TTL_MS = 300000; // 5分钟
-    private static final double DEFAULT_CACHE_LOAD_FACTOR = 0.75f;
+    private static final long DEFAULT_MAX_CACHE_BYTES = Long.getLong("serialization.cache.max.bytes", 32L << 20);
+    private static final long DEFAULT_CACHE_TTL_MS = Long.getLong("serialization.cache.ttl.ms", 300000L); // 5分钟
 
     // 缓存存储
-    private final ConcurrentHashMap<Class<?>, CacheEntry<Parser<?>>> parserCache;
-    private final ConcurrentHashMap<Class<?>, CacheEntry<Object>> builderCache;
-    private final ConcurrentHashMap<String, CacheEntry<byte[]>> serializedDataCache;
+    private final ConcurrentHashMap<Class<?>, Parser<?>> parserCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, Object> builderCache = new ConcurrentHashMap<>();
+    private final BoundedLfuCache<Message, byte[]> serializedDataCache;
 
-    // 缓存统计
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
-    private final AtomicLong cacheEvictions = new AtomicLong(0);
-
-    // 读写锁
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-
-    // 配置参数
-    private final int maxCacheSize;
-    private final long cacheTtlMs;
-    private final boolean enableWeakReferences;
-    private final boolean enableLruEviction;
-
-    // 清理线程
-    private final Thread cacheCleanupThread;
-    private volatile boolean running = false;
+    // Parser 和 Builder 缓存统计，序列化数据缓存的统计由缓存自己记录
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
 
     public SerializationCacheManager() {
-        this(DEFAULT_MAX_CACHE_SIZE, DEFAULT_CACHE_TTL_MS, true, true);
+        this(DEFAULT_MAX_CACHE_BYTES, DEFAULT_CACHE_TTL_MS);
     }
 
-    public SerializationCacheManager(int maxCacheSize, long cacheTtlMs, boolean enableWeakReferences,
-            boolean enableLruEviction) {
-        this.maxCacheSize = maxCacheSize;
-        this.cacheTtlMs = cacheTtlMs;
-        this.enableWeakReferences = enableWeakReferences;
-        this.enableLruEviction = enableLruEviction;
-
-        this.parserCache = new ConcurrentHashMap<>();
-        this.builderCache = new ConcurrentHashMap<>();
-        this.serializedDataCache = new ConcurrentHashMap<>();
-
-        // 启动缓存清理线程
-        this.cacheCleanupThread = new Thread(this::cleanupExpiredEntries, "CacheCleanup");
-        this.cacheCleanupThread.setDaemon(true);
-        this.cacheCleanupThread.start();
+    public SerializationCacheManager(long maxCacheBytes, long cacheTtlMs) {
+        this(maxCacheBytes, cacheTtlMs, System::currentTimeMillis);
+    }
 
-        log.info("Serialization cache manager initialized with maxSize={}, ttl={}ms", maxCacheSize, cacheTtlMs);
+    SerializationCacheManager(long maxCacheBytes, long cacheTtlMs, @NotNull LongSupplier clock) {
+        this.serializedDataCache = new BoundedLfuCache<>(maxCacheBytes, cacheTtlMs, data -> data.length, clock);
+        log.info("Serialization cache manager initialized with maxBytes={}, ttl={}ms", maxCacheBytes, cacheTtlMs);
     }
 
     /**
@@ -83,28 +64,14 @@ public class SerializationCacheManager {
     @SuppressWarnings("unchecked")
     @Nullable
     public <T extends Message> Parser<T> getCachedParser(@NotNull Class<T> messageClass) {
-        CacheEntry<Parser<?>> entry = parserCache.get(messageClass);
-
-        if (entry != null && !entry.isExpired()) {
-            entry.updateAccessTime();
-            cacheHits.incrementAndGet();
-            return (Parser<T>) entry.getValue();
-        }
-
-        cacheMisses.incrementAndGet();
-        return null;
+        return (Parser<T>) lookup(parserCache, messageClass);
     }
 
     /**
      * 缓存 Parser
      */
     public <T extends Message> void cacheParser(@NotNull Class<T> messageClass, @NotNull Parser<T> parser) {
-        if (parserCache.size() >= maxCacheSize) {
-            evictLeastRecentlyUsed();
-        }
-
-        CacheEntry<Parser<?>> entry = new CacheEntry<>(parser, cacheTtlMs);
-        parserCache.put(messageClass, entry);
+        parserCache.put(messageClass, parser);
     }
 
     /**
@@ -112,152 +79,56 @@ public class SerializationCacheManager {
      */
     @Nullable
     public Object getCachedBuilder(@NotNull Class<? extends Message> messageClass) {
-        CacheEntry<Object> entry = builderCache.get(messageClass);
-
-        if (entry != null && !entry.isExpired()) {
-            entry.updateAccessTime();
-            cacheHits.incrementAndGet();
-            return entry.getValue();
-        }
-
-        cacheMisses.incrementAndGet();
-        return null;
+        return lookup(builderCache, messageClass);
     }
 
     /**
      * 缓存 Builder
      */
     public void cacheBuilder(@NotNull Class<? extends Message> messageClass, @NotNull Object builder) {
-        if (builderCache.size() >= maxCacheSize) {
-            evictLeastRecentlyUsed();
-        }
-
-        CacheEntry<Object> entry = new CacheEntry<>(builder, cacheTtlMs);
-        builderCache.put(messageClass, entry);
+        builderCache.put(messageClass, builder);
     }
 
-    /**
-     * 获取缓存的序列化数据
-     */
     @Nullable
-    public byte[] getCachedSerializedData(@NotNull String key) {
-        CacheEntry<byte[]> entry = serializedDataCache.get(key);
-
-        if (entry != null && !entry.isExpired()) {
-            entry.updateAccessTime();
-            cacheHits.incrementAndGet();
-            return entry.getValue();
+    private <V> V lookup(@NotNull ConcurrentHashMap<Class<?>, V> cache, @NotNull Class<?> messageClass) {
+        V value = cache.get(messageClass);
+        if (value != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
         }
-
-        cacheMisses.incrementAndGet();
-        return null;
+        return value;
     }
 
     /**
-     * 缓存序列化数据
+     * 获取缓存的序列化数据
      */
-    public void cacheSerializedData(@NotNull String key, @NotNull byte[] data) {
-        if (serializedDataCache.size() >= maxCacheSize) {
-            evictLeastRecentlyUsed();
-        }
-
-        CacheEntry<byte[]> entry = new CacheEntry<>(data, cacheTtlMs);
-        serializedDataCache.put(key, entry);
+    @Nullable
+    public byte[] getCachedSerializedData(@NotNull Message message) {
+        return serializedDataCache.getIfPresent(message);
     }
 
     /**
-     * 清理过期条目
+     * 缓存序列化数据，超过缓存容量的数据不缓存
      */
-    private void cleanupExpiredEntries() {
-        running = true;
-
-        while (running) {
-            try {
-                Thread.sleep(cacheTtlMs / 2); // 每TTL/2时间清理一次
-                long currentTime = System.currentTimeMillis();
-                int cleanedCount = 0;
-
-                // 清理 Parser 缓存
-                cleanedCount += cleanupCache(parserCache, currentTime);
-
-                // 清理 Builder 缓存
-                cleanedCount += cleanupCache(builderCache, currentTime);
-
-                // 清理序列化数据缓存
-                cleanedCount += cleanupCache(serializedDataCache, currentTime);
-
-                if (cleanedCount > 0) {
-                    log.debug("Cleaned up {} expired cache entries", cleanedCount);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                log.error("Error during cache cleanup", e);
-            }
-        }
+    public void cacheSerializedData(@NotNull Message message, @NotNull byte[] data) {
+        serializedDataCache.put(message, data);
     }
 
     /**
-     * 清理指定缓存中的过期条目
+     * 获取消息的序列化数据，未缓存时序列化并缓存
+     * 返回的数组由缓存共享，调用方不能修改
      */
-    private <T> int cleanupCache(ConcurrentHashMap<?, CacheEntry<T>> cache, long currentTime) {
-        AtomicInteger cleanedCount = new AtomicInteger();
-
-        cache.entrySet().removeIf(entry -> {
-            CacheEntry<T> cacheEntry = entry.getValue();
-            if (cacheEntry.isExpired(currentTime)) {
-                cleanedCount.getAndIncrement();
-                return true;
-            }
-            return false;
-        });
-
-        return cleanedCount.get();
+    @NotNull
+    public byte[] getOrSerialize(@NotNull Message message) {
+        return serializedDataCache.get(message, Message::toByteArray);
     }
 
     /**
-     * LRU 淘汰策略
+     * 移除消息的序列化数据
      */
-    private void evictLeastRecentlyUsed() {
-        if (!enableLruEviction) {
-            return;
-        }
-
-        // 查找最久未访问的条目
-        long oldestAccessTime = Long.MAX_VALUE;
-        Object oldestKey = null;
-
-        // 检查所有缓存
-        for (var entry : parserCache.entrySet()) {
-            if (entry.getValue().getLastAccessTime() < oldestAccessTime) {
-                oldestAccessTime = entry.getValue().getLastAccessTime();
-                oldestKey = entry.getKey();
-            }
-        }
-
-        for (var entry : builderCache.entrySet()) {
-            if (entry.getValue().getLastAccessTime() < oldestAccessTime) {
-                oldestAccessTime = entry.getValue().getLastAccessTime();
-                oldestKey = entry.getKey();
-            }
-        }
-
-        for (var entry : serializedDataCache.entrySet()) {
-            if (entry.getValue().getLastAccessTime() < oldestAccessTime) {
-                oldestAccessTime = entry.getValue().getLastAccessTime();
-                oldestKey = entry.getKey();
-            }
-        }
-
-        // 移除最久未访问的条目
-        if (oldestKey != null) {
-            parserCache.remove(oldestKey);
-            builderCache.remove(oldestKey);
-            serializedDataCache.remove(oldestKey);
-            cacheEvictions.incrementAndGet();
-        }
+    public void invalidateSerializedData(@NotNull Message message) {
+        serializedDataCache.invalidate(message);
     }
 
     /**
@@ -265,12 +136,13 @@ public class SerializationCacheManager {
      */
     @NotNull
     public CacheStats getCacheStats() {
-        long totalHits = cacheHits.get();
-        long totalMisses = cacheMisses.get();
+        long totalHits = cacheHits.sum() + serializedDataCache.hitCount();
+        long totalMisses = cacheMisses.sum() + serializedDataCache.missCount();
         long totalRequests = totalHits + totalMisses;
 
         return new CacheStats(totalHits, totalMisses, totalRequests, parserCache.size(), builderCache.size(),
-                serializedDataCache.size(), cacheEvictions.get(),
+                serializedDataCache.size(), serializedDataCache.weightedSize(), serializedDataCache.evictionCount(),
+                serializedDataCache.expirationCount(),
                 totalRequests > 0 ? (double) totalHits / totalRequests : 0.0);
     }
 
@@ -278,75 +150,25 @@ public class SerializationCacheManager {
      * 清除所有缓存
      */
     public void clearAllCaches() {
-        cacheLock.writeLock().lock();
-        try {
-            parserCache.clear();
-            builderCache.clear();
-            serializedDataCache.clear();
-
-            cacheHits.set(0);
-            cacheMisses.set(0);
-            cacheEvictions.set(0);
-
-            log.info("All caches cleared");
-        } finally {
-            cacheLock.writeLock().unlock();
-        }
+        parserCache.clear();
+        builderCache.clear();
+        serializedDataCache.invalidateAll();
+
+        cacheHits.reset();
+        cacheMisses.reset();
+        serializedDataCache.resetStats();
+
+        log.info("All caches cleared");
     }
 
     /**
      * 停止缓存管理器
      */
     public void shutdown() {
-        running = false;
-        cacheCleanupThread.interrupt();
         clearAllCaches();
         log.info("Serialization cache manager shutdown");
     }
 
-    /**
-     * 缓存条目
-     */
-    private static class CacheEntry<T> {
-        private final T value;
-        private final long createTime;
-        private final long ttlMs;
-        private volatile long lastAccessTime;
-        private final WeakReference<T> weakReference;
-
-        public CacheEntry(T value, long ttlMs) {
-            this.value = value;
-            this.createTime = System.currentTimeMillis();
-            this.ttlMs = ttlMs;
-            this.lastAccessTime = createTime;
-            this.weakReference = new WeakReference<>(value);
-        }
-
-        public T getValue() {
-            return value;
-        }
-
-        public long getLastAccessTime() {
-            return lastAccessTime;
-        }
-
-        public void updateAccessTime() {
-            this.lastAccessTime = System.currentTimeMillis();
-        }
-
-        public boolean isExpired() {
-            return isExpired(System.currentTimeMillis());
-        }
-
-        public boolean isExpired(long currentTime) {
-            return currentTime - createTime > ttlMs;
-        }
-
-        public boolean isWeakReferenceCleared() {
-            return weakReference.get() == null;
-        }
-    }
-
     /**
      * 缓存统计信息
      */
@@ -357,18 +179,23 @@ public class SerializationCacheManager {
         private final int parserCacheSize;
         private final int builderCacheSize;
         private final int serializedDataCacheSize;
+        private final long serializedDataBytes;
         private final long evictions;
+        private final long expirations;
         private final double hitRate;
 
         public CacheStats(long hits, long misses, long totalRequests, int parserCacheSize, int builderCacheSize,
-                int serializedDataCacheSize, long evictions, double hitRate) {
+                int serializedDataCacheSize, long serializedDataBytes, long evictions, long expirations,
+                double hitRate) {
             this.hits = hits;
             this.misses = misses;
             this.totalRequests = totalRequests;
             this.parserCacheSize = parserCacheSize;
             this.builderCacheSize = builderCacheSize;
             this.serializedDataCacheSize = serializedDataCacheSize;
+            this.serializedDataBytes = serializedDataBytes;
             this.evictions = evictions;
+            this.expirations = expirations;
             this.hitRate = hitRate;
         }
 
@@ -396,10 +223,18 @@ public class SerializationCacheManager {
             return serializedDataCacheSize;
         }
 
+        public long getSerializedDataBytes() {
+            return serializedDataBytes;
+        }
+
         public long getEvictions() {
             return evictions;
         }
 
+        public long getExpirations() {
+            return expirations;
+        }
+
         public double getHitRate() {
             return hitRate;
         }
@@ -407,9 +242,10 @@ public class SerializationCacheManager {
         @Override
         public String toString() {
             return String.format(
-                    "CacheStats{hits=%d, misses=%d, hitRate=%.2f%%, "
-                            + "parserCache=%d, builderCache=%d, dataCache=%d, evictions=%d}",
-                    hits, misses, hitRate * 100, parserCacheSize, builderCacheSize, serializedDataCacheSize, evictions);
+                    "CacheStats{hits=%d, misses=%d, hitRate=%.2f%%, parserCache=%d, builderCache=%d, "
+                            + "dataCache=%d (%d bytes), evictions=%d, expirations=%d}",
+                    hits, misses, hitRate * 100, parserCacheSize, builderCacheSize, serializedDataCacheSize,
+                    serializedDataBytes, evictions, expirations);
         }
     }
 }
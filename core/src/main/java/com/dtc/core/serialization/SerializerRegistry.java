@@ -0,0 +1,100 @@
+package com.dtc.core.serialization;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象序列化器注册表
+ * 按名称管理 {@link ObjectSerializer}，内置 protobuf、binary、json，并通过 ServiceLoader 加载扩展实现。
+ * 各协议使用的序列化器通过系统属性 serialization.&lt;协议&gt; 配置，未配置时使用 serialization.default（默认 binary）。
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class SerializerRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SerializerRegistry.class);
+
+    private static final SerializerRegistry DEFAULT = new SerializerRegistry();
+
+    private final Map<String, ObjectSerializer> serializers = new ConcurrentHashMap<>();
+
+    public SerializerRegistry() {
+        register(new ProtobufObjectSerializer(new ProtobufSerializer()));
+        register(new BinaryObjectSerializer());
+        register(new JsonObjectSerializer(JsonCodec.getDefault()));
+        try {
+            for (ObjectSerializer serializer : ServiceLoader.load(ObjectSerializer.class)) {
+                register(serializer);
+                log.info("Loaded object serializer: {}", serializer.getName());
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("Failed to load object serializers", e);
+        }
+    }
+
+    /**
+     * 获取共享实例，供不经过IoC容器创建的组件使用
+     */
+    @NotNull
+    public static SerializerRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 注册序列化器，同名的序列化器会被替换
+     */
+    public void register(@NotNull ObjectSerializer serializer) {
+        serializers.put(serializer.getName(), serializer);
+    }
+
+    /**
+     * 按名称查找序列化器
+     */
+    @Nullable
+    public ObjectSerializer find(@NotNull String name) {
+        return serializers.get(name);
+    }
+
+    /**
+     * 按名称获取序列化器
+     *
+     * @throws ProtobufSerializer.SerializationException 序列化器不存在
+     */
+    @NotNull
+    public ObjectSerializer get(@NotNull String name) {
+        ObjectSerializer serializer = serializers.get(name);
+        if (serializer == null) {
+            throw new ProtobufSerializer.SerializationException("Unknown serializer: " + name);
+        }
+        return serializer;
+    }
+
+    /**
+     * 获取协议配置的序列化器
+     *
+     * @param protocol 协议名称，如 rpc
+     */
+    @NotNull
+    public ObjectSerializer forProtocol(@NotNull String protocol) {
+        return get(System.getProperty("serialization." + protocol,
+                System.getProperty("serialization.default", BinaryObjectSerializer.NAME)));
+    }
+
+    /**
+     * 已注册的序列化器名称
+     */
+    @NotNull
+    public Set<String> getNames() {
+        return Set.copyOf(serializers.keySet());
+    }
+}
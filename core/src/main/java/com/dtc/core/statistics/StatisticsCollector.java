@@ -1,13 +1,18 @@
 package com.dtc.core.statistics;
 
 import com.dtc.api.annotations.NotNull;
+import com.dtc.core.metrics.HistogramSnapshot;
+import com.dtc.core.metrics.MetricFamily;
+import com.dtc.core.metrics.MetricsRegistry;
+import com.dtc.core.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 统计信息收集器
@@ -20,20 +25,35 @@ public class StatisticsCollector {
 
     private static final Logger log = LoggerFactory.getLogger(StatisticsCollector.class);
 
+    // 所有计数都在事件循环和消费者线程上频繁更新、只在查询时读取，使用 LongAdder 分散竞争，读取时求和
+
     // 连接统计
-    private final AtomicInteger activeConnections = new AtomicInteger(0);
-    private final AtomicInteger totalClients = new AtomicInteger(0);
+    private final LongAdder activeConnections = new LongAdder();
+    private final LongAdder totalClients = new LongAdder();
 
     // 请求统计
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong totalProcessedRequests = new AtomicLong(0);
-    private final AtomicLong errorRequestCount = new AtomicLong(0);
-    private final AtomicLong activeRequestCount = new AtomicLong(0);
-    private final AtomicLong pendingRequestCount = new AtomicLong(0);
-    private final AtomicLong totalProcessingTime = new AtomicLong(0);
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder totalProcessedRequests = new LongAdder();
+    private final LongAdder errorRequestCount = new LongAdder();
+    private final LongAdder activeRequestCount = new LongAdder();
+    private final LongAdder pendingRequestCount = new LongAdder();
+    private final LongAdder totalProcessingTime = new LongAdder();
+
+    // 延迟统计（纳秒），计时器注册在 MetricsRegistry 的指标族中，由 MetricsCollector 按周期结束区间
+    private final MetricFamily<Timer> handlerLatency;
+    private final Timer requestTimer;
+    private final Map<String, Timer> handlerTimers = new ConcurrentHashMap<>();
 
-    @Inject
     public StatisticsCollector() {
+        this(new MetricsRegistry());
+    }
+
+    @Inject
+    public StatisticsCollector(@NotNull MetricsRegistry metricsRegistry) {
+        this.handlerLatency = metricsRegistry.timerFamily("handler_latency_seconds",
+                "Message handler latency in seconds", "handler");
+        this.requestTimer = metricsRegistry.timerFamily("request_latency_seconds", "Request latency in seconds")
+                .labels();
         log.info("Creating StatisticsCollector instance");
     }
 
@@ -43,31 +63,35 @@ public class StatisticsCollector {
      * 连接建立
      */
     public void onConnectionEstablished() {
-        activeConnections.incrementAndGet();
-        totalClients.incrementAndGet();
-        log.debug("🔍 New connection established. Active connections: {}", activeConnections.get());
+        activeConnections.increment();
+        totalClients.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("🔍 New connection established. Active connections: {}", getActiveConnections());
+        }
     }
 
     /**
      * 连接关闭
      */
     public void onConnectionClosed() {
-        activeConnections.decrementAndGet();
-        log.debug("🔍 Connection closed. Active connections: {}", activeConnections.get());
+        activeConnections.decrement();
+        if (log.isDebugEnabled()) {
+            log.debug("🔍 Connection closed. Active connections: {}", getActiveConnections());
+        }
     }
 
     /**
      * 获取活动连接数
      */
     public int getActiveConnections() {
-        return activeConnections.get();
+        return activeConnections.intValue();
     }
 
     /**
      * 获取总客户端数
      */
     public int getTotalClients() {
-        return totalClients.get();
+        return totalClients.intValue();
     }
 
     // ========== 请求统计方法 ==========
@@ -76,74 +100,105 @@ public class StatisticsCollector {
      * 记录请求开始
      */
     public void onRequestStart() {
-        totalRequests.incrementAndGet();
-        activeRequestCount.incrementAndGet();
-        pendingRequestCount.incrementAndGet();
+        totalRequests.increment();
+        activeRequestCount.increment();
+        pendingRequestCount.increment();
     }
 
     /**
      * 记录请求处理完成
      */
     public void onRequestComplete(long processingTimeMs) {
-        activeRequestCount.decrementAndGet();
-        pendingRequestCount.decrementAndGet();
-        totalProcessedRequests.incrementAndGet();
-        totalProcessingTime.addAndGet(processingTimeMs);
+        activeRequestCount.decrement();
+        pendingRequestCount.decrement();
+        totalProcessedRequests.increment();
+        totalProcessingTime.add(processingTimeMs);
+    }
+
+    /**
+     * 记录处理器一次调用的耗时，同时计入请求延迟
+     *
+     * @param handler 处理器名称，如协议类型
+     * @param nanos   耗时（纳秒）
+     */
+    public void recordHandlerLatency(@NotNull String handler, long nanos) {
+        Timer timer = handlerTimers.get(handler);
+        if (timer == null) {
+            timer = handlerTimers.computeIfAbsent(handler, handlerLatency::labels);
+        }
+        timer.record(nanos);
+        requestTimer.record(nanos);
+    }
+
+    /**
+     * 获取请求延迟计时器
+     */
+    @NotNull
+    public Timer getRequestTimer() {
+        return requestTimer;
+    }
+
+    /**
+     * 获取处理器延迟计时器
+     */
+    @NotNull
+    public Map<String, Timer> getHandlerTimers() {
+        return Map.copyOf(handlerTimers);
     }
 
     /**
      * 记录请求处理错误
      */
     public void onRequestError() {
-        activeRequestCount.decrementAndGet();
-        pendingRequestCount.decrementAndGet();
-        errorRequestCount.incrementAndGet();
+        activeRequestCount.decrement();
+        pendingRequestCount.decrement();
+        errorRequestCount.increment();
     }
 
     /**
      * 获取总请求数
      */
     public long getTotalRequests() {
-        return totalRequests.get();
+        return totalRequests.sum();
     }
 
     /**
      * 获取已处理请求数
      */
     public long getTotalProcessedRequests() {
-        return totalProcessedRequests.get();
+        return totalProcessedRequests.sum();
     }
 
     /**
      * 获取错误请求数
      */
     public long getErrorRequestCount() {
-        return errorRequestCount.get();
+        return errorRequestCount.sum();
     }
 
     /**
      * 获取活动请求数
      */
     public long getActiveRequestCount() {
-        return activeRequestCount.get();
+        return activeRequestCount.sum();
     }
 
     /**
      * 获取待处理请求数
      */
     public long getPendingRequestCount() {
-        return pendingRequestCount.get();
+        return pendingRequestCount.sum();
     }
 
     /**
      * 获取平均处理时间
      */
     public double getAverageProcessingTime() {
-        long total = totalProcessedRequests.get();
+        long total = totalProcessedRequests.sum();
         if (total == 0) {
             return 0.0;
         }
-        return (double) totalProcessingTime.get() / total;
+        return (double) totalProcessingTime.sum() / total;
     }
 
     // ========== 统计信息获取 ==========
@@ -162,6 +217,7 @@ public class StatisticsCollector {
                 getActiveRequestCount(),
                 getPendingRequestCount(),
                 getAverageProcessingTime(),
+                requestTimer.getLastSnapshot(),
                 System.currentTimeMillis());
     }
 
@@ -169,14 +225,14 @@ public class StatisticsCollector {
      * 重置所有统计信息
      */
     public void resetStatistics() {
-        activeConnections.set(0);
-        totalClients.set(0);
-        totalRequests.set(0);
-        totalProcessedRequests.set(0);
-        errorRequestCount.set(0);
-        activeRequestCount.set(0);
-        pendingRequestCount.set(0);
-        totalProcessingTime.set(0);
+        activeConnections.reset();
+        totalClients.reset();
+        totalRequests.reset();
+        totalProcessedRequests.reset();
+        errorRequestCount.reset();
+        activeRequestCount.reset();
+        pendingRequestCount.reset();
+        totalProcessingTime.reset();
         log.info("📊 Statistics reset completed");
     }
 
@@ -192,11 +248,19 @@ public class StatisticsCollector {
         private final long activeRequestCount;
         private final long pendingRequestCount;
         private final double averageProcessingTime;
+        private final HistogramSnapshot latency;
         private final long timestamp;
 
         public StatisticsInfo(int activeConnections, int totalClients, long totalRequests,
                 long totalProcessedRequests, long errorRequestCount, long activeRequestCount,
                 long pendingRequestCount, double averageProcessingTime, long timestamp) {
+            this(activeConnections, totalClients, totalRequests, totalProcessedRequests, errorRequestCount,
+                    activeRequestCount, pendingRequestCount, averageProcessingTime, null, timestamp);
+        }
+
+        public StatisticsInfo(int activeConnections, int totalClients, long totalRequests,
+                long totalProcessedRequests, long errorRequestCount, long activeRequestCount,
+                long pendingRequestCount, double averageProcessingTime, HistogramSnapshot latency, long timestamp) {
             this.activeConnections = activeConnections;
             this.totalClients = totalClients;
             this.totalRequests = totalRequests;
@@ -205,6 +269,7 @@ public class StatisticsCollector {
             this.activeRequestCount = activeRequestCount;
             this.pendingRequestCount = pendingRequestCount;
             this.averageProcessingTime = averageProcessingTime;
+            this.latency = latency;
             this.timestamp = timestamp;
         }
 
@@ -241,6 +306,13 @@ public class StatisticsCollector {
             return averageProcessingTime;
         }
 
+        /**
+         * 最近一个统计区间的请求延迟分布（纳秒），没有时为 null
+         */
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+
         public long getTimestamp() {
             return timestamp;
         }
@@ -250,9 +322,10 @@ public class StatisticsCollector {
             return String.format(
                     "StatisticsInfo{activeConnections=%d, totalClients=%d, totalRequests=%d, " +
                             "totalProcessedRequests=%d, errorRequestCount=%d, activeRequestCount=%d, " +
-                            "pendingRequestCount=%d, averageProcessingTime=%.2f, timestamp=%d}",
+                            "pendingRequestCount=%d, averageProcessingTime=%.2f, latency=%s, timestamp=%d}",
                     activeConnections, totalClients, totalRequests, totalProcessedRequests,
-                    errorRequestCount, activeRequestCount, pendingRequestCount, averageProcessingTime, timestamp);
+                    errorRequestCount, activeRequestCount, pendingRequestCount, averageProcessingTime, latency,
+                    timestamp);
         }
     }
 }
@@ -5,13 +5,21 @@ import com.dtc.api.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Arrays;
 
 /**
  * 处理方法封装类
  * 封装Bean实例和方法，提供方法参数和返回值信息
  * 参考Spring的HandlerMethod实现
+ * <p>
+ * 创建时把方法转换为绑定了Bean实例、参数展开为数组的 MethodHandle，调用时不再经过 Method.invoke 的访问检查和参数校验
  * 
  * @author Network Service Template
  */
@@ -23,6 +31,7 @@ public class HandlerMethod {
     private final @NotNull Method method;
     private final @NotNull Class<?> beanType;
     private final @NotNull String description;
+    private final @Nullable MethodHandle invoker;
 
     /**
      * 通过Bean实例和方法创建HandlerMethod
@@ -32,6 +41,50 @@ public class HandlerMethod {
         this.method = method;
         this.beanType = bean.getClass();
         this.description = initDescription(beanType, method);
+        this.invoker = createInvoker(bean, method);
+    }
+
+    /**
+     * 创建方法调用句柄，统一为 (Object[])Object 签名
+     * 无法访问的方法返回 null，调用时退回反射
+     */
+    @Nullable
+    private static MethodHandle createInvoker(@NotNull Object bean, @NotNull Method method) {
+        try {
+            method.trySetAccessible();
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(bean);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("Falling back to reflective invocation for {}: {}", method, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 调用处理方法
+     * 
+     * @param args 已解析的方法参数
+     * @return 方法返回值，void 方法返回 null
+     * @throws Exception 处理方法抛出的异常
+     */
+    @Nullable
+    public Object invoke(@NotNull Object[] args) throws Exception {
+        try {
+            if (invoker != null) {
+                return (Object) invoker.invokeExact(args);
+            }
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
     }
 
     /**
@@ -3,6 +3,7 @@ package com.dtc.core.web;
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
 import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.web.argument.ArgumentExtractor;
 
 import java.lang.reflect.Parameter;
 
@@ -33,4 +34,17 @@ public interface HandlerMethodArgumentResolver {
      */
     @Nullable
     Object resolveArgument(@NotNull Parameter parameter, @NotNull HttpRequestEx request) throws Exception;
+
+    /**
+     * 为参数生成提取器
+     * 注册处理方法时调用一次，解析器可以预先读取注解和选择类型转换，请求时只执行提取；
+     * 默认每次请求都调用 {@link #resolveArgument}
+     *
+     * @param parameter 方法参数
+     * @return 参数提取器
+     */
+    @NotNull
+    default ArgumentExtractor compile(@NotNull Parameter parameter) {
+        return request -> resolveArgument(parameter, request);
+    }
 }
@@ -0,0 +1,43 @@
+package com.dtc.core.web;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.route.AsyncHttpRouteHandler;
+
+/**
+ * 控制器方法的路由处理器
+ * 保留对应的 HandlerMethod，拦截器以它作为 handler 参数
+ *
+ * @author Network Service Template
+ */
+public final class HandlerMethodRouteHandler implements AsyncHttpRouteHandler {
+
+    private final HandlerMethod handlerMethod;
+    private final Function<HttpRequestEx, CompletionStage<HttpResponseEx>> invoker;
+
+    public HandlerMethodRouteHandler(@NotNull HandlerMethod handlerMethod,
+            @NotNull Function<HttpRequestEx, CompletionStage<HttpResponseEx>> invoker) {
+        this.handlerMethod = handlerMethod;
+        this.invoker = invoker;
+    }
+
+    @NotNull
+    public HandlerMethod getHandlerMethod() {
+        return handlerMethod;
+    }
+
+    @Override
+    @NotNull
+    public CompletionStage<HttpResponseEx> handleAsync(@NotNull HttpRequestEx request) {
+        return invoker.apply(request);
+    }
+
+    @Override
+    public String toString() {
+        return handlerMethod.getDescription();
+    }
+}
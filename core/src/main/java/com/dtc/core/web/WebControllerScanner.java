@@ -3,10 +3,20 @@ package com.dtc.core.web;
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
 import com.dtc.core.network.http.HttpRouteManager;
+import com.dtc.core.network.http.cache.CachingRouteHandler;
+import com.dtc.core.network.http.cache.ResponseCache;
+import com.dtc.core.network.http.cache.ResponseCachePolicy;
+import com.dtc.core.network.http.route.HttpBodyMode;
 import com.dtc.core.network.http.route.HttpRouteHandler;
 import com.dtc.core.network.http.HttpRequestEx;
 import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.serialization.JsonCodec;
+import com.dtc.core.web.argument.ArgumentResolutionPlan;
 import com.dtc.core.web.argument.HandlerMethodArgumentResolverComposite;
+import com.dtc.core.web.argument.RequestBodyStreamMethodArgumentResolver;
+import com.dtc.core.web.async.BlockingHandlerExecutor;
+import com.dtc.core.web.async.DeferredResult;
+import com.dtc.core.web.cache.CacheResponse;
 import com.dtc.annotations.web.DeleteMapping;
 import com.dtc.annotations.web.GetMapping;
 import com.dtc.annotations.web.PostMapping;
@@ -19,9 +29,11 @@ import org.slf4j.LoggerFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Web控制器扫描器
@@ -38,15 +50,28 @@ public class WebControllerScanner {
     private final @NotNull HttpRouteManager routeManager;
     private final @NotNull BeanProvider beanProvider;
     private final @NotNull HandlerMethodArgumentResolverComposite argumentResolver;
+    private final @NotNull BlockingHandlerExecutor blockingExecutor;
+    private final @NotNull ResponseCache responseCache;
     private final @NotNull Map<String, HandlerMethod> handlerMethods = new ConcurrentHashMap<>();
 
+    public WebControllerScanner(@NotNull HttpRouteManager routeManager,
+                                @NotNull BeanProvider beanProvider,
+                                @NotNull HandlerMethodArgumentResolverComposite argumentResolver,
+                                @NotNull BlockingHandlerExecutor blockingExecutor) {
+        this(routeManager, beanProvider, argumentResolver, blockingExecutor, new ResponseCache());
+    }
+
     @Inject
     public WebControllerScanner(@NotNull HttpRouteManager routeManager,
                                 @NotNull BeanProvider beanProvider,
-                                @NotNull HandlerMethodArgumentResolverComposite argumentResolver) {
+                                @NotNull HandlerMethodArgumentResolverComposite argumentResolver,
+                                @NotNull BlockingHandlerExecutor blockingExecutor,
+                                @NotNull ResponseCache responseCache) {
         this.routeManager = routeManager;
         this.beanProvider = beanProvider;
         this.argumentResolver = argumentResolver;
+        this.blockingExecutor = blockingExecutor;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -188,58 +213,73 @@ public class WebControllerScanner {
         // 创建路由处理器
         HttpRouteHandler routeHandler = createRouteHandler(handlerMethod);
 
-        // 注册路由
-        routeManager.registerRoute(mappingInfo.getMethod(), mappingInfo.getPath(), routeHandler);
+        // 注册路由，声明了流式请求体参数的方法不聚合请求体
+        HttpBodyMode bodyMode = RequestBodyStreamMethodArgumentResolver.isStreamingMethod(method)
+            ? HttpBodyMode.STREAM
+            : HttpBodyMode.AGGREGATE;
+        routeManager.registerRoute(mappingInfo.getMethod(), mappingInfo.getPath(), routeHandler, bodyMode);
 
-        log.debug("✅ Registered handler method: {} {} -> {}", 
-            mappingInfo.getMethod(), mappingInfo.getPath(), handlerMethod.getDescription());
+        log.debug("✅ Registered handler method: {} {} -> {} ({})", 
+            mappingInfo.getMethod(), mappingInfo.getPath(), handlerMethod.getDescription(), bodyMode);
     }
 
     /**
      * 创建路由处理器
+     * 参数解析计划在注册时生成；阻塞方法交给阻塞执行器调用；返回 CompletionStage 或 DeferredResult 的方法在结果完成时才生成响应
      */
     @NotNull
     private HttpRouteHandler createRouteHandler(@NotNull HandlerMethod handlerMethod) {
-        return request -> {
-            try {
-                // 解析方法参数
-                Object[] args = resolveArguments(handlerMethod, request);
-
-                // 调用处理方法
-                Object result = handlerMethod.getMethod().invoke(handlerMethod.getBean(), args);
-
-                // 处理返回值
-                return handleReturnValue(result, request);
+        ArgumentResolutionPlan plan = ArgumentResolutionPlan.compile(handlerMethod.getMethod(), argumentResolver);
+        Function<HttpRequestEx, CompletionStage<HttpResponseEx>> invoker;
+        if (blockingExecutor.isBlocking(handlerMethod.getMethod())) {
+            invoker = request -> CompletableFuture
+                .supplyAsync(() -> invokeHandlerMethod(handlerMethod, plan, request), blockingExecutor)
+                .thenCompose(Function.identity());
+        } else {
+            invoker = request -> invokeHandlerMethod(handlerMethod, plan, request);
+        }
 
-            } catch (Exception e) {
-                log.error("❌ Error invoking handler method: {}", handlerMethod.getDescription(), e);
-                return createErrorResponse(500, "Internal server error: " + e.getMessage());
-            }
-        };
+        // 声明了响应缓存的方法，命中缓存时不再调用
+        CacheResponse cacheResponse = handlerMethod.getMethod().getAnnotation(CacheResponse.class);
+        if (cacheResponse != null) {
+            ResponseCachePolicy policy = new ResponseCachePolicy()
+                .setTtlMillis(cacheResponse.ttlSeconds() * 1000)
+                .setVaryHeaders(cacheResponse.varyHeaders())
+                .setTags(cacheResponse.tags());
+            CachingRouteHandler cachingHandler = new CachingRouteHandler(
+                new HandlerMethodRouteHandler(handlerMethod, invoker), responseCache, policy);
+            invoker = cachingHandler::handleAsync;
+        }
+        return new HandlerMethodRouteHandler(handlerMethod, invoker);
     }
 
     /**
-     * 解析方法参数
+     * 调用处理方法
      */
     @NotNull
-    private Object[] resolveArguments(@NotNull HandlerMethod handlerMethod, @NotNull HttpRequestEx request) throws Exception {
-        Parameter[] parameters = handlerMethod.getParameters();
-        Object[] args = new Object[parameters.length];
-
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-
-            // 直接注入HttpRequestEx类型
-            if (parameter.getType() == HttpRequestEx.class) {
-                args[i] = request;
-            } else if (argumentResolver.supportsParameter(parameter)) {
-                args[i] = argumentResolver.resolveArgument(parameter, request);
-            } else {
-                args[i] = null;
+    private CompletionStage<HttpResponseEx> invokeHandlerMethod(@NotNull HandlerMethod handlerMethod,
+                                                                @NotNull ArgumentResolutionPlan plan,
+                                                                @NotNull HttpRequestEx request) {
+        try {
+            // 按解析计划解析方法参数
+            Object[] args = plan.resolve(request);
+
+            // 调用处理方法
+            Object result = handlerMethod.invoke(args);
+
+            // 处理返回值，异步返回值完成后再转换
+            if (result instanceof DeferredResult<?> deferredResult) {
+                return deferredResult.toCompletableFuture().thenApply(value -> handleReturnValue(value, request));
             }
-        }
+            if (result instanceof CompletionStage<?> stage) {
+                return stage.thenApply(value -> handleReturnValue(value, request));
+            }
+            return CompletableFuture.completedFuture(handleReturnValue(result, request));
 
-        return args;
+        } catch (Exception e) {
+            log.error("❌ Error invoking handler method: {}", handlerMethod.getDescription(), e);
+            return CompletableFuture.completedFuture(createErrorResponse(500, "Internal server error: " + e.getMessage()));
+        }
     }
 
     /**
@@ -256,15 +296,12 @@ public class WebControllerScanner {
             return (HttpResponseEx) returnValue;
         }
 
-        // 否则序列化为JSON响应
-        try {
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            String json = objectMapper.writeValueAsString(returnValue);
-            return createSuccessResponse(200, json);
-        } catch (Exception e) {
-            log.error("Failed to serialize return value", e);
-            return createErrorResponse(500, "Failed to serialize response");
-        }
+        // 否则作为JSON响应，发送时直接序列化到响应缓冲区
+        return new HttpResponseEx.Builder()
+            .statusCode(200)
+            .jsonBody(returnValue)
+            .contentType("application/json")
+            .build();
     }
 
     /**
@@ -285,8 +322,7 @@ public class WebControllerScanner {
     @NotNull
     private HttpResponseEx createErrorResponse(int statusCode, @NotNull String message) {
         try {
-            com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            String json = objectMapper.writeValueAsString(Map.of("error", message));
+            String json = JsonCodec.getDefault().writeAsString(Map.of("error", message));
             return new HttpResponseEx.Builder()
                 .statusCode(statusCode)
                 .body(json)
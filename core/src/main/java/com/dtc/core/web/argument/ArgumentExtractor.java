@@ -0,0 +1,26 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpRequestEx;
+
+/**
+ * 参数提取器
+ * 由参数解析器在注册处理方法时为单个参数生成，参数名、是否必需、默认值和类型转换都已确定，
+ * 请求到来时只从请求中取值并转换，不再检查注解。
+ *
+ * @author Network Service Template
+ */
+@FunctionalInterface
+public interface ArgumentExtractor {
+
+    /**
+     * 从请求中提取参数值
+     *
+     * @param request HTTP请求
+     * @return 参数值
+     * @throws Exception 提取异常
+     */
+    @Nullable
+    Object extract(@NotNull HttpRequestEx request) throws Exception;
+}
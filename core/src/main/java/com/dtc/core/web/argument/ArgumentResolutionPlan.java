@@ -0,0 +1,78 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.web.HandlerMethodArgumentResolver;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * 处理方法的参数解析计划
+ * 注册处理方法时为每个参数生成一个提取器，请求时按参数顺序依次执行，不再逐个匹配解析器和读取注解。
+ * HttpRequestEx 类型的参数直接注入请求，没有解析器支持的参数为 null。
+ *
+ * @author Network Service Template
+ */
+public final class ArgumentResolutionPlan {
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final ArgumentExtractor REQUEST = request -> request;
+    private static final ArgumentExtractor NULL = request -> null;
+
+    private final ArgumentExtractor[] extractors;
+
+    private ArgumentResolutionPlan(@NotNull ArgumentExtractor[] extractors) {
+        this.extractors = extractors;
+    }
+
+    /**
+     * 为处理方法生成解析计划
+     *
+     * @param method 处理方法
+     * @param resolver 参数解析器
+     * @return 解析计划
+     */
+    @NotNull
+    public static ArgumentResolutionPlan compile(@NotNull Method method, @NotNull HandlerMethodArgumentResolver resolver) {
+        Parameter[] parameters = method.getParameters();
+        ArgumentExtractor[] extractors = new ArgumentExtractor[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (parameter.getType() == HttpRequestEx.class) {
+                extractors[i] = REQUEST;
+            } else if (resolver.supportsParameter(parameter)) {
+                extractors[i] = resolver.compile(parameter);
+            } else {
+                extractors[i] = NULL;
+            }
+        }
+        return new ArgumentResolutionPlan(extractors);
+    }
+
+    /**
+     * 按计划解析方法参数
+     *
+     * @param request HTTP请求
+     * @return 方法参数
+     * @throws Exception 解析异常
+     */
+    @NotNull
+    public Object[] resolve(@NotNull HttpRequestEx request) throws Exception {
+        if (extractors.length == 0) {
+            return NO_ARGS;
+        }
+        Object[] args = new Object[extractors.length];
+        for (int i = 0; i < extractors.length; i++) {
+            args[i] = extractors[i].extract(request);
+        }
+        return args;
+    }
+
+    /**
+     * 参数个数
+     */
+    public int size() {
+        return extractors.length;
+    }
+}
@@ -32,6 +32,8 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
         // 注册默认的参数解析器
         addResolver(new PathVariableMethodArgumentResolver());
         addResolver(new RequestParamMethodArgumentResolver());
+        addResolver(new RequestHeaderMethodArgumentResolver());
+        addResolver(new RequestBodyStreamMethodArgumentResolver());
         addResolver(new RequestBodyMethodArgumentResolver());
     }
 
@@ -66,11 +68,24 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
         return resolver.resolveArgument(parameter, request);
     }
 
+    /**
+     * 由支持该参数的解析器生成提取器，注册处理方法时确定解析器，请求时不再逐个匹配
+     */
+    @Override
+    @NotNull
+    public ArgumentExtractor compile(@NotNull Parameter parameter) {
+        HandlerMethodArgumentResolver resolver = getResolver(parameter);
+        if (resolver == null) {
+            throw new IllegalArgumentException("No suitable resolver for parameter: " + parameter.getName());
+        }
+        return resolver.compile(parameter);
+    }
+
     /**
      * 获取支持该参数的解析器
      */
     @Nullable
-    private HandlerMethodArgumentResolver getResolver(@NotNull Parameter parameter) {
+    public HandlerMethodArgumentResolver getResolver(@NotNull Parameter parameter) {
         for (HandlerMethodArgumentResolver resolver : resolvers) {
             if (resolver.supportsParameter(parameter)) {
                 return resolver;
@@ -3,6 +3,7 @@ package com.dtc.core.web.argument;
 import com.dtc.api.annotations.NotNull;
 import com.dtc.api.annotations.Nullable;
 import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.serialization.JsonCodec;
 import com.dtc.core.web.HandlerMethodArgumentResolver;
 import com.dtc.annotations.web.RequestBody;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 
 /**
  * 请求体参数解析器
@@ -22,14 +24,14 @@ public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentR
 
     private static final Logger log = LoggerFactory.getLogger(RequestBodyMethodArgumentResolver.class);
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
 
     public RequestBodyMethodArgumentResolver() {
-        this.objectMapper = new ObjectMapper();
+        this.jsonCodec = JsonCodec.getDefault();
     }
 
     public RequestBodyMethodArgumentResolver(@NotNull ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.jsonCodec = new JsonCodec(objectMapper);
     }
 
     @Override
@@ -40,25 +42,35 @@ public class RequestBodyMethodArgumentResolver implements HandlerMethodArgumentR
     @Override
     @Nullable
     public Object resolveArgument(@NotNull Parameter parameter, @NotNull HttpRequestEx request) throws Exception {
+        return compile(parameter).extract(request);
+    }
+
+    @Override
+    @NotNull
+    public ArgumentExtractor compile(@NotNull Parameter parameter) {
         RequestBody requestBody = parameter.getAnnotation(RequestBody.class);
         if (requestBody == null) {
-            return null;
+            return request -> null;
         }
 
-        String body = request.getBody();
-        if (body == null || body.isEmpty()) {
-            if (requestBody.required()) {
-                throw new IllegalArgumentException("Required request body is missing");
+        boolean required = requestBody.required();
+        Type targetType = parameter.getParameterizedType();
+
+        return request -> {
+            if (!request.hasBody()) {
+                if (required) {
+                    throw new IllegalArgumentException("Required request body is missing");
+                }
+                return null;
             }
-            return null;
-        }
 
-        try {
-            // 使用Jackson解析JSON
-            return objectMapper.readValue(body, parameter.getType());
-        } catch (Exception e) {
-            log.error("Failed to parse request body as {}", parameter.getType().getName(), e);
-            throw new IllegalArgumentException("Failed to parse request body: " + e.getMessage(), e);
-        }
+            try {
+                // 直接从请求体字节解析，按参数的泛型类型缓存ObjectReader
+                return jsonCodec.read(request.getBodyBytes(), targetType);
+            } catch (Exception e) {
+                log.error("Failed to parse request body as {}", targetType.getTypeName(), e);
+                throw new IllegalArgumentException("Failed to parse request body: " + e.getMessage(), e);
+            }
+        };
     }
 }
@@ -0,0 +1,68 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.stream.HttpBodyStream;
+import com.dtc.core.web.HandlerMethodArgumentResolver;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.Flow;
+
+/**
+ * 流式请求体参数解析器
+ * 解析 HttpBodyStream、Flow.Publisher 和 InputStream 类型的参数。
+ * 声明了这类参数的处理方法注册为流式路由，请求体不经过聚合；
+ * 聚合请求也可以按流读取，此时基于已接收的完整请求体。
+ *
+ * @author Network Service Template
+ */
+public class RequestBodyStreamMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * 判断参数类型是否需要以流的方式接收请求体
+     */
+    public static boolean isStreamParameter(@NotNull Class<?> type) {
+        return type == HttpBodyStream.class || type == Flow.Publisher.class || type == InputStream.class;
+    }
+
+    /**
+     * 判断处理方法是否需要以流的方式接收请求体
+     */
+    public static boolean isStreamingMethod(@NotNull Method method) {
+        for (Class<?> type : method.getParameterTypes()) {
+            if (isStreamParameter(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean supportsParameter(@NotNull Parameter parameter) {
+        return isStreamParameter(parameter.getType());
+    }
+
+    @Override
+    @Nullable
+    public Object resolveArgument(@NotNull Parameter parameter, @NotNull HttpRequestEx request) throws Exception {
+        return compile(parameter).extract(request);
+    }
+
+    @Override
+    @NotNull
+    public ArgumentExtractor compile(@NotNull Parameter parameter) {
+        if (parameter.getType() == InputStream.class) {
+            return request -> bodyStream(request).asInputStream();
+        }
+        return RequestBodyStreamMethodArgumentResolver::bodyStream;
+    }
+
+    @NotNull
+    private static HttpBodyStream bodyStream(@NotNull HttpRequestEx request) {
+        HttpBodyStream bodyStream = request.getBodyStream();
+        return bodyStream != null ? bodyStream : HttpBodyStream.of(request.getBodyBytes());
+    }
+}
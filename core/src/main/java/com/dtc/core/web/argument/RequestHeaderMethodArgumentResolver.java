@@ -0,0 +1,58 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.web.HandlerMethodArgumentResolver;
+import com.dtc.annotations.web.RequestHeader;
+
+import java.lang.reflect.Parameter;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * 请求头参数解析器
+ * 解析@RequestHeader注解的参数，请求头名称不区分大小写
+ * 
+ * @author Network Service Template
+ */
+public class RequestHeaderMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(@NotNull Parameter parameter) {
+        return parameter.isAnnotationPresent(RequestHeader.class);
+    }
+
+    @Override
+    @Nullable
+    public Object resolveArgument(@NotNull Parameter parameter, @NotNull HttpRequestEx request) throws Exception {
+        return compile(parameter).extract(request);
+    }
+
+    @Override
+    @NotNull
+    public ArgumentExtractor compile(@NotNull Parameter parameter) {
+        RequestHeader requestHeader = parameter.getAnnotation(RequestHeader.class);
+        if (requestHeader == null) {
+            return request -> null;
+        }
+
+        // 请求头以小写名称保存，预先转换后直接查表
+        String headerName = (requestHeader.value().isEmpty() ? parameter.getName() : requestHeader.value())
+            .toLowerCase(Locale.ROOT);
+        boolean required = requestHeader.required();
+        Function<String, Object> converter = ValueConverters.forType(parameter.getType());
+        Object defaultValue = requestHeader.defaultValue().isEmpty() ? null : converter.apply(requestHeader.defaultValue());
+
+        return request -> {
+            String headerValue = request.getHeaders().get(headerName);
+            if (headerValue == null || headerValue.isEmpty()) {
+                if (required) {
+                    throw new IllegalArgumentException("Required request header '" + headerName + "' is missing");
+                }
+                return defaultValue;
+            }
+            return converter.apply(headerValue);
+        };
+    }
+}
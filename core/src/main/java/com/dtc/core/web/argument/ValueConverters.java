@@ -0,0 +1,44 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.api.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Function;
+
+/**
+ * 字符串参数值的类型转换器
+ * 路径变量、请求参数和请求头共用，按目标类型选出转换函数，生成参数提取器时只选择一次。
+ *
+ * @author Network Service Template
+ */
+public final class ValueConverters {
+
+    private static final Logger log = LoggerFactory.getLogger(ValueConverters.class);
+
+    private ValueConverters() {
+    }
+
+    /**
+     * 获取目标类型的转换函数，不支持的类型按字符串传递
+     */
+    @NotNull
+    public static Function<String, Object> forType(@NotNull Class<?> targetType) {
+        if (targetType == String.class) {
+            return value -> value;
+        } else if (targetType == Integer.class || targetType == int.class) {
+            return Integer::valueOf;
+        } else if (targetType == Long.class || targetType == long.class) {
+            return Long::valueOf;
+        } else if (targetType == Double.class || targetType == double.class) {
+            return Double::valueOf;
+        } else if (targetType == Float.class || targetType == float.class) {
+            return Float::valueOf;
+        } else if (targetType == Boolean.class || targetType == boolean.class) {
+            return Boolean::valueOf;
+        } else {
+            log.warn("Unsupported argument type: {}, passing as String", targetType.getName());
+            return value -> value;
+        }
+    }
+}
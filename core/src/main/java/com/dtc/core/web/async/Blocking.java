@@ -0,0 +1,20 @@
+package com.dtc.core.web.async;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 阻塞处理方法注解
+ * 标注在控制器类或处理方法上，表示方法内有数据库、远程调用等阻塞操作，
+ * 调用会交给 {@link BlockingHandlerExecutor}，不占用消息分发线程
+ *
+ * @author Network Service Template
+ */
+@Documented
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Blocking {
+}
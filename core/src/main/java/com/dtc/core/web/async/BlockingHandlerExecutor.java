@@ -0,0 +1,86 @@
+package com.dtc.core.web.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dtc.api.annotations.NotNull;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * 阻塞处理方法执行器
+ * 执行标注了 {@link Blocking} 的控制器方法，-Dhttp.blocking.all=true 时执行所有控制器方法。
+ * -Dhttp.blocking.executor 选择执行方式：
+ * <ul>
+ * <li>virtual（默认）：每次调用一个虚拟线程，阻塞时不占用平台线程</li>
+ * <li>bounded：固定大小的线程池（http.blocking.threads）加有界队列（http.blocking.queue），队列满时拒绝，
+ * 用于需要限制下游并发的场景</li>
+ * </ul>
+ *
+ * @author Network Service Template
+ */
+@Singleton
+public class BlockingHandlerExecutor implements Executor, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingHandlerExecutor.class);
+
+    private final boolean blockingAll;
+    private final ExecutorService executor;
+
+    @Inject
+    public BlockingHandlerExecutor() {
+        this(System.getProperty("http.blocking.executor", "virtual"),
+                Integer.getInteger("http.blocking.threads", Runtime.getRuntime().availableProcessors() * 8),
+                Integer.getInteger("http.blocking.queue", 1024),
+                Boolean.getBoolean("http.blocking.all"));
+    }
+
+    public BlockingHandlerExecutor(@NotNull String mode, int threads, int queueCapacity, boolean blockingAll) {
+        this.blockingAll = blockingAll;
+        if ("bounded".equalsIgnoreCase(mode)) {
+            AtomicInteger index = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                        Thread thread = new Thread(runnable, "http-blocking-" + index.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            log.info("Blocking handler executor: bounded, threads={}, queue={}", threads, queueCapacity);
+        } else {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("http-blocking-", 0).factory());
+            log.info("Blocking handler executor: virtual threads");
+        }
+    }
+
+    /**
+     * 处理方法是否需要在阻塞执行器上调用
+     */
+    public boolean isBlocking(@NotNull Method method) {
+        return blockingAll || method.isAnnotationPresent(Blocking.class)
+                || method.getDeclaringClass().isAnnotationPresent(Blocking.class);
+    }
+
+    /**
+     * 提交任务，bounded 模式下队列已满时抛出 RejectedExecutionException
+     */
+    @Override
+    public void execute(@NotNull Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,116 @@
+package com.dtc.core.web.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.dtc.api.annotations.NotNull;
+import com.dtc.api.annotations.Nullable;
+
+/**
+ * 延迟结果
+ * 控制器方法返回 DeferredResult 后立即释放调用线程，结果由其他线程（消息回调、定时任务等）
+ * 通过 {@link #setResult(Object)} 或 {@link #setErrorResult(Object)} 设置，设置时写出响应。
+ * 超时未设置结果时使用超时结果，未指定超时结果则返回 503。
+ *
+ * @param <T> 结果类型
+ * @author Network Service Template
+ */
+public class DeferredResult<T> {
+
+    private static final Object NO_RESULT = new Object();
+
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+    private final long timeoutMillis;
+    private final Object timeoutResult;
+    private volatile Runnable timeoutCallback;
+
+    /**
+     * 不设置超时，由 HTTP 请求的异步超时（http.async.timeout.ms）兜底
+     */
+    public DeferredResult() {
+        this(0L);
+    }
+
+    public DeferredResult(long timeoutMillis) {
+        this(timeoutMillis, NO_RESULT);
+    }
+
+    /**
+     * @param timeoutMillis 超时毫秒数，0 表示不设置
+     * @param timeoutResult 超时时返回的结果
+     */
+    public DeferredResult(long timeoutMillis, @Nullable Object timeoutResult) {
+        this.timeoutMillis = timeoutMillis;
+        this.timeoutResult = timeoutResult;
+        if (timeoutMillis > 0) {
+            CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(this::expire);
+        }
+    }
+
+    /**
+     * 设置结果
+     *
+     * @return 结果已被设置或已超时时返回 false
+     */
+    public boolean setResult(@Nullable T result) {
+        return future.complete(result);
+    }
+
+    /**
+     * 设置错误结果，Throwable 按处理异常返回 500，其他对象作为响应内容
+     *
+     * @return 结果已被设置或已超时时返回 false
+     */
+    public boolean setErrorResult(@NotNull Object error) {
+        return error instanceof Throwable cause ? future.completeExceptionally(cause) : future.complete(error);
+    }
+
+    /**
+     * 超时回调，在设置超时结果之前调用，回调中仍可以设置结果
+     */
+    public void onTimeout(@NotNull Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    /**
+     * 完成回调，设置结果、超时或请求被放弃后调用
+     */
+    public void onCompletion(@NotNull Runnable callback) {
+        future.whenComplete((result, error) -> callback.run());
+    }
+
+    /**
+     * 是否已设置结果或已超时
+     */
+    public boolean isSetOrExpired() {
+        return future.isDone();
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 获取结果对应的 Future，由控制器调用方使用
+     */
+    @NotNull
+    public CompletableFuture<Object> toCompletableFuture() {
+        return future;
+    }
+
+    private void expire() {
+        if (future.isDone()) {
+            return;
+        }
+        Runnable callback = timeoutCallback;
+        if (callback != null) {
+            callback.run();
+        }
+        if (timeoutResult != NO_RESULT) {
+            future.complete(timeoutResult);
+        } else {
+            future.completeExceptionally(new TimeoutException("Deferred result timed out after " + timeoutMillis + "ms"));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dtc.core.web.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 响应缓存注解
+ * 标注在幂等的 GET 处理方法上，响应编码后缓存在 {@link com.dtc.core.network.http.cache.ResponseCache} 中，
+ * 有效期内的相同请求不再调用方法，并根据 ETag / Last-Modified 响应条件请求
+ *
+ * @author Network Service Template
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheResponse {
+
+    /**
+     * 缓存有效期（秒）
+     */
+    long ttlSeconds() default 60;
+
+    /**
+     * 参与缓存键的请求头
+     */
+    String[] varyHeaders() default {};
+
+    /**
+     * 缓存标签，通过 {@link com.dtc.core.network.http.cache.ResponseCache#invalidateTag(String)} 失效
+     */
+    String[] tags() default {};
+}
@@ -17,19 +17,26 @@ public class DefaultFilterChain implements FilterChain {
     
     private static final Logger log = LoggerFactory.getLogger(DefaultFilterChain.class);
     
-    private final List<Filter> filters;
+    private final Filter[] filters;
     private final FilterChain targetChain;
     private int currentIndex = 0;
     
     public DefaultFilterChain(@NotNull List<Filter> filters, @NotNull FilterChain targetChain) {
+        this(filters.toArray(new Filter[0]), targetChain);
+    }
+    
+    /**
+     * 基于路由上预先计算的过滤器数组创建过滤器链
+     */
+    public DefaultFilterChain(@NotNull Filter[] filters, @NotNull FilterChain targetChain) {
         this.filters = filters;
         this.targetChain = targetChain;
     }
     
     @Override
     public void doFilter(@NotNull HttpRequestEx request, @NotNull HttpResponseEx response) {
-        if (currentIndex < filters.size()) {
-            Filter filter = filters.get(currentIndex);
+        if (currentIndex < filters.length) {
+            Filter filter = filters[currentIndex];
             currentIndex++;
             
             boolean continueChain = filter.doFilter(request, response, this);
@@ -58,5 +58,17 @@ public interface Filter {
     default int getOrder() {
         return 100;
     }
+
+    /**
+     * 获取过滤器作用的路径前缀
+     * 按路由路径模式匹配，如 "/admin" 或 "/admin/**" 作用于 /admin 及其下的所有路由，
+     * 为空时作用于所有请求。在路由的处理链中只计算一次，不在每个请求上匹配
+     * 
+     * @return 路径前缀
+     */
+    @NotNull
+    default String[] getPathPatterns() {
+        return new String[0];
+    }
 }
 
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 过滤器注册表
@@ -23,6 +24,8 @@ public class FilterRegistry {
     private static final Logger log = LoggerFactory.getLogger(FilterRegistry.class);
     
     private final List<Filter> filters = new CopyOnWriteArrayList<>();
+    // 每次变更加一，路由上缓存的处理链据此失效
+    private final AtomicLong version = new AtomicLong();
     
     @Inject
     public FilterRegistry() {
@@ -38,6 +41,7 @@ public class FilterRegistry {
         filters.add(filter);
         // 按优先级排序
         filters.sort(Comparator.comparingInt(Filter::getOrder));
+        version.incrementAndGet();
         log.info("Registered filter: {} with order: {}", filter.getName(), filter.getOrder());
     }
     
@@ -49,6 +53,7 @@ public class FilterRegistry {
      */
     public boolean removeFilter(@NotNull Filter filter) {
         boolean removed = filters.remove(filter);
+        version.incrementAndGet();
         if (removed) {
             log.info("Removed filter: {}", filter.getName());
         }
@@ -84,9 +89,17 @@ public class FilterRegistry {
      */
     public void clearFilters() {
         filters.clear();
+        version.incrementAndGet();
         log.info("All filters cleared");
     }
     
+    /**
+     * 获取变更版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * 获取过滤器数量
      * 
@@ -78,5 +78,15 @@ public interface HandlerInterceptor {
     default int getOrder() {
         return 100;
     }
+
+    /**
+     * 获取拦截器作用的路径前缀，为空时作用于所有处理方法，匹配规则与 Filter#getPathPatterns 相同
+     * 
+     * @return 路径前缀
+     */
+    @NotNull
+    default String[] getPathPatterns() {
+        return new String[0];
+    }
 }
 
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 拦截器注册表
@@ -24,6 +25,8 @@ public class InterceptorRegistry {
     private static final Logger log = LoggerFactory.getLogger(InterceptorRegistry.class);
     
     private final List<HandlerInterceptor> interceptors = new CopyOnWriteArrayList<>();
+    // 每次变更加一，路由上缓存的处理链据此失效
+    private final AtomicLong version = new AtomicLong();
     
     @Inject
     public InterceptorRegistry() {
@@ -39,6 +42,7 @@ public class InterceptorRegistry {
         interceptors.add(interceptor);
         // 按优先级排序
         interceptors.sort(Comparator.comparingInt(HandlerInterceptor::getOrder));
+        version.incrementAndGet();
         log.info("Registered interceptor: {} with order: {}", interceptor.getName(), interceptor.getOrder());
     }
     
@@ -50,6 +54,7 @@ public class InterceptorRegistry {
      */
     public boolean removeInterceptor(@NotNull HandlerInterceptor interceptor) {
         boolean removed = interceptors.remove(interceptor);
+        version.incrementAndGet();
         if (removed) {
             log.info("Removed interceptor: {}", interceptor.getName());
         }
@@ -130,9 +135,17 @@ public class InterceptorRegistry {
      */
     public void clearInterceptors() {
         interceptors.clear();
+        version.incrementAndGet();
         log.info("All interceptors cleared");
     }
     
+    /**
+     * 获取变更版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * 获取拦截器数量
      * 
@@ -0,0 +1,60 @@
+package com.dtc.core.diagnostic.jfr;
+
+import com.dtc.core.network.http.HttpMiddlewareManager;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpRequestHandler;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.HttpRouteManager;
+import com.dtc.core.web.filter.FilterRegistry;
+import com.dtc.core.web.interceptor.InterceptorRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JFR 事件测试
+ */
+@DisplayName("JFR 事件测试")
+public class JfrEventsTest {
+
+    @Test
+    @DisplayName("测试开启录制时提交 HTTP 请求事件，未开启时不提交")
+    void testHttpRequestEvent(@TempDir Path dir) throws Exception {
+        HttpRouteManager routeManager = new HttpRouteManager();
+        routeManager.registerGet("/users/{id}", request -> new HttpResponseEx.Builder().statusCode(200).build());
+        HttpRequestHandler handler = new HttpRequestHandler(routeManager, new HttpMiddlewareManager(),
+                new FilterRegistry(), new InterceptorRegistry());
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/users/42").build();
+
+        assertFalse(new HttpRequestEvent().isEnabled());
+        handler.handleRequest(request);
+
+        Path file = dir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.dtc.HttpRequest").withThreshold(Duration.ZERO);
+            recording.start();
+            assertEquals(200, handler.handleRequest(request).getStatusCode());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.dtc.HttpRequest"))
+                .toList();
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("GET", event.getString("method"));
+        assertEquals("/users/42", event.getString("path"));
+        assertEquals("/users/{id}", event.getString("route"));
+        assertEquals(200, event.getInt("status"));
+    }
+}
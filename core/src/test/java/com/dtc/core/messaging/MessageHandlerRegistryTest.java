@@ -1,12 +1,17 @@
 package com.dtc.core.messaging;
 
+import com.dtc.annotations.web.UdpHandler;
 import com.dtc.core.messaging.handler.HttpMessageHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -33,5 +38,48 @@ public class MessageHandlerRegistryTest {
     void testCreateRegistry() {
         assertNotNull(registry);
     }
+
+    @Test
+    @DisplayName("测试按原始字节查找UDP处理器与按字符串查找结果一致")
+    void testFindHandlerByBytes() {
+        registry.registerHandlerInstance(new RoutedUdpHandler());
+        String[] messages = { "ping", "  ping\r\n", "pingx", "cmd:reload", "cmd:", "seq:42", "其他", "", " " };
+        for (String message : messages) {
+            ByteBuf content = Unpooled.buffer().writeBytes("xx".getBytes(StandardCharsets.UTF_8))
+                    .writeBytes(message.getBytes(StandardCharsets.UTF_8));
+            content.skipBytes(2);
+            MessageHandlerRegistry.HandlerMethod expected = registry.findHandler("UDP", message.trim());
+            assertSame(expected, registry.findHandler("UDP", content), message);
+            assertEquals(2, content.readerIndex());
+            content.release();
+        }
+        assertEquals("ping", registry.findHandler("UDP", Unpooled.copiedBuffer(" ping ", StandardCharsets.UTF_8))
+                .getMethod().getName());
+        assertEquals("command", registry.findHandler("UDP", Unpooled.copiedBuffer("cmd:x", StandardCharsets.UTF_8))
+                .getMethod().getName());
+        assertEquals("sequence", registry.findHandler("UDP", Unpooled.copiedBuffer("seq:1", StandardCharsets.UTF_8))
+                .getMethod().getName());
+        assertEquals("fallback", registry.findHandler("UDP", Unpooled.copiedBuffer("pong", StandardCharsets.UTF_8))
+                .getMethod().getName());
+        assertNull(registry.findHandler("TCP", Unpooled.copiedBuffer("ping", StandardCharsets.UTF_8)));
+    }
+
+    public static class RoutedUdpHandler {
+        @UdpHandler("ping")
+        public void ping() {
+        }
+
+        @UdpHandler("cmd:*")
+        public void command() {
+        }
+
+        @UdpHandler("^seq:.*")
+        public void sequence() {
+        }
+
+        @UdpHandler
+        public void fallback() {
+        }
+    }
 }
 
@@ -1,7 +1,16 @@
 package com.dtc.core.messaging.handler;
 
+import com.dtc.annotations.web.CustomHandler;
 import com.dtc.core.messaging.NetworkMessageEvent;
 import com.dtc.core.messaging.MessageHandlerRegistry;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistry;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistryTest.LoginRequest;
+import com.dtc.core.network.custom.binary.BinaryCodecRegistryTest.LoginResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,5 +62,48 @@ public class CustomMessageHandlerTest {
         assertThrows(NullPointerException.class, 
             () -> handler.handleMessage(null));
     }
-}
 
+    @Test
+    @DisplayName("测试二进制消息按类型字节分发")
+    void testBinaryMessageDispatch() {
+        MessageHandlerRegistry registry = new MessageHandlerRegistry();
+        registry.registerHandlerInstance(new LoginHandler());
+        BinaryCodecRegistry codecRegistry = new BinaryCodecRegistry();
+        CustomMessageHandler binaryHandler = new CustomMessageHandler(registry, codecRegistry);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = channel.pipeline().firstContext();
+
+        LoginRequest request = new LoginRequest();
+        request.userId = 42;
+        request.token = "secret";
+        ByteBuf frame = Unpooled.buffer();
+        codecRegistry.encodeFrame(request, frame);
+
+        binaryHandler.handleMessage(NetworkMessageEvent.builder()
+                .eventId("test-binary")
+                .protocolType("Custom")
+                .message(frame)
+                .channelContext(ctx)
+                .build());
+        frame.release();
+
+        ByteBuf reply = channel.readOutbound();
+        assertNotNull(reply);
+        LoginResponse response = (LoginResponse) codecRegistry.decodeFrame(reply);
+        reply.release();
+        assertEquals(200, response.code);
+        assertEquals("welcome 42", response.message);
+        channel.finishAndReleaseAll();
+    }
+
+    public static class LoginHandler {
+        @CustomHandler
+        public LoginResponse login(ChannelHandlerContext ctx, LoginRequest request) {
+            LoginResponse response = new LoginResponse();
+            response.code = "secret".equals(request.token) ? 200 : 401;
+            response.message = "welcome " + request.userId;
+            return response;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dtc.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Histogram 测试
+ */
+@DisplayName("直方图测试")
+public class HistogramTest {
+
+    @Test
+    @DisplayName("测试分位数的相对误差")
+    void testPercentiles() {
+        Histogram histogram = new Histogram(3_600_000_000_000L);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertEquals(50_000_500.0, snapshot.getMean(), 0.001);
+        assertWithin(50_000_000, snapshot.getP50());
+        assertWithin(99_000_000, snapshot.getP99());
+        assertWithin(99_900_000, snapshot.getP999());
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("测试小值精确记录以及超过上限的值按上限记录")
+    void testExactAndClampedValues() {
+        Histogram histogram = new Histogram(1000);
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(127);
+        histogram.record(5000);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getP50());
+        assertEquals(1000, snapshot.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getP99());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 64, "expected ~" + expected + " but was " + actual);
+    }
+}
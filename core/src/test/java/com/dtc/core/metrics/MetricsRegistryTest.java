@@ -5,7 +5,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +71,19 @@ public class MetricsRegistryTest {
         assertEquals(5L, counters.get("counter2"));
     }
 
+    @Test
+    @DisplayName("测试计数器视图反映最新值且只读")
+    void testCountersView() {
+        registry.incrementCounter("counter1", 1);
+        Map<String, Counter> counters = registry.getCounters();
+
+        registry.incrementCounter("counter1", 2);
+        registry.incrementCounter("counter3", 4);
+        assertEquals(3L, counters.get("counter1").get());
+        assertEquals(4L, counters.get("counter3").get());
+        assertThrows(UnsupportedOperationException.class, () -> counters.remove("counter1"));
+    }
+
     @Test
     @DisplayName("测试获取所有仪表盘")
     void testGetAllGauges() {
@@ -100,7 +112,7 @@ public class MetricsRegistryTest {
     @Test
     @DisplayName("测试获取不存在的计数器")
     void testGetNonExistentCounter() {
-        AtomicLong counter = registry.getCounter("non.existent");
+        Counter counter = registry.getCounter("non.existent");
         assertNotNull(counter);
         assertEquals(0L, counter.get());
     }
@@ -134,5 +146,20 @@ public class MetricsRegistryTest {
         
         assertEquals((long) threadCount * incrementsPerThread, registry.getCounter("concurrent.counter").get());
     }
+
+    @Test
+    @DisplayName("测试计时器注册与重置")
+    void testTimers() {
+        Timer timer = registry.timer("test.timer");
+        assertSame(timer, registry.timer("test.timer"));
+        timer.record(1_000);
+
+        Timer owned = new Timer();
+        registry.registerTimer("owned.timer", owned);
+        assertEquals(Map.of("test.timer", timer, "owned.timer", owned), registry.getAllTimers());
+
+        registry.reset();
+        assertTrue(registry.getAllTimers().isEmpty());
+    }
 }
 
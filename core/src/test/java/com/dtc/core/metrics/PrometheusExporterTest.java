@@ -0,0 +1,101 @@
+package com.dtc.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PrometheusExporter 和 MetricFamily 测试
+ */
+@DisplayName("Prometheus 指标导出测试")
+public class PrometheusExporterTest {
+
+    @Test
+    @DisplayName("测试带标签的计数器、仪表和标签值转义")
+    void testLabeledMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricFamily<Counter> requests = registry.counterFamily("http_requests_total", "HTTP requests",
+                "method", "path");
+        requests.labels("GET", "/users").add(3);
+        requests.labels("POST", "/a\"b\\c\nd").increment();
+        assertSame(requests, registry.counterFamily("http_requests_total", "HTTP requests", "method", "path"));
+        registry.gaugeFamily("queue_size", "Queue size").labels().set(-7);
+
+        String text = scrape(registry);
+        assertTrue(text.contains("# HELP http_requests_total HTTP requests\n# TYPE http_requests_total counter\n"));
+        assertTrue(text.contains("http_requests_total{method=\"GET\",path=\"/users\"} 3\n"));
+        assertTrue(text.contains("http_requests_total{method=\"POST\",path=\"/a\\\"b\\\\c\\nd\"} 1\n"));
+        assertTrue(text.contains("# TYPE queue_size gauge\nqueue_size -7\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.gaugeFamily("http_requests_total", "x"));
+        assertThrows(IllegalArgumentException.class, () -> requests.labels("GET"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counterFamily("bad-name", "x"));
+    }
+
+    @Test
+    @DisplayName("测试超过序列数上限后计入 overflow 序列")
+    void testCardinalityLimit() {
+        MetricFamily<Counter> family = new MetricFamily<>("client_requests_total", "Requests by client",
+                MetricType.COUNTER, new String[] {"client"}, 2, Counter::new);
+        family.labels("a").increment();
+        family.labels("b").increment();
+        family.labels("c").increment();
+        family.labels("d").increment();
+        family.labels("a").increment();
+
+        assertEquals(3, family.size());
+        assertEquals(2, family.labels("a").get());
+        assertEquals(2, family.labels(MetricFamily.OVERFLOW_LABEL_VALUE).get());
+        assertEquals(2, family.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("测试计时器导出为 summary 和不带标签的指标")
+    void testSummaryAndFlatMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Timer timer = registry.timerFamily("route_latency_seconds", "Route latency", "route").labels("/users");
+        timer.record(1500, TimeUnit.MILLISECONDS);
+        timer.record(500, TimeUnit.MILLISECONDS);
+        timer.intervalSnapshot();
+        registry.incrementCounter("requests.total", 42);
+        registry.setGauge("1st.gauge", 5);
+
+        String text = scrape(registry);
+        assertTrue(text.contains("# TYPE route_latency_seconds summary\n"));
+        assertTrue(text.contains("route_latency_seconds{route=\"/users\",quantile=\"0.5\"} 0."));
+        assertTrue(text.contains("route_latency_seconds_sum{route=\"/users\"} 2.000000000\n"));
+        assertTrue(text.contains("route_latency_seconds_count{route=\"/users\"} 2\n"));
+        assertTrue(text.contains("# TYPE route_latency_seconds_max gauge\nroute_latency_seconds_max{route=\"/users\"} 1."));
+        assertTrue(text.contains("# TYPE requests_total counter\nrequests_total 42\n"));
+        assertTrue(text.contains("_1st_gauge 5\n"));
+        assertEquals(text, scrape(registry));
+    }
+
+    @Test
+    @DisplayName("测试采样的计数器和仪表只读，导出时读取数据源")
+    void testSampledMetrics() {
+        long[] source = {5};
+        Counter counter = new Counter(() -> source[0]);
+        Gauge gauge = new Gauge(() -> -source[0]);
+        source[0] = 8;
+        assertEquals(8, counter.get());
+        assertEquals(-8, gauge.get());
+        assertThrows(IllegalStateException.class, counter::increment);
+        assertThrows(IllegalStateException.class, () -> counter.add(1));
+        assertThrows(IllegalStateException.class, counter::reset);
+        assertThrows(IllegalStateException.class, () -> gauge.set(1));
+        assertEquals(8, counter.get());
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counterFamily("processed_total", "Processed events", "consumer").register(counter, "c1");
+        assertTrue(scrape(registry).contains("processed_total{consumer=\"c1\"} 8\n"));
+    }
+
+    private static String scrape(MetricsRegistry registry) {
+        return new PrometheusExporter(registry).scrape().toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dtc.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timer 和 Recorder 测试
+ */
+@DisplayName("计时器测试")
+public class TimerTest {
+
+    @Test
+    @DisplayName("测试区间快照的分位数和区间重置")
+    void testIntervalSnapshot() {
+        Timer timer = new Timer();
+        for (int i = 1; i <= 1000; i++) {
+            timer.record(i, TimeUnit.MICROSECONDS);
+        }
+
+        HistogramSnapshot snapshot = timer.intervalSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_000, snapshot.getP50(), 500_000 / 64.0);
+        assertEquals(990_000, snapshot.getP99(), 990_000 / 64.0);
+        assertEquals(999_000, snapshot.getP999(), 999_000 / 64.0);
+        assertEquals(1_000_000, snapshot.getMax());
+        assertSame(snapshot, timer.getLastSnapshot());
+
+        timer.record(5, TimeUnit.MILLISECONDS);
+        HistogramSnapshot next = timer.intervalSnapshot();
+        assertEquals(1, next.getCount());
+        assertEquals(5_000_000, next.getMax(), 5_000_000 / 64.0);
+        assertEquals(1001, timer.getCount());
+        assertEquals(0, timer.intervalSnapshot().getCount());
+    }
+
+    @Test
+    @DisplayName("测试并发记录与区间快照不丢失记录")
+    void testConcurrentRecording() throws Exception {
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(1));
+        int threads = 4;
+        int perThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean failed = new AtomicBoolean();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        recorder.record(i);
+                    }
+                } catch (Throwable e) {
+                    failed.set(true);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long total = 0;
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            total += recorder.intervalSnapshot().getCount();
+        }
+        total += recorder.intervalSnapshot().getCount();
+        executor.shutdown();
+
+        assertFalse(failed.get());
+        assertEquals((long) threads * perThread, total);
+    }
+}
@@ -0,0 +1,175 @@
+package com.dtc.core.network.custom.binary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtc.annotations.codec.BinaryField;
+import com.dtc.annotations.codec.BinaryMessage;
+import com.dtc.core.network.custom.BinaryCustomCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * BinaryCodecRegistry 测试
+ * 测试中的消息类由注解处理器在测试编译时生成编解码器
+ */
+@DisplayName("二进制编解码器注册表测试")
+public class BinaryCodecRegistryTest {
+
+    @BinaryMessage(type = 0x21)
+    public static class LoginRequest {
+        @BinaryField(order = 1)
+        public long userId;
+        @BinaryField(order = 2)
+        public String token;
+        @BinaryField(order = 3)
+        public boolean rememberMe;
+        @BinaryField(order = 4)
+        public byte[] payload;
+        @BinaryField(order = 5)
+        public double score;
+        @BinaryField(order = 6)
+        public short version;
+        public String transientNote;
+    }
+
+    @BinaryMessage(type = 0x22)
+    public static class LoginResponse {
+        @BinaryField(order = 1)
+        public int code;
+        @BinaryField(order = 2)
+        public String message;
+    }
+
+    private BinaryCodecRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new BinaryCodecRegistry();
+    }
+
+    @Test
+    @DisplayName("测试加载生成的编解码器")
+    void testLoadGeneratedCodecs() {
+        BinaryMessageCodec<?> codec = registry.getCodec(0x21);
+        assertNotNull(codec);
+        assertEquals(LoginRequest.class, codec.getMessageClass());
+        assertSame(codec, registry.getCodec(LoginRequest.class));
+        assertEquals(BinaryCodecRegistry.codecClassName(LoginRequest.class), codec.getClass().getName());
+    }
+
+    @Test
+    @DisplayName("测试帧编解码往返")
+    void testFrameRoundTrip() {
+        LoginRequest request = new LoginRequest();
+        request.userId = 1234567890123L;
+        request.token = "令牌-abc";
+        request.rememberMe = true;
+        request.payload = new byte[] { 1, 2, 3 };
+        request.score = 98.5;
+        request.version = 7;
+        request.transientNote = "not encoded";
+
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            assertTrue(registry.encodeFrame(request, buffer));
+            assertEquals(buffer.readableBytes() - 4, buffer.getInt(0));
+            assertEquals(0x21, buffer.getUnsignedByte(4));
+            assertTrue(registry.supportsFrame(buffer));
+
+            LoginRequest decoded = (LoginRequest) registry.decodeFrame(buffer);
+            assertNotNull(decoded);
+            assertEquals(0, buffer.readableBytes());
+            assertEquals(request.userId, decoded.userId);
+            assertEquals(request.token, decoded.token);
+            assertTrue(decoded.rememberMe);
+            assertArrayEquals(request.payload, decoded.payload);
+            assertEquals(request.score, decoded.score);
+            assertEquals(request.version, decoded.version);
+            assertNull(decoded.transientNote);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("测试null字段编解码")
+    void testNullFields() {
+        LoginRequest request = new LoginRequest();
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            registry.encodeFrame(request, buffer);
+            LoginRequest decoded = (LoginRequest) registry.decodeFrame(buffer);
+            assertNull(decoded.token);
+            assertNull(decoded.payload);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("测试重复类型字节注册失败")
+    void testDuplicateType() {
+        BinaryMessageCodec<String> conflicting = new BinaryMessageCodec<>() {
+            @Override
+            public int getType() {
+                return 0x21;
+            }
+
+            @Override
+            public Class<String> getMessageClass() {
+                return String.class;
+            }
+
+            @Override
+            public void encode(String message, ByteBuf out) {
+            }
+
+            @Override
+            public String decode(ByteBuf in) {
+                return "";
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> registry.register(conflicting));
+    }
+
+    @Test
+    @DisplayName("测试BinaryCustomCodec处理半包和未注册类型")
+    void testBinaryCustomCodec() throws Exception {
+        BinaryCustomCodec codec = new BinaryCustomCodec(registry);
+        ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+
+        LoginResponse response = new LoginResponse();
+        response.code = 200;
+        response.message = "ok";
+        ByteBuf stream = Unpooled.buffer();
+        codec.encode(ctx, response, stream);
+        // 未注册类型 0x05 的帧
+        stream.writeInt(3).writeByte(0x05).writeShort(42);
+
+        List<Object> out = new ArrayList<>();
+        ByteBuf partial = stream.copy(0, 3);
+        codec.decode(ctx, partial, out);
+        assertTrue(out.isEmpty());
+        partial.release();
+
+        codec.decode(ctx, stream, out);
+        assertEquals(2, out.size());
+        LoginResponse decoded = assertInstanceOf(LoginResponse.class, out.get(0));
+        assertEquals(200, decoded.code);
+        assertEquals("ok", decoded.message);
+        ByteBuf unknown = assertInstanceOf(ByteBuf.class, out.get(1));
+        assertEquals(7, unknown.readableBytes());
+        unknown.release();
+        stream.release();
+    }
+}
@@ -0,0 +1,92 @@
+package com.dtc.core.network.grpc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.dtc.core.network.tcp.TcpGrpcService;
+import com.dtc.core.tcp.proto.TcpServiceGrpc;
+import com.dtc.core.tcp.proto.TcpServiceProto;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GrpcServer 测试
+ */
+@DisplayName("gRPC服务器测试")
+public class GrpcServerTest {
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private GrpcServer grpcServer;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("test-boss"));
+        workerGroup = new NioEventLoopGroup(2, new DefaultThreadFactory("test-worker"));
+        grpcServer = new GrpcServer();
+        grpcServer.setPort(0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (channel != null) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        grpcServer.stop();
+        workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    @Test
+    @DisplayName("测试没有服务时不启动")
+    void testNoServices() throws Exception {
+        grpcServer.start(bossGroup, workerGroup);
+        assertFalse(grpcServer.isStarted());
+    }
+
+    @Test
+    @DisplayName("测试在共享事件循环上处理gRPC调用")
+    void testServeOnSharedEventLoops() throws Exception {
+        AtomicReference<String> handlerThread = new AtomicReference<>();
+        grpcServer.registerService(new TcpGrpcService() {
+            @Override
+            public void processMessage(TcpServiceProto.TcpRequest request,
+                    StreamObserver<TcpServiceProto.TcpResponse> responseObserver) {
+                handlerThread.set(Thread.currentThread().getName());
+                super.processMessage(request, responseObserver);
+            }
+        });
+        grpcServer.start(bossGroup, workerGroup);
+        assertTrue(grpcServer.isStarted());
+
+        channel = NettyChannelBuilder.forAddress("127.0.0.1", grpcServer.getPort()).usePlaintext().build();
+        TcpServiceProto.TcpResponse response = TcpServiceGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(5, TimeUnit.SECONDS)
+                .processMessage(TcpServiceProto.TcpRequest.newBuilder().setMessage("hi").build());
+
+        assertEquals("Echo: hi", response.getMessage());
+        assertTrue(handlerThread.get().startsWith("test-worker"), handlerThread.get());
+    }
+
+    @Test
+    @DisplayName("测试启动后不能注册服务")
+    void testRegisterAfterStart() throws Exception {
+        grpcServer.registerService(new TcpGrpcService());
+        grpcServer.start(bossGroup, workerGroup);
+        assertThrows(IllegalStateException.class, () -> grpcServer.registerService(new TcpGrpcService()));
+        assertEquals(1, grpcServer.getServices().size());
+    }
+}
@@ -0,0 +1,240 @@
+package com.dtc.core.network.http;
+
+import com.dtc.api.ProtocolExtension;
+import com.dtc.core.network.http2.Http2Config;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * HttpPipelineConfigurer 测试
+ */
+@DisplayName("HTTP/2 Pipeline配置测试")
+public class HttpPipelineConfigurerTest {
+
+    private EventLoopGroup group;
+    private Channel serverChannel;
+
+    @AfterEach
+    void tearDown() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (group != null) {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    @Test
+    @DisplayName("测试明文连接通过Upgrade升级到h2c并复用连接")
+    void testH2cUpgrade() throws Exception {
+        int port = startServer(new Http2Config());
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> first = client.send(request("http://localhost:" + port + "/a"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_2, first.version());
+        assertEquals("stream=true path=/a", first.body());
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(client.sendAsync(request("http://localhost:" + port + "/b" + i),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            HttpResponse<String> response = responses.get(i).get();
+            assertEquals(HttpClient.Version.HTTP_2, response.version());
+            assertEquals("stream=true path=/b" + i, response.body());
+        }
+    }
+
+    @Test
+    @DisplayName("测试TLS通过ALPN协商h2")
+    void testAlpn() throws Exception {
+        Http2Config config = new Http2Config().setSslEnabled(true)
+                .setCertificatePath(resource("ssl/localhost.crt"))
+                .setPrivateKeyPath(resource("ssl/localhost.key"));
+        int port = startServer(config);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+                .sslContext(trustTestCertificate()).build();
+
+        HttpResponse<String> response = client.send(request("https://localhost:" + port + "/secure"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals("stream=true path=/secure", response.body());
+
+        HttpClient http1Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .sslContext(trustTestCertificate()).build();
+        HttpResponse<String> http1 = http1Client.send(request("https://localhost:" + port + "/secure"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_1_1, http1.version());
+        assertEquals("stream=false path=/secure", http1.body());
+    }
+
+    @Test
+    @DisplayName("测试开启TLS但证书缺失或无法加载时启动失败，不退回明文")
+    void testTlsMisconfigured() {
+        assertThrows(IllegalStateException.class, () -> new HttpPipelineConfigurer(new HttpRouteManager(),
+                new Http2Config().setSslEnabled(true)));
+        assertThrows(IllegalStateException.class, () -> new HttpPipelineConfigurer(new HttpRouteManager(),
+                new Http2Config().setSslEnabled(true)
+                        .setCertificatePath("missing.crt")
+                        .setPrivateKeyPath("missing.key")));
+    }
+
+    @Test
+    @DisplayName("测试h2c直连切换到HTTP/2处理器")
+    void testPriorKnowledge() {
+        HttpPipelineConfigurer configurer = new HttpPipelineConfigurer(new HttpRouteManager(),
+                new Http2Config().setInitialWindowSize(256 * 1024).setConnectionWindowSize(1024 * 1024));
+        EmbeddedChannel channel = new EmbeddedChannel();
+        configurer.configure(channel.pipeline(), echoExtension());
+
+        channel.writeInbound(Http2CodecUtil.connectionPrefaceBuf());
+        assertNotNull(channel.pipeline().get("http2MultiplexHandler"));
+        assertNull(channel.pipeline().get("httpObjectAggregator"));
+
+        // 连接窗口按配置扩大，流初始窗口通过 SETTINGS 通告
+        Http2Connection connection = channel.pipeline().get(Http2FrameCodec.class).connection();
+        assertEquals(1024 * 1024, connection.local().flowController().windowSize(connection.connectionStream()));
+        ByteBuf settings = channel.readOutbound();
+        assertEquals(0x4, settings.getByte(3));
+        assertEquals(256 * 1024, settingValue(settings, Http2CodecUtil.SETTINGS_INITIAL_WINDOW_SIZE));
+        settings.release();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试关闭h2c时只支持HTTP/1.1")
+    void testH2cDisabled() throws Exception {
+        int port = startServer(new Http2Config().setH2cEnabled(false));
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> response = client.send(request("http://localhost:" + port + "/plain"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_1_1, response.version());
+        assertEquals("stream=false path=/plain", response.body());
+    }
+
+    private int startServer(Http2Config config) {
+        HttpPipelineConfigurer configurer = new HttpPipelineConfigurer(new HttpRouteManager(), config);
+        ProtocolExtension extension = echoExtension();
+        group = new NioEventLoopGroup(2);
+        serverChannel = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        configurer.configure(channel.pipeline(), extension);
+                        channel.pipeline().addLast("handler", new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                extension.onMessage(ctx, msg);
+                            }
+                        });
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .syncUninterruptibly()
+                .channel();
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    /**
+     * 回显请求路径以及是否在 HTTP/2 流子 channel 上处理
+     */
+    private static ProtocolExtension echoExtension() {
+        ProtocolExtension extension = mock(ProtocolExtension.class);
+        doAnswer(invocation -> {
+            ChannelHandlerContext ctx = invocation.getArgument(0);
+            FullHttpRequest request = invocation.getArgument(1);
+            String body = "stream=" + (ctx.channel() instanceof Http2StreamChannel) + " path=" + request.uri();
+            request.release();
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(body, StandardCharsets.UTF_8));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response);
+            return null;
+        }).when(extension).onMessage(any(), any());
+        return extension;
+    }
+
+    private static long settingValue(ByteBuf settingsFrame, char id) {
+        int length = settingsFrame.getUnsignedMedium(0);
+        for (int i = 9; i < 9 + length; i += 6) {
+            if (settingsFrame.getChar(i) == id) {
+                return settingsFrame.getUnsignedInt(i + 2);
+            }
+        }
+        return -1;
+    }
+
+    private static HttpRequest request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(10)).GET().build();
+    }
+
+    private static String resource(String name) throws Exception {
+        return Path.of(HttpPipelineConfigurerTest.class.getClassLoader().getResource(name).toURI()).toString();
+    }
+
+    private static SSLContext trustTestCertificate() throws Exception {
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        try (InputStream input = HttpPipelineConfigurerTest.class.getClassLoader()
+                .getResourceAsStream("ssl/localhost.crt")) {
+            trustStore.setCertificateEntry("localhost", CertificateFactory.getInstance("X.509")
+                    .generateCertificate(input));
+        }
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init(trustStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, factory.getTrustManagers(), null);
+        return context;
+    }
+}
@@ -0,0 +1,209 @@
+package com.dtc.core.network.http;
+
+import com.dtc.annotations.web.GetMapping;
+import com.dtc.annotations.web.RestController;
+import com.dtc.core.network.http.middleware.HttpMiddleware;
+import com.dtc.core.network.http.route.RouteHandlerChain;
+import com.dtc.core.web.BeanProvider;
+import com.dtc.core.web.HandlerMethod;
+import com.dtc.core.web.WebControllerScanner;
+import com.dtc.core.web.argument.HandlerMethodArgumentResolverComposite;
+import com.dtc.core.web.async.BlockingHandlerExecutor;
+import com.dtc.core.web.filter.Filter;
+import com.dtc.core.web.filter.FilterChain;
+import com.dtc.core.web.filter.FilterRegistry;
+import com.dtc.core.web.interceptor.HandlerInterceptor;
+import com.dtc.core.web.interceptor.InterceptorRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * HttpRequestHandler 路由处理链测试
+ */
+@DisplayName("路由处理链测试")
+public class HttpRequestHandlerTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private HttpRouteManager routeManager;
+    private HttpMiddlewareManager middlewareManager;
+    private FilterRegistry filterRegistry;
+    private InterceptorRegistry interceptorRegistry;
+    private BlockingHandlerExecutor blockingExecutor;
+    private HttpRequestHandler requestHandler;
+
+    @BeforeEach
+    void setUp() {
+        routeManager = new HttpRouteManager();
+        middlewareManager = new HttpMiddlewareManager();
+        filterRegistry = new FilterRegistry();
+        interceptorRegistry = new InterceptorRegistry();
+        routeManager.registerGet("/admin/users", request -> ok());
+        routeManager.registerGet("/public/info", request -> ok());
+        requestHandler = new HttpRequestHandler(routeManager, middlewareManager, filterRegistry, interceptorRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (blockingExecutor != null) {
+            blockingExecutor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("测试路径前缀按整段匹配")
+    void testMatches() {
+        assertTrue(RouteHandlerChain.matches("/admin", "/admin"));
+        assertTrue(RouteHandlerChain.matches("/admin/**", "/admin/users/{id}"));
+        assertTrue(RouteHandlerChain.matches("admin/", "/admin/users"));
+        assertTrue(RouteHandlerChain.matches("/", "/public/info"));
+        assertFalse(RouteHandlerChain.matches("/admin", "/administrator"));
+        assertFalse(RouteHandlerChain.matches("/admin/*", "/public/info"));
+    }
+
+    @Test
+    @DisplayName("测试带路径前缀的过滤器和中间件只作用于匹配的路由")
+    void testScopedComponents() {
+        filterRegistry.registerFilter(new RecordingFilter("adminFilter", "/admin"));
+        filterRegistry.registerFilter(new RecordingFilter("globalFilter"));
+        middlewareManager.addMiddleware(new RecordingMiddleware("adminMiddleware", "/admin/**"));
+
+        assertEquals(200, requestHandler.handleRequest(get("/admin/users")).getStatusCode());
+        assertEquals(List.of("adminFilter", "globalFilter", "adminMiddleware"), calls);
+
+        calls.clear();
+        assertEquals(200, requestHandler.handleRequest(get("/public/info")).getStatusCode());
+        assertEquals(List.of("globalFilter"), calls);
+
+        // 未匹配到路由的请求只经过全局组件
+        calls.clear();
+        assertEquals(404, requestHandler.handleRequest(get("/admin/missing")).getStatusCode());
+        assertEquals(List.of("globalFilter"), calls);
+    }
+
+    @Test
+    @DisplayName("测试处理链缓存在路由上并在注册表变更后重新计算")
+    void testChainCachedOnRoute() {
+        filterRegistry.registerFilter(new RecordingFilter("globalFilter"));
+        requestHandler.handleRequest(get("/admin/users"));
+        RouteHandlerChain chain = routeManager.findRoute("GET", "/admin/users").getHandlerChain();
+        assertNotNull(chain);
+        assertEquals(1, chain.getFilters().length);
+
+        requestHandler.handleRequest(get("/admin/users"));
+        assertSame(chain, routeManager.findRoute("GET", "/admin/users").getHandlerChain());
+
+        middlewareManager.addMiddleware(new RecordingMiddleware("adminMiddleware", "/admin"));
+        calls.clear();
+        requestHandler.handleRequest(get("/admin/users"));
+        RouteHandlerChain rebuilt = routeManager.findRoute("GET", "/admin/users").getHandlerChain();
+        assertNotSame(chain, rebuilt);
+        assertEquals(1, rebuilt.getMiddlewares().length);
+        assertEquals(List.of("globalFilter", "adminMiddleware"), calls);
+    }
+
+    @Test
+    @DisplayName("测试控制器方法执行拦截器")
+    void testInterceptorsForControllers() {
+        blockingExecutor = new BlockingHandlerExecutor("bounded", 1, 1, false);
+        WebControllerScanner scanner = new WebControllerScanner(routeManager, mock(BeanProvider.class),
+                new HandlerMethodArgumentResolverComposite(), blockingExecutor);
+        scanner.registerController(PingController.class, new PingController());
+        interceptorRegistry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpRequestEx request, HttpResponseEx response, Object handler) {
+                calls.add("preHandle:" + ((HandlerMethod) handler).getMethod().getName());
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpRequestEx request, HttpResponseEx response, Object handler,
+                    Exception ex) {
+                calls.add("afterCompletion");
+            }
+
+            @Override
+            public String[] getPathPatterns() {
+                return new String[] { "/ping" };
+            }
+        });
+
+        assertEquals("pong", requestHandler.handleRequest(get("/ping")).getJsonBody());
+        assertEquals(List.of("preHandle:ping", "afterCompletion"), calls);
+
+        calls.clear();
+        requestHandler.handleRequest(get("/public/info"));
+        assertTrue(calls.isEmpty());
+    }
+
+    private static HttpRequestEx get(String path) {
+        return new HttpRequestEx.Builder().method("GET").path(path).build();
+    }
+
+    private static HttpResponseEx ok() {
+        return new HttpResponseEx.Builder().statusCode(200).build();
+    }
+
+    private class RecordingFilter implements Filter {
+        private final String name;
+        private final String[] patterns;
+
+        RecordingFilter(String name, String... patterns) {
+            this.name = name;
+            this.patterns = patterns;
+        }
+
+        @Override
+        public boolean doFilter(HttpRequestEx request, HttpResponseEx response, FilterChain chain) {
+            calls.add(name);
+            chain.doFilter(request, response);
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String[] getPathPatterns() {
+            return patterns;
+        }
+    }
+
+    private class RecordingMiddleware implements HttpMiddleware {
+        private final String name;
+        private final String[] patterns;
+
+        RecordingMiddleware(String name, String... patterns) {
+            this.name = name;
+            this.patterns = patterns;
+        }
+
+        @Override
+        public HttpResponseEx beforeRequest(HttpRequestEx request) {
+            calls.add(name);
+            return null;
+        }
+
+        @Override
+        public String[] getPathPatterns() {
+            return patterns;
+        }
+    }
+
+    @RestController("/ping")
+    public static class PingController {
+        @GetMapping
+        public String ping() {
+            return "pong";
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.dtc.core.network.http;
+
+import com.dtc.core.network.http.route.HttpRoute;
+import com.dtc.core.network.http.route.HttpRouteHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpRouteManager 测试
+ */
+@DisplayName("HTTP路由管理器测试")
+public class HttpRouteManagerTest {
+
+    private final HttpRouteHandler handler = request -> new HttpResponseEx.Builder().statusCode(200).build();
+
+    private HttpRouteManager routeManager;
+
+    @BeforeEach
+    void setUp() {
+        routeManager = new HttpRouteManager();
+    }
+
+    @Test
+    @DisplayName("测试静态路由匹配")
+    void testStaticRoutes() {
+        routeManager.registerGet("/", handler);
+        routeManager.registerGet("/api/users", handler);
+        routeManager.registerGet("/api/user", handler);
+        routeManager.registerGet("/api/orders/", handler);
+
+        assertEquals("/", routeManager.findRoute("GET", "/").getPath());
+        assertEquals("/api/users", routeManager.findRoute("GET", "/api/users").getPath());
+        assertEquals("/api/user", routeManager.findRoute("get", "/api/user/").getPath());
+        assertEquals("/api/orders", routeManager.findRoute("GET", "api/orders").getPath());
+        assertNull(routeManager.findRoute("GET", "/api/use"));
+        assertNull(routeManager.findRoute("GET", "/api/users/1"));
+        assertNull(routeManager.findRoute("POST", "/api/users"));
+    }
+
+    @Test
+    @DisplayName("测试路径参数提取")
+    void testPathParameters() {
+        routeManager.registerGet("/users/{id}/orders/{orderId}", handler);
+
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/users/42/orders/abc").build();
+        HttpRoute route = routeManager.matchRoute(request);
+
+        assertNotNull(route);
+        assertEquals("42", request.getPathParameter("id"));
+        assertEquals("abc", request.getPathParameter("orderId"));
+        assertNull(routeManager.findRoute("GET", "/users//orders/abc"));
+        assertNull(routeManager.findRoute("GET", "/users/42/orders"));
+    }
+
+    @Test
+    @DisplayName("测试静态优先于参数、参数优先于通配符，并支持回溯")
+    void testPriorityAndBacktracking() {
+        routeManager.registerGet("/users/{id}", handler);
+        routeManager.registerGet("/users/me", handler);
+        routeManager.registerGet("/users/me/settings", handler);
+        routeManager.registerGet("/users/{id}/profile", handler);
+        routeManager.registerGet("/users/*", handler);
+
+        assertEquals("/users/me", routeManager.findRoute("GET", "/users/me").getPath());
+        assertEquals("/users/{id}", routeManager.findRoute("GET", "/users/mine").getPath());
+        // 静态分支 /users/me 走不通时回溯到参数分支
+        assertEquals("/users/{id}/profile", routeManager.findRoute("GET", "/users/me/profile").getPath());
+        assertEquals("/users/*", routeManager.findRoute("GET", "/users/me/a/b").getPath());
+    }
+
+    @Test
+    @DisplayName("测试通配符捕获剩余路径")
+    void testWildcard() {
+        routeManager.registerGet("/static/{*file}", handler);
+        routeManager.registerGet("/assets/*", handler);
+
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/static/css/app.css").build();
+        assertEquals("/static/{*file}", routeManager.matchRoute(request).getPath());
+        assertEquals("css/app.css", request.getPathParameter("file"));
+
+        HttpRoute route = routeManager.findRoute("GET", "/assets/img/logo.png");
+        assertEquals("img/logo.png", route.extractPathParameters("/assets/img/logo.png").get("*"));
+    }
+
+    @Test
+    @DisplayName("测试非法路径模式")
+    void testInvalidPattern() {
+        assertThrows(IllegalArgumentException.class, () -> routeManager.registerGet("/files/{name}.json", handler));
+        assertThrows(IllegalArgumentException.class, () -> routeManager.registerGet("/files/{}", handler));
+        assertThrows(IllegalArgumentException.class, () -> routeManager.registerGet("/files/{*rest}/tail", handler));
+    }
+
+    @Test
+    @DisplayName("测试移除和替换路由")
+    void testRemoveAndReplace() {
+        HttpRouteHandler replacement = request -> new HttpResponseEx.Builder().statusCode(204).build();
+        routeManager.registerGet("/a/{id}", handler);
+        routeManager.registerGet("/a/{id}", replacement);
+        routeManager.registerGet("/a/b", handler);
+
+        assertSame(replacement, routeManager.findRoute("GET", "/a/1").getHandler());
+        assertEquals(2, routeManager.getStats().getTotalRoutes());
+
+        assertTrue(routeManager.removeRoute("GET", "/a/b"));
+        assertEquals("/a/{id}", routeManager.findRoute("GET", "/a/b").getPath());
+
+        routeManager.removeRoutes("GET");
+        assertNull(routeManager.findRoute("GET", "/a/1"));
+    }
+
+    @Test
+    @DisplayName("测试大量路由查找")
+    void testManyRoutes() {
+        for (int i = 0; i < 600; i++) {
+            routeManager.registerGet("/api/v1/resource" + i + "/{id}", handler);
+        }
+
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/api/v1/resource599/7").build();
+        assertEquals("/api/v1/resource599/{id}", routeManager.matchRoute(request).getPath());
+        assertEquals("7", request.getPathParameter("id"));
+        assertEquals("/api/v1/resource5/{id}", routeManager.findRoute("GET", "/api/v1/resource5/x").getPath());
+    }
+}
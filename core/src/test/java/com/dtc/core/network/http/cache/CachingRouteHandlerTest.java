@@ -0,0 +1,221 @@
+package com.dtc.core.network.http.cache;
+
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.route.AsyncHttpRouteHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CachingRouteHandler 测试
+ */
+@DisplayName("路由响应缓存测试")
+public class CachingRouteHandlerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final ResponseCache cache = new ResponseCache(100, clock::get);
+
+    @Test
+    @DisplayName("测试命中缓存时不再调用处理器并生成ETag")
+    void testCacheHit() throws Exception {
+        CachingRouteHandler handler = new CachingRouteHandler(countingHandler(), cache,
+                new ResponseCachePolicy().setTtlMillis(1000));
+
+        HttpResponseEx first = handle(handler, get("/catalog?page=1"));
+        HttpResponseEx second = handle(handler, get("/catalog?page=1"));
+        assertEquals(1, invocations.get());
+        assertEquals("{\"call\":1}", body(second));
+        assertEquals(first.getHeader("etag"), second.getHeader("etag"));
+        assertNotNull(second.getHeader("last-modified"));
+        assertEquals("application/json", second.getContentType());
+
+        handle(handler, get("/catalog?page=2"));
+        assertEquals(2, invocations.get());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("测试If-None-Match和If-Modified-Since返回304")
+    void testConditionalRequests() throws Exception {
+        CachingRouteHandler handler = new CachingRouteHandler(countingHandler(), cache, new ResponseCachePolicy());
+        HttpResponseEx response = handle(handler, get("/catalog"));
+
+        HttpResponseEx notModified = handle(handler, get("/catalog", "if-none-match", "W/" + response.getHeader("etag")));
+        assertEquals(304, notModified.getStatusCode());
+        assertEquals(response.getHeader("etag"), notModified.getHeader("etag"));
+
+        assertEquals(200, handle(handler, get("/catalog", "if-none-match", "\"other\"")).getStatusCode());
+        assertEquals(304, handle(handler, get("/catalog", "if-modified-since",
+                response.getHeader("last-modified"))).getStatusCode());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    @DisplayName("测试按有效期过期和按标签失效")
+    void testExpiryAndTags() throws Exception {
+        CachingRouteHandler handler = new CachingRouteHandler(countingHandler(), cache,
+                new ResponseCachePolicy().setTtlMillis(1000).setTags("catalog"));
+
+        handle(handler, get("/catalog"));
+        clock.addAndGet(1000);
+        assertEquals("{\"call\":2}", body(handle(handler, get("/catalog"))));
+
+        handle(handler, get("/catalog?page=2"));
+        assertEquals(2, cache.invalidateTag("catalog"));
+        assertEquals(0, cache.size());
+        assertEquals("{\"call\":4}", body(handle(handler, get("/catalog"))));
+    }
+
+    @Test
+    @DisplayName("测试缓存键包含指定请求头且不缓存POST")
+    void testVaryHeadersAndMethods() throws Exception {
+        CachingRouteHandler handler = new CachingRouteHandler(countingHandler(), cache,
+                new ResponseCachePolicy().setVaryHeaders("Accept-Language"));
+
+        HttpResponseEx zh = handle(handler, get("/catalog", "accept-language", "zh"));
+        handle(handler, get("/catalog", "accept-language", "en"));
+        handle(handler, get("/catalog", "accept-language", "zh"));
+        assertEquals(2, invocations.get());
+        assertEquals("accept-language", zh.getHeader("vary"));
+
+        HttpRequestEx post = new HttpRequestEx.Builder().method("POST").path("/catalog").build();
+        handle(handler, post);
+        handle(handler, post);
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    @DisplayName("测试同键的并发请求只执行一次处理器")
+    void testCoalescing() throws Exception {
+        List<CompletableFuture<HttpResponseEx>> pending = new ArrayList<>();
+        AsyncHttpRouteHandler slow = request -> {
+            invocations.incrementAndGet();
+            CompletableFuture<HttpResponseEx> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        };
+        CachingRouteHandler handler = new CachingRouteHandler(slow, cache, new ResponseCachePolicy());
+
+        List<CompletableFuture<HttpResponseEx>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(handler.handleAsync(get("/catalog")).toCompletableFuture());
+        }
+        assertEquals(1, invocations.get());
+        pending.get(0).complete(new HttpResponseEx.Builder().jsonBody(Map.of("items", 3)).build());
+
+        for (CompletableFuture<HttpResponseEx> response : responses) {
+            assertEquals("{\"items\":3}", body(response.get(5, TimeUnit.SECONDS)));
+        }
+        assertEquals(2, cache.getStats().getCoalesced());
+    }
+
+    @Test
+    @DisplayName("测试执行期间失效的响应不写入缓存")
+    void testInvalidateDuringLoad() throws Exception {
+        List<CompletableFuture<HttpResponseEx>> pending = new ArrayList<>();
+        AsyncHttpRouteHandler slow = request -> {
+            invocations.incrementAndGet();
+            CompletableFuture<HttpResponseEx> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        };
+        CachingRouteHandler handler = new CachingRouteHandler(slow, cache,
+                new ResponseCachePolicy().setTags("catalog"));
+
+        CompletableFuture<HttpResponseEx> byKey = handler.handleAsync(get("/catalog")).toCompletableFuture();
+        cache.invalidate("GET /catalog");
+        pending.get(0).complete(new HttpResponseEx.Builder().jsonBody(Map.of("items", 1)).build());
+        assertEquals("{\"items\":1}", body(byKey.get(5, TimeUnit.SECONDS)));
+        assertEquals(0, cache.size());
+
+        CompletableFuture<HttpResponseEx> byTag = handler.handleAsync(get("/catalog")).toCompletableFuture();
+        assertEquals(2, invocations.get());
+        cache.invalidateTag("catalog");
+        pending.get(1).complete(new HttpResponseEx.Builder().jsonBody(Map.of("items", 2)).build());
+        byTag.get(5, TimeUnit.SECONDS);
+        assertEquals(0, cache.size());
+
+        handler.handleAsync(get("/catalog"));
+        pending.get(2).complete(new HttpResponseEx.Builder().jsonBody(Map.of("items", 3)).build());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("测试带凭据的请求只在按凭据区分缓存时使用缓存")
+    void testCredentialedRequests() throws Exception {
+        CachingRouteHandler shared = new CachingRouteHandler(countingHandler(), cache, new ResponseCachePolicy());
+        handle(shared, get("/profile", "authorization", "Bearer alice"));
+        assertEquals("{\"call\":2}", body(handle(shared, get("/profile", "authorization", "Bearer bob"))));
+        handle(shared, get("/profile", "cookie", "session=alice"));
+        assertEquals(3, invocations.get());
+        assertEquals(0, cache.size());
+
+        CachingRouteHandler perUser = new CachingRouteHandler(countingHandler(), cache,
+                new ResponseCachePolicy().setVaryHeaders("Authorization"));
+        handle(perUser, get("/profile", "authorization", "Bearer alice"));
+        handle(perUser, get("/profile", "authorization", "Bearer alice"));
+        assertEquals("{\"call\":5}", body(handle(perUser, get("/profile", "authorization", "Bearer bob"))));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("测试不可缓存的响应由等待的请求各自执行")
+    void testUncacheableResponse() throws Exception {
+        AsyncHttpRouteHandler failing = request -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture(new HttpResponseEx.Builder().serviceUnavailable().build());
+        };
+        CachingRouteHandler handler = new CachingRouteHandler(failing, cache, new ResponseCachePolicy());
+        assertEquals(503, handle(handler, get("/catalog")).getStatusCode());
+        assertEquals(503, handle(handler, get("/catalog")).getStatusCode());
+        assertEquals(2, invocations.get());
+        assertEquals(0, cache.size());
+    }
+
+    private AsyncHttpRouteHandler countingHandler() {
+        return request -> {
+            int call = invocations.incrementAndGet();
+            return CompletableFuture.completedFuture(new HttpResponseEx.Builder().jsonBody(Map.of("call", call)).build());
+        };
+    }
+
+    private static HttpResponseEx handle(AsyncHttpRouteHandler handler, HttpRequestEx request) throws Exception {
+        CompletionStage<HttpResponseEx> stage = handler.handleAsync(request);
+        return stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    private static HttpRequestEx get(String uri, String... headers) {
+        Map<String, String> headerMap = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            headerMap.put(headers[i], headers[i + 1]);
+        }
+        int query = uri.indexOf('?');
+        return new HttpRequestEx.Builder().method("GET").uri(uri).path(query >= 0 ? uri.substring(0, query) : uri)
+                .headers(headerMap).build();
+    }
+
+    private static String body(HttpResponseEx response) throws Exception {
+        ByteBuf buffer = response.encodeBody(UnpooledByteBufAllocator.DEFAULT);
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            buffer.release();
+        }
+    }
+}
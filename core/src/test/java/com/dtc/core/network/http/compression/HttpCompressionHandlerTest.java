@@ -0,0 +1,127 @@
+package com.dtc.core.network.http.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpCompressionHandler 测试
+ */
+@DisplayName("HTTP响应压缩测试")
+public class HttpCompressionHandlerTest {
+
+    private static final String JSON = "{\"items\":[" + "{\"id\":1,\"name\":\"item\"},".repeat(200) + "{}]}";
+
+    @Test
+    @DisplayName("测试按Accept-Encoding压缩JSON响应")
+    void testGzipJson() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCompressionHandler(new HttpCompressionConfig()));
+        Encoded encoded = exchange(channel, "/api/items", "gzip, deflate", "application/json", JSON);
+
+        assertEquals("gzip", encoded.head.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+        assertEquals("accept-encoding", encoded.head.headers().get(HttpHeaderNames.VARY).toLowerCase());
+        assertTrue(encoded.body.length < JSON.length() / 4, "JSON 响应应明显变小");
+        assertEquals(JSON, gunzip(encoded.body));
+
+        // 不做动态 brotli 压缩，客户端优先 br 时仍按 gzip 协商
+        Encoded preferBrotli = exchange(channel, "/api/items", "br, gzip;q=0.8", "application/json", JSON);
+        assertEquals("gzip", preferBrotli.encoding());
+        assertEquals(JSON, gunzip(preferBrotli.body));
+        assertNull(exchange(channel, "/api/items", "br", "application/json", JSON).encoding());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试小响应、不可压缩类型和未声明编码的请求不压缩")
+    void testThresholds() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCompressionHandler(new HttpCompressionConfig()));
+        assertNull(exchange(channel, "/small", "gzip", "application/json", "{}").encoding());
+        assertNull(exchange(channel, "/image", "gzip", "image/png", JSON).encoding());
+        assertNull(exchange(channel, "/plain", null, "application/json", JSON).encoding());
+
+        Encoded precompressed = exchange(channel, "/static/app.js", "gzip", "application/javascript", JSON, "br");
+        assertEquals("br", precompressed.encoding());
+        assertEquals(JSON, new String(precompressed.body, StandardCharsets.UTF_8));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试按路由前缀设置压缩级别")
+    void testRouteLevels() throws Exception {
+        HttpCompressionConfig config = new HttpCompressionConfig().setLevel(1)
+                .setRouteLevel("/media", 0)
+                .setRouteLevel("/api/export", 9);
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCompressionHandler(config));
+
+        assertNull(exchange(channel, "/media/list", "gzip", "application/json", JSON).encoding());
+        Encoded fast = exchange(channel, "/api/items", "gzip", "application/json", JSON);
+        Encoded best = exchange(channel, "/api/export/all?format=json", "gzip", "application/json", JSON);
+        assertEquals("gzip", best.encoding());
+        assertTrue(best.body.length <= fast.body.length);
+        assertEquals(JSON, gunzip(best.body));
+        channel.finishAndReleaseAll();
+    }
+
+    private static Encoded exchange(EmbeddedChannel channel, String uri, String acceptEncoding, String contentType,
+            String body, String... contentEncoding) {
+        DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+        if (acceptEncoding != null) {
+            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+        }
+        channel.writeInbound(request);
+        channel.<Object>readInbound();
+
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                Unpooled.copiedBuffer(body, StandardCharsets.UTF_8));
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        if (contentEncoding.length > 0) {
+            response.headers().set(HttpHeaderNames.CONTENT_ENCODING, contentEncoding[0]);
+        }
+        channel.writeOutbound(response);
+
+        HttpResponse head = null;
+        ByteBuf content = Unpooled.buffer();
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            if (message instanceof HttpResponse) {
+                head = (HttpResponse) message;
+            }
+            if (message instanceof HttpContent) {
+                content.writeBytes(((HttpContent) message).content());
+                ((HttpContent) message).release();
+            }
+        }
+        return new Encoded(head, ByteBufUtil.getBytes(content));
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private record Encoded(HttpResponse head, byte[] body) {
+        String encoding() {
+            return head.headers().get(HttpHeaderNames.CONTENT_ENCODING);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.dtc.core.network.http.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpKeepAliveHandler 测试
+ */
+@DisplayName("HTTP持久连接处理器测试")
+public class HttpKeepAliveHandlerTest {
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final List<FullHttpRequest> requests = new ArrayList<>();
+    private ChannelHandlerContext appCtx;
+
+    @Test
+    @DisplayName("测试乱序完成的流水线请求按请求顺序写出响应")
+    void testOrderedResponses() {
+        EmbeddedChannel channel = newChannel(new HttpConnectionConfig());
+        channel.writeInbound(request("/a"), request("/b"));
+
+        respond(requests.get(1), "b");
+        assertNull(channel.readOutbound(), "第二个响应应等待第一个响应");
+        respond(requests.get(0), "a");
+
+        assertEquals("a", readStatusReason(channel));
+        assertEquals("b", readStatusReason(channel));
+        assertTrue(channel.isOpen());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试Connection: close和每连接最大请求数")
+    void testConnectionClose() {
+        EmbeddedChannel channel = newChannel(new HttpConnectionConfig().setMaxRequestsPerConnection(2));
+        channel.writeInbound(request("/1"));
+        respond(requests.get(0), "1");
+        FullHttpResponse first = channel.readOutbound();
+        assertFalse(first.headers().contains(HttpHeaderNames.CONNECTION));
+        first.release();
+
+        channel.writeInbound(request("/2"), request("/3"));
+        assertEquals(2, requests.size(), "达到最大请求数之后的请求应被丢弃");
+        assertFalse(channel.config().isAutoRead());
+        respond(requests.get(1), "2");
+        FullHttpResponse last = channel.readOutbound();
+        assertEquals("close", last.headers().get(HttpHeaderNames.CONNECTION));
+        last.release();
+        assertFalse(channel.isOpen());
+        assertEquals(0, activeConnections.get());
+
+        EmbeddedChannel http10 = newChannel(new HttpConnectionConfig());
+        http10.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_0, HttpMethod.GET, "/old"));
+        respond(requests.get(2), "old");
+        FullHttpResponse response = http10.readOutbound();
+        response.release();
+        assertFalse(http10.isOpen());
+    }
+
+    @Test
+    @DisplayName("测试达到流水线上限时暂停读取且空闲超时只关闭空闲连接")
+    void testPipeliningLimitAndIdle() {
+        EmbeddedChannel channel = newChannel(new HttpConnectionConfig().setMaxPipelinedRequests(2));
+        channel.writeInbound(request("/a"));
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(request("/b"));
+        assertFalse(channel.config().isAutoRead());
+
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+        assertTrue(channel.isOpen(), "有等待中的请求时不应按空闲关闭");
+
+        respond(requests.get(0), "a");
+        assertTrue(channel.config().isAutoRead());
+        respond(requests.get(1), "b");
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+        assertFalse(channel.isOpen());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试超过连接数上限时返回503并关闭连接")
+    void testConnectionLimit() {
+        HttpConnectionConfig config = new HttpConnectionConfig().setMaxConnections(1);
+        EmbeddedChannel first = newChannel(config);
+        EmbeddedChannel second = newChannel(config);
+        assertEquals(2, activeConnections.get());
+
+        second.writeInbound(request("/"));
+        assertTrue(requests.isEmpty());
+        FullHttpResponse rejected = second.readOutbound();
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, rejected.status());
+        assertEquals("1", rejected.headers().get(HttpHeaderNames.RETRY_AFTER));
+        rejected.release();
+        assertFalse(second.isOpen());
+        assertEquals(1, activeConnections.get());
+
+        first.writeInbound(request("/"));
+        assertEquals(1, requests.size());
+        first.finishAndReleaseAll();
+    }
+
+    private EmbeddedChannel newChannel(HttpConnectionConfig config) {
+        return new EmbeddedChannel(new HttpKeepAliveHandler(config, activeConnections),
+                new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        appCtx = ctx;
+                        requests.add((FullHttpRequest) msg);
+                    }
+                });
+    }
+
+    private void respond(FullHttpRequest request, String reason) {
+        ChannelHandlerContext ctx = appCtx;
+        HttpKeepAliveHandler.writeResponse(ctx, request, () -> {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                    new HttpResponseStatus(200, reason));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, 0);
+            ctx.writeAndFlush(response);
+        });
+    }
+
+    private static String readStatusReason(EmbeddedChannel channel) {
+        FullHttpResponse response = channel.readOutbound();
+        try {
+            return response.status().reasonPhrase();
+        } finally {
+            response.release();
+        }
+    }
+
+    private static FullHttpRequest request(String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+    }
+}
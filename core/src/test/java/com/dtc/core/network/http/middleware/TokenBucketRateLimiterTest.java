@@ -0,0 +1,186 @@
+package com.dtc.core.network.http.middleware;
+
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenBucketRateLimiter 测试
+ */
+@DisplayName("令牌桶速率限制测试")
+public class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("测试突发容量用完后按发放间隔补充令牌")
+    void testBurstAndRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, SECOND, 3, 16, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        assertEquals(SECOND / 10, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("other"));
+
+        clock.addAndGet(SECOND / 10);
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+
+        // 空闲足够久后恢复完整的突发容量，不会超过桶容量
+        clock.addAndGet(10 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    @DisplayName("测试探测范围占满后淘汰TAT最早的key，活跃key保留TAT，满桶的key不再计数")
+    void testEviction() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, SECOND, 1, 16, clock::get);
+        // 取 9 个落在同一起始槽位的 key，超过单个 key 的探测范围（8 个槽位）
+        List<String> keys = sameHomeSlot(limiter, 9);
+
+        assertEquals(0, limiter.tryAcquire(keys.get(0)));
+        clock.addAndGet(10_000_000);
+        for (int i = 1; i < 8; i++) {
+            assertEquals(0, limiter.tryAcquire(keys.get(i)));
+        }
+        String live = keys.get(7);
+        long liveWait = limiter.tryAcquire(live);
+        assertEquals(SECOND, liveWait);
+
+        // 8 个槽位都未补满，新 key 淘汰最早的 keys[0]
+        clock.addAndGet(10_000_000);
+        assertEquals(0, limiter.tryAcquire(keys.get(8)));
+        assertEquals(8, limiter.size());
+        assertEquals(liveWait - 10_000_000, limiter.tryAcquire(live));
+        assertEquals(0, limiter.tryAcquire(keys.get(0)), "淘汰后的 key 重新获得完整突发容量");
+
+        // 全部补满后等同于不存在
+        clock.addAndGet(2 * SECOND);
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    @DisplayName("测试探测链前面的槽位空出后，被限流的key不会重新获得突发容量")
+    void testThrottledKeyKeepsSlot() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, SECOND, 1, 16, clock::get);
+        List<String> keys = sameHomeSlot(limiter, 2);
+        String idle = keys.get(0);
+        String throttled = keys.get(1);
+
+        assertEquals(0, limiter.tryAcquire(idle));
+        clock.set(SECOND / 2);
+        assertEquals(0, limiter.tryAcquire(throttled));
+
+        // idle 所在的前一个槽位已经满桶、可以复用，throttled 仍然按原来的 TAT 限流
+        clock.set(SECOND + SECOND / 5);
+        assertEquals(SECOND * 3 / 10, limiter.tryAcquire(throttled));
+        assertEquals(SECOND * 3 / 10, limiter.tryAcquire(throttled));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("测试并发获取同一个新key时只发放突发容量内的令牌")
+    void testConcurrentAcquire() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, SECOND, 50, 16, clock::get);
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("shared") == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(50, granted.get());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("测试中间件按客户端地址限流，超出限额返回429和Retry-After")
+    void testMiddleware() {
+        RateLimitMiddleware middleware = new RateLimitMiddleware(
+                new TokenBucketRateLimiter(1, 5 * SECOND, 2, 16, clock::get), "/api");
+
+        assertNull(middleware.beforeRequest(request("client-1", 40001)));
+        assertNull(middleware.beforeRequest(request("client-2", 40002)));
+        // 同一地址的新连接和新的客户端 ID 不会绕过限流
+        HttpResponseEx rejected = middleware.beforeRequest(request("client-3", 40003));
+        assertNotNull(rejected);
+        assertEquals(429, rejected.getStatusCode());
+        assertEquals("5", rejected.getHeader("Retry-After"));
+        assertArrayEquals(new String[] { "/api" }, middleware.getPathPatterns());
+        assertEquals(1, middleware.getActiveClients());
+    }
+
+    @Test
+    @DisplayName("测试中间件使用自定义的限流key提取器")
+    void testKeyExtractor() {
+        RateLimitMiddleware middleware = new RateLimitMiddleware(
+                new TokenBucketRateLimiter(1, 5 * SECOND, 1, 16, clock::get),
+                request -> request.getHeader("X-Api-Key"));
+
+        assertNull(middleware.beforeRequest(new HttpRequestEx.Builder().method("GET").path("/")
+                .addHeader("X-Api-Key", "k1").clientId("c").build()));
+        assertNull(middleware.beforeRequest(new HttpRequestEx.Builder().method("GET").path("/")
+                .addHeader("X-Api-Key", "k2").clientId("c").build()));
+        assertNotNull(middleware.beforeRequest(new HttpRequestEx.Builder().method("GET").path("/")
+                .addHeader("X-Api-Key", "k1").clientId("c").build()));
+    }
+
+    private static HttpRequestEx request(String clientId, int port) {
+        return new HttpRequestEx.Builder().method("GET").path("/api/items").clientId(clientId)
+                .remoteAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)).build();
+    }
+
+    private static List<String> sameHomeSlot(TokenBucketRateLimiter limiter, int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "client-" + i;
+            if (homeSlot(limiter, key) == homeSlot(limiter, "client-0")) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static int homeSlot(TokenBucketRateLimiter limiter, String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (limiter.capacity() - 1);
+    }
+}
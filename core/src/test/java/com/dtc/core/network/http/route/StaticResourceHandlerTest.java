@@ -0,0 +1,65 @@
+package com.dtc.core.network.http.route;
+
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StaticResourceHandler 测试
+ */
+@DisplayName("静态资源预压缩测试")
+public class StaticResourceHandlerTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("测试按Accept-Encoding选择预压缩文件")
+    void testPrecompressedVariants() throws Exception {
+        Files.writeString(root.resolve("app.js"), "console.log('app');");
+        Files.write(root.resolve("app.js.gz"), new byte[] { 1, 2, 3 });
+        Files.write(root.resolve("app.js.br"), new byte[] { 4, 5 });
+        StaticResourceHandler handler = new StaticResourceHandler(root, "/static");
+
+        HttpResponseEx brotli = handler.handle(get("/static/app.js", "gzip, deflate, br"));
+        assertEquals("br", brotli.getHeader("Content-Encoding"));
+        assertEquals(root.resolve("app.js.br"), brotli.getStreamingBody().getFile());
+        assertTrue(brotli.getContentType().startsWith("application/javascript"));
+
+        HttpResponseEx gzip = handler.handle(get("/static/app.js", "gzip, br;q=0"));
+        assertEquals("gzip", gzip.getHeader("Content-Encoding"));
+        assertEquals(3, gzip.getStreamingBody().getContentLength());
+
+        HttpResponseEx identity = handler.handle(get("/static/app.js", null));
+        assertNull(identity.getHeader("Content-Encoding"));
+        assertEquals(root.resolve("app.js"), identity.getStreamingBody().getFile());
+        assertEquals("Accept-Encoding", identity.getHeader("Vary"));
+    }
+
+    @Test
+    @DisplayName("测试不存在的文件和越出根目录的路径返回404")
+    void testNotFound() throws Exception {
+        Files.writeString(root.resolveSibling("secret.txt"), "secret");
+        StaticResourceHandler handler = new StaticResourceHandler(root, "/static/");
+
+        assertEquals(404, handler.handle(get("/static/missing.css", "gzip")).getStatusCode());
+        assertEquals(404, handler.handle(get("/static/../secret.txt", null)).getStatusCode());
+        assertEquals(404, handler.handle(get("/static/", null)).getStatusCode());
+    }
+
+    private static HttpRequestEx get(String path, String acceptEncoding) {
+        HttpRequestEx.Builder builder = new HttpRequestEx.Builder().method("GET").path(path);
+        if (acceptEncoding != null) {
+            builder.headers(Map.of("accept-encoding", acceptEncoding));
+        }
+        return builder.build();
+    }
+}
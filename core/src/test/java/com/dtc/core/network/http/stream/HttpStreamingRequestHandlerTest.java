@@ -0,0 +1,255 @@
+package com.dtc.core.network.http.stream;
+
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.HttpRouteManager;
+import com.dtc.core.network.http.route.HttpBodyMode;
+import com.dtc.core.network.http.route.HttpRouteHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import com.dtc.core.network.http.connection.HttpConnectionConfig;
+import com.dtc.core.network.http.connection.HttpKeepAliveHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpStreamingRequestHandler 测试
+ */
+@DisplayName("HTTP流式请求体测试")
+public class HttpStreamingRequestHandlerTest {
+
+    private final HttpRouteHandler handler = request -> new HttpResponseEx.Builder().build();
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        HttpRouteManager routeManager = new HttpRouteManager();
+        routeManager.registerRoute("POST", "/upload", handler, HttpBodyMode.STREAM);
+        routeManager.registerPost("/json", handler);
+        channel = new EmbeddedChannel(new HttpStreamingRequestHandler(routeManager), new HttpObjectAggregator(1024));
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试流式路由按块接收请求体")
+    void testStreamingRoute() {
+        channel.writeInbound(chunkedRequest("/upload?name=a"));
+        StreamingHttpRequest request = channel.readInbound();
+        assertNotNull(request);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        request.getBodyStream().subscribe(subscriber);
+        channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer("abc", StandardCharsets.UTF_8)));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("def", StandardCharsets.UTF_8)));
+        channel.runPendingTasks();
+
+        assertEquals("abcdef", subscriber.content.toString());
+        assertTrue(subscriber.completed);
+        assertNull(channel.readInbound(), "内容块不应继续向后传递");
+    }
+
+    @Test
+    @DisplayName("测试非流式路由仍然聚合")
+    void testAggregatedRoute() {
+        channel.writeInbound(chunkedRequest("/json"));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("{}", StandardCharsets.UTF_8)));
+
+        FullHttpRequest request = channel.readInbound();
+        assertFalse(request instanceof StreamingHttpRequest);
+        assertEquals("{}", request.content().toString(StandardCharsets.UTF_8));
+        request.release();
+    }
+
+    @Test
+    @DisplayName("测试未消费数据超过高水位时暂停读取")
+    void testBackpressure() {
+        channel.writeInbound(chunkedRequest("/upload"));
+        StreamingHttpRequest request = channel.readInbound();
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        request.getBodyStream().subscribe(subscriber);
+        byte[] chunk = new byte[64 * 1024];
+        for (int i = 0; i * chunk.length <= HttpBodyStream.HIGH_WATER_MARK; i++) {
+            channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(chunk)));
+        }
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+        assertTrue(subscriber.received > HttpBodyStream.HIGH_WATER_MARK);
+    }
+
+    @Test
+    @DisplayName("测试连接关闭时请求体流以异常结束")
+    void testChannelClosed() {
+        channel.writeInbound(chunkedRequest("/upload"));
+        StreamingHttpRequest request = channel.readInbound();
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        request.getBodyStream().subscribe(subscriber);
+
+        channel.close();
+        channel.runPendingTasks();
+
+        assertNotNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("测试处理方法不读请求体时，响应写完后释放内容块并恢复读取")
+    void testUnreadBodyDiscardedAfterResponse() {
+        HttpRouteManager routeManager = new HttpRouteManager();
+        routeManager.registerRoute("POST", "/upload", handler, HttpBodyMode.STREAM);
+        EmbeddedChannel keepAlive = new EmbeddedChannel(new HttpStreamingRequestHandler(routeManager),
+                new HttpObjectAggregator(1024),
+                new HttpKeepAliveHandler(new HttpConnectionConfig(), new AtomicInteger()));
+        keepAlive.writeInbound(chunkedRequest("/upload"));
+        StreamingHttpRequest request = keepAlive.readInbound();
+
+        List<ByteBuf> chunks = new ArrayList<>();
+        for (int i = 0; i * 64 * 1024 <= HttpBodyStream.HIGH_WATER_MARK; i++) {
+            ByteBuf chunk = Unpooled.buffer(64 * 1024).writeZero(64 * 1024);
+            chunks.add(chunk);
+            keepAlive.writeInbound(new DefaultHttpContent(chunk));
+        }
+        assertFalse(keepAlive.config().isAutoRead());
+
+        keepAlive.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        keepAlive.runPendingTasks();
+        assertTrue(keepAlive.config().isAutoRead());
+        assertTrue(keepAlive.isOpen());
+        assertTrue(request.getBodyStream().isTerminated());
+
+        // 请求体剩余部分到达后直接释放，下一个请求照常处理
+        ByteBuf last = Unpooled.copiedBuffer("end", StandardCharsets.UTF_8);
+        chunks.add(last);
+        keepAlive.writeInbound(new DefaultLastHttpContent(last));
+        chunks.forEach(chunk -> assertEquals(0, chunk.refCnt()));
+        keepAlive.writeInbound(chunkedRequest("/upload"));
+        assertInstanceOf(StreamingHttpRequest.class, keepAlive.readInbound());
+        keepAlive.finishAndReleaseAll();
+    }
+
+    @Test
+    @DisplayName("测试连接关闭时释放已接收完但没有读取的请求体")
+    void testUnreadBodyReleasedOnClose() {
+        channel.writeInbound(chunkedRequest("/upload"));
+        StreamingHttpRequest request = channel.readInbound();
+        ByteBuf body = Unpooled.copiedBuffer("abc", StandardCharsets.UTF_8);
+        channel.writeInbound(new DefaultLastHttpContent(body));
+        assertTrue(request.getBodyStream().isCompleted());
+        assertEquals(1, body.refCnt());
+
+        channel.close();
+        channel.runPendingTasks();
+        assertEquals(0, body.refCnt());
+    }
+
+    @Test
+    @DisplayName("测试以输入流读取请求体")
+    void testInputStream() throws Exception {
+        try (InputStream input = HttpBodyStream.of("hello".getBytes(StandardCharsets.UTF_8)).asInputStream()) {
+            assertEquals("hello", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("测试Publisher响应体按块写出")
+    void testPublisherResponse() throws Exception {
+        EmbeddedChannel out = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        ChannelHandlerContext ctx = out.pipeline().firstContext();
+        HttpResponse head = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+
+        StreamingBodyWriter.write(ctx, head, StreamingBody.ofPublisher(
+                HttpBodyStream.of("payload".getBytes(StandardCharsets.UTF_8))));
+        out.runPendingTasks();
+
+        HttpResponse writtenHead = out.readOutbound();
+        assertTrue(HttpUtil.isTransferEncodingChunked(writtenHead));
+        HttpContent content = out.readOutbound();
+        assertEquals("payload", content.content().toString(StandardCharsets.UTF_8));
+        content.release();
+        assertSame(LastHttpContent.EMPTY_LAST_CONTENT, out.readOutbound());
+        out.finishAndReleaseAll();
+    }
+
+    private static HttpRequest chunkedRequest(String uri) {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri);
+        request.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        return request;
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<ByteBuf> {
+        private final long initialDemand;
+        private final StringBuilder content = new StringBuilder();
+        private Flow.Subscription subscription;
+        private long received;
+        private boolean completed;
+        private Throwable error;
+
+        CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuf item) {
+            received += item.readableBytes();
+            if (received < 1024) {
+                content.append(item.toString(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.dtc.core.network.udp;
 
+import com.dtc.annotations.web.UdpHandler;
+import com.dtc.core.messaging.MessageHandlerRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -52,5 +62,51 @@ public class UdpServerTest {
         udpServer.setHost("127.0.0.1");
         assertEquals("127.0.0.1", udpServer.getHost());
     }
-}
 
+    @Test
+    @DisplayName("测试监听模式直接分发到@UdpHandler")
+    void testListenerModeDispatch() throws Exception {
+        EchoHandler echoHandler = new EchoHandler();
+        MessageHandlerRegistry registry = new MessageHandlerRegistry();
+        registry.registerHandlerInstance(echoHandler);
+
+        UdpServer server = new UdpServer(new UdpSessionManager(), registry);
+        server.setHost("127.0.0.1");
+        server.setPort(19997);
+        server.setSocketCount(2);
+        server.start();
+
+        try (DatagramSocket client = new DatagramSocket()) {
+            client.setSoTimeout(3000);
+            byte[] request = "ping".getBytes(StandardCharsets.UTF_8);
+            client.send(new DatagramPacket(request, request.length, InetAddress.getByName("127.0.0.1"), 19997));
+
+            byte[] buffer = new byte[64];
+            DatagramPacket response = new DatagramPacket(buffer, buffer.length);
+            client.receive(response);
+
+            assertEquals("pong", new String(buffer, 0, response.getLength(), StandardCharsets.UTF_8));
+            assertTrue(echoHandler.latch.await(1, TimeUnit.SECONDS));
+            assertEquals(1, server.getSessionManager().getSessionCount());
+            assertEquals(1, server.getDispatcher().getReceivedDatagrams());
+        } finally {
+            server.stop();
+        }
+
+        assertFalse(server.isStarted());
+        assertEquals(0, server.getBoundSocketCount());
+    }
+
+    public static class EchoHandler {
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @UdpHandler("ping")
+        public void handlePing(io.netty.channel.ChannelHandlerContext ctx, InetSocketAddress sender,
+                UdpSession session) {
+            assertNotNull(session);
+            ctx.writeAndFlush(new io.netty.channel.socket.DatagramPacket(
+                    ctx.alloc().buffer().writeBytes("pong".getBytes(StandardCharsets.UTF_8)), sender));
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.dtc.core.network.udp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UdpSessionManager 测试
+ */
+@DisplayName("UDP会话管理器测试")
+public class UdpSessionManagerTest {
+
+    private UdpSessionManager sessionManager;
+
+    @BeforeEach
+    void setUp() {
+        sessionManager = new UdpSessionManager();
+    }
+
+    @Test
+    @DisplayName("测试同一来源复用会话")
+    void testTouchReusesSession() {
+        InetSocketAddress sender = new InetSocketAddress("127.0.0.1", 40000);
+
+        UdpSession first = sessionManager.touch(sender, 10);
+        UdpSession second = sessionManager.touch(sender, 20);
+
+        assertSame(first, second);
+        assertEquals(2, second.getPacketCount());
+        assertEquals(30, second.getByteCount());
+        assertEquals("udp-127.0.0.1-40000", second.getClientId());
+        assertEquals(1, sessionManager.getSessionCount());
+    }
+
+    @Test
+    @DisplayName("测试空闲会话过期")
+    void testExpireIdleSessions() throws InterruptedException {
+        sessionManager.setIdleTimeoutMs(10);
+        sessionManager.touch(new InetSocketAddress("127.0.0.1", 40001), 1);
+
+        Thread.sleep(30);
+        sessionManager.touch(new InetSocketAddress("127.0.0.1", 40002), 1);
+
+        assertEquals(1, sessionManager.expireIdleSessions());
+        assertEquals(1, sessionManager.getSessionCount());
+        assertEquals(1, sessionManager.getExpiredSessionCount());
+    }
+
+    @Test
+    @DisplayName("测试会话数量上限")
+    void testMaxSessions() {
+        sessionManager.setMaxSessions(1);
+        assertNotNull(sessionManager.touch(new InetSocketAddress("127.0.0.1", 40003), 1));
+        assertNull(sessionManager.touch(new InetSocketAddress("127.0.0.1", 40004), 1));
+        assertEquals(1, sessionManager.getRejectedSessionCount());
+    }
+}
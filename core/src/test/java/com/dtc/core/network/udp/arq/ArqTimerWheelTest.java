@@ -0,0 +1,66 @@
+package com.dtc.core.network.udp.arq;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ArqTimerWheel 测试
+ */
+@DisplayName("ARQ时间轮测试")
+public class ArqTimerWheelTest {
+
+    @Test
+    @DisplayName("测试任务按延迟到期")
+    void testTasksExpireInOrder() {
+        ArqTimerWheel wheel = new ArqTimerWheel(10, 8, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("a"), 10);
+        wheel.schedule(() -> fired.add("b"), 35);
+
+        wheel.advance(10);
+        assertEquals(List.of("a"), fired);
+
+        wheel.advance(30);
+        assertEquals(List.of("a"), fired);
+
+        wheel.advance(40);
+        assertEquals(List.of("a", "b"), fired);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    @DisplayName("测试超过一圈的延迟")
+    void testDelayLongerThanOneRound() {
+        ArqTimerWheel wheel = new ArqTimerWheel(10, 4, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("late"), 100);
+
+        wheel.advance(90);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(100);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    @DisplayName("测试任务内重新注册")
+    void testRescheduleFromTask() {
+        ArqTimerWheel wheel = new ArqTimerWheel(10, 8, 0);
+        int[] count = new int[1];
+        Runnable[] task = new Runnable[1];
+        task[0] = () -> {
+            if (++count[0] < 3) {
+                wheel.schedule(task[0], 10);
+            }
+        };
+        wheel.schedule(task[0], 10);
+
+        wheel.advance(50);
+        assertEquals(3, count[0]);
+    }
+}
@@ -0,0 +1,235 @@
+package com.dtc.core.network.udp.arq;
+
+import com.dtc.annotations.web.UdpHandler;
+import com.dtc.core.messaging.MessageHandlerRegistry;
+import com.dtc.core.network.udp.UdpServer;
+import com.dtc.core.network.udp.UdpSessionManager;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 可靠UDP（ARQ）回环测试，客户端双向注入丢包
+ */
+@DisplayName("可靠UDP测试")
+public class ReliableUdpTest {
+
+    private UdpServer server;
+    private InetSocketAddress serverAddress;
+    private SequenceHandler sequenceHandler;
+    private EventLoopGroup clientGroup;
+    private Channel clientChannel;
+    private ArqHandler clientArq;
+    private PacketLossInjector lossInjector;
+    private final List<String> replies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sequenceHandler = new SequenceHandler();
+        MessageHandlerRegistry registry = new MessageHandlerRegistry();
+        registry.registerHandlerInstance(sequenceHandler);
+
+        server = new UdpServer(new UdpSessionManager(), registry);
+        server.setHost("127.0.0.1");
+        server.setPort(0);
+        server.setSocketCount(1);
+        server.setArqEnabled(true);
+        server.start();
+        serverAddress = server.getLocalAddress();
+
+        clientArq = new ArqHandler(new ArqConfig());
+        lossInjector = new PacketLossInjector(0.2, 0.2, 42);
+        clientGroup = new NioEventLoopGroup(1);
+        clientChannel = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(lossInjector, clientArq,
+                                new SimpleChannelInboundHandler<ReliableDatagramPacket>() {
+                                    @Override
+                                    protected void channelRead0(ChannelHandlerContext ctx, ReliableDatagramPacket msg) {
+                                        replies.add(msg.content().toString(StandardCharsets.UTF_8));
+                                    }
+                                });
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0)).sync().channel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientChannel.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("测试丢包下按序可靠送达")
+    void testInOrderDeliveryUnderLoss() throws Exception {
+        ArqSession session = clientArq.session(serverAddress);
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            session.send("seq:" + i);
+        }
+
+        awaitSize(sequenceHandler.received, count);
+        awaitSize(replies, count);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("seq:" + i, sequenceHandler.received.get(i));
+            assertEquals("ack:seq:" + i, replies.get(i));
+        }
+        assertTrue(lossInjector.getDroppedInbound() + lossInjector.getDroppedOutbound() > 0);
+        assertTrue(session.getRetransmits() + session.getFastRetransmits() > 0);
+    }
+
+    @Test
+    @DisplayName("测试大消息分片重组")
+    void testFragmentation() throws Exception {
+        ArqSession session = clientArq.session(serverAddress);
+        String large = "seq:" + "x".repeat(10_000);
+        session.send(Unpooled.copiedBuffer(large, StandardCharsets.UTF_8));
+
+        awaitSize(sequenceHandler.received, 1);
+        assertEquals(large, sequenceHandler.received.get(0));
+    }
+
+    @Test
+    @DisplayName("测试可靠处理器拒绝普通数据报")
+    void testReliableHandlerRejectsPlainDatagram() throws Exception {
+        try (java.net.DatagramSocket socket = new java.net.DatagramSocket()) {
+            byte[] data = "seq:plain".getBytes(StandardCharsets.UTF_8);
+            socket.send(new java.net.DatagramPacket(data, data.length, serverAddress));
+        }
+
+        long deadline = System.currentTimeMillis() + 3000;
+        while (server.getDispatcher().getUnreliableRejected() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, server.getDispatcher().getUnreliableRejected());
+        assertTrue(sequenceHandler.received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试会话数量达到上限后丢弃新来源的分片，空闲会话过期后释放名额")
+    void testSessionLimitAndIdleExpiry() throws Exception {
+        ArqHandler arq = new ArqHandler(new ArqConfig().setMaxSessions(2).setSessionIdleTimeoutMs(100));
+        Channel channel = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(arq)
+                .bind(new InetSocketAddress("127.0.0.1", 0)).sync().channel();
+        InetSocketAddress target = (InetSocketAddress) channel.localAddress();
+        try (DatagramSocket first = new DatagramSocket();
+                DatagramSocket second = new DatagramSocket();
+                DatagramSocket third = new DatagramSocket()) {
+            sendAck(first, target);
+            sendAck(second, target);
+            await(() -> arq.getSessions().size() == 2);
+            sendAck(third, target);
+            await(() -> arq.getRejectedSessionCount() == 1);
+            assertEquals(2, arq.getSessions().size());
+
+            await(() -> arq.getSessions().isEmpty());
+            assertEquals(2, arq.getExpiredSessionCount());
+            sendAck(third, target);
+            await(() -> arq.getSessions().size() == 1);
+            assertEquals(1, arq.getRejectedSessionCount());
+        } finally {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    @DisplayName("测试只有魔数、版本和头部字段都合法的数据报才识别为ARQ分片")
+    void testSegmentRecognition() {
+        ByteBuf push = Unpooled.buffer();
+        ArqSegment.writeHeader(push, ArqSegment.CMD_PUSH, 3, 256, 0, 7, 0);
+        push.writeBytes("payload".getBytes(StandardCharsets.UTF_8));
+        assertTrue(ArqSegment.isArqSegment(push));
+        assertEquals(3, ArqSegment.frg(push));
+        assertEquals(7, ArqSegment.sn(push));
+
+        ByteBuf ack = Unpooled.buffer();
+        ArqSegment.writeHeader(ack, ArqSegment.CMD_ACK, 0, 256, 0, 0, 0);
+        ack.writeLong(0);
+        assertTrue(ArqSegment.isArqSegment(ack));
+        ack.writeByte(0);
+        assertFalse(ArqSegment.isArqSegment(ack), "ACK 长度必须固定");
+
+        push.setByte(2, ArqSegment.VERSION + 1);
+        assertFalse(ArqSegment.isArqSegment(push), "版本不符");
+        push.setByte(2, ArqSegment.VERSION);
+        push.setByte(4, ArqSegment.MAX_FRAGMENTS);
+        assertFalse(ArqSegment.isArqSegment(push), "分片序号越界");
+
+        byte[] binary = new byte[ArqSegment.ACK_LENGTH];
+        binary[0] = (byte) 0xFE;
+        binary[1] = (byte) 0xFF;
+        assertFalse(ArqSegment.isArqSegment(Unpooled.wrappedBuffer(binary)));
+        push.release();
+        ack.release();
+    }
+
+    private static void sendAck(DatagramSocket socket, InetSocketAddress target) throws Exception {
+        ByteBuf ack = Unpooled.buffer(ArqSegment.ACK_LENGTH);
+        ArqSegment.writeHeader(ack, ArqSegment.CMD_ACK, 0, 256, ArqHandler.currentTimeMs(), 0, 0);
+        ack.writeLong(0);
+        byte[] data = ByteBufUtil.getBytes(ack);
+        ack.release();
+        socket.send(new DatagramPacket(data, data.length, target));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    public static class SequenceHandler {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @UdpHandler(value = "^seq:.*", reliable = true)
+        public void handleSequence(String data, ArqSession session) {
+            received.add(data);
+            if (data.length() < 100) {
+                session.send("ack:" + data);
+            }
+        }
+    }
+}
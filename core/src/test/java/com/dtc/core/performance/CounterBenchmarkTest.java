@@ -0,0 +1,75 @@
+package com.dtc.core.performance;
+
+import com.dtc.core.metrics.Counter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 计数器竞争性能对比
+ * 多个线程同时递增同一个计数器，对比共享 AtomicLong 与分段的 Counter（LongAdder）的吞吐量
+ */
+@DisplayName("计数器竞争性能测试")
+public class CounterBenchmarkTest {
+
+    private static final int INCREMENTS_PER_THREAD = 2_000_000;
+
+    @Test
+    @DisplayName("测试多线程递增时分段计数器的吞吐量")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testContendedIncrement() throws InterruptedException {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        AtomicLong atomic = new AtomicLong();
+        Counter counter = new Counter();
+
+        // 预热
+        run(threads, INCREMENTS_PER_THREAD / 10, atomic::incrementAndGet);
+        run(threads, INCREMENTS_PER_THREAD / 10, counter::increment);
+        atomic.set(0);
+        counter.reset();
+
+        long atomicNanos = run(threads, INCREMENTS_PER_THREAD, atomic::incrementAndGet);
+        long counterNanos = run(threads, INCREMENTS_PER_THREAD, counter::increment);
+
+        long total = (long) threads * INCREMENTS_PER_THREAD;
+        assertEquals(total, atomic.get());
+        assertEquals(total, counter.get());
+
+        System.out.println(String.format(
+                "计数器性能测试结果: %d 线程共 %d 次递增, AtomicLong %.2f 百万次/秒, Counter %.2f 百万次/秒, 提升 %.1f 倍",
+                threads, total, total * 1000.0 / atomicNanos, total * 1000.0 / counterNanos,
+                (double) atomicNanos / counterNanos));
+    }
+
+    private static long run(int threads, int increments, Runnable increment) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < increments; i++) {
+                        increment.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
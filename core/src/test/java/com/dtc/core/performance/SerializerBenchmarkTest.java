@@ -0,0 +1,147 @@
+package com.dtc.core.performance;
+
+import com.dtc.core.serialization.BinaryObjectSerializer;
+import com.dtc.core.serialization.ObjectSerializer;
+import com.dtc.core.serialization.SerializerRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 序列化性能对比
+ * 以 RPC 参数为负载，对比 Java 原生序列化与 binary、json 序列化器的吞吐量和编码大小
+ */
+@DisplayName("序列化性能对比测试")
+public class SerializerBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    public static class Item implements Serializable {
+        public String sku;
+        public int quantity;
+        public double price;
+
+        public Item() {
+        }
+
+        Item(String sku, int quantity, double price) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+
+    public static class OrderRequest implements Serializable {
+        public long orderId;
+        public String customer;
+        public boolean express;
+        public List<Item> items = new ArrayList<>();
+    }
+
+    private interface Codec {
+        byte[] encode(Object[] args);
+
+        Object[] decode(byte[] data);
+    }
+
+    @Test
+    @DisplayName("测试各序列化器的参数编解码吞吐量")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testSerializerThroughput() {
+        OrderRequest request = new OrderRequest();
+        request.orderId = 1_234_567L;
+        request.customer = "customer-42";
+        request.express = true;
+        for (int i = 0; i < 10; i++) {
+            request.items.add(new Item("sku-" + i, i + 1, 9.99 * i));
+        }
+        Object[] args = {request, 3, "zone-a"};
+        Class<?>[] types = {OrderRequest.class, int.class, String.class};
+
+        SerializerRegistry registry = new SerializerRegistry();
+        BinaryObjectSerializer registered = new BinaryObjectSerializer();
+        registered.register(OrderRequest.class);
+        registered.register(Item.class);
+
+        double javaRate = run("java", javaCodec(), args);
+        BinaryObjectSerializer named = new BinaryObjectSerializer();
+        named.allow(OrderRequest.class, Item.class);
+        double binaryRate = run("binary", codec(named, types), args);
+        run("binary(registered)", codec(registered, types), args);
+        run("json", codec(registry.get("json"), types), args);
+
+        assertTrue(binaryRate > 0 && javaRate > 0);
+    }
+
+    private static double run(String name, Codec codec, Object[] args) {
+        byte[] encoded = codec.encode(args);
+        assertEquals(args.length, codec.decode(encoded).length);
+        for (int i = 0; i < WARMUP; i++) {
+            codec.decode(codec.encode(args));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.decode(codec.encode(args));
+        }
+        long duration = System.nanoTime() - start;
+        double rate = ITERATIONS * 1_000_000_000.0 / duration;
+        System.out.println(String.format("序列化性能 %-20s: 编码大小 %4d 字节, 往返 %.0f 次/秒",
+                name, encoded.length, rate));
+        return rate;
+    }
+
+    private static Codec codec(ObjectSerializer serializer, Class<?>[] types) {
+        return new Codec() {
+            @Override
+            public byte[] encode(Object[] args) {
+                return serializer.serializeArguments(args);
+            }
+
+            @Override
+            public Object[] decode(byte[] data) {
+                return serializer.deserializeArguments(data, types);
+            }
+        };
+    }
+
+    private static Codec javaCodec() {
+        return new Codec() {
+            @Override
+            public byte[] encode(Object[] args) {
+                try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                     ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                    oos.writeObject(args);
+                    oos.flush();
+                    return bos.toByteArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Object[] decode(byte[] data) {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    return (Object[]) ois.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
@@ -7,6 +7,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -78,6 +81,50 @@ public class DisruptorQueueTest {
         assertTrue(capacity <= 1024);
     }
 
+    @Test
+    @DisplayName("测试积压、剩余容量和发布阻塞统计")
+    void testLagAndBlockedPublish() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch consumed = new CountDownLatch(5);
+        DisruptorQueue<TestEvent> small = new DisruptorQueue<>(4);
+        small.addConsumer((data, sequence, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumed.countDown();
+        });
+        small.start();
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(small.publish(new TestEvent()));
+            }
+            DisruptorQueue.QueueStatus status = small.getStatus();
+            assertEquals(0, status.getRemainingCapacity());
+            assertEquals(1, status.getConsumers().size());
+            assertEquals(4, status.getConsumers().get(0).getLag());
+            assertEquals(0, status.getConsumers().get(0).getProcessed());
+
+            Thread publisher = new Thread(() -> small.publish(new TestEvent()));
+            publisher.start();
+            Thread.sleep(50);
+            release.countDown();
+            publisher.join(5000);
+            assertTrue(consumed.await(5, TimeUnit.SECONDS));
+
+            Thread.sleep(50);
+            status = small.getStatus();
+            assertEquals(1, status.getPublishBlockedCount());
+            assertTrue(status.getPublishBlockedNanos() > 0);
+            assertEquals(0, status.getConsumers().get(0).getLag());
+            assertEquals(5, status.getConsumers().get(0).getProcessed());
+            assertTrue(status.getConsumers().get(0).getBusyRatio() > 0);
+        } finally {
+            small.shutdown();
+        }
+    }
+
     // 测试事件类
     public static class TestEvent {
         private String data;
@@ -0,0 +1,122 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.metrics.HistogramSnapshot;
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import com.google.protobuf.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchProtobufProcessor 测试
+ */
+@DisplayName("批量Protobuf处理器测试")
+public class BatchProtobufProcessorTest {
+
+    private BatchProtobufProcessor processor;
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) {
+            processor.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("测试达到最大批次大小时立即提交")
+    void testFlushOnBatchSize() throws Exception {
+        processor = new BatchProtobufProcessor(5, TimeUnit.SECONDS.toMicros(30), 64);
+        BlockingQueue<Message[]> batches = new LinkedBlockingQueue<>();
+        processor.addBatchConsumer(batches::add);
+        processor.start();
+
+        assertEquals(10, processor.addMessages(messages(10)));
+
+        Message[] first = batches.poll(5, TimeUnit.SECONDS);
+        Message[] second = batches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(5, first.length);
+        assertEquals(5, second.length);
+        assertEquals("client-0", ((NetworkMessageProtos.HeartbeatMessage) first[0]).getClientId());
+        assertEquals("client-9", ((NetworkMessageProtos.HeartbeatMessage) second[4]).getClientId());
+
+        HistogramSnapshot sizes = processor.getBatchSizeSnapshot();
+        assertEquals(2, sizes.getCount());
+        assertEquals(5, sizes.getMax());
+    }
+
+    @Test
+    @DisplayName("测试未满批次在等待超时后提交")
+    void testFlushOnLinger() throws Exception {
+        processor = new BatchProtobufProcessor(1000, 2000, 64);
+        BlockingQueue<Message[]> batches = new LinkedBlockingQueue<>();
+        processor.addBatchConsumer(batches::add);
+        processor.start();
+
+        long start = System.nanoTime();
+        assertEquals(3, processor.addMessages(messages(3)));
+        Message[] batch = batches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(3, batch.length);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MICROSECONDS.toNanos(2000));
+
+        HistogramSnapshot linger = processor.getLingerSnapshot();
+        assertEquals(1, linger.getCount());
+        assertTrue(linger.getMax() >= 2000);
+        assertEquals(3, processor.getQueueStatus().getTotalMessages());
+    }
+
+    @Test
+    @DisplayName("测试RingBuffer已满时拒绝消息并在停止时提交剩余消息")
+    void testBackpressureAndDrainOnStop() throws Exception {
+        processor = new BatchProtobufProcessor(1, 100, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Message> consumed = new ArrayList<>();
+        processor.addBatchConsumer(batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (consumed) {
+                consumed.addAll(List.of(batch));
+            }
+        });
+        processor.start();
+
+        int added = 0;
+        for (Message message : messages(20)) {
+            if (processor.addMessage(message)) {
+                added++;
+            }
+        }
+        assertTrue(added < 20);
+        assertEquals(20 - added, processor.getRejectedMessages());
+
+        release.countDown();
+        processor.stop();
+        assertFalse(processor.addMessage(messages(1).get(0)));
+        synchronized (consumed) {
+            assertEquals(added, consumed.size());
+        }
+    }
+
+    private static List<Message> messages(int count) {
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(NetworkMessageProtos.HeartbeatMessage.newBuilder().setClientId("client-" + i)
+                    .setLastHeartbeat(i).build());
+        }
+        return messages;
+    }
+}
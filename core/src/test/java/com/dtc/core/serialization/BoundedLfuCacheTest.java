@@ -0,0 +1,101 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoundedLfuCache 测试
+ */
+@DisplayName("W-TinyLFU缓存测试")
+public class BoundedLfuCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    @DisplayName("测试按字节数限制容量")
+    void testWeightBound() {
+        BoundedLfuCache<Integer, byte[]> cache = new BoundedLfuCache<>(1000, 60_000, data -> data.length, clock::get);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cache.put(i, new byte[100]));
+            assertTrue(cache.weightedSize() <= 1000);
+        }
+        assertEquals(10, cache.size());
+        assertEquals(90, cache.evictionCount());
+        assertEquals(9000, cache.evictionWeight());
+
+        assertFalse(cache.put(-1, new byte[1001]), "超过容量的值不缓存");
+        assertNull(cache.getIfPresent(-1));
+    }
+
+    @Test
+    @DisplayName("测试一次性扫描不会挤掉热点条目")
+    void testScanResistance() {
+        BoundedLfuCache<Integer, byte[]> cache = new BoundedLfuCache<>(100, 60_000, data -> data.length, clock::get);
+        for (int key = 0; key < 50; key++) {
+            cache.put(key, new byte[1]);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                assertNotNull(cache.getIfPresent(key));
+            }
+        }
+
+        // 大量只访问一次的键
+        for (int key = 1000; key < 6000; key++) {
+            cache.put(key, new byte[1]);
+        }
+
+        int retained = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "热点条目保留数: " + retained);
+        assertTrue(cache.weightedSize() <= 100);
+    }
+
+    @Test
+    @DisplayName("测试写入后按有效期过期并由时间轮移除")
+    void testExpiry() {
+        BoundedLfuCache<String, byte[]> cache = new BoundedLfuCache<>(1000, 1000, data -> data.length, clock::get);
+        cache.put("a", new byte[10]);
+        clock.addAndGet(999);
+        assertNotNull(cache.getIfPresent("a"));
+
+        clock.addAndGet(1);
+        assertNull(cache.getIfPresent("a"));
+
+        clock.addAndGet(100);
+        cache.put("b", new byte[10]);
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.weightedSize());
+        assertEquals(1, cache.expirationCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("测试以消息内容为键缓存序列化数据")
+    void testSerializationCacheManager() {
+        SerializationCacheManager manager = new SerializationCacheManager(1 << 20, 60_000, clock::get);
+        NetworkMessageProtos.HeartbeatMessage message = NetworkMessageProtos.HeartbeatMessage.newBuilder()
+                .setClientId("client-1").setLastHeartbeat(1L).build();
+        NetworkMessageProtos.HeartbeatMessage equal = message.toBuilder().build();
+
+        byte[] data = manager.getOrSerialize(message);
+        assertArrayEquals(message.toByteArray(), data);
+        assertSame(data, manager.getOrSerialize(equal));
+        assertNull(manager.getCachedSerializedData(message.toBuilder().setLastHeartbeat(2L).build()));
+
+        SerializationCacheManager.CacheStats stats = manager.getCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(data.length, stats.getSerializedDataBytes());
+    }
+}
@@ -0,0 +1,141 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.network.custom.JsonCustomCodec;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.web.argument.RequestBodyMethodArgumentResolver;
+import com.dtc.annotations.web.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * JsonCodec 测试
+ */
+@DisplayName("JSON编解码器测试")
+public class JsonCodecTest {
+
+    public static class User {
+        public String name;
+        public int age;
+    }
+
+    private final JsonCodec jsonCodec = new JsonCodec();
+
+    @Test
+    @DisplayName("测试从堆内和堆外ByteBuf解析")
+    void testReadFromByteBuf() throws Exception {
+        byte[] json = "{\"name\":\"张三\",\"age\":30}".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuf heap = Unpooled.wrappedBuffer(json);
+        User fromHeap = jsonCodec.read(heap, User.class);
+        assertEquals("张三", fromHeap.name);
+        assertEquals(30, fromHeap.age);
+        assertEquals(0, heap.readableBytes());
+
+        ByteBuf direct = Unpooled.directBuffer().writeBytes(json);
+        User fromDirect = jsonCodec.read(direct, User.class);
+        assertEquals("张三", fromDirect.name);
+        assertEquals(0, direct.readableBytes());
+        direct.release();
+    }
+
+    @Test
+    @DisplayName("测试ObjectReader按类型缓存")
+    void testReaderCache() {
+        assertSame(jsonCodec.readerFor(User.class), jsonCodec.readerFor(User.class));
+        assertSame(jsonCodec.writerFor(User.class), jsonCodec.writerFor(User.class));
+    }
+
+    @Test
+    @DisplayName("测试直接序列化到池化缓冲区")
+    void testWriteToBuffer() throws Exception {
+        User user = new User();
+        user.name = "li";
+        user.age = 20;
+        ByteBuf buffer = jsonCodec.writeToBuffer(user, PooledByteBufAllocator.DEFAULT);
+        try {
+            User decoded = jsonCodec.read(buffer.duplicate(), User.class);
+            assertEquals("li", decoded.name);
+            assertEquals(20, decoded.age);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    @DisplayName("测试JsonCustomCodec帧编解码")
+    void testJsonCustomCodec() throws Exception {
+        JsonCustomCodec codec = new JsonCustomCodec(jsonCodec, User.class);
+        ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+        User user = new User();
+        user.name = "wang";
+        user.age = 41;
+
+        ByteBuf frame = Unpooled.buffer();
+        codec.encode(ctx, user, frame);
+        assertEquals(frame.readableBytes() - 4, frame.getInt(0));
+
+        List<Object> out = new ArrayList<>();
+        ByteBuf partial = frame.copy(0, frame.readableBytes() - 1);
+        codec.decode(ctx, partial, out);
+        assertTrue(out.isEmpty());
+        assertEquals(0, partial.readerIndex());
+        partial.release();
+
+        codec.decode(ctx, frame, out);
+        User decoded = assertInstanceOf(User.class, out.get(0));
+        assertEquals("wang", decoded.name);
+        assertEquals(41, decoded.age);
+        frame.release();
+    }
+
+    @Test
+    @DisplayName("测试请求体按泛型参数类型解析")
+    void testRequestBodyGenericType() throws Exception {
+        HttpRequestEx request = new HttpRequestEx.Builder()
+                .method("POST")
+                .path("/users")
+                .bodyBytes("[{\"name\":\"a\",\"age\":1},{\"name\":\"b\",\"age\":2}]".getBytes(StandardCharsets.UTF_8))
+                .contentType("application/json")
+                .build();
+        Parameter parameter = JsonCodecTest.class.getDeclaredMethod("createUsers", List.class).getParameters()[0];
+
+        Object value = new RequestBodyMethodArgumentResolver().resolveArgument(parameter, request);
+        List<?> users = assertInstanceOf(List.class, value);
+        assertEquals(2, users.size());
+        assertEquals("b", assertInstanceOf(User.class, users.get(1)).name);
+    }
+
+    @Test
+    @DisplayName("测试JSON响应体直接编码")
+    void testJsonResponseBody() throws Exception {
+        User user = new User();
+        user.name = "zhao";
+        HttpResponseEx response = new HttpResponseEx.Builder().ok().jsonBody(user).build();
+        assertEquals("application/json", response.getContentType());
+
+        ByteBuf body = response.encodeBody(PooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals("{\"name\":\"zhao\",\"age\":0}", body.toString(StandardCharsets.UTF_8));
+        } finally {
+            body.release();
+        }
+        assertEquals("{\"name\":\"zhao\",\"age\":0}", response.getBody());
+    }
+
+    @SuppressWarnings("unused")
+    private void createUsers(@RequestBody List<User> users) {
+    }
+}
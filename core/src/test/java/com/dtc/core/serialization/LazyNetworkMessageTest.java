@@ -0,0 +1,99 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LazyNetworkMessage 测试
+ */
+@DisplayName("按需解码NetworkMessage测试")
+public class LazyNetworkMessageTest {
+
+    private final NetworkMessageProtos.DataMessage data = NetworkMessageProtos.DataMessage.newBuilder()
+            .setTopic("orders").setContent(ByteString.copyFromUtf8("{\"id\":1}")).setPriority(3).build();
+
+    private final NetworkMessageProtos.NetworkMessage message = NetworkMessageProtos.NetworkMessage.newBuilder()
+            .setMessageId("trace-1")
+            .setType(NetworkMessageProtos.MessageType.DATA)
+            .setTimestamp(1_700_000_000_000L)
+            .setClientId("client-1")
+            .setServerId("node-2")
+            .setData(data)
+            .build();
+
+    @Test
+    @DisplayName("测试只读取头部字段并按原始字节转发")
+    void testHeaderFieldsAndForwarding() {
+        byte[] bytes = message.toByteArray();
+        LazyNetworkMessage lazy = LazyNetworkMessage.parse(bytes);
+
+        assertEquals("trace-1", lazy.getMessageId());
+        assertEquals(NetworkMessageProtos.MessageType.DATA, lazy.getType());
+        assertEquals(1_700_000_000_000L, lazy.getTimestamp());
+        assertEquals("client-1", lazy.getClientId());
+        assertEquals("node-2", lazy.getServerId());
+        assertEquals(NetworkMessageProtos.NetworkMessage.PayloadCase.DATA, lazy.getPayloadCase());
+        assertEquals(data.toByteString(), lazy.getPayloadBytes());
+
+        ByteBuf out = Unpooled.buffer();
+        try {
+            lazy.writeTo(out);
+            assertEquals(Unpooled.wrappedBuffer(bytes), out);
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    @DisplayName("测试按需解码payload和完整消息")
+    void testPayloadDecoding() {
+        LazyNetworkMessage lazy = LazyNetworkMessage.parse(message.toByteArray());
+
+        assertEquals(data, lazy.getPayload());
+        assertSame(lazy.getPayload(), lazy.getPayload());
+        assertEquals(data, lazy.getPayload(NetworkMessageProtos.DataMessage.class));
+        assertNull(lazy.getPayload(NetworkMessageProtos.HeartbeatMessage.class));
+        assertEquals(message, lazy.toMessage());
+
+        LazyNetworkMessage empty = LazyNetworkMessage.parse(new byte[0]);
+        assertEquals(NetworkMessageProtos.NetworkMessage.PayloadCase.PAYLOAD_NOT_SET, empty.getPayloadCase());
+        assertNull(empty.getPayload());
+        assertEquals(NetworkMessageProtos.MessageType.UNKNOWN, empty.getType());
+    }
+
+    @Test
+    @DisplayName("测试重复字段与完整解析的语义一致")
+    void testRepeatedFieldsMatchFullParse() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        output.writeString(NetworkMessageProtos.NetworkMessage.SERVER_ID_FIELD_NUMBER, "node-1");
+        output.writeMessage(NetworkMessageProtos.NetworkMessage.DATA_FIELD_NUMBER,
+                NetworkMessageProtos.DataMessage.newBuilder().setTopic("a").build());
+        output.writeMessage(NetworkMessageProtos.NetworkMessage.DATA_FIELD_NUMBER,
+                NetworkMessageProtos.DataMessage.newBuilder().setPriority(7).build());
+        output.writeString(NetworkMessageProtos.NetworkMessage.SERVER_ID_FIELD_NUMBER, "node-3");
+        output.writeInt32(99, 1);
+        output.flush();
+
+        byte[] bytes = buffer.toByteArray();
+        NetworkMessageProtos.NetworkMessage full = NetworkMessageProtos.NetworkMessage.parseFrom(bytes);
+        LazyNetworkMessage lazy = LazyNetworkMessage.parse(bytes);
+
+        assertEquals("node-3", lazy.getServerId());
+        assertEquals(full.getData(), lazy.getPayload());
+        assertEquals("a", ((NetworkMessageProtos.DataMessage) lazy.getPayload()).getTopic());
+        assertEquals(7, ((NetworkMessageProtos.DataMessage) lazy.getPayload()).getPriority());
+
+        assertThrows(ProtobufSerializer.SerializationException.class,
+                () -> LazyNetworkMessage.parse(new byte[] {0x0a, 0x05, 'a'}));
+    }
+}
@@ -0,0 +1,172 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ObjectSerializer 测试
+ */
+@DisplayName("对象序列化器测试")
+public class ObjectSerializerTest {
+
+    enum Status { ACTIVE, DISABLED }
+
+    record Point(int x, long y, String label) {
+    }
+
+    static class Order {
+        private long id;
+        private int quantity;
+        private double price;
+        private boolean paid;
+        private String customer;
+        private Status status;
+        private List<String> tags = new ArrayList<>();
+        private Map<String, Integer> counts = new LinkedHashMap<>();
+        private Point location;
+        private transient String cached = "skip";
+
+        Order() {
+        }
+
+        Order(long id, String customer) {
+            this.id = id;
+            this.customer = customer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Order other)) {
+                return false;
+            }
+            return id == other.id && quantity == other.quantity && price == other.price && paid == other.paid
+                    && Objects.equals(customer, other.customer) && status == other.status
+                    && tags.equals(other.tags) && counts.equals(other.counts)
+                    && Objects.equals(location, other.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+
+    private static Order sampleOrder() {
+        Order order = new Order(-42L, "alice");
+        order.quantity = Integer.MIN_VALUE;
+        order.price = 19.99;
+        order.paid = true;
+        order.status = Status.DISABLED;
+        order.tags.add("vip");
+        order.tags.add(null);
+        order.counts.put("a", 1);
+        order.location = new Point(-1, Long.MAX_VALUE, "home");
+        return order;
+    }
+
+    @Test
+    @DisplayName("测试二进制序列化器往返各类值")
+    void testBinaryRoundTrip() {
+        BinaryObjectSerializer serializer = new BinaryObjectSerializer();
+        serializer.allow(Order.class, Point.class, Status.class);
+        Object[] values = {
+                null, true, (byte) -3, (short) -300, 'z', Integer.MIN_VALUE, Long.MIN_VALUE, 1.5f, -2.25d, "你好",
+                new byte[] {1, 2}, new int[] {-1, Integer.MAX_VALUE}, new long[] {Long.MIN_VALUE}, new double[] {0.1},
+                new BigDecimal("123.4500"), UUID.randomUUID(), Instant.ofEpochSecond(-5, 7),
+                List.of(1, "two"), Set.of(3L), Map.of("k", List.of()), new String[] {"a", null}
+        };
+        for (Object value : values) {
+            Object copy = serializer.deserialize(serializer.serialize(value), Object.class);
+            if (value != null && value.getClass().isArray()) {
+                assertEquals(value.getClass(), copy.getClass());
+                assertTrue(java.util.Objects.deepEquals(value, copy), String.valueOf(value));
+            } else {
+                assertEquals(value, copy);
+            }
+        }
+
+        Order order = sampleOrder();
+        order.cached = "changed";
+        Order copy = serializer.deserialize(serializer.serialize(order), Order.class);
+        assertEquals(order, copy);
+        // transient 字段不写出，保留构造器中的初始值
+        assertEquals("skip", copy.cached);
+        assertSame(Status.ACTIVE, serializer.deserialize(serializer.serialize(Status.ACTIVE), Status.class));
+    }
+
+    @Test
+    @DisplayName("测试注册类型后只写类型ID")
+    void testRegistration() {
+        BinaryObjectSerializer named = new BinaryObjectSerializer();
+        named.allow(Order.class, Point.class, Status.class);
+        BinaryObjectSerializer registered = new BinaryObjectSerializer();
+        registered.register(Order.class);
+        registered.register(Point.class);
+        registered.register(Status.class);
+
+        Order order = sampleOrder();
+        byte[] namedBytes = named.serialize(order);
+        byte[] registeredBytes = registered.serialize(order);
+        assertTrue(registeredBytes.length < namedBytes.length);
+        assertEquals(order, registered.deserialize(registeredBytes, Order.class));
+
+        // 默认只接受已注册或放行的类型，数据中的类名不会被加载
+        BinaryObjectSerializer strict = new BinaryObjectSerializer();
+        assertThrows(ProtobufSerializer.SerializationException.class, () -> strict.serialize(order));
+        assertThrows(ProtobufSerializer.SerializationException.class, () -> strict.deserialize(namedBytes, Order.class));
+        BinaryObjectSerializer partial = new BinaryObjectSerializer();
+        partial.allow(Order.class);
+        assertThrows(ProtobufSerializer.SerializationException.class, () -> partial.deserialize(namedBytes, Order.class));
+        assertThrows(ProtobufSerializer.SerializationException.class,
+                () -> named.deserialize(named.serialize(Status.ACTIVE), Order.class));
+        BinaryObjectSerializer open = new BinaryObjectSerializer();
+        open.setRegistrationRequired(false);
+        assertEquals(order, open.deserialize(namedBytes, Order.class));
+        assertThrows(ProtobufSerializer.SerializationException.class,
+                () -> registered.deserialize(new byte[] {5}, Object.class));
+    }
+
+    @Test
+    @DisplayName("测试各序列化器的方法参数往返")
+    void testArguments() {
+        SerializerRegistry registry = new SerializerRegistry();
+        ((BinaryObjectSerializer) registry.get("binary")).register(Point.class);
+        assertTrue(registry.getNames().containsAll(Set.of("binary", "json", "protobuf")));
+        assertEquals("binary", registry.forProtocol("rpc").getName());
+
+        Object[] args = {7, "name", sampleOrder().location};
+        Class<?>[] types = {int.class, String.class, Point.class};
+        for (String name : List.of("binary", "json")) {
+            ObjectSerializer serializer = registry.get(name);
+            assertArrayEquals(args, serializer.deserializeArguments(serializer.serializeArguments(args), types), name);
+            assertEquals(0, serializer.deserializeArguments(serializer.serializeArguments(null), new Class<?>[0]).length);
+            assertEquals(12L, serializer.deserialize(serializer.serialize(12L), Long.class), name);
+        }
+
+        NetworkMessageProtos.DataMessage data = NetworkMessageProtos.DataMessage.newBuilder()
+                .setTopic("t").setContent(ByteString.copyFromUtf8("x")).build();
+        NetworkMessageProtos.HeartbeatMessage heartbeat = NetworkMessageProtos.HeartbeatMessage.newBuilder()
+                .setLastHeartbeat(9).build();
+        ObjectSerializer protobuf = registry.get("protobuf");
+        Object[] messages = {data, heartbeat};
+        assertArrayEquals(messages, protobuf.deserializeArguments(protobuf.serializeArguments(messages),
+                new Class<?>[] {NetworkMessageProtos.DataMessage.class, NetworkMessageProtos.HeartbeatMessage.class}));
+        assertEquals(data, protobuf.deserialize(protobuf.serialize(data), NetworkMessageProtos.DataMessage.class));
+        assertThrows(ProtobufSerializer.SerializationException.class, () -> protobuf.serialize("text"));
+        assertThrows(ProtobufSerializer.SerializationException.class, () -> registry.get("missing"));
+    }
+}
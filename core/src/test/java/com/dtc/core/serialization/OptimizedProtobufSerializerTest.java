@@ -0,0 +1,80 @@
+package com.dtc.core.serialization;
+
+import com.dtc.core.protobuf.NetworkMessageProtos;
+import com.google.protobuf.ByteString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OptimizedProtobufSerializer 测试
+ */
+@DisplayName("优化的Protobuf序列化器测试")
+public class OptimizedProtobufSerializerTest {
+
+    private final OptimizedProtobufSerializer serializer = new OptimizedProtobufSerializer();
+
+    private final NetworkMessageProtos.DataMessage message = NetworkMessageProtos.DataMessage.newBuilder()
+            .setTopic("orders")
+            .setContent(ByteString.copyFrom(new byte[300]))
+            .putHeaders("trace", "abc")
+            .build();
+
+    @Test
+    @DisplayName("测试直接序列化到堆内、堆外和组合缓冲区并原样解析")
+    void testByteBufRoundTrip() {
+        List<ByteBuf> buffers = List.of(Unpooled.buffer(8), Unpooled.directBuffer(8),
+                PooledByteBufAllocator.DEFAULT.directBuffer(8));
+        for (ByteBuf buffer : buffers) {
+            try {
+                buffer.writeInt(42);
+                int size = serializer.serialize(message, buffer);
+                assertEquals(message.getSerializedSize(), size);
+                assertArrayEquals(message.toByteArray(), copy(buffer.slice(4, size)));
+
+                assertEquals(42, buffer.readInt());
+                assertEquals(message, serializer.deserialize(buffer, NetworkMessageProtos.DataMessage.class));
+                assertFalse(buffer.isReadable());
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试按消息长度分配缓冲区以及从组合缓冲区解析")
+    void testAllocatorAndComposite() {
+        ByteBuf encoded = serializer.serialize(message, ByteBufAllocator.DEFAULT);
+        assertEquals(message.getSerializedSize(), encoded.capacity());
+
+        CompositeByteBuf composite = Unpooled.compositeBuffer();
+        composite.addComponent(true, encoded.retainedSlice(0, 10));
+        composite.addComponent(true, encoded.retainedSlice(10, encoded.readableBytes() - 10));
+        encoded.release();
+        try {
+            assertEquals(message, serializer.deserializeLite(composite, NetworkMessageProtos.DataMessage.class));
+            assertEquals(1, serializer.getStats().getDeserializeCount());
+        } finally {
+            composite.release();
+        }
+
+        ByteBuf truncated = Unpooled.wrappedBuffer(message.toByteArray(), 0, 20);
+        assertThrows(OptimizedProtobufSerializer.SerializationException.class,
+                () -> serializer.deserialize(truncated, NetworkMessageProtos.DataMessage.class));
+        assertEquals(0, truncated.readerIndex(), "解析失败时不移动读索引");
+    }
+
+    private static byte[] copy(ByteBuf buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
+    }
+}
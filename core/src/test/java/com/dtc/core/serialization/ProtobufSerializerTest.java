@@ -1,6 +1,8 @@
 package com.dtc.core.serialization;
 
 import com.dtc.core.protobuf.NetworkMessageProtos;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -67,5 +69,23 @@ public class ProtobufSerializerTest {
         // 空字节数组会返回默认的空消息，而不是null
         assertNotNull(result);
     }
-}
 
+    @Test
+    @DisplayName("测试直接序列化到ByteBuf并从ByteBuf反序列化")
+    void testByteBufRoundTrip() {
+        NetworkMessageProtos.HeartbeatMessage message =
+            NetworkMessageProtos.HeartbeatMessage.newBuilder()
+                .setClientId("test-client")
+                .setLastHeartbeat(123456789L)
+                .build();
+
+        ByteBuf buffer = Unpooled.directBuffer(4);
+        try {
+            assertEquals(message.getSerializedSize(), serializer.serialize(message, buffer));
+            assertEquals(message, serializer.deserialize(buffer, NetworkMessageProtos.HeartbeatMessage.class));
+            assertEquals(0, buffer.readableBytes());
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -3,6 +3,11 @@ package com.dtc.core.statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import com.dtc.core.metrics.HistogramSnapshot;
+import com.dtc.core.metrics.MetricsCollector;
+import com.dtc.core.metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,5 +92,29 @@ public class StatisticsCollectorTest {
         double avgTime = collector.getAverageProcessingTime();
         assertEquals(150.0, avgTime, 0.1);
     }
-}
 
+    @Test
+    @DisplayName("测试指标收集器结束区间后统计信息包含延迟分布")
+    void testLatencyAfterCollection() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        StatisticsCollector statistics = new StatisticsCollector(registry);
+        MetricsCollector metricsCollector = new MetricsCollector(registry, 50);
+        statistics.recordHandlerLatency("TCP", TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals(0, statistics.getStatistics().getLatency().getCount());
+
+        metricsCollector.start();
+        try {
+            // 只有第一个区间包含记录，之后的区间为空，取到非空快照后再断言
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            HistogramSnapshot latency = statistics.getStatistics().getLatency();
+            while (latency.getCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+                latency = statistics.getStatistics().getLatency();
+            }
+            assertEquals(1, latency.getCount());
+            assertTrue(latency.getP99() >= TimeUnit.MILLISECONDS.toNanos(2));
+        } finally {
+            metricsCollector.stop();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.dtc.core.web;
+
+import com.dtc.annotations.web.GetMapping;
+import com.dtc.annotations.web.PathVariable;
+import com.dtc.annotations.web.RestController;
+import com.dtc.core.network.http.HttpMiddlewareManager;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.network.http.HttpRequestHandler;
+import com.dtc.core.network.http.HttpResponseEx;
+import com.dtc.core.network.http.HttpRouteManager;
+import com.dtc.core.web.argument.HandlerMethodArgumentResolverComposite;
+import com.dtc.core.web.async.Blocking;
+import com.dtc.core.web.async.BlockingHandlerExecutor;
+import com.dtc.core.web.async.DeferredResult;
+import com.dtc.core.web.cache.CacheResponse;
+import com.dtc.core.web.filter.FilterRegistry;
+import com.dtc.core.web.interceptor.InterceptorRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * WebControllerScanner 测试
+ */
+@DisplayName("Web控制器异步返回值测试")
+public class WebControllerScannerTest {
+
+    private AsyncController controller;
+    private BlockingHandlerExecutor blockingExecutor;
+    private HttpRequestHandler requestHandler;
+
+    @BeforeEach
+    void setUp() {
+        HttpRouteManager routeManager = new HttpRouteManager();
+        blockingExecutor = new BlockingHandlerExecutor("bounded", 1, 1, false);
+        WebControllerScanner scanner = new WebControllerScanner(routeManager, mock(BeanProvider.class),
+                new HandlerMethodArgumentResolverComposite(), blockingExecutor);
+        controller = new AsyncController();
+        scanner.registerController(AsyncController.class, controller);
+        requestHandler = new HttpRequestHandler(routeManager, new HttpMiddlewareManager(), new FilterRegistry(),
+                new InterceptorRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.release.countDown();
+        blockingExecutor.close();
+    }
+
+    @Test
+    @DisplayName("测试CompletableFuture完成时才生成响应")
+    void testCompletableFuture() throws Exception {
+        CompletableFuture<HttpResponseEx> response = requestHandler.handleRequestAsync(get("/async/future/7"));
+        assertFalse(response.isDone());
+
+        controller.future.complete(Map.of("id", "7"));
+        HttpResponseEx result = response.get(5, TimeUnit.SECONDS);
+        assertEquals(200, result.getStatusCode());
+        assertEquals(Map.of("id", "7"), result.getJsonBody());
+    }
+
+    @Test
+    @DisplayName("测试DeferredResult由其他线程设置结果和超时")
+    void testDeferredResult() throws Exception {
+        CompletableFuture<HttpResponseEx> response = requestHandler.handleRequestAsync(get("/async/deferred"));
+        assertFalse(response.isDone());
+        new Thread(() -> controller.deferred.setResult("done")).start();
+        assertEquals("done", response.get(5, TimeUnit.SECONDS).getJsonBody());
+
+        HttpResponseEx expired = requestHandler.handleRequestAsync(get("/async/expiring")).get(5, TimeUnit.SECONDS);
+        assertEquals(503, expired.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("测试异步异常返回500")
+    void testFailedFuture() throws Exception {
+        CompletableFuture<HttpResponseEx> response = requestHandler.handleRequestAsync(get("/async/future/1"));
+        controller.future.completeExceptionally(new IllegalStateException("database down"));
+        assertEquals(500, response.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(1, requestHandler.getStats().getErrorCount());
+    }
+
+    @Test
+    @DisplayName("测试阻塞方法在执行器上运行且有界队列满时返回503")
+    void testBlockingExecutor() throws Exception {
+        CompletableFuture<HttpResponseEx> first = requestHandler.handleRequestAsync(get("/async/blocking"));
+        assertTrue(controller.started.await(5, TimeUnit.SECONDS));
+        assertFalse(first.isDone(), "阻塞方法不应占用调用线程");
+
+        // 1 个线程被占用、1 个排队，第三个请求被拒绝
+        CompletableFuture<HttpResponseEx> queued = requestHandler.handleRequestAsync(get("/async/blocking"));
+        HttpResponseEx rejected = requestHandler.handleRequestAsync(get("/async/blocking")).get(5, TimeUnit.SECONDS);
+        assertEquals(503, rejected.getStatusCode());
+
+        controller.release.countDown();
+        HttpResponseEx result = first.get(5, TimeUnit.SECONDS);
+        assertTrue(((String) result.getJsonBody()).startsWith("http-blocking-"));
+        assertEquals(200, queued.get(5, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("测试声明响应缓存的方法命中缓存时不再调用")
+    void testCacheResponse() throws Exception {
+        HttpResponseEx first = requestHandler.handleRequestAsync(get("/async/cached")).get(5, TimeUnit.SECONDS);
+        HttpResponseEx second = requestHandler.handleRequestAsync(get("/async/cached")).get(5, TimeUnit.SECONDS);
+        assertEquals(1, controller.cachedCalls.get());
+        assertEquals("\"cached-1\"", second.getBody());
+        assertEquals(first.getHeader("etag"), second.getHeader("etag"));
+
+        HttpRequestEx conditional = new HttpRequestEx.Builder().method("GET").path("/async/cached")
+                .headers(Map.of("if-none-match", first.getHeader("etag"))).build();
+        assertEquals(304, requestHandler.handleRequestAsync(conditional).get(5, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    private static HttpRequestEx get(String path) {
+        return new HttpRequestEx.Builder().method("GET").path(path).build();
+    }
+
+    @RestController("/async")
+    public static class AsyncController {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final DeferredResult<String> deferred = new DeferredResult<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @GetMapping("/future/{id}")
+        public CompletableFuture<Object> future(@PathVariable("id") String id) {
+            return future;
+        }
+
+        @GetMapping("/deferred")
+        public DeferredResult<String> deferred() {
+            return deferred;
+        }
+
+        @GetMapping("/expiring")
+        public DeferredResult<String> expiring() {
+            return new DeferredResult<>(50);
+        }
+
+        final AtomicInteger cachedCalls = new AtomicInteger();
+
+        @CacheResponse(ttlSeconds = 30)
+        @GetMapping("/cached")
+        public String cached() {
+            return "cached-" + cachedCalls.incrementAndGet();
+        }
+
+        @Blocking
+        @GetMapping("/blocking")
+        public String blocking() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Thread.currentThread().getName();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.dtc.core.web.argument;
+
+import com.dtc.annotations.web.PathVariable;
+import com.dtc.annotations.web.RequestBody;
+import com.dtc.annotations.web.RequestHeader;
+import com.dtc.annotations.web.RequestParam;
+import com.dtc.core.network.http.HttpRequestEx;
+import com.dtc.core.web.HandlerMethod;
+import com.dtc.core.web.HandlerMethodArgumentResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ArgumentResolutionPlan 测试
+ */
+@DisplayName("参数解析计划测试")
+public class ArgumentResolutionPlanTest {
+
+    private final HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+
+    @Test
+    @DisplayName("测试按计划解析路径变量、请求参数、请求头和请求体")
+    void testResolve() throws Exception {
+        Method method = method("bind");
+        ArgumentResolutionPlan plan = ArgumentResolutionPlan.compile(method, resolvers);
+        assertEquals(7, plan.size());
+
+        HttpRequestEx request = new HttpRequestEx.Builder().method("POST").path("/items/42")
+            .pathParameters(Map.of("id", "42"))
+            .queryParameters(Map.of("verbose", "true"))
+            .addHeader("X-Tenant", "acme")
+            .bodyBytes("[1,2,3]".getBytes(StandardCharsets.UTF_8))
+            .build();
+        Object[] args = plan.resolve(request);
+        assertArrayEquals(new Object[] {42L, true, 20, "acme", List.of(1, 2, 3), request, null}, args);
+
+        Controller controller = new Controller();
+        assertEquals("42:true:20:acme:[1, 2, 3]", new HandlerMethod(controller, method).invoke(args));
+    }
+
+    @Test
+    @DisplayName("测试缺少必需参数时抛出异常且处理方法异常原样抛出")
+    void testMissingAndFailure() throws Exception {
+        ArgumentResolutionPlan plan = ArgumentResolutionPlan.compile(method("bind"), resolvers);
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/items/42")
+            .pathParameters(Map.of("id", "42")).build();
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () -> plan.resolve(request));
+        assertTrue(missing.getMessage().contains("x-tenant"));
+
+        HandlerMethod failing = new HandlerMethod(new Controller(), method("fail"));
+        assertThrows(IllegalStateException.class, () -> failing.invoke(new Object[0]));
+    }
+
+    @Test
+    @DisplayName("测试自定义解析器优先并在注册时选定")
+    void testCustomResolver() throws Exception {
+        resolvers.addResolver(0, new HandlerMethodArgumentResolver() {
+            @Override
+            public boolean supportsParameter(Parameter parameter) {
+                return parameter.getType() == Map.class;
+            }
+
+            @Override
+            public Object resolveArgument(Parameter parameter, HttpRequestEx request) {
+                return request.getHeaders();
+            }
+        });
+        ArgumentResolutionPlan plan = ArgumentResolutionPlan.compile(method("bind"), resolvers);
+        HttpRequestEx request = new HttpRequestEx.Builder().method("GET").path("/items/1")
+            .pathParameters(Map.of("id", "1"))
+            .addHeader("X-Tenant", "acme")
+            .build();
+        assertEquals(Map.of("x-tenant", "acme"), plan.resolve(request)[6]);
+    }
+
+    private static Method method(String name) {
+        for (Method method : Controller.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    public static class Controller {
+        public String bind(@PathVariable("id") long id,
+                           @RequestParam(value = "verbose", required = false) boolean verbose,
+                           @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit,
+                           @RequestHeader("X-Tenant") String tenant,
+                           @RequestBody(required = false) List<Integer> ids,
+                           HttpRequestEx request,
+                           Map<String, String> unresolved) {
+            return id + ":" + verbose + ":" + limit + ":" + tenant + ":" + ids;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.dtc.core.network.http.middleware.LoggingMiddleware;
 import com.dtc.core.network.http.middleware.RateLimitMiddleware;
 import com.dtc.core.messaging.NetworkMessageEvent;
 import com.dtc.core.messaging.NetworkMessageQueue;
+import com.dtc.core.metrics.PrometheusExporter;
 import com.dtc.core.web.WebControllerScanner;
 import com.dtc.core.web.IoCBeanProvider;
 import com.google.inject.Injector;
@@ -124,6 +125,9 @@ public class HttpExtension extends StatisticsAware implements ExtensionMain, Pro
                 // 扫描并注册注解驱动的控制器（替代硬编码路由）
                 scanAndRegisterControllers();
 
+                // 注册 Prometheus 指标端点
+                registerMetricsEndpoint();
+
                 log.info("HTTP REST extension started successfully (server managed by NettyServer)");
             } catch (Exception e) {
                 log.error("Failed to start HTTP REST extension", e);
@@ -392,6 +396,20 @@ public class HttpExtension extends StatisticsAware implements ExtensionMain, Pro
         log.info("HTTP middleware initialized successfully");
     }
 
+    /**
+     * 注册 Prometheus 指标端点，默认不注册：指标端点和业务路由共用同一个公网端口，
+     * 需要时设置 -Dmetrics.endpoint.enabled=true 开启，并在网关或防火墙上限制访问来源；
+     * 路径通过 -Dmetrics.endpoint.path 配置（默认 /metrics）
+     */
+    private void registerMetricsEndpoint() {
+        if (injector == null || !Boolean.getBoolean("metrics.endpoint.enabled")) {
+            return;
+        }
+        String path = System.getProperty("metrics.endpoint.path", "/metrics");
+        routeManager.registerGet(path, injector.getInstance(PrometheusExporter.class));
+        log.info("Metrics endpoint registered at {}", path);
+    }
+
     /**
      * 扫描并注册注解驱动的控制器
      */
@@ -412,7 +430,9 @@ public class HttpExtension extends StatisticsAware implements ExtensionMain, Pro
                 WebControllerScanner scanner = new WebControllerScanner(
                         routeManager,
                         beanProvider,
-                        argumentResolver
+                        argumentResolver,
+                        injector.getInstance(com.dtc.core.web.async.BlockingHandlerExecutor.class),
+                        injector.getInstance(com.dtc.core.network.http.cache.ResponseCache.class)
                 );
 
                 // 扫描并注册控制器
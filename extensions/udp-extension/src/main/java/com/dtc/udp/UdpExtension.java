@@ -14,6 +14,7 @@ import com.dtc.core.extensions.model.ExtensionMetadata;
 import com.dtc.core.extensions.GracefulShutdownExtension;
 import com.dtc.core.network.udp.UdpMessageHandler;
 import com.dtc.core.network.udp.UdpProtocolHandler;
+import com.dtc.core.network.udp.UdpServer;
 import com.dtc.core.statistics.StatisticsAware;
 import com.dtc.core.messaging.NetworkMessageEvent;
 import com.dtc.core.messaging.NetworkMessageQueue;
@@ -44,6 +45,10 @@ public class UdpExtension extends StatisticsAware implements ExtensionMain, Prot
     private final UdpMessageHandler messageHandler;
     private final UdpProtocolHandler protocolHandler;
     private final NetworkMessageQueue messageQueue;
+    private final UdpServer udpServer;
+
+    // 监听模式：数据报由 UdpServer 在事件循环上直接分发给 @UdpHandler，不经过 Disruptor 队列
+    private final boolean listenerMode = Boolean.getBoolean("udp.listener.enabled");
 
     private volatile boolean started = false;
     private volatile boolean enabled = true;
@@ -66,11 +71,13 @@ public class UdpExtension extends StatisticsAware implements ExtensionMain, Prot
     public UdpExtension(@NotNull UdpMessageHandler messageHandler,
             @NotNull UdpProtocolHandler protocolHandler,
             @NotNull NetworkMessageQueue messageQueue,
+            @NotNull UdpServer udpServer,
             @NotNull com.dtc.core.statistics.StatisticsCollector statisticsCollector) {
         super(statisticsCollector);
         this.messageHandler = messageHandler;
         this.protocolHandler = protocolHandler;
         this.messageQueue = messageQueue;
+        this.udpServer = udpServer;
 
         // 初始化 NetworkExtension 字段
         this.metadata = ExtensionMetadata.builder()
@@ -402,10 +409,12 @@ public class UdpExtension extends StatisticsAware implements ExtensionMain, Prot
     /**
      * 初始化 UDP 协议处理器
      */
-    private void initializeUdpHandler() {
+    private void initializeUdpHandler() throws InterruptedException {
         log.debug("Initializing UDP protocol handler");
-        // UDP 是无连接协议，这里可以设置缓冲区大小等
-        // 这里可以根据需要添加初始化逻辑
+        if (listenerMode) {
+            udpServer.setPort(ServiceConfig.UDP.getDefaultPort());
+            udpServer.start();
+        }
     }
 
     /**
@@ -413,6 +422,9 @@ public class UdpExtension extends StatisticsAware implements ExtensionMain, Prot
      */
     private void cleanupUdpHandler() {
         log.debug("Cleaning up UDP protocol handler");
+        if (listenerMode) {
+            udpServer.stop();
+        }
         activeClients.clear();
     }
 
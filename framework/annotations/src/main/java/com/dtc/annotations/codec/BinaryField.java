@@ -0,0 +1,30 @@
+package com.dtc.annotations.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 二进制字段注解
+ * 标识二进制消息中参与编解码的字段，字段不能为 private
+ * 
+ * 支持的类型：
+ * - boolean、byte、short、int、long、float、double（固定长度，大端序）
+ * - String（2字节长度 + UTF-8，null 编码为 0xFFFF）
+ * - byte[]（4字节长度 + 数据，null 编码为 -1）
+ * 
+ * @author Network Service Template
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BinaryField {
+    
+    /**
+     * 字段在线格式中的顺序，数值越小越靠前
+     * @return 字段顺序
+     */
+    int order();
+}
@@ -0,0 +1,27 @@
+package com.dtc.annotations.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 二进制消息注解
+ * 标识一个类为自定义协议的二进制消息，编译期由注解处理器生成同包下的 {@code XxxBinaryCodec} 编解码类
+ * 
+ * 帧格式：[4字节长度][1字节类型][按 {@link BinaryField#order()} 排列的字段]
+ * 
+ * @author Network Service Template
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BinaryMessage {
+    
+    /**
+     * 消息类型字节，取值 0-255，同一进程内不能重复
+     * @return 消息类型
+     */
+    int type();
+}
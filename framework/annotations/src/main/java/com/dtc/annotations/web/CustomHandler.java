@@ -0,0 +1,37 @@
+package com.dtc.annotations.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 自定义协议消息处理注解
+ * 标识一个方法用于处理自定义协议消息
+ * 
+ * 如果方法参数中包含 {@link com.dtc.annotations.codec.BinaryMessage} 标注的类型，
+ * 则按该消息的类型字节分发，value 被忽略；否则按消息类型名称/字符串路由匹配
+ * 
+ * @author Network Service Template
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CustomHandler {
+    
+    /**
+     * 消息路由/匹配模式
+     * 支持精确匹配、前缀匹配和正则匹配，规则同 {@link TcpHandler#value()}
+     * 如果为空，则匹配所有消息
+     * @return 路由模式
+     */
+    String value() default "";
+    
+    /**
+     * 优先级
+     * 数值越小，优先级越高
+     * @return 优先级
+     */
+    int priority() default 0;
+}
@@ -0,0 +1,27 @@
+package com.dtc.annotations.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * gRPC服务注解
+ * 标识一个 gRPC 服务实现类（通常继承生成的 XxxGrpc.XxxImplBase），
+ * 启动时被扫描并注册到与框架共用事件循环的 gRPC 服务器
+ * 
+ * @author Network Service Template
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface GrpcService {
+    
+    /**
+     * 服务名称，仅用于日志
+     * 如果为空，则使用类名
+     * @return 服务名称
+     */
+    String value() default "";
+}
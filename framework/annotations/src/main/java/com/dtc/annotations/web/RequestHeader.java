@@ -0,0 +1,36 @@
+package com.dtc.annotations.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 请求头注解
+ * 用于绑定HTTP请求头
+ * 
+ * @author Network Service Template
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestHeader {
+    
+    /**
+     * 请求头名称（不区分大小写）
+     * 如果为空，则使用参数名称
+     * @return 请求头名称
+     */
+    String value() default "";
+    
+    /**
+     * 是否必需
+     * @return 是否必需
+     */
+    boolean required() default true;
+    
+    /**
+     * 默认值
+     * @return 默认值
+     */
+    String defaultValue() default "";
+}
@@ -34,4 +34,11 @@ public @interface UdpHandler {
      * @return 优先级
      */
     int priority() default 0;
+    
+    /**
+     * 送达保证
+     * 为 true 时只处理经可靠UDP（ARQ）按序送达的消息，普通数据报不会分发到该方法
+     * @return 是否要求可靠送达
+     */
+    boolean reliable() default false;
 }
@@ -0,0 +1,263 @@
+package com.dtc.ioc.processor;
+
+import com.google.auto.service.AutoService;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Binary Codec Processor.
+ * Generates a {@code XxxBinaryCodec} for every {@code @BinaryMessage} class that reads and writes
+ * the {@code @BinaryField} fields directly on a Netty ByteBuf, and registers the generated codecs in
+ * META-INF/services so the runtime registry can build its type-byte jump table.
+ */
+@SupportedAnnotationTypes("com.dtc.annotations.codec.BinaryMessage")
+@AutoService(Processor.class)
+public class BinaryCodecProcessor extends AbstractProcessor {
+
+    private static final String BINARY_MESSAGE = "com.dtc.annotations.codec.BinaryMessage";
+    private static final String BINARY_FIELD = "com.dtc.annotations.codec.BinaryField";
+    private static final String CODEC_SUFFIX = "BinaryCodec";
+    private static final String SERVICE_FILE =
+            "META-INF/services/com.dtc.core.network.custom.binary.BinaryMessageCodec";
+
+    private static final ClassName GENERATED = ClassName.get("javax.annotation.processing", "Generated");
+    private static final ClassName BYTE_BUF = ClassName.get("io.netty.buffer", "ByteBuf");
+    private static final ClassName CODEC = ClassName.get("com.dtc.core.network.custom.binary", "BinaryMessageCodec");
+    private static final ClassName SUPPORT = ClassName.get("com.dtc.core.network.custom.binary", "BinaryCodecSupport");
+
+    private final Set<String> generatedCodecs = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        TypeElement binaryMessage = processingEnv.getElementUtils().getTypeElement(BINARY_MESSAGE);
+        if (binaryMessage == null) {
+            return false;
+        }
+        Map<Integer, TypeElement> types = new HashMap<>();
+        for (TypeElement messageType : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(binaryMessage))) {
+            try {
+                generateCodec(messageType, types);
+            } catch (IllegalStateException e) {
+                error(messageType, e.getMessage());
+            } catch (IOException e) {
+                error(messageType, "Failed to write codec: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generateCodec(TypeElement messageType, Map<Integer, TypeElement> types) throws IOException {
+        int type = (Integer) annotationValue(messageType, BINARY_MESSAGE, "type");
+        if (type < 0 || type > 255) {
+            throw new IllegalStateException("@BinaryMessage type must be in 0-255: " + type);
+        }
+        TypeElement duplicate = types.putIfAbsent(type, messageType);
+        if (duplicate != null) {
+            throw new IllegalStateException("@BinaryMessage type " + type + " already used by " + duplicate);
+        }
+        validateMessageType(messageType);
+
+        List<VariableElement> fields = binaryFields(messageType);
+        ClassName messageClass = ClassName.get(messageType);
+        String packageName = messageClass.packageName();
+        String codecName = String.join("_", messageClass.simpleNames()) + CODEC_SUFFIX;
+
+        MethodSpec.Builder encode = MethodSpec.methodBuilder("encode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(messageClass, "message")
+                .addParameter(BYTE_BUF, "out");
+        MethodSpec.Builder decode = MethodSpec.methodBuilder("decode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(messageClass)
+                .addParameter(BYTE_BUF, "in")
+                .addStatement("$T message = new $T()", messageClass, messageClass);
+        for (VariableElement field : fields) {
+            addFieldCode(field, encode, decode);
+        }
+        decode.addStatement("return message");
+
+        TypeSpec codec = TypeSpec.classBuilder(codecName)
+                .addJavadoc("Generated binary codec for {@link $T}.\n", messageClass)
+                .addAnnotation(AnnotationSpec.builder(GENERATED)
+                        .addMember("value", "$S", BinaryCodecProcessor.class.getName())
+                        .build())
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(CODEC, messageClass))
+                .addField(FieldSpec.builder(TypeName.INT, "TYPE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", type)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getType")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return TYPE")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getMessageClass")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(ParameterizedTypeName.get(ClassName.get(Class.class), messageClass))
+                        .addStatement("return $T.class", messageClass)
+                        .build())
+                .addMethod(encode.build())
+                .addMethod(decode.build())
+                .build();
+
+        JavaFile.builder(packageName, codec)
+                .skipJavaLangImports(true)
+                .build()
+                .writeTo(processingEnv.getFiler());
+        generatedCodecs.add(packageName.isEmpty() ? codecName : packageName + "." + codecName);
+    }
+
+    private void validateMessageType(TypeElement messageType) {
+        Set<Modifier> modifiers = messageType.getModifiers();
+        if (messageType.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.ABSTRACT)) {
+            throw new IllegalStateException("@BinaryMessage must be placed on a concrete class");
+        }
+        if (messageType.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)) {
+            throw new IllegalStateException("Nested @BinaryMessage classes must be static");
+        }
+        boolean hasNoArgConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(messageType.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasNoArgConstructor = true;
+            }
+        }
+        if (!hasNoArgConstructor) {
+            throw new IllegalStateException("@BinaryMessage class needs a non-private no-arg constructor");
+        }
+    }
+
+    private List<VariableElement> binaryFields(TypeElement messageType) {
+        Map<Integer, VariableElement> ordered = new TreeMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(messageType.getEnclosedElements())) {
+            if (annotationMirror(field, BINARY_FIELD) == null) {
+                continue;
+            }
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.STATIC)) {
+                throw new IllegalStateException("@BinaryField " + field.getSimpleName()
+                        + " must be a non-private, non-final instance field");
+            }
+            int order = (Integer) annotationValue(field, BINARY_FIELD, "order");
+            VariableElement duplicate = ordered.putIfAbsent(order, field);
+            if (duplicate != null) {
+                throw new IllegalStateException("@BinaryField order " + order + " used by both "
+                        + duplicate.getSimpleName() + " and " + field.getSimpleName());
+            }
+        }
+        return new ArrayList<>(ordered.values());
+    }
+
+    private void addFieldCode(VariableElement field, MethodSpec.Builder encode, MethodSpec.Builder decode) {
+        String name = field.getSimpleName().toString();
+        TypeMirror type = field.asType();
+        switch (type.getKind()) {
+            case BOOLEAN -> fixed(encode, decode, name, "Boolean");
+            case BYTE -> fixed(encode, decode, name, "Byte");
+            case SHORT -> fixed(encode, decode, name, "Short");
+            case INT -> fixed(encode, decode, name, "Int");
+            case LONG -> fixed(encode, decode, name, "Long");
+            case FLOAT -> fixed(encode, decode, name, "Float");
+            case DOUBLE -> fixed(encode, decode, name, "Double");
+            default -> {
+                if (isType(type, "java.lang.String")) {
+                    encode.addStatement("$T.writeString(out, message.$N)", SUPPORT, name);
+                    decode.addStatement("message.$N = $T.readString(in)", name, SUPPORT);
+                } else if (type.getKind() == TypeKind.ARRAY && type.toString().equals("byte[]")) {
+                    encode.addStatement("$T.writeBytes(out, message.$N)", SUPPORT, name);
+                    decode.addStatement("message.$N = $T.readBytes(in)", name, SUPPORT);
+                } else {
+                    throw new IllegalStateException("Unsupported @BinaryField type " + type + " on " + name);
+                }
+            }
+        }
+    }
+
+    private static void fixed(MethodSpec.Builder encode, MethodSpec.Builder decode, String name, String kind) {
+        encode.addStatement("out.write$L(message.$N)", kind, name);
+        decode.addStatement("message.$N = in.read$L()", name, kind);
+    }
+
+    private boolean isType(TypeMirror type, String qualifiedName) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(qualifiedName);
+        return element != null && processingEnv.getTypeUtils().isSameType(type, element.asType());
+    }
+
+    private static AnnotationMirror annotationMirror(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static Object annotationValue(Element element, String annotationType, String name) {
+        AnnotationMirror mirror = annotationMirror(element, annotationType);
+        if (mirror != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(name)) {
+                    return entry.getValue().getValue();
+                }
+            }
+        }
+        throw new IllegalStateException("Missing " + name + " on @" + annotationType);
+    }
+
+    private void writeServiceFile() {
+        if (generatedCodecs.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String codec : generatedCodecs) {
+                    writer.write(codec);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -7,6 +7,7 @@ import com.alipay.sofa.jraft.core.StateMachineAdapter;
 import com.alipay.sofa.jraft.error.RaftError;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotReader;
 import com.alipay.sofa.jraft.storage.snapshot.SnapshotWriter;
+import com.dtc.core.diagnostic.jfr.RaftApplyEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,13 +35,18 @@ public class H2StateMachine extends StateMachineAdapter {
         while (iter.hasNext()) {
             ByteBuffer data = iter.getData();
             Closure done = iter.done();
+            RaftApplyEvent event = new RaftApplyEvent();
+            event.begin();
+            SqlOperation op = null;
+            boolean success = false;
 
             try {
-                SqlOperation op = deserialize(data);
+                op = deserialize(data);
                 if (op != null) {
                     // 执行 SQL
                     storageEngine.update(op.getSql(), op.getParams()).join();
                 }
+                success = true;
 
                 if (done != null) {
                     done.run(Status.OK());
@@ -50,6 +56,15 @@ public class H2StateMachine extends StateMachineAdapter {
                 if (done != null) {
                     done.run(new Status(RaftError.EINTERNAL, "Fail to apply operation: %s", e.getMessage()));
                 }
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.index = iter.getIndex();
+                    event.term = iter.getTerm();
+                    event.sql = op != null ? op.getSql() : null;
+                    event.success = success;
+                    event.commit();
+                }
             }
 
             iter.next();
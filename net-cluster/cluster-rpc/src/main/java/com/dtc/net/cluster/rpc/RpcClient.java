@@ -1,5 +1,6 @@
 package com.dtc.net.cluster.rpc;
 
+import com.dtc.core.diagnostic.jfr.RpcCallEvent;
 import com.dtc.net.cluster.rpc.proto.RpcRequest;
 import com.dtc.net.cluster.rpc.proto.RpcResponse;
 import io.netty.bootstrap.Bootstrap;
@@ -35,13 +36,25 @@ public class RpcClient {
     
     public CompletableFuture<RpcResponse> send(String host, int port, RpcRequest request) {
         String address = host + ":" + port;
+        // JFR 未开启时 isEnabled 恒为 false，事件对象不会逃逸
+        RpcCallEvent probe = new RpcCallEvent();
+        RpcCallEvent event = probe.isEnabled() ? probe : null;
+        if (event != null) {
+            event.begin();
+        }
         Channel channel = getChannel(address, host, port);
         
         if (channel == null || !channel.isActive()) {
+            if (event != null) {
+                commitEvent(event, request, address, null);
+            }
             return CompletableFuture.failedFuture(new RuntimeException("Failed to connect to " + address));
         }
         
         CompletableFuture<RpcResponse> future = new CompletableFuture<>();
+        if (event != null) {
+            future.whenComplete((response, error) -> commitEvent(event, request, address, response));
+        }
         pendingRequests.put(request.getRequestId(), future);
         
         channel.writeAndFlush(request).addListener((ChannelFutureListener) f -> {
@@ -61,6 +74,18 @@ public class RpcClient {
         return future;
     }
     
+    private static void commitEvent(RpcCallEvent event, RpcRequest request, String address, RpcResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.service = request.getServiceName();
+            event.method = request.getMethodName();
+            event.address = address;
+            event.requestId = request.getRequestId();
+            event.status = response != null ? response.getStatus() : -1;
+            event.commit();
+        }
+    }
+    
     private Channel getChannel(String key, String host, int port) {
         if (channelCache.containsKey(key)) {
             Channel ch = channelCache.get(key);
@@ -1,28 +1,55 @@
 package com.dtc.net.cluster.rpc;
 
+import com.dtc.core.serialization.JsonCodec;
+import com.dtc.core.serialization.ObjectSerializer;
+import com.dtc.core.serialization.SerializerRegistry;
 import com.dtc.net.cluster.rpc.proto.RpcRequest;
 import com.dtc.net.cluster.rpc.proto.RpcResponse;
 import com.google.protobuf.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
+import java.io.IOException;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RPC 处理器
- * 负责处理实际的 RPC 请求
+ * 负责处理实际的 RPC 请求，参数和结果使用请求中声明的序列化器编解码。
+ * 请求只能选择服务端允许的序列化器：默认只有 rpc 协议配置的序列化器，可通过 -Drpc.serializers.allowed
+ * （逗号分隔的名称）放开；解码后的参数必须与方法声明的参数类型匹配。
  */
 public class RpcHandler {
     
     private static final Logger log = LoggerFactory.getLogger(RpcHandler.class);
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "short", short.class, "char", char.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class);
     
     private final RpcProviderRegistry providerRegistry;
+    private final SerializerRegistry serializerRegistry;
+    // 方法缓存：服务类#方法名#解析后的参数类型 -> 方法，只缓存真实存在的方法，大小不超过服务方法数
+    private final Map<String, Method> methodCache = new ConcurrentHashMap<>();
+    private final Set<String> allowedSerializers;
     
     public RpcHandler(RpcProviderRegistry providerRegistry) {
+        this(providerRegistry, SerializerRegistry.getDefault());
+    }
+
+    public RpcHandler(RpcProviderRegistry providerRegistry, SerializerRegistry serializerRegistry) {
         this.providerRegistry = providerRegistry;
+        this.serializerRegistry = serializerRegistry;
+        String allowed = System.getProperty("rpc.serializers.allowed", "");
+        this.allowedSerializers = allowed.isBlank()
+                ? Set.of(serializerRegistry.forProtocol("rpc").getName())
+                : Arrays.stream(allowed.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet());
     }
     
     public RpcResponse handle(RpcRequest request) {
@@ -37,20 +64,17 @@ public class RpcHandler {
                 throw new RuntimeException("Service not found: " + serviceName);
             }
             
-            String methodName = request.getMethodName();
-            Object[] args = deserialize(request.getArguments().toByteArray());
-            Class<?>[] parameterTypes = getParameterTypes(args); // Simplification: infer from args
-            
-            // In a real scenario, we should parse parameterTypes from request.getParameterTypes() (JSON string)
-            // to handle null arguments or primitive types correctly.
-            // For now, we iterate methods to find match.
-            Method method = findMethod(bean.getClass(), methodName, args);
+            ObjectSerializer serializer = resolveSerializer(request.getSerializer());
+            Method method = findMethod(bean.getClass(), request.getMethodName(), request.getParameterTypes());
+            Object[] args = serializer.deserializeArguments(request.getArguments().toByteArray(),
+                    method.getParameterTypes());
+            checkArguments(method, args);
             
             Object result = method.invoke(bean, args);
             
             responseBuilder.setStatus(0);
             if (result != null) {
-                responseBuilder.setResult(ByteString.copyFrom(serialize(result)));
+                responseBuilder.setResult(ByteString.copyFrom(serializer.serialize(result)));
             }
             
         } catch (Throwable e) {
@@ -62,41 +86,74 @@ public class RpcHandler {
         return responseBuilder.build();
     }
     
-    private Method findMethod(Class<?> clazz, String methodName, Object[] args) throws NoSuchMethodException {
-        for (Method method : clazz.getMethods()) {
-            if (method.getName().equals(methodName) && method.getParameterCount() == (args == null ? 0 : args.length)) {
-                return method; // Simple match, naive implementation
-            }
+    /**
+     * 获取请求指定的序列化器，未指定时使用 rpc 协议配置的序列化器，不在允许列表中的拒绝
+     */
+    private ObjectSerializer resolveSerializer(String name) {
+        if (name.isEmpty()) {
+            return serializerRegistry.forProtocol("rpc");
         }
-        throw new NoSuchMethodException(methodName);
+        if (!allowedSerializers.contains(name)) {
+            throw new SecurityException("Serializer not allowed: " + name);
+        }
+        return serializerRegistry.get(name);
     }
-    
-    // Using Java Serialization for simplicity. In production, use Hessian/Protostuff/Jackson.
-    private byte[] serialize(Object obj) throws IOException {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            oos.writeObject(obj);
-            return bos.toByteArray();
+
+    /**
+     * 检查解码后的参数个数和类型与方法声明一致
+     */
+    private static void checkArguments(Method method, Object[] args) {
+        Class<?>[] types = method.getParameterTypes();
+        if (args.length != types.length) {
+            throw new IllegalArgumentException("Method " + method.getName() + " expects " + types.length
+                    + " arguments but got " + args.length);
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (args[i] == null ? types[i].isPrimitive()
+                    : !MethodType.methodType(types[i]).wrap().returnType().isInstance(args[i])) {
+                throw new IllegalArgumentException("Argument " + i + " of " + method.getName() + " is not a "
+                        + types[i].getName());
+            }
         }
     }
-    
-    private Object[] deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
-        if (bytes == null || bytes.length == 0) {
-            return new Object[0];
+
+    /**
+     * 按请求中的参数类型（类名的 JSON 数组）查找方法；未携带参数类型时按方法名查找，方法名必须唯一
+     */
+    private Method findMethod(Class<?> clazz, String methodName, String parameterTypes) throws Exception {
+        // 按解析后的类型作键，同一组类型的不同 JSON 写法不会产生新的缓存项
+        Class<?>[] types = parameterTypes.isEmpty() ? null : resolveTypes(clazz, parameterTypes);
+        String key = clazz.getName() + '#' + methodName + (types == null ? "" : Arrays.toString(types));
+        Method method = methodCache.get(key);
+        if (method != null) {
+            return method;
         }
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-             ObjectInputStream ois = new ObjectInputStream(bis)) {
-            return (Object[]) ois.readObject();
+        if (types == null) {
+            for (Method candidate : clazz.getMethods()) {
+                if (candidate.getName().equals(methodName)) {
+                    if (method != null) {
+                        throw new NoSuchMethodException("Ambiguous method without parameter types: " + methodName);
+                    }
+                    method = candidate;
+                }
+            }
+            if (method == null) {
+                throw new NoSuchMethodException(methodName);
+            }
+        } else {
+            method = clazz.getMethod(methodName, types);
         }
+        methodCache.put(key, method);
+        return method;
     }
-    
-    private Class<?>[] getParameterTypes(Object[] args) {
-        if (args == null) return new Class[0];
-        Class<?>[] types = new Class[args.length];
-        for (int i = 0; i < args.length; i++) {
-            types[i] = args[i] == null ? Object.class : args[i].getClass();
+
+    private Class<?>[] resolveTypes(Class<?> clazz, String parameterTypes) throws IOException, ClassNotFoundException {
+        String[] names = JsonCodec.getDefault().read(parameterTypes, String[].class);
+        Class<?>[] types = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Class<?> primitive = PRIMITIVE_TYPES.get(names[i]);
+            types[i] = primitive != null ? primitive : Class.forName(names[i], false, clazz.getClassLoader());
         }
         return types;
     }
 }
-
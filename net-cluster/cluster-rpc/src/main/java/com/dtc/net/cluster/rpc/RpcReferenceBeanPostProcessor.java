@@ -3,6 +3,9 @@ package com.dtc.net.cluster.rpc;
 import com.dtc.api.rpc.RpcReference;
 import com.dtc.core.cluster.registry.ServiceDiscovery;
 import com.dtc.core.cluster.registry.ServiceInstance;
+import com.dtc.core.serialization.JsonCodec;
+import com.dtc.core.serialization.ObjectSerializer;
+import com.dtc.core.serialization.SerializerRegistry;
 import com.dtc.net.cluster.loadbalance.LoadBalancer;
 import com.dtc.net.cluster.rpc.context.RpcContext;
 import com.dtc.net.cluster.rpc.proto.RpcRequest;
@@ -20,17 +23,16 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ObjectInputStream;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -104,10 +106,16 @@ public class RpcReferenceBeanPostProcessor implements BeanPostProcessor {
     private class RpcInvocationHandler implements InvocationHandler {
         private final Class<?> interfaceClass;
         private final RpcReference reference;
+        private final ObjectSerializer serializer;
+        // 方法 -> 参数类型的 JSON 数组，避免每次调用重新编码
+        private final Map<Method, String> parameterTypes = new ConcurrentHashMap<>();
         
         public RpcInvocationHandler(Class<?> interfaceClass, RpcReference reference) {
             this.interfaceClass = interfaceClass;
             this.reference = reference;
+            this.serializer = reference.serializer().isEmpty()
+                    ? SerializerRegistry.getDefault().forProtocol("rpc")
+                    : SerializerRegistry.getDefault().get(reference.serializer());
         }
         
         @Override
@@ -129,7 +137,9 @@ public class RpcReferenceBeanPostProcessor implements BeanPostProcessor {
                     .setRequestId(UUID.randomUUID().toString())
                     .setServiceName(serviceName)
                     .setMethodName(method.getName())
-                    .setArguments(ByteString.copyFrom(serialize(args)))
+                    .setParameterTypes(parameterTypes.computeIfAbsent(method, RpcReferenceBeanPostProcessor::encodeParameterTypes))
+                    .setSerializer(serializer.getName())
+                    .setArguments(ByteString.copyFrom(serializer.serializeArguments(args)))
                     .setTimeout(reference.timeout());
             
             // 注入 attachments (context)
@@ -161,23 +171,25 @@ public class RpcReferenceBeanPostProcessor implements BeanPostProcessor {
                 throw new RuntimeException("RPC error: " + response.getErrorMessage());
             }
             
-            return deserialize(response.getResult().toByteArray());
+            if (response.getResult().isEmpty() || method.getReturnType() == void.class) {
+                return null;
+            }
+            // 基本类型的返回值按包装类型反序列化
+            Class<?> resultType = MethodType.methodType(method.getReturnType()).wrap().returnType();
+            return serializer.deserialize(response.getResult().toByteArray(), resultType);
         }
     }
     
-    private byte[] serialize(Object obj) throws IOException {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-            oos.writeObject(obj);
-            return bos.toByteArray();
+    private static String encodeParameterTypes(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].getName();
         }
-    }
-    
-    private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
-        if (bytes == null || bytes.length == 0) return null;
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-             ObjectInputStream ois = new ObjectInputStream(bis)) {
-            return ois.readObject();
+        try {
+            return JsonCodec.getDefault().writeAsString(names);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode parameter types of " + method, e);
         }
     }
 }